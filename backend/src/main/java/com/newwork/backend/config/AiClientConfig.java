@@ -0,0 +1,185 @@
+package com.newwork.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.newwork.backend.service.ai.AdaptiveConcurrencyLimiter;
+import com.newwork.backend.service.ai.TokenBudget;
+import com.newwork.backend.service.ai.provider.AiProvider;
+import com.newwork.backend.service.ai.provider.HuggingFaceRouterProvider;
+import com.newwork.backend.service.ai.provider.OpenAiCompatibleProvider;
+import com.newwork.backend.service.ai.provider.StubAiProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * AI provider selection and protection for outbound calls to it
+ */
+@Configuration
+@Slf4j
+public class AiClientConfig {
+
+    /**
+     * Connection pool dedicated to AI calls, so they never queue behind (or starve) other outbound traffic
+     * - Idle connections are evicted in the background before the provider's keep-alive closes them,
+     *   and recycled after max-life-time to pick up DNS changes
+     * - Callers wait at most pending-acquire-timeout for a connection, with at most pending-acquire-max-count waiting
+     * - Pool gauges are published as reactor.netty.connection.provider.* (tag name=ai)
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider aiConnectionProvider(
+            @Value("${ai.http.max-connections:50}") int maxConnections,
+            @Value("${ai.http.pending-acquire-max-count:100}") int pendingAcquireMaxCount,
+            @Value("${ai.http.pending-acquire-timeout:5s}") Duration pendingAcquireTimeout,
+            @Value("${ai.http.max-idle-time:55s}") Duration maxIdleTime,
+            @Value("${ai.http.max-life-time:10m}") Duration maxLifeTime,
+            @Value("${ai.http.evict-interval:30s}") Duration evictInterval
+    ) {
+        return ConnectionProvider.builder("ai")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictInterval)
+                .lifo() // reuse the most recently used (warm) connection first, let the rest idle out
+                .metrics(true)
+                .build();
+    }
+
+    /**
+     * HTTP client on top of the AI connection pool; the protocol is chosen per provider
+     */
+    @Bean
+    public HttpClient aiHttpClient(
+            ConnectionProvider aiConnectionProvider,
+            @Value("${ai.http.connect-timeout:5s}") Duration connectTimeout
+    ) {
+        return HttpClient.create(aiConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true);
+    }
+
+    /**
+     * Transport used by HuggingFaceService, selected with ai.provider:
+     * - huggingface: HuggingFace router (requires huggingface.api.key)
+     * - openai-compatible: any OpenAI-compatible endpoint at ai.openai.base-url (e.g. a local vLLM/Ollama)
+     * - stub: in-process deterministic stand-in with configurable latency and errors (load tests, CI)
+     */
+    @Bean
+    public AiProvider aiProvider(
+            @Value("${ai.provider:huggingface}") String providerType,
+            WebClient.Builder webClientBuilder,
+            HttpClient aiHttpClient,
+            ObjectMapper objectMapper,
+            Environment env
+    ) {
+        AiProvider provider = switch (providerType) {
+            case "huggingface" -> new HuggingFaceRouterProvider(
+                    aiWebClient(webClientBuilder, aiHttpClient, HuggingFaceRouterProvider.BASE_URL, env),
+                    objectMapper, env.getProperty("huggingface.api.key", ""));
+            case "openai-compatible" -> {
+                String baseUrl = env.getProperty("ai.openai.base-url", "http://localhost:8000/v1");
+                yield new OpenAiCompatibleProvider(
+                        "openai-compatible",
+                        aiWebClient(webClientBuilder, aiHttpClient, baseUrl, env).baseUrl(baseUrl).build(),
+                        objectMapper,
+                        env.getProperty("ai.openai.api-key", ""));
+            }
+            case "stub" -> StubAiProvider.builder()
+                    .meanLatency(env.getProperty("ai.stub.latency.mean", Duration.class, Duration.ofMillis(300)))
+                    .latencyStdDev(env.getProperty("ai.stub.latency.std-dev", Duration.class, Duration.ofMillis(100)))
+                    .slowCallRate(env.getProperty("ai.stub.latency.slow-call-rate", Double.class, 0.0))
+                    .slowCallLatency(env.getProperty("ai.stub.latency.slow-call", Duration.class, Duration.ofSeconds(10)))
+                    .errorRate(env.getProperty("ai.stub.error-rate", Double.class, 0.0))
+                    .errorStatus(env.getProperty("ai.stub.error-status", Integer.class, 503))
+                    .seed(env.getProperty("ai.stub.seed", Long.class, 42L))
+                    .build();
+            default -> throw new IllegalStateException("Unknown ai.provider: " + providerType);
+        };
+        log.info("Using AI provider: {}", provider.getName());
+        return provider;
+    }
+
+    /**
+     * Copy of the shared builder on the dedicated pool. HTTP/2 is negotiated via ALPN, so it is
+     * only offered over TLS; plain-http endpoints (local model servers) use HTTP/1.1.
+     */
+    private static WebClient.Builder aiWebClient(WebClient.Builder webClientBuilder, HttpClient aiHttpClient,
+                                                 String baseUrl, Environment env) {
+        boolean http2 = env.getProperty("ai.http.http2", Boolean.class, true) && baseUrl.startsWith("https:");
+        HttpClient httpClient = http2
+                ? aiHttpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11)
+                : aiHttpClient.protocol(HttpProtocol.HTTP11);
+        int maxInMemorySize = (int) env.getProperty("ai.http.max-in-memory-size", DataSize.class,
+                DataSize.ofMegabytes(1)).toBytes();
+
+        return webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxInMemorySize));
+    }
+
+    /**
+     * Adaptive bulkhead in front of HuggingFace calls
+     * - Starts at 4 concurrent calls and adapts between 1 and 16 based on observed latency
+     * - Up to 16 callers may wait (max 2 seconds) for a slot, everything else is shed with 429
+     */
+    @Bean
+    public AdaptiveConcurrencyLimiter huggingFaceConcurrencyLimiter(
+            @Value("${huggingface.limiter.initial-limit:4}") int initialLimit,
+            @Value("${huggingface.limiter.min-limit:1}") int minLimit,
+            @Value("${huggingface.limiter.max-limit:16}") int maxLimit,
+            @Value("${huggingface.limiter.queue-size:16}") int queueSize,
+            @Value("${huggingface.limiter.max-wait:2s}") Duration maxWait,
+            @Value("${huggingface.limiter.latency-threshold:20s}") Duration latencyThreshold,
+            @Value("${huggingface.limiter.backoff-ratio:0.9}") double backoffRatio,
+            MeterRegistry meterRegistry
+    ) {
+        return AdaptiveConcurrencyLimiter.builder()
+                .name("huggingface")
+                .initialLimit(initialLimit)
+                .minLimit(minLimit)
+                .maxLimit(maxLimit)
+                .maxQueueSize(queueSize)
+                .maxWait(maxWait)
+                .latencyThreshold(latencyThreshold)
+                .backoffRatio(backoffRatio)
+                .meterRegistry(meterRegistry)
+                .build();
+    }
+
+    /**
+     * Token budget for AI calls over a sliding window (1 hour in 12 buckets by default)
+     * - Each user may use up to user-tokens per window, all callers together up to global-tokens
+     * - Over budget calls are rejected with 429 before reaching the provider
+     */
+    @Bean
+    public TokenBudget aiTokenBudget(
+            @Value("${ai.budget.enabled:true}") boolean enabled,
+            @Value("${ai.budget.user-tokens:20000}") long userLimit,
+            @Value("${ai.budget.global-tokens:500000}") long globalLimit,
+            @Value("${ai.budget.window:1h}") Duration window,
+            @Value("${ai.budget.buckets:12}") int bucketCount,
+            MeterRegistry meterRegistry
+    ) {
+        return TokenBudget.builder()
+                .enabled(enabled)
+                .userLimit(userLimit)
+                .globalLimit(globalLimit)
+                .window(window)
+                .bucketCount(bucketCount)
+                .meterRegistry(meterRegistry)
+                .build();
+    }
+}
@@ -1,11 +1,13 @@
 package com.newwork.backend.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
@@ -30,5 +32,87 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+    
+    /**
+     * Single thread driving polish jobs one after another.
+     * Not awaited on shutdown: interrupted jobs keep their pending items and resume on the next start.
+     */
+    @Bean(name = "polishJobDispatcher")
+    public Executor polishJobDispatcher() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("polish-job-");
+        executor.initialize();
+        return executor;
+    }
+    
+    /**
+     * Threads polishing job items; the dispatcher never has more than `parallelism` items in flight
+     */
+    @Bean(name = "polishJobWorkers")
+    public Executor polishJobWorkers(@Value("${feedback.polish-job.parallelism:4}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(parallelism);
+        executor.setThreadNamePrefix("polish-worker-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+    
+    /**
+     * Threads for password hashing (BCrypt), kept off request threads and bounded so a login
+     * burst leaves CPU for the rest of the API. Defaults to half the cores.
+     * A full queue rejects the task and the login is answered with 429.
+     */
+    @Bean(name = "passwordHashingExecutor")
+    public Executor passwordHashingExecutor(
+            @Value("${auth.hashing.threads:0}") int threads,
+            @Value("${auth.hashing.queue-capacity:64}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.initialize();
+        return executor;
+    }
+    
+    /**
+     * Single thread reading uploaded CSV imports; one import runs at a time.
+     * Not awaited on shutdown: chunks committed so far stay imported, the rest of the file is dropped.
+     */
+    @Bean(name = "employeeImportDispatcher")
+    public Executor employeeImportDispatcher() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("employee-import-job-");
+        executor.initialize();
+        return executor;
+    }
+    
+    /**
+     * Threads hashing passwords for CSV employee imports, separate from passwordHashingExecutor
+     * so a large import cannot starve logins. When the queue is full the importing thread
+     * hashes itself, which throttles submission. Defaults to half the cores.
+     */
+    @Bean(name = "employeeImportExecutor")
+    public Executor employeeImportExecutor(
+            @Value("${employee.import.hashing-threads:0}") int threads,
+            @Value("${employee.import.chunk-size:500}") int chunkSize) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(chunkSize);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("employee-import-");
+        executor.initialize();
+        return executor;
+    }
 }
-
@@ -4,6 +4,7 @@ import com.newwork.backend.entity.Absence;
 import com.newwork.backend.entity.Employee;
 import com.newwork.backend.entity.User;
 import com.newwork.backend.repository.AbsenceRepository;
+import com.newwork.backend.repository.EmployeeFeedbackStatsRepository;
 import com.newwork.backend.repository.EmployeeRepository;
 import com.newwork.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -26,6 +27,7 @@ public class DataInitializer implements CommandLineRunner {
     
     private final UserRepository userRepository;
     private final EmployeeRepository employeeRepository;
+    private final EmployeeFeedbackStatsRepository feedbackStatsRepository;
     private final AbsenceRepository absenceRepository;
     private final PasswordEncoder passwordEncoder;
     
@@ -120,6 +122,7 @@ public class DataInitializer implements CommandLineRunner {
     
     private void createEmployeeBatch(int batchNum, int batchSize) {
         Random random = new Random();
+        List<User> userBatch = new ArrayList<>();
         List<Employee> employeeBatch = new ArrayList<>();
         
         for (int i = 0; i < batchSize; i++) {
@@ -139,7 +142,7 @@ public class DataInitializer implements CommandLineRunner {
                     .email("emp" + employeeNum + "@newwork.com")
                     .role(User.Role.EMPLOYEE)
                     .build();
-            user = userRepository.save(user);
+            userBatch.add(user);
             
             // Create employee with varied realistic data
             Employee employee = Employee.builder()
@@ -170,8 +173,10 @@ public class DataInitializer implements CommandLineRunner {
             employeeBatch.add(employee);
         }
         
-        // Batch save for better performance
+        // Batch save for better performance: sequence ids let Hibernate send JDBC batches
+        userRepository.saveAll(userBatch);
         employeeRepository.saveAll(employeeBatch);
+        feedbackStatsRepository.createForEmployees(employeeBatch.stream().map(Employee::getId).toList());
     }
     
     private void createTestUsers() {
@@ -258,6 +263,8 @@ public class DataInitializer implements CommandLineRunner {
                     .contractType("Full-time")
                     .build();
             employeeRepository.save(coworker);
+            
+            feedbackStatsRepository.createForEmployees(List.of(manager.getId(), employee.getId(), coworker.getId()));
     }
     
     private void createSampleAbsences() {
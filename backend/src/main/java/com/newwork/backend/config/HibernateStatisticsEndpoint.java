@@ -0,0 +1,108 @@
+package com.newwork.backend.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * /actuator/hibernate: the session factory statistics (hibernate.generate_statistics) that the
+ * hibernate.* meters do not break down, mainly the slowest HQL/SQL queries with execution count,
+ * rows and times since startup, and the contents of each second-level cache region
+ */
+@Component
+@Endpoint(id = "hibernate")
+public class HibernateStatisticsEndpoint {
+
+    static final int TOP_QUERIES = 20;
+
+    private final Statistics statistics;
+
+    public HibernateStatisticsEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ReadOperation
+    public Map<String, Object> statistics() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("enabled", statistics.isStatisticsEnabled());
+        body.put("since", statistics.getStart());
+        body.put("sessions", Map.of(
+                "opened", statistics.getSessionOpenCount(),
+                "closed", statistics.getSessionCloseCount()));
+        body.put("transactions", Map.of(
+                "total", statistics.getTransactionCount(),
+                "successful", statistics.getSuccessfulTransactionCount()));
+        body.put("statements", Map.of(
+                "prepared", statistics.getPrepareStatementCount(),
+                "flushes", statistics.getFlushCount()));
+        body.put("entities", Map.of(
+                "loads", statistics.getEntityLoadCount(),
+                "fetches", statistics.getEntityFetchCount(),
+                "inserts", statistics.getEntityInsertCount(),
+                "updates", statistics.getEntityUpdateCount(),
+                "deletes", statistics.getEntityDeleteCount()));
+        body.put("collections", Map.of(
+                "loads", statistics.getCollectionLoadCount(),
+                "fetches", statistics.getCollectionFetchCount()));
+        body.put("queries", Map.of(
+                "executions", statistics.getQueryExecutionCount(),
+                "maxTimeMs", statistics.getQueryExecutionMaxTime(),
+                "slowest", String.valueOf(statistics.getQueryExecutionMaxTimeQueryString()),
+                "cache", Map.of(
+                        "hits", statistics.getQueryCacheHitCount(),
+                        "misses", statistics.getQueryCacheMissCount(),
+                        "puts", statistics.getQueryCachePutCount())));
+        body.put("slowestQueries", slowestQueries());
+        body.put("secondLevelCache", secondLevelCache());
+        return body;
+    }
+
+    /**
+     * Queries by longest single execution
+     */
+    private List<Map<String, Object>> slowestQueries() {
+        return Arrays.stream(statistics.getQueries())
+                .map(query -> Map.entry(query, statistics.getQueryStatistics(query)))
+                .sorted(Comparator.comparingLong((Map.Entry<String, QueryStatistics> entry)
+                        -> entry.getValue().getExecutionMaxTime()).reversed())
+                .limit(TOP_QUERIES)
+                .map(entry -> {
+                    QueryStatistics query = entry.getValue();
+                    Map<String, Object> item = new LinkedHashMap<>();
+                    item.put("query", entry.getKey());
+                    item.put("executions", query.getExecutionCount());
+                    item.put("rows", query.getExecutionRowCount());
+                    item.put("avgTimeMs", query.getExecutionAvgTime());
+                    item.put("maxTimeMs", query.getExecutionMaxTime());
+                    item.put("totalTimeMs", query.getExecutionTotalTime());
+                    return item;
+                })
+                .toList();
+    }
+
+    private Map<String, Object> secondLevelCache() {
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics != null) {
+                regions.put(region, Map.of(
+                        "hits", regionStatistics.getHitCount(),
+                        "misses", regionStatistics.getMissCount(),
+                        "puts", regionStatistics.getPutCount(),
+                        "elementsInMemory", regionStatistics.getElementCountInMemory()));
+            }
+        }
+        return regions;
+    }
+}
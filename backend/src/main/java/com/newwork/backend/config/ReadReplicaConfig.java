@@ -0,0 +1,132 @@
+package com.newwork.backend.config;
+
+import com.newwork.backend.datasource.ReadYourWritesTracker;
+import com.newwork.backend.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to read replicas (datasource.replica.enabled=true).
+ * The primary pool is still configured through spring.datasource.*; each replica in
+ * datasource.replica.urls gets its own Hikari pool, exported as hikaricp.*{pool=replica-N}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    /**
+     * Ordered between DOWN and UP in management.endpoint.health.status.order
+     */
+    public static final Status DEGRADED = new Status("DEGRADED", "Some read replicas are out of rotation");
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Applied to the transaction manager by Spring Boot, which calls it after every commit
+     */
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${datasource.replica.read-your-writes-window:5s}") Duration window) {
+        return new ReadYourWritesTracker(window);
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            DataSourceProperties properties,
+            ReadYourWritesTracker readYourWritesTracker,
+            MeterRegistry meterRegistry,
+            @Value("${datasource.replica.urls}") List<String> urls,
+            @Value("${datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${datasource.replica.connection-timeout:2s}") Duration connectionTimeout) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            String name = "replica-" + (replicas.size() + 1);
+            HikariConfig config = new HikariConfig();
+            config.setPoolName(name);
+            config.setJdbcUrl(url.trim());
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setDriverClassName(properties.determineDriverClassName());
+            config.setMaximumPoolSize(maximumPoolSize);
+            config.setConnectionTimeout(connectionTimeout.toMillis());
+            config.setReadOnly(true);
+            // An unreachable replica must not fail startup; it stays out of rotation instead
+            config.setInitializationFailTimeout(-1);
+            config.setMetricRegistry(meterRegistry);
+            replicas.put(name, new HikariDataSource(config));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, readYourWritesTracker, meterRegistry);
+    }
+
+    /**
+     * The data source used by JPA: connections come from the primary unless the transaction is
+     * read-only. Fetching is deferred to the first statement, when that flag has been set.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+
+    /**
+     * Reported as "replicas" under /actuator/health: UP while every replica is in rotation,
+     * DEGRADED (HTTP 200, reads fall back to the remaining replicas or the primary) otherwise,
+     * with the state and last error of each replica
+     */
+    @Bean
+    public HealthIndicator replicasHealthIndicator(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return () -> {
+            Map<String, ReplicaRoutingDataSource.ReplicaHealth> replicaHealth = replicaRoutingDataSource.replicaHealth();
+            Map<String, Map<String, Object>> replicas = new LinkedHashMap<>();
+            replicaHealth.forEach((name, health) -> {
+                Map<String, Object> details = new LinkedHashMap<>();
+                details.put("status", health.healthy() ? Status.UP.getCode() : Status.DOWN.getCode());
+                if (!health.healthy()) {
+                    details.put("error", String.valueOf(health.error()));
+                    details.put("since", String.valueOf(health.unhealthySince()));
+                }
+                replicas.put(name, details);
+            });
+            long healthy = replicaHealth.values().stream().filter(ReplicaRoutingDataSource.ReplicaHealth::healthy).count();
+            return Health.status(healthy == replicaHealth.size() ? Status.UP : DEGRADED)
+                    .withDetail("healthy", healthy)
+                    .withDetail("total", replicaHealth.size())
+                    .withDetail("replicas", replicas)
+                    .build();
+        };
+    }
+}
@@ -0,0 +1,13 @@
+package com.newwork.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (e.g. AI model warm-up).
+ * They run on Spring Boot's task scheduler, sized by spring.task.scheduling.pool.size.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
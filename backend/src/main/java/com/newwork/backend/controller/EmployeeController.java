@@ -1,12 +1,17 @@
 package com.newwork.backend.controller;
 
 import com.newwork.backend.dto.EmployeeDto;
+import com.newwork.backend.dto.EmployeeImportJobDto;
 import com.newwork.backend.dto.EmployeeUpdateRequest;
+import com.newwork.backend.service.EmployeeImportService;
 import com.newwork.backend.service.EmployeeService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 
@@ -16,6 +21,7 @@ import java.util.List;
 public class EmployeeController {
     
     private final EmployeeService employeeService;
+    private final EmployeeImportService employeeImportService;
     
     @GetMapping
     public ResponseEntity<?> getAllEmployees(
@@ -65,4 +71,23 @@ public class EmployeeController {
     ) {
         return ResponseEntity.ok(employeeService.updateEmployee(id, request));
     }
+    
+    /**
+     * Bulk onboarding from a CSV upload (manager only). Runs in the background;
+     * poll GET /import/{jobId} for progress and, once finished, the per-row error report.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<EmployeeImportJobDto> importEmployees(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(employeeImportService.startImport(file));
+    }
+    
+    @GetMapping("/import")
+    public ResponseEntity<List<EmployeeImportJobDto>> getImportJobs() {
+        return ResponseEntity.ok(employeeImportService.getJobs());
+    }
+    
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<EmployeeImportJobDto> getImportJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(employeeImportService.getJob(jobId));
+    }
 }
@@ -1,14 +1,20 @@
 package com.newwork.backend.controller;
 
 import com.newwork.backend.dto.FeedbackDto;
+import com.newwork.backend.dto.FeedbackPageResponse;
 import com.newwork.backend.dto.FeedbackRequest;
+import com.newwork.backend.dto.FeedbackSearchHit;
+import com.newwork.backend.dto.FeedbackSuggestionChunk;
 import com.newwork.backend.dto.FeedbackSuggestionsRequest;
 import com.newwork.backend.dto.FeedbackSuggestionsResponse;
 import com.newwork.backend.service.FeedbackService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
 
@@ -17,6 +23,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class FeedbackController {
     
+    static final String STREAM_ERROR_MESSAGE = "AI service error. Please try again later.";
+    
     private final FeedbackService feedbackService;
     
     @PostMapping("/employee/{employeeId}")
@@ -32,6 +40,42 @@ public class FeedbackController {
         return ResponseEntity.ok(feedbackService.getEmployeeFeedbacks(employeeId));
     }
     
+    /**
+     * Cursor-paginated variant of /employee/{employeeId}, newest first
+     */
+    @GetMapping("/employee/{employeeId}/feed")
+    public ResponseEntity<FeedbackPageResponse> getEmployeeFeed(
+            @PathVariable Long employeeId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + FeedbackService.DEFAULT_PAGE_SIZE) int size
+    ) {
+        return ResponseEntity.ok(feedbackService.getEmployeeFeed(employeeId, cursor, size));
+    }
+    
+    /**
+     * Feedback written by the current user, cursor-paginated, newest first
+     */
+    @GetMapping("/authored")
+    public ResponseEntity<FeedbackPageResponse> getAuthoredFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + FeedbackService.DEFAULT_PAGE_SIZE) int size
+    ) {
+        return ResponseEntity.ok(feedbackService.getAuthoredFeed(cursor, size));
+    }
+    
+    /**
+     * Full-text search over all feedback, best match first (manager only)
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<FeedbackSearchHit>> searchFeedback(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Long employeeId,
+            @RequestParam(required = false) String department,
+            @RequestParam(defaultValue = "" + FeedbackService.DEFAULT_PAGE_SIZE) int limit
+    ) {
+        return ResponseEntity.ok(feedbackService.searchFeedback(query, employeeId, department, limit));
+    }
+    
     @DeleteMapping("/{feedbackId}")
     public ResponseEntity<Void> deleteFeedback(@PathVariable Long feedbackId) {
         feedbackService.deleteFeedback(feedbackId);
@@ -44,5 +88,30 @@ public class FeedbackController {
     ) {
         return ResponseEntity.ok(feedbackService.generateFeedbackSuggestions(request));
     }
-}
 
+    /**
+     * Server-Sent Events variant of /suggestions: an "option" event is pushed per suggestion
+     * as soon as it is complete, followed by "done" (or "error" if the AI call fails).
+     * Rejections before the call (budget, rate limit, circuit open) are thrown before the stream
+     * starts and answered with their status code like /suggestions.
+     */
+    @PostMapping(value = "/suggestions/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<?>> streamFeedbackSuggestions(
+            @Valid @RequestBody FeedbackSuggestionsRequest request
+    ) {
+        Flux<ServerSentEvent<?>> options = feedbackService.streamFeedbackSuggestions(request)
+                .<ServerSentEvent<?>>map(chunk -> ServerSentEvent.<FeedbackSuggestionChunk>builder()
+                        .event("option")
+                        .id(String.valueOf(chunk.getIndex()))
+                        .data(chunk)
+                        .build());
+        
+        return options
+                .concatWith(Flux.just(ServerSentEvent.builder().event("done").data("").build()))
+                // The cause is logged by the service; provider details are not for the client
+                .onErrorResume(e -> Flux.just(ServerSentEvent.builder()
+                        .event("error")
+                        .data(STREAM_ERROR_MESSAGE)
+                        .build()));
+    }
+}
@@ -0,0 +1,54 @@
+package com.newwork.backend.controller;
+
+import com.newwork.backend.dto.PolishJobDto;
+import com.newwork.backend.dto.PolishJobRequest;
+import com.newwork.backend.service.PolishJobService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+/**
+ * Batch AI polish of existing feedback (manager only).
+ * Jobs run in the background; poll GET /{jobId} for progress, throughput and ETA.
+ */
+@RestController
+@RequestMapping("/api/polish-jobs")
+@RequiredArgsConstructor
+public class PolishJobController {
+    
+    private final PolishJobService polishJobService;
+    
+    @PostMapping
+    public ResponseEntity<PolishJobDto> createJob(@Valid @RequestBody PolishJobRequest request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(polishJobService.createJob(request.getFeedbackIds()));
+    }
+    
+    /**
+     * CSV or plain text upload, one feedback id per line (first column)
+     */
+    @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<PolishJobDto> uploadJob(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(polishJobService.createJobFromFile(file));
+    }
+    
+    @GetMapping
+    public ResponseEntity<List<PolishJobDto>> getJobs() {
+        return ResponseEntity.ok(polishJobService.getJobs());
+    }
+    
+    @GetMapping("/{jobId}")
+    public ResponseEntity<PolishJobDto> getJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(polishJobService.getJob(jobId));
+    }
+    
+    @PostMapping("/{jobId}/cancel")
+    public ResponseEntity<PolishJobDto> cancelJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(polishJobService.cancelJob(jobId));
+    }
+}
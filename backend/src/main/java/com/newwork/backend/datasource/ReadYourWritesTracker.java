@@ -0,0 +1,74 @@
+package com.newwork.backend.datasource;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers when the current user last committed a read-write transaction, so their
+ * read-only transactions stay on the primary for datasource.replica.read-your-writes-window
+ * and do not miss their own write on a lagging replica. Per node only: a write served by
+ * another node is not seen here.
+ */
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+
+    private final Map<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+    private final long windowNanos;
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        // Any committed read-write transaction counts, whether or not it changed rows
+        if (commitFailure == null && transaction.isNewTransaction() && !transaction.isReadOnly()) {
+            recordWrite();
+        }
+    }
+
+    public void recordWrite() {
+        String username = currentUsername();
+        if (username != null && windowNanos > 0) {
+            lastWriteNanos.put(username, System.nanoTime());
+        }
+    }
+
+    /**
+     * Whether the current user committed a write within the window
+     */
+    public boolean recentlyWrote() {
+        String username = currentUsername();
+        if (username == null) {
+            return false;
+        }
+        Long writtenAt = lastWriteNanos.get(username);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - writtenAt > windowNanos) {
+            lastWriteNanos.remove(username, writtenAt);
+            return false;
+        }
+        return true;
+    }
+
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        lastWriteNanos.values().removeIf(writtenAt -> now - writtenAt > windowNanos);
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,182 @@
+package com.newwork.backend.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connections for read-only transactions: round-robin over the healthy replicas, falling back
+ * to the primary when none is healthy or the current user is within their read-your-writes
+ * window. Used as the read-only target of a LazyConnectionDataSourceProxy, which defers
+ * fetching a connection until the transaction's read-only flag is known.
+ *
+ * A replica that fails to hand out a connection is skipped until the next health check finds
+ * it valid again.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Counter replicaCounter;
+    private final Counter readYourWritesCounter;
+    private final Counter failoverCounter;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    ReadYourWritesTracker readYourWritesTracker, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.readYourWritesTracker = readYourWritesTracker;
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.replicaCounter = routingCounter(meterRegistry, "replica");
+        this.readYourWritesCounter = routingCounter(meterRegistry, "primary_read_your_writes");
+        this.failoverCounter = routingCounter(meterRegistry, "primary_failover");
+        for (Replica replica : this.replicas) {
+            Gauge.builder("datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .description("Whether the replica is used for read-only transactions")
+                    .tag("pool", replica.name)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    /**
+     * Routed like {@link #getConnection()}, with the credentials passed to the chosen pool
+     * (Hikari pools do not support per-call credentials and throw SQLFeatureNotSupportedException)
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionSource source) throws SQLException {
+        if (readYourWritesTracker.recentlyWrote()) {
+            readYourWritesCounter.increment();
+            return source.connect(primary);
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = source.connect(replica.dataSource);
+                replicaCounter.increment();
+                return connection;
+            } catch (SQLFeatureNotSupportedException e) {
+                throw e;
+            } catch (SQLException e) {
+                markUnhealthy(replica, e);
+            }
+        }
+        failoverCounter.increment();
+        return source.connect(primary);
+    }
+
+    /**
+     * Validates every replica and brings recovered ones back into rotation
+     */
+    @Scheduled(initialDelayString = "${datasource.replica.health-check-interval:10s}",
+            fixedDelayString = "${datasource.replica.health-check-interval:10s}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    throw new SQLException("Connection validation failed");
+                }
+                if (!replica.healthy) {
+                    replica.lastError = null;
+                    replica.unhealthySince = null;
+                    replica.healthy = true;
+                    log.info("Replica {} is healthy again", replica.name);
+                }
+            } catch (SQLException e) {
+                markUnhealthy(replica, e);
+            }
+        }
+        readYourWritesTracker.purgeExpired();
+    }
+
+    /**
+     * Replica name to its state, in configuration order
+     */
+    public Map<String, ReplicaHealth> replicaHealth() {
+        Map<String, ReplicaHealth> health = new LinkedHashMap<>();
+        replicas.forEach(replica -> health.put(replica.name,
+                new ReplicaHealth(replica.healthy, replica.lastError, replica.unhealthySince)));
+        return health;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private void markUnhealthy(Replica replica, SQLException e) {
+        replica.lastError = e.getMessage();
+        if (replica.healthy) {
+            replica.unhealthySince = Instant.now();
+            replica.healthy = false;
+            log.warn("Replica {} taken out of rotation: {}", replica.name, e.getMessage());
+        }
+    }
+
+    private static Counter routingCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("datasource.read_only.connections")
+                .description("Connections handed out for read-only transactions")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param error message of the last failed connection or validation while out of rotation
+     * @param unhealthySince when the replica was taken out of rotation
+     */
+    public record ReplicaHealth(boolean healthy, String error, Instant unhealthySince) {
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+        private volatile String lastError;
+        private volatile Instant unhealthySince;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.newwork.backend.datasource;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Listener of the datasource proxy that attributes each executed statement to the
+ * {@link StatementStats} of the scope open on the calling thread. Statements outside a scope
+ * (startup, scheduled jobs, async work) are not counted.
+ *
+ * <pre>
+ * StatementStats stats = StatementCounter.capture(() -&gt; employeeService.getEmployee(1L));
+ * </pre>
+ */
+public class StatementCounter implements QueryExecutionListener {
+
+    private static final ThreadLocal<StatementStats> CURRENT = new ThreadLocal<>();
+    private static final String START_NANOS = StatementCounter.class.getName() + ".start";
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (CURRENT.get() != null) {
+            execInfo.addCustomValue(START_NANOS, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        StatementStats stats = CURRENT.get();
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        if (stats != null && start != null) {
+            stats.record(queryInfoList.stream().map(QueryInfo::getQuery).toList(), System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Starts counting on this thread until the scope is closed. Scopes nest: on close, the
+     * statements of an inner scope are added to the enclosing one.
+     */
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope.stats);
+        return scope;
+    }
+
+    /**
+     * Counts the statements the action executes on this thread
+     */
+    public static StatementStats capture(Runnable action) {
+        try (Scope scope = open()) {
+            action.run();
+            return scope.stats();
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final StatementStats outer;
+        private final StatementStats stats = new StatementStats();
+
+        private Scope(StatementStats outer) {
+            this.outer = outer;
+        }
+
+        public StatementStats stats() {
+            return stats;
+        }
+
+        @Override
+        public void close() {
+            if (outer == null) {
+                CURRENT.remove();
+            } else {
+                outer.add(stats);
+                CURRENT.set(outer);
+            }
+        }
+    }
+}
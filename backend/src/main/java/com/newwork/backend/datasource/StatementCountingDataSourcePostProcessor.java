@@ -0,0 +1,34 @@
+package com.newwork.backend.datasource;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's {@code dataSource} bean (the Hikari pool, or the replica-routing
+ * proxy when read replicas are enabled) in a datasource-proxy that reports every executed
+ * statement to {@link StatementCounter}. The pools underneath stay reachable through
+ * {@link DataSource#unwrap}, which the pool metrics rely on.
+ */
+@Component
+@ConditionalOnProperty(name = "jdbc.statements.enabled", havingValue = "true", matchIfMissing = true)
+public class StatementCountingDataSourcePostProcessor implements BeanPostProcessor {
+
+    static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Override
+    public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+        if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource dataSource)
+                || bean instanceof ProxyDataSource) {
+            return bean;
+        }
+        return ProxyDataSourceBuilder.create(beanName, dataSource)
+                .listener(new StatementCounter())
+                .build();
+    }
+}
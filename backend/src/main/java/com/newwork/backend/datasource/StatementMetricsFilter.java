@@ -0,0 +1,135 @@
+package com.newwork.backend.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Counts the JDBC statements and JDBC time of each HTTP request, per endpoint
+ * ({@code jdbc.request.statements} and {@code jdbc.request.time}, tagged with method and URI
+ * pattern). Runs ahead of Spring Security so the user lookups of authentication are included.
+ * <p>
+ * The same SQL executed {@code jdbc.statements.n-plus-one-threshold} times or more in one
+ * request is logged as a possible N+1 and counted in {@code jdbc.request.n_plus_one}. With
+ * {@code jdbc.statements.server-timing=true} (meant for non-production) the numbers are also
+ * sent as a {@code Server-Timing} header, which browser dev tools show next to the request.
+ */
+@Component
+@ConditionalOnProperty(name = "jdbc.statements.enabled", havingValue = "true", matchIfMissing = true)
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@Slf4j
+public class StatementMetricsFilter extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING = "Server-Timing";
+    static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean serverTiming;
+    private final int nPlusOneThreshold;
+
+    public StatementMetricsFilter(MeterRegistry meterRegistry,
+                                  @Value("${jdbc.statements.server-timing:false}") boolean serverTiming,
+                                  @Value("${jdbc.statements.n-plus-one-threshold:5}") int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.serverTiming = serverTiming;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        try (StatementCounter.Scope scope = StatementCounter.open()) {
+            ServerTimingResponse timingResponse = serverTiming ? new ServerTimingResponse(response, scope.stats()) : null;
+            try {
+                filterChain.doFilter(request, timingResponse != null ? timingResponse : response);
+            } finally {
+                if (timingResponse != null) {
+                    timingResponse.writeHeaderIfNotCommitted();
+                }
+                record(request, scope.stats());
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, StatementStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNKNOWN_URI;
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+
+        DistributionSummary.builder("jdbc.request.statements")
+                .description("JDBC statements executed per HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.statements());
+        Timer.builder("jdbc.request.time")
+                .description("Time spent executing JDBC statements per HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.jdbcTime());
+
+        stats.repeatedStatements(nPlusOneThreshold).forEach((sql, count) -> {
+            Counter.builder("jdbc.request.n_plus_one")
+                    .description("Statements executed repeatedly within one HTTP request")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("Possible N+1 in {} {}: {} executions of {}", request.getMethod(), uri, count, sql);
+        });
+    }
+
+    static String serverTimingValue(StatementStats stats) {
+        return String.format(Locale.ROOT, "db;dur=%.3f;desc=\"%d statements\"",
+                stats.jdbcTime().toNanos() / 1_000_000.0, stats.statements());
+    }
+
+    /**
+     * Adds the header just before the response is committed (headers cannot be added after),
+     * with the statements executed up to that point
+     */
+    private static final class ServerTimingResponse extends OnCommittedResponseWrapper {
+
+        private final StatementStats stats;
+        private boolean written;
+
+        ServerTimingResponse(HttpServletResponse response, StatementStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            if (!written) {
+                written = true;
+                addHeader(SERVER_TIMING, serverTimingValue(stats));
+            }
+        }
+
+        void writeHeaderIfNotCommitted() {
+            if (!isCommitted()) {
+                onResponseCommitted();
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.newwork.backend.datasource;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC statements executed on one thread while a {@link StatementCounter} scope was open: how many,
+ * how long they took, and how often each distinct SQL string ran. A batch counts as one execution.
+ * Not thread-safe, a scope belongs to a single thread.
+ */
+public class StatementStats {
+
+    private int statements;
+    private long jdbcNanos;
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+
+    void record(List<String> queries, long nanos) {
+        statements++;
+        jdbcNanos += nanos;
+        executionsBySql.merge(queries.size() == 1 ? queries.get(0) : String.join("; ", queries), 1, Integer::sum);
+    }
+
+    void add(StatementStats other) {
+        statements += other.statements;
+        jdbcNanos += other.jdbcNanos;
+        other.executionsBySql.forEach((sql, count) -> executionsBySql.merge(sql, count, Integer::sum));
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public Duration jdbcTime() {
+        return Duration.ofNanos(jdbcNanos);
+    }
+
+    /**
+     * Executions per distinct SQL string, most executed first
+     */
+    public Map<String, Integer> executionsBySql() {
+        Map<String, Integer> sorted = new LinkedHashMap<>();
+        executionsBySql.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    /**
+     * SQL strings executed at least {@code threshold} times: the same statement with different
+     * parameters over and over is the shape of an N+1 (a lazy association loaded per row)
+     */
+    public Map<String, Integer> repeatedStatements(int threshold) {
+        Map<String, Integer> repeated = executionsBySql();
+        repeated.values().removeIf(count -> count < threshold);
+        return repeated;
+    }
+}
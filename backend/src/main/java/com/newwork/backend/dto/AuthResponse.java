@@ -12,6 +12,9 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class AuthResponse {
     private String token;
+    private String refreshToken;
+    // Access token lifetime in seconds
+    private Long expiresIn;
     private String username;
     private String email;
     private User.Role role;
@@ -36,7 +36,12 @@ public class EmployeeDto {
     private String contractType;
     
     private List<AbsenceDto> absences;
+    // Newest page of feedback only; older pages via /api/feedbacks/employee/{id}/feed?cursor=
     private List<FeedbackDto> feedbacks;
+    private String feedbacksNextCursor;
+    private Long feedbackCount;
+    private Long polishedFeedbackCount;
+    private FeedbackInsightsDto feedbackInsights;
     
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -0,0 +1,37 @@
+package com.newwork.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * CSV employee import running in the background; the report is set once it has finished
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeImportJobDto {
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private Long id;
+    private Status status;
+    private String createdBy;
+    private String fileName;
+    private int processedRows;
+    private int importedRows;
+    private int failedRows;
+    private Double rowsPerSecond;
+    private String error;
+    private EmployeeImportReport report;
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+}
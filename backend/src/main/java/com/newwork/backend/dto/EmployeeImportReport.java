@@ -0,0 +1,35 @@
+package com.newwork.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a CSV employee import. Rows are imported independently: a failed row is
+ * listed in {@code errors} and does not stop the others. At most employee.import.max-errors
+ * errors are listed; {@code failedRows} always has the full count.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeImportReport {
+    private int totalRows;
+    private int importedRows;
+    private int failedRows;
+    private boolean errorsTruncated;
+    private long durationMillis;
+    private List<RowError> errors;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RowError {
+        private int line;
+        private String username;
+        private String message;
+    }
+}
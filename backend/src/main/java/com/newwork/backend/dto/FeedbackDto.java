@@ -18,6 +18,7 @@ public class FeedbackDto {
     private String originalContent;
     private String polishedContent;
     private Boolean isPolished;
+    private Long duplicateOfId;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
@@ -0,0 +1,31 @@
+package com.newwork.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Keyword and sentiment summary of an employee's feedback, maintained incrementally (no AI call)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackInsightsDto {
+    private List<Keyword> topKeywords;
+    private long positiveTerms;
+    private long negativeTerms;
+    // Share of positive among sentiment-bearing terms, null when there are none
+    private Double positiveRatio;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Keyword {
+        private String term;
+        private int count;
+    }
+}
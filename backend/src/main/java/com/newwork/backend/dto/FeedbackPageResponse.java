@@ -0,0 +1,22 @@
+package com.newwork.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a cursor-paginated feedback feed.
+ * Pass nextCursor back as ?cursor= to get the following page; it is null on the last page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackPageResponse {
+    private List<FeedbackDto> feedbacks;
+    private String nextCursor;
+    private boolean hasMore;
+}
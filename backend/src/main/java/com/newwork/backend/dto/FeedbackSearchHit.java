@@ -0,0 +1,15 @@
+package com.newwork.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackSearchHit {
+    private FeedbackDto feedback;
+    private double score;
+}
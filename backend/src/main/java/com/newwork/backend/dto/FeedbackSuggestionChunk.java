@@ -0,0 +1,19 @@
+package com.newwork.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A single suggestion pushed over the streaming suggestions endpoint
+ * as soon as the model has finished writing it
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedbackSuggestionChunk {
+    private int index;
+    private String text;
+}
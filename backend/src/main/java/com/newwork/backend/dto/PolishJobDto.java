@@ -0,0 +1,32 @@
+package com.newwork.backend.dto;
+
+import com.newwork.backend.entity.PolishJob;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Polish job status; throughput and ETA are only set while the job is running
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PolishJobDto {
+    private Long id;
+    private PolishJob.Status status;
+    private String createdBy;
+    private int totalItems;
+    private long pendingItems;
+    private long polishedItems;
+    private long skippedItems;
+    private long failedItems;
+    private Double itemsPerSecond;
+    private Long etaSeconds;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,18 @@
+package com.newwork.backend.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PolishJobRequest {
+    @NotEmpty(message = "At least one feedback id is required")
+    private List<Long> feedbackIds;
+}
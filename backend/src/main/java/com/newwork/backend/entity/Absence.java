@@ -7,10 +7,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "absences", indexes = {
-    @Index(name = "idx_absence_employee_id", columnList = "employee_id"),
-    @Index(name = "idx_absence_status", columnList = "status")
-})
+@Table(name = "absences")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,7 +16,8 @@ import java.time.LocalDateTime;
 public class Absence {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "absences_seq")
+    @SequenceGenerator(name = "absences_seq", sequenceName = "absences_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -2,6 +2,8 @@ package com.newwork.backend.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -9,10 +11,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "employees", indexes = {
-    @Index(name = "idx_employee_user_id", columnList = "user_id"),
-    @Index(name = "idx_employee_department", columnList = "department")
-})
+@Table(name = "employees")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employees")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -21,7 +21,8 @@ import java.util.List;
 public class Employee {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
+    @SequenceGenerator(name = "employees_seq", sequenceName = "employees_seq", allocationSize = 50)
     private Long id;
     
     @OneToOne(fetch = FetchType.LAZY)
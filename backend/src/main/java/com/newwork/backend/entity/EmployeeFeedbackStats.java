@@ -0,0 +1,30 @@
+package com.newwork.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Per-employee feedback counters maintained on write.
+ * Kept in their own table so counter updates never touch (or lock) the employees row.
+ */
+@Entity
+@Table(name = "employee_feedback_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeFeedbackStats {
+    
+    @Id
+    @Column(name = "employee_id")
+    private Long employeeId;
+    
+    @Column(name = "feedback_count", nullable = false)
+    @Builder.Default
+    private Long feedbackCount = 0L;
+    
+    @Column(name = "polished_count", nullable = false)
+    @Builder.Default
+    private Long polishedCount = 0L;
+}
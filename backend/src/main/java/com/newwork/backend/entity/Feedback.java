@@ -6,10 +6,7 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "feedbacks", indexes = {
-    @Index(name = "idx_feedback_employee_id", columnList = "employee_id"),
-    @Index(name = "idx_feedback_author", columnList = "author_name")
-})
+@Table(name = "feedbacks")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,7 +15,8 @@ import java.time.LocalDateTime;
 public class Feedback {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "feedbacks_seq")
+    @SequenceGenerator(name = "feedbacks_seq", sequenceName = "feedbacks_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -38,6 +36,10 @@ public class Feedback {
     @Builder.Default
     private Boolean isPolished = false;
     
+    // Earlier feedback this one is a near-copy of (same employee or same author), if any
+    @Column(name = "duplicate_of_id")
+    private Long duplicateOfId;
+    
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
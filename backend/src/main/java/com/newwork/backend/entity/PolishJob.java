@@ -0,0 +1,63 @@
+package com.newwork.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bulk AI polish of existing feedback (review cycles).
+ * Progress is checkpointed per item in {@link PolishJobItem}, so a job resumes after a restart.
+ */
+@Entity
+@Table(name = "polish_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PolishJob {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "polish_jobs_seq")
+    @SequenceGenerator(name = "polish_jobs_seq", sequenceName = "polish_jobs_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "created_by", nullable = false)
+    private String createdBy;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private Status status = Status.QUEUED;
+    
+    @Column(name = "total_items", nullable = false)
+    private Integer totalItems;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+    
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+    
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        // Waiting for the AI circuit breaker to close
+        PAUSED,
+        COMPLETED,
+        CANCELLED;
+        
+        public boolean isFinished() {
+            return this == COMPLETED || this == CANCELLED;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.newwork.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One feedback to polish within a {@link PolishJob}; its status is the job's checkpoint
+ */
+@Entity
+@Table(name = "polish_job_items")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PolishJobItem {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "polish_job_items_seq")
+    @SequenceGenerator(name = "polish_job_items_seq", sequenceName = "polish_job_items_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+    
+    @Column(name = "feedback_id", nullable = false)
+    private Long feedbackId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private Status status = Status.PENDING;
+    
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+    
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+    
+    public enum Status {
+        PENDING,
+        POLISHED,
+        // Feedback deleted, already polished, or the model returned it unchanged
+        SKIPPED,
+        FAILED
+    }
+}
@@ -0,0 +1,50 @@
+package com.newwork.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Opaque refresh token, stored as a SHA-256 hash. Every refresh consumes the token and issues
+ * a new one in the same family; presenting a consumed token again revokes the whole family.
+ */
+@Entity
+@Table(name = "refresh_tokens")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshToken {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "refresh_tokens_seq")
+    @SequenceGenerator(name = "refresh_tokens_seq", sequenceName = "refresh_tokens_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+    
+    // Shared by all tokens descended from one login
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+    
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+    
+    // Set when the token is rotated or its family is revoked
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
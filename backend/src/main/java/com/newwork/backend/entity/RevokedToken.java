@@ -0,0 +1,27 @@
+package com.newwork.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Access token id (jti) revoked before its expiry, e.g. on logout.
+ * Rows are only needed until the token would have expired anyway.
+ */
+@Entity
+@Table(name = "revoked_tokens")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedToken {
+    
+    @Id
+    @Column(length = 36)
+    private String jti;
+    
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -2,11 +2,21 @@ package com.newwork.backend.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+    @UniqueConstraint(name = User.USERNAME_CONSTRAINT, columnNames = "username"),
+    @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email")
+})
+@EntityListeners(UserChangeListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-username")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -14,17 +24,22 @@ import java.time.LocalDateTime;
 @Builder
 public class User {
     
+    public static final String USERNAME_CONSTRAINT = "uk_users_username";
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
     
-    @Column(unique = true, nullable = false)
+    @NaturalId
+    @Column(nullable = false)
     private String username;
     
     @Column(nullable = false)
     private String password;
     
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String email;
     
     @Enumerated(EnumType.STRING)
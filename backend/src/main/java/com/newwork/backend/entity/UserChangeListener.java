@@ -0,0 +1,25 @@
+package com.newwork.backend.entity;
+
+import com.newwork.backend.event.UserChangedEvent;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA listener on {@link User}; instantiated by Spring, so the publisher is injected.
+ * Bulk JPQL updates bypass entity listeners and publish {@link UserChangedEvent} themselves.
+ */
+public class UserChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public UserChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getUsername()));
+    }
+}
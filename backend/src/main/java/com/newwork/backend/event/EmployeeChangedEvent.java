@@ -0,0 +1,10 @@
+package com.newwork.backend.event;
+
+import java.util.Collection;
+
+/**
+ * Published when employee rows are created or updated; relayed to other nodes after commit so
+ * they drop those employees and the cached query results from their second-level cache
+ */
+public record EmployeeChangedEvent(Collection<Long> employeeIds) {
+}
@@ -0,0 +1,8 @@
+package com.newwork.backend.event;
+
+/**
+ * Published by FeedbackService when a feedback is deleted; in-memory text indexes listen after commit
+ */
+public record FeedbackDeletedEvent(Long feedbackId, Long employeeId, String authorName,
+                                   String content, String polishedContent) {
+}
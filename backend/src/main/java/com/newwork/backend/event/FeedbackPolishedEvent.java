@@ -0,0 +1,7 @@
+package com.newwork.backend.event;
+
+/**
+ * Published by FeedbackService when existing feedback gets a polished version (batch polish jobs)
+ */
+public record FeedbackPolishedEvent(Long feedbackId, Long employeeId, String content, String polishedContent) {
+}
@@ -0,0 +1,7 @@
+package com.newwork.backend.event;
+
+/**
+ * Published when a polish job is created; the runner picks it up once the items are committed
+ */
+public record PolishJobSubmittedEvent(Long jobId) {
+}
@@ -0,0 +1,7 @@
+package com.newwork.backend.event;
+
+/**
+ * Published when a user row is updated or removed (password hash, role); cached user details listen after commit
+ */
+public record UserChangedEvent(Long userId, String username) {
+}
@@ -0,0 +1,12 @@
+package com.newwork.backend.exception;
+
+/**
+ * Thrown when a refresh token is unknown, expired or revoked.
+ * Mapped to HTTP 401 by {@link GlobalExceptionHandler}.
+ */
+public class InvalidTokenException extends RuntimeException {
+
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,30 @@
+package com.newwork.backend.exception;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Thrown when a request is shed because a capacity or quota limit has been reached.
+ * Mapped to HTTP 429 by {@link GlobalExceptionHandler}, with a Retry-After header when the
+ * limit knows when it will clear.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TooManyRequestsException(String message) {
+        this(message, null);
+    }
+
+    /**
+     * @param retryAfter how long until the request could succeed, or null if unknown
+     */
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Optional<Duration> getRetryAfter() {
+        return Optional.ofNullable(retryAfter);
+    }
+}
@@ -10,10 +10,21 @@ public interface EmployeeMapper {
     
     @Mapping(target = "absences", ignore = true)
     @Mapping(target = "feedbacks", ignore = true)
+    @Mapping(target = "feedbacksNextCursor", ignore = true)
+    @Mapping(target = "feedbackCount", ignore = true)
+    @Mapping(target = "polishedFeedbackCount", ignore = true)
+    @Mapping(target = "feedbackInsights", ignore = true)
     EmployeeDto toDto(Employee employee);
     
+    /**
+     * Feedback is not mapped from the entity: it is paginated and filled in by the service
+     */
     @Mapping(target = "absences", source = "absences")
-    @Mapping(target = "feedbacks", source = "feedbacks")
+    @Mapping(target = "feedbacks", ignore = true)
+    @Mapping(target = "feedbacksNextCursor", ignore = true)
+    @Mapping(target = "feedbackCount", ignore = true)
+    @Mapping(target = "polishedFeedbackCount", ignore = true)
+    @Mapping(target = "feedbackInsights", ignore = true)
     EmployeeDto toDtoWithRelations(Employee employee);
     
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
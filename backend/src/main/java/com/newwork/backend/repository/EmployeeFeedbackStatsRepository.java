@@ -0,0 +1,37 @@
+package com.newwork.backend.repository;
+
+import com.newwork.backend.entity.EmployeeFeedbackStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+@Repository
+public interface EmployeeFeedbackStatsRepository extends JpaRepository<EmployeeFeedbackStats, Long> {
+    
+    /**
+     * Atomic in-place increment, no read-modify-write race between concurrent writers
+     * @return number of updated rows (0 if the employee has no stats row yet)
+     */
+    @Modifying
+    @Query("UPDATE EmployeeFeedbackStats s SET " +
+           "s.feedbackCount = s.feedbackCount + :feedbackDelta, " +
+           "s.polishedCount = s.polishedCount + :polishedDelta " +
+           "WHERE s.employeeId = :employeeId")
+    int adjustCounts(Long employeeId, long feedbackDelta, long polishedDelta);
+    
+    /**
+     * Zeroed stats rows for newly created employees, so {@link #adjustCounts} always finds one.
+     * The employees must already be flushed.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO employee_feedback_stats (employee_id, feedback_count, polished_count) " +
+                   "SELECT e.id, 0, 0 FROM employees e WHERE e.id IN (:employeeIds) " +
+                   "AND NOT EXISTS (SELECT 1 FROM employee_feedback_stats s WHERE s.employee_id = e.id)",
+           nativeQuery = true)
+    int createForEmployees(Collection<Long> employeeIds);
+}
@@ -1,11 +1,14 @@
 package com.newwork.backend.repository;
 
 import com.newwork.backend.entity.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -19,9 +22,6 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     @Query("SELECT DISTINCT e FROM Employee e LEFT JOIN FETCH e.absences WHERE e.id = :id")
     Optional<Employee> findByIdWithAbsences(Long id);
     
-    @Query("SELECT DISTINCT e FROM Employee e LEFT JOIN FETCH e.feedbacks WHERE e.id = :id")
-    Optional<Employee> findByIdWithFeedbacks(Long id);
-    
     /**
      * Optimized query with EntityGraph to prevent N+1 problem when loading user relationship
      * This is crucial for authentication checks in the service layer
@@ -39,6 +39,13 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     @EntityGraph(attributePaths = {"user"})
     List<Employee> findByDepartment(String department);
     
+    /**
+     * Served from the query cache until the employees table changes
+     */
+    @Query("SELECT e.id FROM Employee e WHERE e.department = :department")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<Long> findIdsByDepartment(String department);
+    
     /**
      * Search employees by name, position, or department
      * Uses LIKE with case-insensitive matching
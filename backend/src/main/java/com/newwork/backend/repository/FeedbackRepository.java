@@ -1,10 +1,14 @@
 package com.newwork.backend.repository;
 
 import com.newwork.backend.entity.Feedback;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -17,7 +21,64 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
     @EntityGraph(attributePaths = {"employee"})
     List<Feedback> findByEmployeeId(Long employeeId);
     
-    @EntityGraph(attributePaths = {"employee"})
+    /**
+     * No EntityGraph: the DTO only needs employee.id, which is read from the foreign key
+     */
     List<Feedback> findByEmployeeIdOrderByCreatedAtDesc(Long employeeId);
+    
+    /**
+     * Keyset pagination on (created_at, id), served by idx_feedback_employee_created.
+     * First page, newest first
+     */
+    @Query("SELECT f FROM Feedback f WHERE f.employee.id = :employeeId " +
+           "ORDER BY f.createdAt DESC, f.id DESC")
+    List<Feedback> findFeedPage(Long employeeId, Limit limit);
+    
+    /**
+     * Next page: everything strictly older than the (createdAt, id) of the last row already returned
+     */
+    @Query("SELECT f FROM Feedback f WHERE f.employee.id = :employeeId " +
+           "AND (f.createdAt < :createdAt OR (f.createdAt = :createdAt AND f.id < :id)) " +
+           "ORDER BY f.createdAt DESC, f.id DESC")
+    List<Feedback> findFeedPageAfter(Long employeeId, LocalDateTime createdAt, Long id, Limit limit);
+    
+    /**
+     * Feedback written by a user, served by idx_feedback_author (author_name, created_at, id)
+     */
+    @Query("SELECT f FROM Feedback f WHERE f.authorName = :authorName " +
+           "ORDER BY f.createdAt DESC, f.id DESC")
+    List<Feedback> findAuthoredPage(String authorName, Limit limit);
+    
+    @Query("SELECT f FROM Feedback f WHERE f.authorName = :authorName " +
+           "AND (f.createdAt < :createdAt OR (f.createdAt = :createdAt AND f.id < :id)) " +
+           "ORDER BY f.createdAt DESC, f.id DESC")
+    List<Feedback> findAuthoredPageAfter(String authorName, LocalDateTime createdAt, Long id, Limit limit);
+    
+    /**
+     * Id-ordered batches of the text columns, for rebuilding in-memory indexes at startup
+     */
+    @Query("SELECT f.id AS id, f.employee.id AS employeeId, f.authorName AS authorName, " +
+           "f.originalContent AS originalContent, f.polishedContent AS polishedContent " +
+           "FROM Feedback f WHERE f.id > :afterId ORDER BY f.id")
+    List<FeedbackTextView> findTextBatchAfter(Long afterId, Limit limit);
+    
+    /**
+     * Highest feedback id, or 0; a rebuild stops there and leaves newer rows to the events
+     */
+    @Query("SELECT COALESCE(MAX(f.id), 0) FROM Feedback f")
+    long findMaxId();
+    
+    long countByEmployeeId(Long employeeId);
+    
+    long countByEmployeeIdAndIsPolishedTrue(Long employeeId);
+    
+    /**
+     * Sets the polished version only if the feedback is not polished yet, so concurrent batch jobs
+     * never polish (and count) the same feedback twice
+     * @return number of updated rows
+     */
+    @Modifying
+    @Query("UPDATE Feedback f SET f.polishedContent = :polishedContent, f.isPolished = true, " +
+           "f.updatedAt = :updatedAt WHERE f.id = :id AND f.isPolished = false")
+    int markPolished(Long id, String polishedContent, LocalDateTime updatedAt);
 }
-
@@ -0,0 +1,12 @@
+package com.newwork.backend.repository;
+
+/**
+ * Projection used to (re)build in-memory text indexes without loading full entities
+ */
+public interface FeedbackTextView {
+    Long getId();
+    Long getEmployeeId();
+    String getAuthorName();
+    String getOriginalContent();
+    String getPolishedContent();
+}
@@ -0,0 +1,44 @@
+package com.newwork.backend.repository;
+
+import com.newwork.backend.entity.PolishJobItem;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface PolishJobItemRepository extends JpaRepository<PolishJobItem, Long> {
+    
+    /**
+     * Keyset scan over a job's pending items, served by idx_polish_item_job_status
+     */
+    @Query("SELECT i FROM PolishJobItem i WHERE i.jobId = :jobId " +
+           "AND i.status = com.newwork.backend.entity.PolishJobItem.Status.PENDING AND i.id > :afterId " +
+           "ORDER BY i.id")
+    List<PolishJobItem> findPendingAfter(Long jobId, Long afterId, Limit limit);
+    
+    long countByJobIdAndStatus(Long jobId, PolishJobItem.Status status);
+    
+    /**
+     * Item counts per status; the job's progress is derived from these rather than kept in separate counters
+     */
+    @Query("SELECT i.status AS status, COUNT(i) AS count FROM PolishJobItem i " +
+           "WHERE i.jobId = :jobId GROUP BY i.status")
+    List<StatusCount> countByStatus(Long jobId);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE PolishJobItem i SET i.status = :status, i.attempts = i.attempts + :attemptsDelta, " +
+           "i.lastError = :lastError WHERE i.id = :id")
+    int updateItem(Long id, PolishJobItem.Status status, int attemptsDelta, String lastError);
+    
+    interface StatusCount {
+        PolishJobItem.Status getStatus();
+        
+        long getCount();
+    }
+}
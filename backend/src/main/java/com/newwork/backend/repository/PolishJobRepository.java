@@ -0,0 +1,35 @@
+package com.newwork.backend.repository;
+
+import com.newwork.backend.entity.PolishJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PolishJobRepository extends JpaRepository<PolishJob, Long> {
+    
+    List<PolishJob> findByStatusInOrderByIdAsc(Collection<PolishJob.Status> statuses);
+    
+    List<PolishJob> findAllByOrderByIdDesc();
+    
+    @Query("SELECT j.status FROM PolishJob j WHERE j.id = :id")
+    PolishJob.Status findStatusById(Long id);
+    
+    /**
+     * Moves an unfinished job to a new status; finished (completed/cancelled) jobs are left as they are
+     * @return number of updated rows
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE PolishJob j SET j.status = :status, " +
+           "j.startedAt = COALESCE(j.startedAt, :startedAt), j.finishedAt = :finishedAt " +
+           "WHERE j.id = :id AND j.status NOT IN (com.newwork.backend.entity.PolishJob.Status.COMPLETED, " +
+           "com.newwork.backend.entity.PolishJob.Status.CANCELLED)")
+    int updateStatus(Long id, PolishJob.Status status, LocalDateTime startedAt, LocalDateTime finishedAt);
+}
@@ -0,0 +1,35 @@
+package com.newwork.backend.repository;
+
+import com.newwork.backend.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+    
+    /**
+     * Consumes the token; returns 0 if it was already consumed (a concurrent refresh or a replay)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.id = :id AND t.revokedAt IS NULL")
+    int markRevoked(Long id, LocalDateTime now);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.familyId = :familyId AND t.revokedAt IS NULL")
+    int revokeFamily(String familyId, LocalDateTime now);
+    
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :now")
+    int deleteExpired(LocalDateTime now);
+}
@@ -0,0 +1,110 @@
+package com.newwork.backend.repository;
+
+import com.newwork.backend.datasource.StatementCounter;
+import com.newwork.backend.datasource.StatementStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.lang.NonNull;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.BaseStream;
+
+/**
+ * Added to every repository proxy: records the rows each method returns (or, for
+ * {@code @Modifying} queries, affects) as {@code repository.rows}, and logs calls slower than
+ * the threshold with their JDBC statements. Latency itself is the
+ * {@code spring.data.repository.invocations} timer Spring Boot records with the same tags.
+ */
+@Slf4j
+class RepositoryCallInterceptor implements MethodInterceptor {
+
+    private final String repository;
+    private final MeterRegistry meterRegistry;
+    private final Duration slowThreshold;
+
+    RepositoryCallInterceptor(Class<?> repositoryInterface, MeterRegistry meterRegistry, Duration slowThreshold) {
+        this.repository = repositoryInterface.getSimpleName();
+        this.meterRegistry = meterRegistry;
+        this.slowThreshold = slowThreshold;
+    }
+
+    @Override
+    public Object invoke(@NonNull MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        if (method.getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        long start = System.nanoTime();
+        try (StatementCounter.Scope scope = StatementCounter.open()) {
+            Object result = invocation.proceed();
+            long rows = rows(method, result);
+            if (rows >= 0) {
+                DistributionSummary.builder("repository.rows")
+                        .description("Rows returned by a repository method (affected, for modifying queries)")
+                        .tags(tags(method))
+                        .register(meterRegistry)
+                        .record(rows);
+            }
+            logIfSlow(method, Duration.ofNanos(System.nanoTime() - start), rows, scope.stats());
+            return result;
+        }
+    }
+
+    private Tags tags(Method method) {
+        return Tags.of("repository", repository, "method", method.getName());
+    }
+
+    /**
+     * Row count of a result, or -1 when there is none to take (void, streams, lazy iterables)
+     */
+    static long rows(Method method, Object result) {
+        if (method.getReturnType() == void.class) {
+            return -1;
+        }
+        if (result instanceof Number number && AnnotatedElementUtils.hasAnnotation(method, Modifying.class)) {
+            return number.longValue();
+        }
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Iterable<?> || result instanceof BaseStream<?, ?>) {
+            return -1;
+        }
+        return 1;
+    }
+
+    private void logIfSlow(Method method, Duration duration, long rows, StatementStats stats) {
+        if (duration.compareTo(slowThreshold) < 0) {
+            return;
+        }
+        Counter.builder("repository.slow_calls")
+                .description("Repository calls slower than repository.metrics.slow-threshold")
+                .tags(tags(method))
+                .register(meterRegistry)
+                .increment();
+        String sql = stats.executionsBySql().keySet().stream().findFirst().orElse("");
+        log.warn("Slow repository call repository={} method={} durationMs={} rows={} statements={} jdbcMs={} sql=\"{}\"",
+                repository, method.getName(), duration.toMillis(), rows, stats.statements(),
+                stats.jdbcTime().toMillis(), sql);
+    }
+}
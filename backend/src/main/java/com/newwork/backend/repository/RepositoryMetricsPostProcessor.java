@@ -0,0 +1,41 @@
+package com.newwork.backend.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Adds {@link RepositoryCallInterceptor} to every Spring Data repository through the factory
+ * beans, the hook Spring Boot's own repository metrics use. Unlike a pointcut on the proxies,
+ * it knows which repository interface an inherited method such as {@code findAll} was called on.
+ */
+@Component
+@ConditionalOnProperty(name = "repository.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class RepositoryMetricsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Duration slowThreshold;
+
+    public RepositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+                                          @Value("${repository.metrics.slow-threshold:200ms}") Duration slowThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowThreshold = slowThreshold;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(@NonNull Object bean, @NonNull String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(new RepositoryCallInterceptor(
+                            repositoryInformation.getRepositoryInterface(), meterRegistry.getObject(), slowThreshold))));
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,23 @@
+package com.newwork.backend.repository;
+
+import com.newwork.backend.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+    
+    @Query("SELECT t.jti FROM RevokedToken t WHERE t.expiresAt > :now")
+    List<String> findActiveJtis(LocalDateTime now);
+    
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt < :now")
+    int deleteExpired(LocalDateTime now);
+}
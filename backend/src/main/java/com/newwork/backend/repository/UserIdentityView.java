@@ -0,0 +1,10 @@
+package com.newwork.backend.repository;
+
+/**
+ * Projection used to rebuild the in-memory username/email filter without loading full entities
+ */
+public interface UserIdentityView {
+    Long getId();
+    String getUsername();
+    String getEmail();
+}
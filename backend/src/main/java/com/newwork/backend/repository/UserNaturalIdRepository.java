@@ -0,0 +1,14 @@
+package com.newwork.backend.repository;
+
+import com.newwork.backend.entity.User;
+
+import java.util.Optional;
+
+/**
+ * Lookups by username through Hibernate's natural-id API instead of a query, so they are served
+ * from the second-level cache (users-by-username, then users) when the user was seen before
+ */
+public interface UserNaturalIdRepository {
+    
+    Optional<User> findByUsername(String username);
+}
@@ -0,0 +1,27 @@
+package com.newwork.backend.repository;
+
+import com.newwork.backend.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Read-only transaction like the derived queries of {@link org.springframework.data.jpa.repository.support.SimpleJpaRepository}:
+ * without one, the shared EntityManager closes the session right after unwrap
+ */
+@Transactional(readOnly = true)
+class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public Optional<User> findByUsername(String username) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(username);
+    }
+}
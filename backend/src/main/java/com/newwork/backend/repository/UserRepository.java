@@ -1,16 +1,55 @@
 package com.newwork.backend.repository;
 
 import com.newwork.backend.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByUsername(String username);
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository {
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+    
+    /**
+     * User and employee profile in one query for login
+     */
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.employee WHERE u.username = :username")
+    Optional<User> findByUsernameWithEmployee(String username);
+    
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.employee WHERE u.id = :id")
+    Optional<User> findByIdWithEmployee(Long id);
+    
+    /**
+     * Which of the given usernames are taken - one query per import chunk instead of one per row
+     */
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    List<String> findExistingUsernames(Collection<String> usernames);
+    
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(Collection<String> emails);
+    
+    /**
+     * Id-ordered batches of usernames and emails, for rebuilding the registration filter
+     */
+    @Query("SELECT u.id AS id, u.username AS username, u.email AS email " +
+           "FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserIdentityView> findIdentityBatchAfter(Long afterId, Limit limit);
+    
+    /**
+     * Replaces the password hash only if it is still the one that was verified,
+     * so a concurrent password change is never overwritten
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :currentHash")
+    int updatePasswordHash(Long id, String currentHash, String newHash);
 }
 
@@ -0,0 +1,157 @@
+package com.newwork.backend.security;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.newwork.backend.security.ratelimit.CachedBodyHttpServletRequest;
+import com.newwork.backend.security.ratelimit.RateLimit;
+import com.newwork.backend.security.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Throttles POST /api/auth/login and /api/auth/register per client IP and, for login,
+ * per username, before any password hashing happens. Over-limit requests get 429 with
+ * Retry-After. The per-username bucket slows credential stuffing against one account
+ * spread over many IPs; the per-IP bucket slows one client trying many accounts.
+ */
+@Component
+@Slf4j
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String LOGIN_PATH = "/api/auth/login";
+    private static final String REGISTER_PATH = "/api/auth/register";
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final JsonFactory jsonFactory;
+    private final Counter ipRejectedCounter;
+    private final Counter usernameRejectedCounter;
+    private final RateLimit ipLimit;
+    private final RateLimit usernameLimit;
+
+    @Value("${auth.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    public AuthRateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                               @Value("${auth.rate-limit.ip.capacity:20}") int ipCapacity,
+                               @Value("${auth.rate-limit.ip.refill-period:1m}") Duration ipRefillPeriod,
+                               @Value("${auth.rate-limit.username.capacity:5}") int usernameCapacity,
+                               @Value("${auth.rate-limit.username.refill-period:1m}") Duration usernameRefillPeriod) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        this.jsonFactory = objectMapper.getFactory();
+        this.ipLimit = new RateLimit(ipCapacity, ipRefillPeriod);
+        this.usernameLimit = new RateLimit(usernameCapacity, usernameRefillPeriod);
+        this.ipRejectedCounter = Counter.builder("auth.rate_limit.rejected")
+                .description("Login/registration requests rejected by the rate limiter")
+                .tag("key", "ip")
+                .register(meterRegistry);
+        this.usernameRejectedCounter = Counter.builder("auth.rate_limit.rejected")
+                .description("Login/registration requests rejected by the rate limiter")
+                .tag("key", "username")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!enabled || !"POST".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getServletPath();
+        return !LOGIN_PATH.equals(path) && !REGISTER_PATH.equals(path);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        boolean login = LOGIN_PATH.equals(request.getServletPath());
+        String endpoint = login ? "login" : "register";
+
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(endpoint + ":ip:" + request.getRemoteAddr(), ipLimit);
+        if (!decision.allowed()) {
+            ipRejectedCounter.increment();
+            reject(response, decision);
+            return;
+        }
+
+        if (login) {
+            CachedBodyHttpServletRequest cachedRequest = new CachedBodyHttpServletRequest(request, MAX_BODY_BYTES);
+            String username = readUsername(cachedRequest.getBody());
+            if (username != null) {
+                decision = rateLimiter.tryAcquire("login:user:" + username, usernameLimit);
+                if (!decision.allowed()) {
+                    usernameRejectedCounter.increment();
+                    log.warn("Login rate limit reached for user {}", username);
+                    reject(response, decision);
+                    return;
+                }
+            }
+            request = cachedRequest;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Username from the JSON body, normalized; null if absent or the body is not JSON
+     * (validation then rejects the request)
+     */
+    private String readUsername(byte[] body) {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("username".equals(field)) {
+                    String username = parser.getValueAsString();
+                    return username == null || username.isBlank() ? null : username.trim().toLowerCase(Locale.ROOT);
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException e) {
+            log.debug("Could not read username from login body: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response, RateLimiter.Decision decision) throws IOException {
+        long retryAfterSeconds = Math.max(1, (decision.retryAfterMillis() + 999) / 1000);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now().toString());
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("error", "Too Many Requests");
+        body.put("message", "Too many attempts. Please try again in " + retryAfterSeconds + " seconds.");
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
@@ -0,0 +1,35 @@
+package com.newwork.backend.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+/**
+ * Immutable {@link UserDetails}, safe to share from {@link UserDetailsCache} across requests.
+ * Unlike Spring's User it is not a CredentialsContainer, so authentication never erases the
+ * password of a cached instance.
+ */
+public record AuthenticatedUser(String username, String password,
+                                List<GrantedAuthority> authorities) implements UserDetails {
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser[username=" + username + ", authorities=" + authorities + "]";
+    }
+}
@@ -0,0 +1,49 @@
+package com.newwork.backend.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * Picks the BCrypt cost from a target verification latency on the current hardware.
+ * Each cost step doubles the work, so the cost is the highest one whose measured
+ * time stays within the target, clamped to [minCost, maxCost].
+ * Hashes stored with a lower cost are upgraded on the next successful login.
+ */
+@Slf4j
+public final class BCryptCostCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample";
+    private static final int SAMPLES = 3;
+
+    private BCryptCostCalibrator() {
+    }
+
+    public static int calibrate(Duration targetLatency, int minCost, int maxCost) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minCost);
+        String hash = probe.encode(SAMPLE_PASSWORD); // also warms up the JIT
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            probe.matches(SAMPLE_PASSWORD, hash);
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+
+        int cost = costFor(fastest, targetLatency, minCost, maxCost);
+        log.info("BCrypt cost {} (cost {} verifies in {} ms, target {} ms)",
+                cost, minCost, fastest / 1_000_000, targetLatency.toMillis());
+        return cost;
+    }
+
+    static int costFor(long nanosAtMinCost, Duration targetLatency, int minCost, int maxCost) {
+        long target = targetLatency.toNanos();
+        int cost = minCost;
+        long nanos = nanosAtMinCost;
+        while (cost < maxCost && nanos * 2 <= target) {
+            cost++;
+            nanos *= 2;
+        }
+        return cost;
+    }
+}
@@ -12,6 +12,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
@@ -20,7 +21,7 @@ public class JwtService {
     @Value("${jwt.secret:mySecretKeyForJwtTokenGenerationThatNeedsToBeAtLeast256BitsLongForHS256Algorithm}")
     private String secretKey;
     
-    @Value("${jwt.expiration:86400000}") // 24 hours
+    @Value("${jwt.expiration:900000}") // 15 minutes; sessions are extended with refresh tokens
     private long jwtExpiration;
     
     public String extractUsername(String token) {
@@ -49,12 +50,26 @@ public class JwtService {
                 .builder()
                 .claims(extraClaims)
                 .subject(userDetails.getUsername())
+                .id(UUID.randomUUID().toString()) // jti, used for revocation
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
                 .signWith(getSignInKey())
                 .compact();
     }
     
+    /**
+     * Verifies the signature and expiry once and returns all claims
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
+     */
+    public Claims parseClaims(String token) {
+        return extractAllClaims(token);
+    }
+    
+    public long getExpirationMillis() {
+        return jwtExpiration;
+    }
+    
     public boolean isTokenValid(String token, UserDetails userDetails) {
         final String username = extractUsername(token);
         return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
@@ -0,0 +1,108 @@
+package com.newwork.backend.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived record of recent successful logins so a user signing in again (new tab,
+ * expired session, second device) skips the BCrypt verification.
+ *
+ * Only an HMAC of (username, stored hash, password) is kept, under a random key that never
+ * leaves the process, so the cache cannot be used to recover or test passwords offline.
+ * Binding the stored hash means a password change or rehash invalidates the entry.
+ * Failed logins are never cached and always pay the full BCrypt cost.
+ */
+@Component
+public class LoginVerificationCache {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final byte[] key = new byte[32];
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    @Value("${auth.login-cache.ttl:5m}")
+    private Duration ttl;
+
+    @Value("${auth.login-cache.max-entries:10000}")
+    private int maxEntries;
+
+    public LoginVerificationCache(MeterRegistry meterRegistry) {
+        new SecureRandom().nextBytes(key);
+        this.hitCounter = Counter.builder("auth.login.cache")
+                .description("Logins verified from the short-lived verification cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("auth.login.cache")
+                .description("Logins verified from the short-lived verification cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    public boolean matches(String username, String passwordHash, CharSequence rawPassword) {
+        Entry entry = entries.get(username);
+        if (entry == null || ttl.isZero()) {
+            missCounter.increment();
+            return false;
+        }
+        if (System.nanoTime() - entry.createdAtNanos() > ttl.toNanos()) {
+            entries.remove(username, entry);
+            missCounter.increment();
+            return false;
+        }
+        boolean match = MessageDigest.isEqual(entry.mac(), mac(username, passwordHash, rawPassword));
+        (match ? hitCounter : missCounter).increment();
+        return match;
+    }
+
+    /**
+     * Records a login that has just been verified against passwordHash
+     */
+    public void put(String username, String passwordHash, CharSequence rawPassword) {
+        if (ttl.isZero()) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evictExpired();
+            if (entries.size() >= maxEntries) {
+                return; // full of live entries; these logins just take the slow path
+            }
+        }
+        entries.put(username, new Entry(mac(username, passwordHash, rawPassword), System.nanoTime()));
+    }
+
+    private void evictExpired() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> now - entry.createdAtNanos() > ttl.toNanos());
+    }
+
+    private byte[] mac(String username, String passwordHash, CharSequence rawPassword) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(key, HMAC_ALGORITHM));
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            mac.update(passwordHash.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return mac.doFinal(rawPassword.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    private record Entry(byte[] mac, long createdAtNanos) {
+    }
+}
@@ -0,0 +1,137 @@
+package com.newwork.backend.security;
+
+import com.newwork.backend.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing on the bounded passwordHashingExecutor instead of request threads,
+ * so a login burst cannot take every core away from the rest of the API.
+ * When the executor queue is full, or a hash has not completed within auth.hashing.max-wait,
+ * the caller gets a 429 instead of waiting behind the queue.
+ */
+@Component
+@Slf4j
+public class PasswordHasher {
+
+    private static final String SHED_MESSAGE = "Too many sign-in attempts right now. Please try again in a moment.";
+
+    private final PasswordEncoder passwordEncoder;
+    private final Executor executor;
+    private final Timer verifyTimer;
+    private final Timer encodeTimer;
+    private final Counter rejectedCounter;
+
+    @Value("${auth.hashing.max-wait:3s}")
+    private Duration maxWait;
+
+    // Compared against when the user does not exist, so both cases take the same time
+    private volatile String unknownUserHash;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          @Qualifier("passwordHashingExecutor") Executor executor,
+                          MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+        this.verifyTimer = Timer.builder("auth.password.hash")
+                .description("Password hashing time including queueing")
+                .tag("operation", "verify")
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("auth.password.hash")
+                .description("Password hashing time including queueing")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.hash.rejected")
+                .description("Hashing requests shed because the hashing executor was saturated")
+                .register(meterRegistry);
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return verifyTimer.record(() -> await(submit(() -> passwordEncoder.matches(rawPassword, encodedPassword))));
+    }
+
+    /**
+     * Same work as a failed {@link #matches} for logins with an unknown username
+     */
+    public void matchesUnknownUser(CharSequence rawPassword) {
+        if (unknownUserHash == null) {
+            unknownUserHash = passwordEncoder.encode("unknown-user-password");
+        }
+        matches(rawPassword, unknownUserHash);
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return encodeTimer.record(() -> await(submit(() -> passwordEncoder.encode(rawPassword))));
+    }
+
+    /**
+     * Hashes in the background, e.g. to upgrade a stored hash after login
+     *
+     * @throws TooManyRequestsException if the executor queue is full
+     */
+    public CompletableFuture<String> encodeAsync(CharSequence rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * True if the hash was created with a lower cost than the current one
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                if (future.isDone()) {
+                    return; // the caller gave up while this was queued
+                }
+                try {
+                    future.complete(task.get());
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("Password hashing queue is full, shedding request");
+            throw new TooManyRequestsException(SHED_MESSAGE);
+        }
+        return future;
+    }
+
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            rejectedCounter.increment();
+            log.warn("Password hashing did not complete within {} ms, shedding request", maxWait.toMillis());
+            throw new TooManyRequestsException(SHED_MESSAGE);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TooManyRequestsException(SHED_MESSAGE);
+        }
+    }
+}
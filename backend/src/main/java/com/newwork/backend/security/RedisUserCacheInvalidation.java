@@ -0,0 +1,161 @@
+package com.newwork.backend.security;
+
+import com.newwork.backend.entity.Employee;
+import com.newwork.backend.entity.User;
+import com.newwork.backend.event.EmployeeChangedEvent;
+import com.newwork.backend.event.UserChangedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.Session;
+import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+
+/**
+ * Relays {@link UserChangedEvent}s to the other nodes over Redis pub/sub
+ * (auth.user-cache.invalidation=redis), so a role or password change is not served from
+ * another node's {@link UserDetailsCache}. Every node, including the sender, drops the entry
+ * when the message arrives, along with that user's entries in the Hibernate second-level cache,
+ * which {@link UserDetailsCache} would otherwise reload the stale user from. If Redis is
+ * unreachable, other nodes catch up at the cache TTL.
+ *
+ * {@link EmployeeChangedEvent}s go out on a second channel: nodes drop those employees from
+ * the second-level cache and clear the query cache, whose results only the writing node
+ * invalidates itself. A node that reloads a changed row from a read replica that has not
+ * replayed the write yet caches the old row again, until the region expires or the row
+ * changes again; the replica read-your-writes window only covers the writing user.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.user-cache.invalidation", havingValue = "redis")
+@Slf4j
+public class RedisUserCacheInvalidation implements MessageListener, DisposableBean {
+
+    static final String CHANNEL = "user-details:invalidate";
+    static final String EMPLOYEE_CHANNEL = "employees:invalidate";
+
+    private final StringRedisTemplate redisTemplate;
+    private final UserDetailsCache userDetailsCache;
+    private final SessionFactoryImplementor sessionFactory;
+    private final Cache secondLevelCache;
+    private final RedisMessageListenerContainer container;
+    private volatile boolean redisAvailable = true;
+
+    public RedisUserCacheInvalidation(StringRedisTemplate redisTemplate, UserDetailsCache userDetailsCache,
+                                      EntityManagerFactory entityManagerFactory) {
+        this.redisTemplate = redisTemplate;
+        this.userDetailsCache = userDetailsCache;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.secondLevelCache = sessionFactory.getCache();
+        this.container = new RedisMessageListenerContainer();
+        this.container.setConnectionFactory(redisTemplate.getRequiredConnectionFactory());
+        this.container.addMessageListener(this, new ChannelTopic(CHANNEL));
+        this.container.addMessageListener(this, new ChannelTopic(EMPLOYEE_CHANNEL));
+        this.container.afterPropertiesSet();
+    }
+
+    /**
+     * Subscribes once the application is up and retries while Redis is unreachable, so a Redis
+     * outage never blocks startup. Once subscribed, the container recovers lost connections itself.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${auth.user-cache.resubscribe-interval:30s}",
+            fixedDelayString = "${auth.user-cache.resubscribe-interval:30s}")
+    public void subscribe() {
+        if (container.isListening()) {
+            return;
+        }
+        try {
+            container.start();
+            redisAvailable = true;
+            log.info("Subscribed to cache invalidations on Redis channels {} and {}", CHANNEL, EMPLOYEE_CHANNEL);
+        } catch (RuntimeException e) {
+            container.stop();
+            if (redisAvailable) {
+                redisAvailable = false;
+                log.warn("Could not subscribe to user cache invalidations, retrying: {}", e.getMessage());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        publish(CHANNEL, event.userId() + ":" + event.username());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        publish(EMPLOYEE_CHANNEL, event.employeeIds().stream().map(String::valueOf).collect(Collectors.joining(",")));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (EMPLOYEE_CHANNEL.equals(new String(message.getChannel(), StandardCharsets.UTF_8))) {
+            for (String id : body.split(",")) {
+                if (!id.isBlank()) {
+                    secondLevelCache.evictEntityData(Employee.class, Long.valueOf(id.trim()));
+                }
+            }
+            secondLevelCache.evictQueryRegions();
+            return;
+        }
+        // "<id>:<username>"; usernames may contain a colon, ids do not
+        int separator = body.indexOf(':');
+        evictUser(Long.parseLong(body.substring(0, separator)), body.substring(separator + 1));
+    }
+
+    /**
+     * Drops one user from the second-level cache (entity by id, natural id by username) and from
+     * the user details cache; other users stay cached
+     */
+    public void evictUser(long userId, String username) {
+        secondLevelCache.evictEntityData(User.class, userId);
+        EntityPersister persister = sessionFactory.getMappingMetamodel().getEntityDescriptor(User.class);
+        NaturalIdDataAccess naturalIds = persister.getNaturalIdCacheAccessStrategy();
+        if (naturalIds != null) {
+            // The cache key needs a session for the tenant; opening one does not take a connection
+            try (Session session = sessionFactory.openSession()) {
+                naturalIds.evict(naturalIds.generateCacheKey(username, persister,
+                        (SharedSessionContractImplementor) session));
+            }
+        }
+        userDetailsCache.invalidate(username);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        container.destroy();
+    }
+
+    private void publish(String channel, String body) {
+        try {
+            redisTemplate.convertAndSend(channel, body);
+            if (!redisAvailable) {
+                redisAvailable = true;
+                log.info("Cache invalidation via Redis available again");
+            }
+        } catch (RuntimeException e) {
+            if (redisAvailable) {
+                redisAvailable = false;
+                log.warn("Could not publish cache invalidation, other nodes refresh at the TTL: {}", e.getMessage());
+            }
+        }
+    }
+}
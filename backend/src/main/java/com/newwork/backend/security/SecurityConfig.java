@@ -1,8 +1,13 @@
 package com.newwork.backend.security;
 
+import com.newwork.backend.entity.User;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -16,11 +21,16 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.DispatcherTypeRequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -30,23 +40,39 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SecurityConfig {
     
+    static final String SUGGESTION_STREAM_PATH = "/api/feedbacks/suggestions/stream";
+    
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final AuthRateLimitFilter authRateLimitFilter;
     private final UserDetailsService userDetailsService;
     
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationProvider authenticationProvider) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/auth/**", "/h2-console/**", "/actuator/**", "/error").permitAll()
+                        // The suggestion stream (SSE) completes on an async dispatch; the original request was already authorized
+                        .requestMatchers(new AndRequestMatcher(new DispatcherTypeRequestMatcher(DispatcherType.ASYNC),
+                                PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.POST, SUGGESTION_STREAM_PATH)))
+                        .permitAll()
+                        .requestMatchers("/api/auth/**", "/h2-console/**", "/error").permitAll()
+                        // Liveness probes stay public; metrics, caches, breakers and query stats are for managers
+                        .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/info").permitAll()
+                        .requestMatchers("/actuator/**").hasRole(User.Role.MANAGER.name())
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
-                .authenticationProvider(authenticationProvider())
+                // 401 (not 403) for missing, expired or revoked tokens so clients know to refresh
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED))
+                )
+                .authenticationProvider(authenticationProvider)
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                // Throttle login/registration before any token parsing or password hashing
+                .addFilterBefore(authRateLimitFilter, JwtAuthenticationFilter.class)
                 .headers(headers -> headers.frameOptions(frame -> frame.disable())); // For H2 console
         
         return http.build();
@@ -70,10 +96,10 @@ public class SecurityConfig {
     }
     
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
     
@@ -82,9 +108,15 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
     
+    /**
+     * BCrypt with the cost calibrated to auth.hashing.target-latency at startup
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${auth.hashing.target-latency:100ms}") Duration targetLatency,
+            @Value("${auth.hashing.min-cost:10}") int minCost,
+            @Value("${auth.hashing.max-cost:14}") int maxCost) {
+        return new BCryptPasswordEncoder(BCryptCostCalibrator.calibrate(targetLatency, minCost, maxCost));
     }
 }
 
@@ -0,0 +1,107 @@
+package com.newwork.backend.security;
+
+import com.newwork.backend.entity.RevokedToken;
+import com.newwork.backend.repository.RevokedTokenRepository;
+import com.newwork.backend.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Revoked access token ids (jti). Every authenticated request is checked against an in-memory
+ * Bloom filter, which answers "not revoked" without I/O or allocation; only a possible match
+ * (a real revocation or a ~1% false positive) is confirmed in the database.
+ *
+ * The filter is rebuilt from revoked_tokens at startup and every jwt.revocation.refresh-interval,
+ * which also picks up revocations made on other nodes and drops expired ids.
+ */
+@Component
+@Slf4j
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final Object rebuildLock = new Object();
+    private final AtomicInteger filterSize = new AtomicInteger();
+    private final Counter confirmedCounter;
+    private final Counter falsePositiveCounter;
+
+    @Value("${jwt.revocation.expected-insertions:10000}")
+    private long expectedInsertions;
+
+    @Value("${jwt.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter<CharSequence> filter;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository, MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.filter = BloomFilter.forStrings(10_000, 0.01); // resized from configuration on the first rebuild
+        this.confirmedCounter = Counter.builder("auth.token.revocation.lookups")
+                .description("Bloom filter matches confirmed in the database")
+                .tag("result", "revoked")
+                .register(meterRegistry);
+        this.falsePositiveCounter = Counter.builder("auth.token.revocation.lookups")
+                .description("Bloom filter matches confirmed in the database")
+                .tag("result", "false_positive")
+                .register(meterRegistry);
+        Gauge.builder("auth.token.revocation.filter.size", filterSize, AtomicInteger::get)
+                .description("Revoked token ids in the Bloom filter")
+                .register(meterRegistry);
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        boolean revoked = revokedTokenRepository.existsById(jti);
+        (revoked ? confirmedCounter : falsePositiveCounter).increment();
+        return revoked;
+    }
+
+    /**
+     * Revokes an access token until it would have expired
+     */
+    public void revoke(String jti, Date expiresAt) {
+        if (jti == null || expiresAt == null || expiresAt.before(new Date())) {
+            return;
+        }
+        revokedTokenRepository.save(RevokedToken.builder()
+                .jti(jti)
+                .expiresAt(LocalDateTime.ofInstant(expiresAt.toInstant(), ZoneId.systemDefault()))
+                .build());
+        // Under the rebuild lock so a rebuild that loaded before this commit cannot drop it
+        synchronized (rebuildLock) {
+            filter.put(jti);
+            filterSize.incrementAndGet();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${jwt.revocation.refresh-interval:30s}",
+            fixedDelayString = "${jwt.revocation.refresh-interval:30s}")
+    public void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepository.deleteExpired(now);
+        synchronized (rebuildLock) {
+            List<String> jtis = revokedTokenRepository.findActiveJtis(now);
+            BloomFilter<CharSequence> rebuilt = BloomFilter.forStrings(
+                    Math.max(expectedInsertions, jtis.size() * 2L), falsePositiveRate);
+            jtis.forEach(rebuilt::put);
+            filter = rebuilt;
+            filterSize.set(jtis.size());
+        }
+        log.debug("Token revocation filter rebuilt");
+    }
+}
@@ -0,0 +1,122 @@
+package com.newwork.backend.security;
+
+import com.newwork.backend.event.UserChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded per-node cache of {@link AuthenticatedUser} by username, so authenticated requests
+ * do not query the users table. Entries are dropped after commit when the user row changes
+ * ({@link UserChangedEvent}), and on other nodes through {@link RedisUserCacheInvalidation}
+ * when auth.user-cache.invalidation=redis. The TTL bounds staleness for changes made outside
+ * the application.
+ */
+@Component
+public class UserDetailsCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // Bumped on every invalidation so a load that raced with one is not cached
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    @Value("${auth.user-cache.ttl:10m}")
+    private Duration ttl;
+
+    @Value("${auth.user-cache.max-entries:10000}")
+    private int maxEntries;
+
+    public UserDetailsCache(MeterRegistry meterRegistry) {
+        this.hitCounter = Counter.builder("auth.user_details.cache")
+                .description("User details lookups served from the in-memory cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("auth.user_details.cache")
+                .description("User details lookups served from the in-memory cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("auth.user_details.cache.size", entries, Map::size)
+                .description("Cached user details")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cached details, or null on a miss
+     */
+    public AuthenticatedUser get(String username) {
+        Entry entry = entries.get(username);
+        if (entry == null || ttl.isZero()) {
+            missCounter.increment();
+            return null;
+        }
+        if (System.nanoTime() - entry.createdAtNanos() > ttl.toNanos()) {
+            entries.remove(username, entry);
+            missCounter.increment();
+            return null;
+        }
+        hitCounter.increment();
+        return entry.user();
+    }
+
+    /**
+     * Token to take before loading from the database and pass to {@link #put}
+     */
+    public long version() {
+        return invalidations.get();
+    }
+
+    /**
+     * Caches details loaded after {@link #version()} returned loadedAtVersion; skipped if an
+     * invalidation happened in between, as the loaded row may predate it
+     */
+    public void put(AuthenticatedUser user, long loadedAtVersion) {
+        if (ttl.isZero() || invalidations.get() != loadedAtVersion) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evictExpired();
+            if (entries.size() >= maxEntries) {
+                return; // full of live entries; these users just take the database path
+            }
+        }
+        entries.put(user.getUsername(), new Entry(user, System.nanoTime()));
+        if (invalidations.get() != loadedAtVersion) {
+            entries.remove(user.getUsername()); // invalidated while being inserted
+        }
+    }
+
+    /**
+     * Drops the entry on this node only
+     */
+    public void invalidate(String username) {
+        invalidations.incrementAndGet();
+        entries.remove(username);
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        entries.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.username());
+    }
+
+    private void evictExpired() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> now - entry.createdAtNanos() > ttl.toNanos());
+    }
+
+    private record Entry(AuthenticatedUser user, long createdAtNanos) {
+    }
+}
@@ -3,31 +3,53 @@ package com.newwork.backend.security;
 import com.newwork.backend.entity.User;
 import com.newwork.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 
+/**
+ * Loads users through {@link UserDetailsCache}; the database is only queried on a miss
+ */
 @Service
 @RequiredArgsConstructor
 public class UserDetailsServiceImpl implements UserDetailsService {
     
+    // One shared, immutable authority list per role instead of a new one per lookup
+    private static final Map<User.Role, List<GrantedAuthority>> ROLE_AUTHORITIES = new EnumMap<>(User.Role.class);
+    
+    static {
+        for (User.Role role : User.Role.values()) {
+            ROLE_AUTHORITIES.put(role, List.of(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        }
+    }
+    
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
     
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        AuthenticatedUser cached = userDetailsCache.get(username);
+        if (cached != null) {
+            return cached;
+        }
+        
+        long version = userDetailsCache.version();
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
         
-        return org.springframework.security.core.userdetails.User
-                .builder()
-                .username(user.getUsername())
-                .password(user.getPassword())
-                .authorities(Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())))
-                .build();
+        AuthenticatedUser userDetails = toUserDetails(user);
+        userDetailsCache.put(userDetails, version);
+        return userDetails;
+    }
+    
+    public static AuthenticatedUser toUserDetails(User user) {
+        return new AuthenticatedUser(user.getUsername(), user.getPassword(), ROLE_AUTHORITIES.get(user.getRole()));
     }
 }
-
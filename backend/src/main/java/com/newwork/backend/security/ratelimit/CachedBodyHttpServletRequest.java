@@ -0,0 +1,85 @@
+package com.newwork.backend.security.ratelimit;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Reads the request body up front so a filter can inspect it and the controller can
+ * still read it afterwards. Only meant for small bodies such as login forms: at most
+ * maxBytes are kept, so a longer body reaches the controller truncated and fails to parse.
+ */
+public class CachedBodyHttpServletRequest extends HttpServletRequestWrapper {
+
+    private final byte[] body;
+
+    public CachedBodyHttpServletRequest(HttpServletRequest request, int maxBytes) throws IOException {
+        super(request);
+        this.body = request.getInputStream().readNBytes(maxBytes);
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        ByteArrayInputStream input = new ByteArrayInputStream(body);
+        return new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return input.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            /**
+             * The whole body is already in memory: it is available at once, and all read once
+             * the listener has consumed it
+             */
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                Objects.requireNonNull(readListener, "readListener");
+                try {
+                    if (!isFinished()) {
+                        readListener.onDataAvailable();
+                    }
+                    if (isFinished()) {
+                        readListener.onAllDataRead();
+                    }
+                } catch (IOException | RuntimeException e) {
+                    readListener.onError(e);
+                }
+            }
+
+            @Override
+            public int read() {
+                return input.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return input.read(b, off, len);
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        String encoding = getCharacterEncoding();
+        Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+        return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+    }
+}
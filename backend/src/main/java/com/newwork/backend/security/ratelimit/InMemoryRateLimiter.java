@@ -0,0 +1,81 @@
+package com.newwork.backend.security.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Node-local token buckets in a ConcurrentHashMap. Each update runs in
+ * {@code compute}, which only locks the key's hash bin, so requests for different
+ * keys do not contend. Buckets are immutable and replaced on every update.
+ * A bucket that has been idle long enough to refill completely is indistinguishable
+ * from a new one and is dropped by the periodic sweep, so the map only holds
+ * recently throttled keys.
+ */
+@Component
+@Slf4j
+public class InMemoryRateLimiter implements RateLimiter {
+
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public InMemoryRateLimiter(MeterRegistry meterRegistry) {
+        Gauge.builder("auth.rate_limit.buckets", buckets, ConcurrentHashMap::size)
+                .description("Token buckets held by the in-memory rate limiter")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Decision tryAcquire(String key, RateLimit limit) {
+        return tryAcquire(key, limit, System.nanoTime());
+    }
+
+    Decision tryAcquire(String key, RateLimit limit, long nowNanos) {
+        Bucket bucket = buckets.compute(key, (k, current) -> (current == null
+                ? new Bucket(limit.capacity(), nowNanos, limit.refillPeriod().toNanos(), false)
+                : current.refill(limit, nowNanos)).take());
+        if (bucket.allowed()) {
+            return Decision.ALLOWED;
+        }
+        long waitNanos = (long) Math.ceil((1 - bucket.tokens()) / limit.tokensPerNano());
+        return new Decision(false, Math.max(1, waitNanos / 1_000_000));
+    }
+
+    @Scheduled(fixedDelayString = "${auth.rate-limit.sweep-interval:60s}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isFullAt(now));
+        log.debug("Evicted {} idle rate limit buckets", before - buckets.size());
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    /**
+     * @param refillNanos time for an empty bucket to refill completely
+     * @param allowed     whether the update that produced this bucket took a token
+     */
+    private record Bucket(double tokens, long updatedAtNanos, long refillNanos, boolean allowed) {
+
+        Bucket refill(RateLimit limit, long nowNanos) {
+            double refilled = Math.min(limit.capacity(),
+                    tokens + (nowNanos - updatedAtNanos) * limit.tokensPerNano());
+            return new Bucket(refilled, nowNanos, limit.refillPeriod().toNanos(), false);
+        }
+
+        Bucket take() {
+            return tokens >= 1
+                    ? new Bucket(tokens - 1, updatedAtNanos, refillNanos, true)
+                    : new Bucket(tokens, updatedAtNanos, refillNanos, false);
+        }
+
+        boolean isFullAt(long nowNanos) {
+            return nowNanos - updatedAtNanos >= refillNanos;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.newwork.backend.security.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Token bucket shape: up to {@code capacity} requests at once, refilled at
+ * {@code capacity} tokens per {@code refillPeriod}
+ */
+public record RateLimit(int capacity, Duration refillPeriod) {
+
+    public double tokensPerNano() {
+        return (double) capacity / refillPeriod.toNanos();
+    }
+}
@@ -0,0 +1,17 @@
+package com.newwork.backend.security.ratelimit;
+
+/**
+ * Token bucket rate limiter keyed by an arbitrary string (client IP, username, ...)
+ */
+public interface RateLimiter {
+
+    /**
+     * Takes one token from the bucket for key, creating a full bucket if there is none
+     */
+    Decision tryAcquire(String key, RateLimit limit);
+
+    record Decision(boolean allowed, long retryAfterMillis) {
+
+        public static final Decision ALLOWED = new Decision(true, 0);
+    }
+}
@@ -0,0 +1,82 @@
+package com.newwork.backend.security.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Token buckets in Redis so all nodes share one limit per key (auth.rate-limit.store=redis).
+ * Refill and take run atomically in a Lua script using the Redis clock, and idle buckets
+ * expire through PEXPIRE. If Redis is unreachable the node falls back to its local
+ * {@link InMemoryRateLimiter} rather than letting every request through.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "auth.rate-limit.store", havingValue = "redis")
+@Slf4j
+public class RedisRateLimiter implements RateLimiter {
+
+    private static final String KEY_PREFIX = "rate-limit:";
+
+    // Returns { allowed (0/1), milliseconds until the next token }
+    private static final RedisScript<List> TOKEN_BUCKET = new DefaultRedisScript<>("""
+            local capacity = tonumber(ARGV[1])
+            local refill_ms = tonumber(ARGV[2])
+            local time = redis.call('TIME')
+            local now = time[1] * 1000 + math.floor(time[2] / 1000)
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(state[1]) or capacity
+            local ts = tonumber(state[2]) or now
+            tokens = math.min(capacity, tokens + (now - ts) * capacity / refill_ms)
+            local allowed = 0
+            local wait = 0
+            if tokens >= 1 then
+                tokens = tokens - 1
+                allowed = 1
+            else
+                wait = math.ceil((1 - tokens) * refill_ms / capacity)
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+            redis.call('PEXPIRE', KEYS[1], refill_ms)
+            return { allowed, wait }
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final InMemoryRateLimiter fallback;
+    private volatile boolean redisAvailable = true;
+
+    public RedisRateLimiter(StringRedisTemplate redisTemplate, InMemoryRateLimiter fallback) {
+        this.redisTemplate = redisTemplate;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Decision tryAcquire(String key, RateLimit limit) {
+        try {
+            List<?> result = redisTemplate.execute(TOKEN_BUCKET, List.of(KEY_PREFIX + key),
+                    String.valueOf(limit.capacity()), String.valueOf(limit.refillPeriod().toMillis()));
+            if (result == null || result.size() < 2) {
+                return fallback.tryAcquire(key, limit);
+            }
+            if (!redisAvailable) {
+                redisAvailable = true;
+                log.info("Redis rate limiter available again");
+            }
+            return ((Number) result.get(0)).longValue() == 1
+                    ? Decision.ALLOWED
+                    : new Decision(false, Math.max(1, ((Number) result.get(1)).longValue()));
+        } catch (RuntimeException e) {
+            if (redisAvailable) {
+                redisAvailable = false;
+                log.warn("Redis rate limiter unavailable, using local buckets: {}", e.getMessage());
+            }
+            return fallback.tryAcquire(key, limit);
+        }
+    }
+}
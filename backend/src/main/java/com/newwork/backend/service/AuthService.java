@@ -5,48 +5,78 @@ import com.newwork.backend.dto.LoginRequest;
 import com.newwork.backend.dto.RegisterRequest;
 import com.newwork.backend.entity.Employee;
 import com.newwork.backend.entity.User;
+import com.newwork.backend.repository.EmployeeFeedbackStatsRepository;
 import com.newwork.backend.repository.EmployeeRepository;
 import com.newwork.backend.repository.UserRepository;
+import com.newwork.backend.event.EmployeeChangedEvent;
+import com.newwork.backend.event.UserChangedEvent;
+import com.newwork.backend.exception.InvalidTokenException;
+import com.newwork.backend.exception.TooManyRequestsException;
 import com.newwork.backend.security.JwtService;
+import com.newwork.backend.security.LoginVerificationCache;
+import com.newwork.backend.security.PasswordHasher;
+import com.newwork.backend.security.TokenRevocationService;
+import com.newwork.backend.security.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class AuthService {
     
     private final UserRepository userRepository;
     private final EmployeeRepository employeeRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final EmployeeFeedbackStatsRepository feedbackStatsRepository;
     private final JwtService jwtService;
-    private final AuthenticationManager authenticationManager;
-    private final UserDetailsService userDetailsService;
+    private final PasswordHasher passwordHasher;
+    private final LoginVerificationCache loginVerificationCache;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final UserUniquenessFilter userUniquenessFilter;
+    private final ApplicationEventPublisher eventPublisher;
     
+    /**
+     * The exists queries only run when the in-memory filter reports a possible clash;
+     * otherwise the insert goes straight through and the unique constraints decide.
+     */
     @Transactional
     public AuthResponse register(RegisterRequest request) {
         // Check if user already exists
-        if (userRepository.existsByUsername(request.getUsername())) {
+        if (userUniquenessFilter.mightContainUsername(request.getUsername())
+                && userRepository.existsByUsername(request.getUsername())) {
             throw new RuntimeException("Username already exists");
         }
-        if (userRepository.existsByEmail(request.getEmail())) {
+        if (userUniquenessFilter.mightContainEmail(request.getEmail())
+                && userRepository.existsByEmail(request.getEmail())) {
             throw new RuntimeException("Email already exists");
         }
         
         // Create user
         User user = User.builder()
                 .username(request.getUsername())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHasher.encode(request.getPassword()))
                 .email(request.getEmail())
                 .role(request.getRole())
                 .build();
         
-        user = userRepository.save(user);
+        try {
+            user = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException(uniqueViolationMessage(e).orElse("Username or email already exists"));
+        }
+        userUniquenessFilter.add(user.getUsername(), user.getEmail());
         
         // Create employee profile
         Employee employee = Employee.builder()
@@ -55,45 +85,131 @@ public class AuthService {
                 .lastName(request.getLastName())
                 .build();
         
-        employee = employeeRepository.save(employee);
+        employee = employeeRepository.saveAndFlush(employee);
+        feedbackStatsRepository.createForEmployees(List.of(employee.getId()));
+        eventPublisher.publishEvent(new EmployeeChangedEvent(List.of(employee.getId())));
         
         // Generate JWT token
-        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getUsername());
-        String token = jwtService.generateToken(userDetails);
+        String token = jwtService.generateToken(UserDetailsServiceImpl.toUserDetails(user));
         
-        return AuthResponse.builder()
-                .token(token)
-                .username(user.getUsername())
-                .email(user.getEmail())
-                .role(user.getRole())
-                .employeeId(employee.getId())
-                .build();
+        return buildResponse(user, employee.getId(), token, refreshTokenService.issue(user.getId()));
     }
     
+    /**
+     * Verifies the password on the hashing executor (or from the verification cache for a
+     * recent login) and loads user and employee in a single query.
+     * Hashes created with a lower BCrypt cost than the current one are upgraded in the background.
+     */
     public AuthResponse login(LoginRequest request) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getUsername(),
-                        request.getPassword()
-                )
-        );
+        User user = userRepository.findByUsernameWithEmployee(request.getUsername()).orElse(null);
+        if (user == null) {
+            // Same hashing work as a wrong password, so response times do not reveal which usernames exist
+            passwordHasher.matchesUnknownUser(request.getPassword());
+            throw new BadCredentialsException("Bad credentials");
+        }
+        
+        String passwordHash = user.getPassword();
+        if (!loginVerificationCache.matches(user.getUsername(), passwordHash, request.getPassword())) {
+            if (!passwordHasher.matches(request.getPassword(), passwordHash)) {
+                throw new BadCredentialsException("Bad credentials");
+            }
+            loginVerificationCache.put(user.getUsername(), passwordHash, request.getPassword());
+            if (passwordHasher.needsRehash(passwordHash)) {
+                rehash(user, request.getPassword());
+            }
+        }
         
-        User user = userRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        Employee employee = user.getEmployee();
+        if (employee == null) {
+            throw new RuntimeException("Employee profile not found");
+        }
         
-        Employee employee = employeeRepository.findByUserId(user.getId())
-                .orElseThrow(() -> new RuntimeException("Employee profile not found"));
+        String token = jwtService.generateToken(UserDetailsServiceImpl.toUserDetails(user));
         
-        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getUsername());
-        String token = jwtService.generateToken(userDetails);
+        return buildResponse(user, employee.getId(), token, refreshTokenService.issue(user.getId()));
+    }
+    
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token
+     */
+    public AuthResponse refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        User user = userRepository.findByIdWithEmployee(rotation.userId())
+                .orElseThrow(() -> new InvalidTokenException("Invalid refresh token"));
+        if (user.getEmployee() == null) {
+            throw new RuntimeException("Employee profile not found");
+        }
         
+        String token = jwtService.generateToken(UserDetailsServiceImpl.toUserDetails(user));
+        return buildResponse(user, user.getEmployee().getId(), token, rotation.refreshToken());
+    }
+    
+    /**
+     * Revokes the refresh token family and the access token, if given and still valid
+     */
+    public void logout(String refreshToken, String accessToken) {
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken);
+        }
+        if (accessToken != null) {
+            try {
+                Claims claims = jwtService.parseClaims(accessToken);
+                tokenRevocationService.revoke(claims.getId(), claims.getExpiration());
+            } catch (JwtException e) {
+                log.debug("Ignoring invalid access token on logout: {}", e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Message for a violated username/email unique constraint, matched by constraint name;
+     * empty for any other integrity violation
+     */
+    static Optional<String> uniqueViolationMessage(DataIntegrityViolationException e) {
+        String detail = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        if (detail.contains(User.USERNAME_CONSTRAINT)) {
+            return Optional.of("Username already exists");
+        }
+        if (detail.contains(User.EMAIL_CONSTRAINT)) {
+            return Optional.of("Email already exists");
+        }
+        return Optional.empty();
+    }
+    
+    private AuthResponse buildResponse(User user, Long employeeId, String token, String refreshToken) {
         return AuthResponse.builder()
                 .token(token)
+                .refreshToken(refreshToken)
+                .expiresIn(jwtService.getExpirationMillis() / 1000)
                 .username(user.getUsername())
                 .email(user.getEmail())
                 .role(user.getRole())
-                .employeeId(employee.getId())
+                .employeeId(employeeId)
                 .build();
     }
+    
+    /**
+     * Best effort: if the hashing executor is busy the upgrade is retried on a later login
+     */
+    private void rehash(User user, String rawPassword) {
+        Long userId = user.getId();
+        String username = user.getUsername();
+        String currentHash = user.getPassword();
+        try {
+            passwordHasher.encodeAsync(rawPassword)
+                    .thenAccept(newHash -> {
+                        if (userRepository.updatePasswordHash(userId, currentHash, newHash) > 0) {
+                            // Bulk update: entity listeners do not fire
+                            eventPublisher.publishEvent(new UserChangedEvent(userId, username));
+                            log.info("Upgraded password hash cost for user {}", userId);
+                        }
+                    })
+                    .exceptionally(e -> {
+                        log.warn("Password hash upgrade failed for user {}: {}", userId, e.getMessage());
+                        return null;
+                    });
+        } catch (TooManyRequestsException e) {
+            log.debug("Hashing executor busy, skipping password hash upgrade for user {}", userId);
+        }
+    }
 }
-
@@ -0,0 +1,611 @@
+package com.newwork.backend.service;
+
+import com.newwork.backend.config.CacheConfig;
+import com.newwork.backend.dto.EmployeeImportJobDto;
+import com.newwork.backend.dto.EmployeeImportReport;
+import com.newwork.backend.dto.RegisterRequest;
+import com.newwork.backend.entity.Employee;
+import com.newwork.backend.entity.User;
+import com.newwork.backend.event.EmployeeChangedEvent;
+import com.newwork.backend.exception.TooManyRequestsException;
+import com.newwork.backend.repository.EmployeeFeedbackStatsRepository;
+import com.newwork.backend.repository.EmployeeRepository;
+import com.newwork.backend.repository.UserRepository;
+import com.newwork.backend.service.importer.CsvReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk onboarding from CSV (manager only).
+ * The upload is saved to a temporary file and imported in the background on employeeImportDispatcher;
+ * the job (progress, then the report) is kept in memory on this node. It is parsed record by record and processed in chunks of employee.import.chunk-size:
+ * uniqueness is checked with one query per chunk, passwords are hashed in parallel on the
+ * bounded employeeImportExecutor and users and employees are saved with one saveAll each in
+ * a transaction per chunk. Invalid rows are reported and skipped; they never fail the import.
+ */
+@Service
+@Slf4j
+public class EmployeeImportService {
+
+    private static final List<String> REQUIRED_COLUMNS =
+            List.of("username", "email", "password", "firstname", "lastname");
+    // Stored text columns; all are varchar(255) in users and employees
+    private static final List<String> TEXT_COLUMNS = List.of("username", "email", "firstName", "lastName",
+            "position", "department", "phone", "officeLocation", "address", "contractType");
+    private static final int MAX_TEXT_LENGTH = 255;
+    private static final int RETAINED_JOBS = 20;
+
+    private final UserRepository userRepository;
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeFeedbackStatsRepository feedbackStatsRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final UserUniquenessFilter userUniquenessFilter;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor executor;
+    private final Executor dispatcher;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter importedCounter;
+    private final Counter failedCounter;
+    private final Timer importTimer;
+    private final AtomicInteger rowsInProgress = new AtomicInteger();
+    // One import at a time; each already uses all hashing threads
+    private final Semaphore importPermit = new Semaphore(1);
+    private final AtomicLong jobIds = new AtomicLong();
+    // Guarded by itself; insertion order, oldest finished jobs are dropped beyond RETAINED_JOBS
+    private final Map<Long, ImportJob> jobs = new LinkedHashMap<>();
+
+    @Value("${employee.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${employee.import.max-rows:50000}")
+    private int maxRows;
+
+    @Value("${employee.import.max-errors:1000}")
+    private int maxErrors;
+
+    public EmployeeImportService(UserRepository userRepository,
+                                 EmployeeRepository employeeRepository,
+                                 EmployeeFeedbackStatsRepository feedbackStatsRepository,
+                                 PasswordEncoder passwordEncoder,
+                                 UserUniquenessFilter userUniquenessFilter,
+                                 Validator validator,
+                                 PlatformTransactionManager transactionManager,
+                                 @Qualifier("employeeImportExecutor") Executor executor,
+                                 @Qualifier("employeeImportDispatcher") Executor dispatcher,
+                                 CacheManager cacheManager,
+                                 ApplicationEventPublisher eventPublisher,
+                                 MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.employeeRepository = employeeRepository;
+        this.feedbackStatsRepository = feedbackStatsRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.userUniquenessFilter = userUniquenessFilter;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+        this.dispatcher = dispatcher;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.importedCounter = Counter.builder("employee.import.rows")
+                .description("CSV import rows processed")
+                .tag("result", "imported")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("employee.import.rows")
+                .description("CSV import rows processed")
+                .tag("result", "failed")
+                .register(meterRegistry);
+        this.importTimer = Timer.builder("employee.import.duration")
+                .description("Duration of CSV employee imports")
+                .register(meterRegistry);
+        Gauge.builder("employee.import.progress", rowsInProgress, AtomicInteger::get)
+                .description("Rows processed so far by the running import")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts importing the uploaded CSV in the background; poll {@link #getJob} for progress and the report.
+     * The header row names the columns (any order, case and underscores ignored); username, email,
+     * password, firstName and lastName are required, role defaults to EMPLOYEE.
+     * Separator is detected from the header (comma, semicolon or tab).
+     */
+    public EmployeeImportJobDto startImport(MultipartFile file) {
+        User currentUser = requireManager();
+        if (file == null || file.isEmpty()) {
+            throw new RuntimeException("File is empty");
+        }
+        if (!importPermit.tryAcquire()) {
+            throw new TooManyRequestsException("Another employee import is already running");
+        }
+        Path upload = null;
+        try {
+            // The multipart file is gone once the request completes
+            upload = Files.createTempFile("employee-import-", ".csv");
+            file.transferTo(upload);
+            ImportJob job = new ImportJob(jobIds.incrementAndGet(), currentUser.getUsername(),
+                    file.getOriginalFilename(), new ImportState());
+            register(job);
+            Path source = upload;
+            dispatcher.execute(() -> run(job, source));
+            log.info("Employee import {} started by {} ({} bytes)", job.id, job.createdBy, file.getSize());
+            return toDto(job);
+        } catch (IOException | RejectedExecutionException e) {
+            deleteQuietly(upload);
+            importPermit.release();
+            throw new RuntimeException("Could not start the import", e);
+        }
+    }
+
+    public EmployeeImportJobDto getJob(Long jobId) {
+        requireManager();
+        synchronized (jobs) {
+            ImportJob job = jobs.get(jobId);
+            if (job == null) {
+                throw new RuntimeException("Import job not found");
+            }
+            return toDto(job);
+        }
+    }
+
+    /**
+     * Jobs still held in memory, newest first
+     */
+    public List<EmployeeImportJobDto> getJobs() {
+        requireManager();
+        synchronized (jobs) {
+            List<EmployeeImportJobDto> result = new ArrayList<>(jobs.size());
+            jobs.values().forEach(job -> result.add(0, toDto(job)));
+            return result;
+        }
+    }
+
+    private void run(ImportJob job, Path upload) {
+        try (Reader reader = Files.newBufferedReader(upload, StandardCharsets.UTF_8)) {
+            EmployeeImportReport report = importTimer.record(() -> importCsv(reader, job.state));
+            job.complete(report);
+            log.info("Employee import {} by {}: {} rows, {} imported, {} failed in {} ms", job.id,
+                    job.createdBy, report.getTotalRows(), report.getImportedRows(),
+                    report.getFailedRows(), report.getDurationMillis());
+        } catch (IOException | RuntimeException e) {
+            job.fail(e.getMessage());
+            log.error("Employee import {} failed after {} rows: {}", job.id, job.state.totalRows, e.getMessage());
+        } finally {
+            // The cached employee list misses whatever was imported, even when the import failed halfway
+            Cache employees = cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE);
+            if (employees != null) {
+                employees.clear();
+            }
+            deleteQuietly(upload);
+            rowsInProgress.set(0);
+            importPermit.release();
+        }
+    }
+
+    private void register(ImportJob job) {
+        synchronized (jobs) {
+            jobs.put(job.id, job);
+            Iterator<ImportJob> iterator = jobs.values().iterator();
+            while (jobs.size() > RETAINED_JOBS && iterator.hasNext()) {
+                if (iterator.next().status != EmployeeImportJobDto.Status.RUNNING) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete import upload {}: {}", path, e.getMessage());
+        }
+    }
+
+    private EmployeeImportJobDto toDto(ImportJob job) {
+        ImportState state = job.state;
+        int processed = state.importedRows + state.failedRows;
+        double seconds = (job.finishedNanos > 0 ? job.finishedNanos : System.nanoTime()) - state.startNanos;
+        seconds /= 1_000_000_000.0;
+        return EmployeeImportJobDto.builder()
+                .id(job.id)
+                .status(job.status)
+                .createdBy(job.createdBy)
+                .fileName(job.fileName)
+                .processedRows(processed)
+                .importedRows(state.importedRows)
+                .failedRows(state.failedRows)
+                .rowsPerSecond(seconds > 0 ? processed / seconds : null)
+                .error(job.error)
+                .report(job.report)
+                .createdAt(job.createdAt)
+                .finishedAt(job.finishedAt)
+                .build();
+    }
+
+    EmployeeImportReport importCsv(Reader source) {
+        return importCsv(source, new ImportState());
+    }
+
+    private EmployeeImportReport importCsv(Reader source, ImportState state) {
+        try {
+            BufferedReader reader = new BufferedReader(source);
+            CsvReader csv = new CsvReader(reader, detectSeparator(reader));
+            List<String> header = csv.readRecord();
+            if (header == null) {
+                throw new RuntimeException("File is empty");
+            }
+            Map<String, Integer> columns = columnIndex(header);
+
+            List<PendingRow> chunk = new ArrayList<>(chunkSize);
+            List<String> record;
+            while ((record = csv.readRecord()) != null) {
+                int line = csv.getRecordLineNumber();
+                if (state.totalRows == maxRows) {
+                    state.addError(line, null, "Row limit of " + maxRows + " reached; remaining rows were not imported");
+                    break;
+                }
+                state.totalRows++;
+                PendingRow row = parseRow(record, columns, line, state);
+                if (row != null) {
+                    chunk.add(row);
+                }
+                if (chunk.size() == chunkSize) {
+                    processChunk(chunk, state);
+                    chunk.clear();
+                }
+            }
+            processChunk(chunk, state);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read file: " + e.getMessage(), e);
+        }
+
+        // Validation errors are found while reading, database conflicts per chunk
+        state.errors.sort(Comparator.comparingInt(EmployeeImportReport.RowError::getLine));
+        return EmployeeImportReport.builder()
+                .totalRows(state.totalRows)
+                .importedRows(state.importedRows)
+                .failedRows(state.failedRows)
+                .errorsTruncated(state.failedRows > state.errors.size())
+                .durationMillis((System.nanoTime() - state.startNanos) / 1_000_000)
+                .errors(state.errors)
+                .build();
+    }
+
+    private PendingRow parseRow(List<String> record, Map<String, Integer> columns, int line, ImportState state) {
+        String username = value(record, columns, "username");
+        for (String column : TEXT_COLUMNS) {
+            String text = value(record, columns, normalizeColumn(column));
+            if (text != null && text.length() > MAX_TEXT_LENGTH) {
+                state.fail(line, username, column + " is longer than " + MAX_TEXT_LENGTH + " characters");
+                return null;
+            }
+        }
+        String roleValue = value(record, columns, "role");
+        User.Role role;
+        try {
+            role = roleValue == null ? User.Role.EMPLOYEE : User.Role.valueOf(roleValue.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            state.fail(line, username, "Invalid role: " + roleValue);
+            return null;
+        }
+
+        // Same constraints and messages as /api/auth/register
+        RegisterRequest request = RegisterRequest.builder()
+                .username(username)
+                .email(value(record, columns, "email"))
+                .password(value(record, columns, "password"))
+                .firstName(value(record, columns, "firstname"))
+                .lastName(value(record, columns, "lastname"))
+                .role(role)
+                .build();
+        Set<ConstraintViolation<RegisterRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            state.fail(line, username, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return null;
+        }
+
+        Employee.EmployeeBuilder employee = Employee.builder()
+                .firstName(request.getFirstName())
+                .lastName(request.getLastName())
+                .position(value(record, columns, "position"))
+                .department(value(record, columns, "department"))
+                .phone(value(record, columns, "phone"))
+                .officeLocation(value(record, columns, "officelocation"))
+                .address(value(record, columns, "address"))
+                .contractType(value(record, columns, "contracttype"));
+        try {
+            String salary = value(record, columns, "salary");
+            employee.salary(salary == null ? null : Double.valueOf(salary));
+        } catch (NumberFormatException e) {
+            state.fail(line, username, "Invalid salary");
+            return null;
+        }
+        try {
+            employee.hireDate(date(record, columns, "hiredate"));
+            employee.dateOfBirth(date(record, columns, "dateofbirth"));
+        } catch (DateTimeParseException e) {
+            state.fail(line, username, "Invalid date '" + e.getParsedString() + "', expected YYYY-MM-DD");
+            return null;
+        }
+
+        if (!state.usernamesInFile.add(request.getUsername())) {
+            state.fail(line, username, "Duplicate username in file");
+            return null;
+        }
+        if (!state.emailsInFile.add(request.getEmail())) {
+            state.fail(line, username, "Duplicate email in file");
+            return null;
+        }
+        return new PendingRow(line, request, employee);
+    }
+
+    private void processChunk(List<PendingRow> chunk, ImportState state) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        // Uniqueness against the database: two IN queries for the whole chunk
+        Set<String> takenUsernames = new HashSet<>(userRepository.findExistingUsernames(
+                chunk.stream().map(row -> row.request().getUsername()).toList()));
+        Set<String> takenEmails = new HashSet<>(userRepository.findExistingEmails(
+                chunk.stream().map(row -> row.request().getEmail()).toList()));
+        List<PendingRow> rows = new ArrayList<>(chunk.size());
+        for (PendingRow row : chunk) {
+            if (takenUsernames.contains(row.request().getUsername())) {
+                state.fail(row.line(), row.request().getUsername(), "Username already exists");
+            } else if (takenEmails.contains(row.request().getEmail())) {
+                state.fail(row.line(), row.request().getUsername(), "Email already exists");
+            } else {
+                rows.add(row);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        // BCrypt dominates an import; hash the chunk in parallel on the bounded import pool
+        List<CompletableFuture<String>> hashes = rows.stream()
+                .map(row -> CompletableFuture.supplyAsync(
+                        () -> passwordEncoder.encode(row.request().getPassword()), executor))
+                .toList();
+        List<User> users = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            RegisterRequest request = rows.get(i).request();
+            users.add(User.builder()
+                    .username(request.getUsername())
+                    .password(hashes.get(i).join())
+                    .email(request.getEmail())
+                    .role(request.getRole())
+                    .build());
+        }
+
+        try {
+            save(rows, users);
+            state.imported(rows.size());
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent registration took a username or email: fall back to one transaction per row
+            log.warn("Import chunk conflicted with concurrent writes, retrying {} rows individually", rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                PendingRow row = rows.get(i);
+                User user = users.get(i);
+                user.setId(null);
+                try {
+                    save(List.of(row), List.of(user));
+                    state.imported(1);
+                } catch (DataIntegrityViolationException rowException) {
+                    state.fail(row.line(), row.request().getUsername(), AuthService.uniqueViolationMessage(rowException)
+                            .orElse("Row violates a database constraint"));
+                }
+            }
+        }
+        log.debug("Employee import progress: {} rows processed", state.totalRows);
+    }
+
+    private void save(List<PendingRow> rows, List<User> users) {
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.saveAll(users);
+            List<Employee> employees = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                employees.add(rows.get(i).employee().user(users.get(i)).build());
+            }
+            employeeRepository.saveAllAndFlush(employees);
+            List<Long> employeeIds = employees.stream().map(Employee::getId).toList();
+            feedbackStatsRepository.createForEmployees(employeeIds);
+            eventPublisher.publishEvent(new EmployeeChangedEvent(employeeIds));
+        });
+        users.forEach(user -> userUniquenessFilter.add(user.getUsername(), user.getEmail()));
+    }
+
+    private static char detectSeparator(BufferedReader reader) throws IOException {
+        reader.mark(8192);
+        String header = reader.readLine();
+        reader.reset();
+        if (header == null) {
+            return ',';
+        }
+        if (header.indexOf(',') < 0) {
+            if (header.indexOf(';') >= 0) {
+                return ';';
+            }
+            if (header.indexOf('\t') >= 0) {
+                return '\t';
+            }
+        }
+        return ',';
+    }
+
+    private static Map<String, Integer> columnIndex(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(normalizeColumn(header.get(i)), i);
+        }
+        List<String> missing = REQUIRED_COLUMNS.stream()
+                .filter(column -> !columns.containsKey(column))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new RuntimeException("Missing required columns: " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    private static String normalizeColumn(String name) {
+        StringBuilder sb = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Trimmed cell value, or null when the column is absent or the cell is blank
+     */
+    private static String value(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static LocalDate date(List<String> record, Map<String, Integer> columns, String column) {
+        String value = value(record, columns, column);
+        return value == null ? null : LocalDate.parse(value);
+    }
+
+    private User requireManager() {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        User currentUser = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (currentUser.getRole() != User.Role.MANAGER) {
+            throw new RuntimeException("Only managers can import employees");
+        }
+        return currentUser;
+    }
+
+    private record PendingRow(int line, RegisterRequest request, Employee.EmployeeBuilder employee) {
+    }
+
+    /**
+     * Written by the import thread only; the counters are volatile for progress polling
+     */
+    private class ImportState {
+        final long startNanos = System.nanoTime();
+        final List<EmployeeImportReport.RowError> errors = new ArrayList<>();
+        final Set<String> usernamesInFile = new HashSet<>();
+        final Set<String> emailsInFile = new HashSet<>();
+        volatile int totalRows;
+        volatile int importedRows;
+        volatile int failedRows;
+
+        void imported(int count) {
+            importedRows += count;
+            importedCounter.increment(count);
+            rowsInProgress.set(importedRows + failedRows);
+        }
+
+        void fail(int line, String username, String message) {
+            failedRows++;
+            failedCounter.increment();
+            rowsInProgress.set(importedRows + failedRows);
+            addError(line, username, message);
+        }
+
+        void addError(int line, String username, String message) {
+            if (errors.size() < maxErrors) {
+                errors.add(new EmployeeImportReport.RowError(line, username, message));
+            }
+        }
+    }
+
+    private static class ImportJob {
+        final long id;
+        final String createdBy;
+        final String fileName;
+        final LocalDateTime createdAt = LocalDateTime.now();
+        final ImportState state;
+        volatile EmployeeImportJobDto.Status status = EmployeeImportJobDto.Status.RUNNING;
+        volatile EmployeeImportReport report;
+        volatile String error;
+        volatile LocalDateTime finishedAt;
+        volatile long finishedNanos;
+
+        ImportJob(long id, String createdBy, String fileName, ImportState state) {
+            this.id = id;
+            this.createdBy = createdBy;
+            this.fileName = fileName;
+            this.state = state;
+        }
+
+        void complete(EmployeeImportReport report) {
+            this.report = report;
+            finish(EmployeeImportJobDto.Status.COMPLETED);
+        }
+
+        void fail(String error) {
+            this.error = error;
+            finish(EmployeeImportJobDto.Status.FAILED);
+        }
+
+        private void finish(EmployeeImportJobDto.Status status) {
+            finishedNanos = System.nanoTime();
+            finishedAt = LocalDateTime.now();
+            this.status = status;
+        }
+    }
+}
@@ -3,8 +3,11 @@ package com.newwork.backend.service;
 import com.newwork.backend.config.CacheConfig;
 import com.newwork.backend.dto.EmployeeDto;
 import com.newwork.backend.dto.EmployeeUpdateRequest;
+import com.newwork.backend.dto.FeedbackPageResponse;
 import com.newwork.backend.entity.Employee;
+import com.newwork.backend.entity.EmployeeFeedbackStats;
 import com.newwork.backend.entity.User;
+import com.newwork.backend.event.EmployeeChangedEvent;
 import com.newwork.backend.mapper.EmployeeMapper;
 import com.newwork.backend.repository.EmployeeRepository;
 import com.newwork.backend.repository.UserRepository;
@@ -12,6 +15,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -32,21 +36,21 @@ public class EmployeeService {
     private final EmployeeRepository employeeRepository;
     private final UserRepository userRepository;
     private final EmployeeMapper employeeMapper;
+    private final FeedbackService feedbackService;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Transactional(readOnly = true)
     public EmployeeDto getEmployeeById(Long id) {
         log.info("Fetching employee from database (uncached): {}", id);
-        // Fetch employee with absences first
+        // Fetch employee with absences; feedback is paginated instead of loading the whole history
         Employee employee = employeeRepository.findByIdWithAbsences(id)
                 .orElseThrow(() -> new RuntimeException("Employee not found"));
         
-        // Then fetch feedbacks separately to avoid MultipleBagFetchException
-        employeeRepository.findByIdWithFeedbacks(id);
-        
         User currentUser = getCurrentUser();
         
         // Filter sensitive data based on role
         EmployeeDto dto = employeeMapper.toDtoWithRelations(employee);
+        addFeedbackSummary(dto, id);
         
         if (!canViewSensitiveData(currentUser, employee)) {
             // Remove sensitive data for co-workers
@@ -161,6 +165,7 @@ public class EmployeeService {
         
         employeeMapper.updateEmployeeFromDto(filteredRequest, employee);
         employee = employeeRepository.save(employee);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(List.of(employee.getId())));
         
         return employeeMapper.toDto(employee);
     }
@@ -171,12 +176,26 @@ public class EmployeeService {
         Employee employee = employeeRepository.findByUserId(currentUser.getId())
                 .orElseThrow(() -> new RuntimeException("Employee profile not found"));
         
-        // Fetch relations separately to avoid MultipleBagFetchException
+        // Fetch absences; feedback is paginated instead of loading the whole history
         Long employeeId = employee.getId();
         employeeRepository.findByIdWithAbsences(employeeId);
-        employeeRepository.findByIdWithFeedbacks(employeeId);
         
-        return employeeMapper.toDtoWithRelations(employee);
+        EmployeeDto dto = employeeMapper.toDtoWithRelations(employee);
+        addFeedbackSummary(dto, employeeId);
+        return dto;
+    }
+    
+    /**
+     * First page of feedback plus the rollup counters and insights, instead of the full feedback history
+     */
+    private void addFeedbackSummary(EmployeeDto dto, Long employeeId) {
+        FeedbackPageResponse firstPage = feedbackService.getEmployeeFeed(employeeId, null, FeedbackService.DEFAULT_PAGE_SIZE);
+        EmployeeFeedbackStats stats = feedbackService.getFeedbackStats(employeeId);
+        dto.setFeedbacks(firstPage.getFeedbacks());
+        dto.setFeedbacksNextCursor(firstPage.getNextCursor());
+        dto.setFeedbackCount(stats.getFeedbackCount());
+        dto.setPolishedFeedbackCount(stats.getPolishedCount());
+        dto.setFeedbackInsights(feedbackService.getFeedbackInsights(employeeId));
     }
     
     private User getCurrentUser() {
@@ -0,0 +1,35 @@
+package com.newwork.backend.service;
+
+import com.newwork.backend.entity.Feedback;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor: the (createdAt, id) of the last feedback on a page, base64url encoded.
+ * Unlike offsets it stays stable while new feedback is added and costs one index seek per page.
+ */
+record FeedbackCursor(LocalDateTime createdAt, Long id) {
+    
+    static FeedbackCursor of(Feedback feedback) {
+        return new FeedbackCursor(feedback.getCreatedAt(), feedback.getId());
+    }
+    
+    String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    static FeedbackCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new FeedbackCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
@@ -1,34 +1,69 @@
 package com.newwork.backend.service;
 
 import com.newwork.backend.dto.FeedbackDto;
+import com.newwork.backend.dto.FeedbackInsightsDto;
+import com.newwork.backend.dto.FeedbackPageResponse;
 import com.newwork.backend.dto.FeedbackRequest;
+import com.newwork.backend.dto.FeedbackSearchHit;
+import com.newwork.backend.dto.FeedbackSuggestionChunk;
 import com.newwork.backend.dto.FeedbackSuggestionsRequest;
 import com.newwork.backend.dto.FeedbackSuggestionsResponse;
 import com.newwork.backend.entity.Employee;
+import com.newwork.backend.entity.EmployeeFeedbackStats;
 import com.newwork.backend.entity.Feedback;
 import com.newwork.backend.entity.User;
+import com.newwork.backend.event.FeedbackCreatedEvent;
+import com.newwork.backend.event.FeedbackDeletedEvent;
+import com.newwork.backend.event.FeedbackPolishedEvent;
 import com.newwork.backend.mapper.FeedbackMapper;
+import com.newwork.backend.repository.EmployeeFeedbackStatsRepository;
 import com.newwork.backend.repository.EmployeeRepository;
 import com.newwork.backend.repository.FeedbackRepository;
 import com.newwork.backend.repository.UserRepository;
+import com.newwork.backend.service.text.Bm25Index;
+import com.newwork.backend.service.text.FeedbackInsightsIndex;
+import com.newwork.backend.service.text.FeedbackSearchIndex;
+import com.newwork.backend.service.text.MinHasher;
+import com.newwork.backend.service.text.NearDuplicateDetector;
+import com.newwork.backend.service.text.NearDuplicateIndex;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
 
+import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class FeedbackService {
     
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    
     private final FeedbackRepository feedbackRepository;
+    private final EmployeeFeedbackStatsRepository feedbackStatsRepository;
     private final EmployeeRepository employeeRepository;
     private final UserRepository userRepository;
     private final FeedbackMapper feedbackMapper;
     private final HuggingFaceService huggingFaceService;
+    private final NearDuplicateDetector nearDuplicateDetector;
+    private final FeedbackSearchIndex feedbackSearchIndex;
+    private final FeedbackInsightsIndex feedbackInsightsIndex;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Transactional
     public FeedbackDto createFeedback(Long employeeId, FeedbackRequest request) {
@@ -41,11 +76,17 @@ public class FeedbackService {
             throw new RuntimeException("You cannot leave feedback for yourself");
         }
         
+        Long duplicateOfId = nearDuplicateDetector
+                .findNearDuplicate(employeeId, currentUser.getUsername(), request.getContent())
+                .map(NearDuplicateIndex.Match::feedbackId)
+                .orElse(null);
+        
         String polishedContent = null;
         boolean isPolished = false;
         
         if (request.getUseAiPolish()) {
-            polishedContent = huggingFaceService.polishFeedback(request.getContent());
+            polishedContent = findReusablePolish(duplicateOfId, request.getContent())
+                    .orElseGet(() -> huggingFaceService.polishFeedback(request.getContent()).text());
             isPolished = true;
         }
         
@@ -55,9 +96,14 @@ public class FeedbackService {
                 .originalContent(request.getContent())
                 .polishedContent(polishedContent)
                 .isPolished(isPolished)
+                .duplicateOfId(duplicateOfId)
                 .build();
         
         feedback = feedbackRepository.save(feedback);
+        adjustFeedbackStats(employeeId, 1, isPolished ? 1 : 0);
+        eventPublisher.publishEvent(new FeedbackCreatedEvent(
+                feedback.getId(), employeeId, feedback.getAuthorName(),
+                feedback.getOriginalContent(), feedback.getPolishedContent()));
         return feedbackMapper.toDto(feedback);
     }
 
@@ -67,6 +113,10 @@ public class FeedbackService {
                 .suggestions(suggestions)
                 .build();
     }
+
+    public Flux<FeedbackSuggestionChunk> streamFeedbackSuggestions(FeedbackSuggestionsRequest request) {
+        return huggingFaceService.streamFeedbackOptions(request.getContent());
+    }
     
     @Transactional(readOnly = true)
     public List<FeedbackDto> getEmployeeFeedbacks(Long employeeId) {
@@ -76,6 +126,111 @@ public class FeedbackService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Newest-first page of an employee's feedback; cursor is null for the first page
+     */
+    @Transactional(readOnly = true)
+    public FeedbackPageResponse getEmployeeFeed(Long employeeId, String cursor, int size) {
+        return toPage(size, limit -> {
+            if (cursor == null || cursor.isBlank()) {
+                return feedbackRepository.findFeedPage(employeeId, limit);
+            }
+            FeedbackCursor after = FeedbackCursor.decode(cursor);
+            return feedbackRepository.findFeedPageAfter(employeeId, after.createdAt(), after.id(), limit);
+        });
+    }
+    
+    /**
+     * Newest-first page of the feedback the current user has written
+     */
+    @Transactional(readOnly = true)
+    public FeedbackPageResponse getAuthoredFeed(String cursor, int size) {
+        String authorName = SecurityContextHolder.getContext().getAuthentication().getName();
+        return toPage(size, limit -> {
+            if (cursor == null || cursor.isBlank()) {
+                return feedbackRepository.findAuthoredPage(authorName, limit);
+            }
+            FeedbackCursor after = FeedbackCursor.decode(cursor);
+            return feedbackRepository.findAuthoredPageAfter(authorName, after.createdAt(), after.id(), limit);
+        });
+    }
+    
+    /**
+     * BM25-ranked full-text search over all feedback (manager only),
+     * optionally restricted to one employee and/or one department
+     */
+    @Transactional(readOnly = true)
+    public List<FeedbackSearchHit> searchFeedback(String query, Long employeeId, String department, int limit) {
+        User currentUser = getCurrentUser();
+        if (currentUser.getRole() != User.Role.MANAGER) {
+            throw new RuntimeException("Only managers can search all feedback");
+        }
+        
+        Set<Long> employeeFilter = null;
+        if (department != null && !department.isBlank()) {
+            employeeFilter = new HashSet<>(employeeRepository.findIdsByDepartment(department));
+        }
+        if (employeeId != null) {
+            employeeFilter = employeeFilter == null || employeeFilter.contains(employeeId)
+                    ? Set.of(employeeId)
+                    : Set.of();
+        }
+        
+        List<Bm25Index.Hit> hits = feedbackSearchIndex.search(
+                query, employeeFilter, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+        Map<Long, Feedback> feedbacksById = feedbackRepository
+                .findAllById(hits.stream().map(Bm25Index.Hit::feedbackId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Feedback::getId, Function.identity()));
+        
+        return hits.stream()
+                .map(hit -> {
+                    Feedback feedback = feedbacksById.get(hit.feedbackId());
+                    return feedback == null ? null : FeedbackSearchHit.builder()
+                            .feedback(feedbackMapper.toDto(feedback))
+                            .score(hit.score())
+                            .build();
+                })
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Total and polished feedback counts, read from the rollup table.
+     * Employees without a rollup row yet (no feedback written through the API) are counted once from the index.
+     */
+    @Transactional(readOnly = true)
+    public EmployeeFeedbackStats getFeedbackStats(Long employeeId) {
+        return feedbackStatsRepository.findById(employeeId)
+                .orElseGet(() -> countFeedbackStats(employeeId));
+    }
+    
+    /**
+     * Precomputed keyword/sentiment summary; null if the employee has no feedback yet
+     */
+    public FeedbackInsightsDto getFeedbackInsights(Long employeeId) {
+        return feedbackInsightsIndex.getInsights(employeeId).orElse(null);
+    }
+    
+    /**
+     * Stores a polished version produced outside a user request (batch polish jobs)
+     * @return false if the feedback was deleted or already polished in the meantime
+     */
+    @Transactional
+    public boolean applyPolish(Long feedbackId, String polishedContent) {
+        Optional<Feedback> found = feedbackRepository.findById(feedbackId);
+        if (found.isEmpty() || feedbackRepository.markPolished(feedbackId, polishedContent, LocalDateTime.now()) == 0) {
+            return false;
+        }
+        
+        Feedback feedback = found.get();
+        Long employeeId = feedback.getEmployee().getId();
+        adjustFeedbackStats(employeeId, 0, 1);
+        eventPublisher.publishEvent(new FeedbackPolishedEvent(
+                feedbackId, employeeId, feedback.getOriginalContent(), polishedContent));
+        return true;
+    }
+    
     @Transactional
     public void deleteFeedback(Long feedbackId) {
         User currentUser = getCurrentUser();
@@ -88,6 +243,63 @@ public class FeedbackService {
         }
         
         feedbackRepository.delete(feedback);
+        Long employeeId = feedback.getEmployee().getId();
+        adjustFeedbackStats(employeeId, -1, Boolean.TRUE.equals(feedback.getIsPolished()) ? -1 : 0);
+        eventPublisher.publishEvent(new FeedbackDeletedEvent(
+                feedback.getId(), employeeId, feedback.getAuthorName(),
+                feedback.getOriginalContent(), feedback.getPolishedContent()));
+    }
+    
+    /**
+     * A near-duplicate may differ in a name or a detail, so its polished text is only reused
+     * when the original wording is the same after normalization (case, punctuation, spacing)
+     */
+    private Optional<String> findReusablePolish(Long duplicateOfId, String content) {
+        if (duplicateOfId == null) {
+            return Optional.empty();
+        }
+        String normalized = MinHasher.normalize(content);
+        return feedbackRepository.findById(duplicateOfId)
+                .filter(duplicate -> Boolean.TRUE.equals(duplicate.getIsPolished()) && duplicate.getPolishedContent() != null)
+                .filter(duplicate -> MinHasher.normalize(duplicate.getOriginalContent()).equals(normalized))
+                .map(duplicate -> {
+                    log.info("Reusing polished content of feedback {} instead of calling the AI service", duplicateOfId);
+                    return duplicate.getPolishedContent();
+                });
+    }
+    
+    /**
+     * Fetches one row more than requested to know whether another page exists
+     */
+    private FeedbackPageResponse toPage(int size, Function<Limit, List<Feedback>> query) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<Feedback> rows = query.apply(Limit.of(pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<Feedback> page = hasMore ? rows.subList(0, pageSize) : rows;
+        
+        return FeedbackPageResponse.builder()
+                .feedbacks(page.stream().map(feedbackMapper::toDto).collect(Collectors.toList()))
+                .nextCursor(hasMore ? FeedbackCursor.of(page.get(page.size() - 1)).encode() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+    
+    /**
+     * The stats row is created with the employee. Without one, reads count from the feedbacks
+     * table instead; seeding it here would race with concurrent writers.
+     */
+    private void adjustFeedbackStats(Long employeeId, long feedbackDelta, long polishedDelta) {
+        if (feedbackStatsRepository.adjustCounts(employeeId, feedbackDelta, polishedDelta) == 0) {
+            log.warn("No feedback stats row for employee {}, stats are counted on read", employeeId);
+        }
+    }
+    
+    private EmployeeFeedbackStats countFeedbackStats(Long employeeId) {
+        return EmployeeFeedbackStats.builder()
+                .employeeId(employeeId)
+                .feedbackCount(feedbackRepository.countByEmployeeId(employeeId))
+                .polishedCount(feedbackRepository.countByEmployeeIdAndIsPolishedTrue(employeeId))
+                .build();
     }
     
     private User getCurrentUser() {
@@ -1,49 +1,116 @@
 package com.newwork.backend.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.newwork.backend.dto.FeedbackSuggestionChunk;
+import com.newwork.backend.exception.TooManyRequestsException;
+import com.newwork.backend.service.ai.AdaptiveConcurrencyLimiter;
+import com.newwork.backend.service.ai.AdaptiveTimeoutPolicy;
+import com.newwork.backend.service.ai.HedgeBudget;
+import com.newwork.backend.service.ai.ModelHealthRegistry;
+import com.newwork.backend.service.ai.OptionParser;
+import com.newwork.backend.service.ai.OptionStreamParser;
+import com.newwork.backend.service.ai.TokenBudget;
+import com.newwork.backend.service.ai.provider.AiCompletionRequest;
+import com.newwork.backend.service.ai.provider.AiProvider;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpStatusCode;
 import org.springframework.scheduling.annotation.Async;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 @Service
 @Slf4j
 public class HuggingFaceService {
     
+    private static final String CIRCUIT_BREAKER_NAME = "huggingface";
+    private static final Set<Integer> OVERLOAD_STATUSES = Set.of(429, 502, 503, 504);
+    private static final int POLISH_MAX_TOKENS = 150;
+    private static final int OPTIONS_MAX_TOKENS = 400;
+
+    /**
+     * Polished text; rewritten is false when the model returned nothing or echoed the input
+     * and the text is the rule-based improvement (or the blank input) instead
+     */
+    public record PolishResult(String text, boolean rewritten) {
+    }
+
     private final Counter apiCallCounter;
     private final Counter apiSuccessCounter;
     private final Counter apiFailureCounter;
     private final Timer apiResponseTimer;
+    private final Timer streamFirstOptionTimer;
+    private final Counter hedgedRequestCounter;
 
-    private final WebClient webClient;
-
-    @Value("${huggingface.api.key:}")
-    private String apiKey;
-
-    @Value("${huggingface.model:meta-llama/Meta-Llama-3-8B}")
-    private String model;
+    private final AiProvider aiProvider;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final ModelHealthRegistry modelHealthRegistry;
+    private final TokenBudget tokenBudget;
 
     @Value("${huggingface.timeout:30}")
     private int timeoutSeconds;
 
-    public HuggingFaceService(WebClient.Builder webClientBuilder, MeterRegistry meterRegistry) {
-        this.webClient = webClientBuilder
-                .baseUrl("https://router.huggingface.co/v1")
-                .build();
+    @Value("${huggingface.adaptive-timeout.enabled:true}")
+    private boolean adaptiveTimeoutEnabled;
+
+    @Value("${huggingface.adaptive-timeout.min:3s}")
+    private Duration adaptiveTimeoutMin;
+
+    @Value("${huggingface.adaptive-timeout.max:90s}")
+    private Duration adaptiveTimeoutMax;
+
+    @Value("${huggingface.adaptive-timeout.p99-multiplier:1.5}")
+    private double adaptiveTimeoutMultiplier;
+
+    @Value("${huggingface.adaptive-timeout.min-samples:20}")
+    private long adaptiveTimeoutMinSamples;
+
+    @Value("${huggingface.hedge.enabled:false}")
+    private boolean hedgeEnabled;
+
+    // Alternate model for hedged requests; blank means the routed model
+    @Value("${huggingface.hedge.model:}")
+    private String hedgeModel;
+
+    @Value("${huggingface.hedge.max-extra-load-percent:10}")
+    private int hedgeMaxExtraLoadPercent;
+
+    private AdaptiveTimeoutPolicy timeoutPolicy;
+    private HedgeBudget hedgeBudget;
+
+    public HuggingFaceService(AiProvider aiProvider, MeterRegistry meterRegistry,
+                              CircuitBreakerRegistry circuitBreakerRegistry,
+                              AdaptiveConcurrencyLimiter concurrencyLimiter,
+                              ModelHealthRegistry modelHealthRegistry,
+                              TokenBudget tokenBudget) {
+        this.aiProvider = aiProvider;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.modelHealthRegistry = modelHealthRegistry;
+        this.tokenBudget = tokenBudget;
         
         // Initialize custom metrics
         this.apiCallCounter = Counter.builder("huggingface.api.calls")
@@ -55,57 +122,102 @@ public class HuggingFaceService {
         this.apiFailureCounter = Counter.builder("huggingface.api.failure")
                 .description("Failed HuggingFace API calls")
                 .register(meterRegistry);
+        // Rolling p95/p99 over the last few minutes drive the adaptive timeout and hedge delay.
+        // Failures and timeouts are recorded too, otherwise a slow, failing backend would pull them down.
         this.apiResponseTimer = Timer.builder("huggingface.api.response.time")
-                .description("HuggingFace API response time")
+                .description("HuggingFace API response time, failed and timed-out calls included")
+                .publishPercentiles(0.95, 0.99)
+                .distributionStatisticExpiry(Duration.ofMinutes(5))
+                .distributionStatisticBufferLength(5)
                 .register(meterRegistry);
+        this.hedgedRequestCounter = Counter.builder("huggingface.api.hedged")
+                .description("Hedged requests sent because the primary exceeded the p95 latency")
+                .register(meterRegistry);
+        this.streamFirstOptionTimer = Timer.builder("huggingface.api.stream.first.option.time")
+                .description("Time until the first suggestion is emitted on the streaming endpoint")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void initLatencyPolicies() {
+        this.timeoutPolicy = AdaptiveTimeoutPolicy.builder()
+                .latencyTimer(apiResponseTimer)
+                .enabled(adaptiveTimeoutEnabled)
+                .coldTimeout(Duration.ofSeconds(timeoutSeconds))
+                .minTimeout(adaptiveTimeoutMin)
+                .maxTimeout(adaptiveTimeoutMax)
+                .multiplier(adaptiveTimeoutMultiplier)
+                .minSamples(adaptiveTimeoutMinSamples)
+                .build();
+        this.hedgeBudget = new HedgeBudget(hedgeMaxExtraLoadPercent, 5);
     }
 
     @CircuitBreaker(name = "huggingface", fallbackMethod = "polishFeedbackFallback")
-    public String polishFeedback(String feedback) {
-        if (apiKey == null || apiKey.isEmpty()) {
-            log.error("HuggingFace API key not configured.");
+    public PolishResult polishFeedback(String feedback) {
+        if (!aiProvider.isConfigured()) {
+            log.error("AI provider '{}' not configured (missing API key?).", aiProvider.getName());
             throw new RuntimeException("AI service is not configured. Please contact support.");
         }
 
         if (feedback == null || feedback.trim().isEmpty()) {
-            return feedback;
+            return new PolishResult(feedback, false);
         }
 
-        return apiResponseTimer.record(() -> {
-            apiCallCounter.increment();
+        long promptTokens = TokenBudget.estimateTokens(buildPrompt(feedback));
+        TokenBudget.Reservation reservation = reserveTokens(promptTokens + POLISH_MAX_TOKENS);
+
+        // Wait for a slot before starting the clock so queueing does not skew API latency
+        AdaptiveConcurrencyLimiter.Permit permit = acquirePermit(reservation);
+
+        apiCallCounter.increment();
+        modelHealthRegistry.recordTraffic();
+        String model = modelHealthRegistry.selectModel();
+        long start = System.nanoTime();
         try {
-            log.info("Calling HuggingFace API with model: {}", model);
-            String polished = callHuggingFaceInferenceApi(feedback)
-                    .timeout(Duration.ofSeconds(timeoutSeconds))
+            Duration timeout = timeoutPolicy.currentTimeout();
+            log.info("Calling {} with model: {} (timeout {} ms)", aiProvider.getName(), model, timeout.toMillis());
+            String polished = callHuggingFaceInferenceApi(feedback, model)
+                    .timeout(timeout)
                     .block();
+            permit.onSuccess();
+            reservation.settle(promptTokens + TokenBudget.estimateTokens(polished));
+            apiResponseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
             if (polished != null && !polished.trim().isEmpty() && !polished.equals(feedback)) {
                 log.info("Successfully polished feedback using AI");
-                    apiSuccessCounter.increment();
-                return polished;
+                apiSuccessCounter.increment();
+                return new PolishResult(polished, true);
             } else {
                 log.warn("AI returned empty or same result, using rule-based improvement");
-                return improveWithPrompt(feedback);
+                return new PolishResult(improveWithPrompt(feedback), false);
             }
         } catch (WebClientResponseException e) {
-                apiFailureCounter.increment();
+            apiResponseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            releaseAfterFailure(permit, e, model);
+            reservation.settle(promptTokens);
+            apiFailureCounter.increment();
             log.error("HuggingFace API error (status {}): {}", e.getStatusCode(), e.getMessage());
             if (e.getStatusCode().value() == 503) {
                 log.info("Model is loading, this can take 20-30 seconds on first request");
             }
-                throw new RuntimeException("HuggingFace API error", e);
-            } catch (Exception e) {
-                apiFailureCounter.increment();
-                log.error("Error calling HuggingFace API: {} - {}", e.getClass().getSimpleName(), e.getMessage());
-                throw new RuntimeException("HuggingFace API error", e);
-            }
-        });
+            throw new RuntimeException("HuggingFace API error", e);
+        } catch (Exception e) {
+            apiResponseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            releaseAfterFailure(permit, e, model);
+            reservation.settle(promptTokens);
+            apiFailureCounter.increment();
+            log.error("Error calling HuggingFace API: {} - {}", e.getClass().getSimpleName(), e.getMessage());
+            throw new RuntimeException("HuggingFace API error", e);
+        }
     }
     
     /**
      * Fallback method for circuit breaker - throws exception to notify user
      */
-    private String polishFeedbackFallback(String feedback, Exception e) {
+    private PolishResult polishFeedbackFallback(String feedback, Exception e) {
+        if (e instanceof TooManyRequestsException tooManyRequests) {
+            throw tooManyRequests;
+        }
         log.error("Circuit breaker OPEN or API failed for polishFeedback. Error: {}", e.getMessage());
         throw new RuntimeException("AI service is currently unavailable. Please try again later.");
     }
@@ -129,8 +241,12 @@ public class HuggingFaceService {
      * Fallback for async feedback options - throws exception to notify user
      */
     private CompletableFuture<List<String>> generateFeedbackOptionsFallback(String feedback, Exception e) {
-        log.error("Circuit breaker OPEN or API failed for generateFeedbackOptions. Error: {}", e.getMessage());
         CompletableFuture<List<String>> future = new CompletableFuture<>();
+        if (e instanceof TooManyRequestsException) {
+            future.completeExceptionally(e);
+            return future;
+        }
+        log.error("Circuit breaker OPEN or API failed for generateFeedbackOptions. Error: {}", e.getMessage());
         future.completeExceptionally(new RuntimeException("AI service is currently unavailable. Please try again later."));
         return future;
     }
@@ -144,19 +260,35 @@ public class HuggingFaceService {
             throw new IllegalArgumentException("Feedback content cannot be empty");
         }
 
-        if (apiKey == null || apiKey.isEmpty()) {
-            log.error("HuggingFace API key not configured.");
+        if (!aiProvider.isConfigured()) {
+            log.error("AI provider '{}' not configured (missing API key?).", aiProvider.getName());
             throw new RuntimeException("AI service is not configured. Please contact support.");
         }
 
+        long promptTokens = TokenBudget.estimateTokens(buildOptionsPrompt(feedback));
+        TokenBudget.Reservation reservation = reserveTokens(promptTokens + OPTIONS_MAX_TOKENS);
+
+        AdaptiveConcurrencyLimiter.Permit permit = acquirePermit(reservation);
+
         // Increment API call counter
         apiCallCounter.increment();
-        
+        modelHealthRegistry.recordTraffic();
+        String model = modelHealthRegistry.selectModel();
+
+        long start = System.nanoTime();
         try {
-            log.info("Generating 3 feedback options using AI (API call #{} recorded)", apiCallCounter.count());
-            List<String> options = callHuggingFaceForOptions(feedback)
-                    .timeout(Duration.ofSeconds(timeoutSeconds))
+            Duration timeout = timeoutPolicy.currentTimeout();
+            log.info("Generating 3 feedback options using AI (API call #{} recorded, timeout {} ms)",
+                    apiCallCounter.count(), timeout.toMillis());
+            List<String> options = withHedge(
+                        callHuggingFaceForOptions(feedback, model),
+                        () -> callHuggingFaceForOptions(feedback, hedgeModel.isBlank() ? model : hedgeModel))
+                    .timeout(timeout)
                     .block();
+            permit.onSuccess();
+            reservation.settle(promptTokens + (options == null ? 0
+                    : options.stream().mapToLong(TokenBudget::estimateTokens).sum()));
+            apiResponseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
             if (options != null && options.size() == 3) {
                 log.info("Successfully generated 3 feedback options");
@@ -167,6 +299,9 @@ public class HuggingFaceService {
                 return generateFallbackOptions(feedback);
             }
         } catch (Exception e) {
+            apiResponseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            releaseAfterFailure(permit, e, model);
+            reservation.settle(promptTokens);
             apiFailureCounter.increment();
             log.error("Error generating feedback options: {} - {}", e.getClass().getSimpleName(), e.getMessage());
             throw new RuntimeException("Failed to generate feedback options", e);
@@ -177,118 +312,183 @@ public class HuggingFaceService {
      * Fallback for synchronous feedback options - throws exception to notify user
      */
     private List<String> generateFeedbackOptionsSyncFallback(String feedback, Exception e) {
+        if (e instanceof TooManyRequestsException tooManyRequests) {
+            throw tooManyRequests;
+        }
         log.error("Circuit breaker OPEN or API failed for generateFeedbackOptions (sync). Error: {}", e.getMessage());
         throw new RuntimeException("AI service is currently unavailable. Please try again later.");
     }
 
-    private Mono<String> callHuggingFaceInferenceApi(String text) {
-        // Build prompt for text improvement
-        String prompt = buildPrompt(text);
-
-        // OpenAI-compatible format (new HuggingFace router API)
-        Map<String, Object> requestBody = new HashMap<>();
-        requestBody.put("model", model);
-
-        // Messages array in OpenAI format
-        Map<String, String> userMessage = new HashMap<>();
-        userMessage.put("role", "user");
-        userMessage.put("content", prompt);
-        requestBody.put("messages", List.of(userMessage));
-
-        // Optional parameters
-        requestBody.put("max_tokens", 150);
-        requestBody.put("temperature", 0.7);
-
-        log.debug("Calling HuggingFace API (OpenAI format): /chat/completions with model {}", model);
-
-        return webClient
-                .post()
-                .uri("/chat/completions")
-                .header("Authorization", "Bearer " + apiKey)
-                .header("Content-Type", "application/json")
-                .bodyValue(requestBody)
-                .retrieve()
-                .onStatus(HttpStatusCode::is4xxClientError, response ->
-                    response.bodyToMono(String.class)
-                        .flatMap(body -> {
-                            log.error("Client error response: {}", body);
-                            return Mono.error(new RuntimeException("Client error: " + body));
-                        })
-                )
-                .onStatus(HttpStatusCode::is5xxServerError, response ->
-                    response.bodyToMono(String.class)
-                        .flatMap(body -> {
-                            log.error("Server error response: {}", body);
-                            return Mono.error(new RuntimeException("Server error: " + body));
-                        })
-                )
-                .bodyToMono(JsonNode.class)
-                .map(this::extractGeneratedText)
-                .doOnError(e -> log.error("API call failed: {}", e.getMessage()));
-    }
+    /**
+     * Streaming version - emits each of the three options as soon as the model has finished writing it.
+     * The circuit breaker is applied manually because the annotation would only observe the
+     * assembly of the Flux, not the remote call itself.
+     * Admission (token budget, circuit breaker, concurrency limit) is decided here, before the
+     * stream is returned, so a rejection can still be answered with a status code instead of an event.
+     * @throws TooManyRequestsException if the token budget or the concurrency limit is exhausted
+     */
+    public Flux<FeedbackSuggestionChunk> streamFeedbackOptions(String feedback) {
+        if (feedback == null || feedback.trim().isEmpty()) {
+            throw new IllegalArgumentException("Feedback content cannot be empty");
+        }
 
-    private String buildPrompt(String feedback) {
-        // For chat models, provide clear instruction
-        return String.format(
-            "Rewrite the following employee feedback to be more professional, clear, and constructive. " +
-            "Keep it concise and maintain the original meaning and return only the rewritten version.\n\n" +
-            "Feedback: %s\n\n" +
-            "Professional version:",
-            feedback
-        );
-    }
+        if (!aiProvider.isConfigured()) {
+            log.error("AI provider '{}' not configured (missing API key?).", aiProvider.getName());
+            throw new RuntimeException("AI service is not configured. Please contact support.");
+        }
+
+        long promptTokens = TokenBudget.estimateTokens(buildOptionsPrompt(feedback));
+        TokenBudget.Reservation reservation = reserveTokens(promptTokens + OPTIONS_MAX_TOKENS);
 
-    private String extractGeneratedText(JsonNode response) {
+        io.github.resilience4j.circuitbreaker.CircuitBreaker circuitBreaker =
+                circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER_NAME);
+        if (!circuitBreaker.tryAcquirePermission()) {
+            reservation.settle(0);
+            log.error("Circuit breaker OPEN for streamFeedbackOptions");
+            throw new RuntimeException("AI service is currently unavailable. Please try again later.");
+        }
+
+        AdaptiveConcurrencyLimiter.Permit permit;
         try {
-            log.debug("Parsing response: {}", response);
-
-            // OpenAI-compatible format: { "choices": [{ "message": { "content": "..." } }] }
-            if (response.has("choices")) {
-                JsonNode choices = response.get("choices");
-                if (choices.isArray() && choices.size() > 0) {
-                    JsonNode firstChoice = choices.get(0);
-                    if (firstChoice.has("message")) {
-                        JsonNode message = firstChoice.get("message");
-                        if (message.has("content")) {
-                            String text = message.get("content").asText();
-                            return cleanGeneratedText(text);
-                        }
+            permit = acquirePermit(reservation);
+        } catch (TooManyRequestsException e) {
+            circuitBreaker.releasePermission();
+            throw e;
+        }
+
+        apiCallCounter.increment();
+        modelHealthRegistry.recordTraffic();
+        String model = modelHealthRegistry.selectModel();
+        OptionStreamParser parser = new OptionStreamParser(this::cleanGeneratedText);
+        AtomicBoolean firstEmitted = new AtomicBoolean();
+        AtomicLong completionChars = new AtomicLong();
+        long start = System.nanoTime();
+
+        return callHuggingFaceForOptionsStream(feedback, model)
+                // Inactivity timeout between tokens rather than a deadline for the whole stream
+                .timeout(Duration.ofSeconds(timeoutSeconds))
+                .doOnNext(token -> completionChars.addAndGet(token.length()))
+                .concatMapIterable(parser::accept)
+                .concatWith(Flux.defer(() -> Flux.fromIterable(parser.finish())))
+                .doOnNext(chunk -> {
+                    if (firstEmitted.compareAndSet(false, true)) {
+                        streamFirstOptionTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
                     }
-                }
-            }
+                })
+                .doFinally(signal -> reservation.settle(promptTokens + TokenBudget.estimateTokens(completionChars.get())))
+                .doOnComplete(() -> {
+                    permit.onSuccess();
+                    long elapsed = System.nanoTime() - start;
+                    circuitBreaker.onSuccess(elapsed, TimeUnit.NANOSECONDS);
+                    apiResponseTimer.record(elapsed, TimeUnit.NANOSECONDS);
+                    apiSuccessCounter.increment();
+                    log.info("Streamed {} feedback options", parser.getEmittedCount());
+                })
+                .doOnError(e -> {
+                    long elapsed = System.nanoTime() - start;
+                    apiResponseTimer.record(elapsed, TimeUnit.NANOSECONDS);
+                    releaseAfterFailure(permit, e, model);
+                    circuitBreaker.onError(elapsed, TimeUnit.NANOSECONDS, e);
+                    apiFailureCounter.increment();
+                    log.error("Error streaming feedback options: {} - {}", e.getClass().getSimpleName(), e.getMessage());
+                })
+                .doOnCancel(() -> {
+                    permit.onIgnore();
+                    circuitBreaker.releasePermission();
+                });
+    }
 
-            // Legacy format support (old inference API)
-            // Handle array response format
-            if (response.isArray() && response.size() > 0) {
-                JsonNode firstResult = response.get(0);
+    /**
+     * Reserves the worst-case cost of a call (prompt + max completion tokens) against the caller's
+     * and the global token budget. Calls without an authenticated user (background jobs) only count globally.
+     */
+    private TokenBudget.Reservation reserveTokens(long estimatedTokens) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return tokenBudget.reserve(null, TokenBudget.SYSTEM_ROLE, estimatedTokens);
+        }
+        String role = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority.startsWith("ROLE_"))
+                .map(authority -> authority.substring("ROLE_".length()))
+                .findFirst()
+                .orElse("user");
+        return tokenBudget.reserve(authentication.getName(), role, estimatedTokens);
+    }
 
-                // Check for summary_text (BART, summarization models)
-                if (firstResult.has("summary_text")) {
-                    String text = firstResult.get("summary_text").asText();
-                    return cleanGeneratedText(text);
-                }
+    /**
+     * Limiter permit; a shed call gives its token reservation back
+     */
+    private AdaptiveConcurrencyLimiter.Permit acquirePermit(TokenBudget.Reservation reservation) {
+        try {
+            return concurrencyLimiter.acquire();
+        } catch (TooManyRequestsException e) {
+            reservation.settle(0);
+            throw e;
+        }
+    }
 
-                // Check for generated_text (generation models)
-                if (firstResult.has("generated_text")) {
-                    String text = firstResult.get("generated_text").asText();
-                    return cleanGeneratedText(text);
-                }
-            }
+    /**
+     * Timeouts and overload statuses shrink the concurrency limit; other failures just free the slot.
+     * A 503 also marks the model as loading so following requests are routed to a fallback
+     * until a warm-up probe sees it ready again.
+     */
+    private void releaseAfterFailure(AdaptiveConcurrencyLimiter.Permit permit, Throwable error, String model) {
+        Throwable overload = findOverloadCause(error, new HashSet<>());
+        if (overload == null) {
+            permit.onIgnore();
+            return;
+        }
+        if (overload instanceof WebClientResponseException responseException
+                && responseException.getStatusCode().value() == 503) {
+            modelHealthRegistry.markLoading(model);
+        }
+        permit.onDropped();
+    }
 
-            // Handle error in response
-            if (response.has("error")) {
-                String error = response.get("error").asText();
-                log.warn("API returned error: {}", error);
-                throw new RuntimeException("API error: " + error);
+    /**
+     * First timeout or overload status in the cause chain, including suppressed exceptions
+     * (Reactor attaches the errors of every racing source to a composite that way)
+     */
+    private static Throwable findOverloadCause(Throwable error, Set<Throwable> visited) {
+        for (Throwable cause = error; cause != null && visited.add(cause); cause = cause.getCause()) {
+            if (cause instanceof TimeoutException) {
+                return cause;
             }
+            if (cause instanceof WebClientResponseException responseException
+                    && OVERLOAD_STATUSES.contains(responseException.getStatusCode().value())) {
+                return cause;
+            }
+            for (Throwable suppressed : cause.getSuppressed()) {
+                Throwable found = findOverloadCause(suppressed, visited);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
 
-            log.warn("Unexpected response format: {}", response.toString());
-            throw new RuntimeException("Unexpected response format");
+    private Mono<String> callHuggingFaceInferenceApi(String text, String model) {
+        return aiProvider.complete(AiCompletionRequest.builder()
+                        .model(model)
+                        .prompt(buildPrompt(text))
+                        .maxTokens(POLISH_MAX_TOKENS)
+                        .temperature(0.7)
+                        .build())
+                .map(this::cleanGeneratedText);
+    }
 
-        } catch (Exception e) {
-            log.error("Error parsing response: {}", e.getMessage());
-            throw new RuntimeException("Failed to parse API response", e);
-        }
+    private String buildPrompt(String feedback) {
+        // For chat models, provide clear instruction
+        return String.format(
+            "Rewrite the following employee feedback to be more professional, clear, and constructive. " +
+            "Keep it concise and maintain the original meaning and return only the rewritten version.\n\n" +
+            "Feedback: %s\n\n" +
+            "Professional version:",
+            feedback
+        );
     }
 
     private String cleanGeneratedText(String text) {
@@ -338,47 +538,59 @@ public class HuggingFaceService {
         return improved;
     }
 
-    private Mono<List<String>> callHuggingFaceForOptions(String text) {
-        // Build prompt for generating three different versions
-        String prompt = buildOptionsPrompt(text);
-
-        Map<String, Object> requestBody = new HashMap<>();
-        requestBody.put("model", model);
-
-        Map<String, String> userMessage = new HashMap<>();
-        userMessage.put("role", "user");
-        userMessage.put("content", prompt);
-        requestBody.put("messages", List.of(userMessage));
-
-        requestBody.put("max_tokens", 400); // Increased for 3 options
-        requestBody.put("temperature", 0.8); // Slightly higher for variety
-
-        log.debug("Calling HuggingFace API for 3 options");
-
-        return webClient
-                .post()
-                .uri("/chat/completions")
-                .header("Authorization", "Bearer " + apiKey)
-                .header("Content-Type", "application/json")
-                .bodyValue(requestBody)
-                .retrieve()
-                .onStatus(HttpStatusCode::is4xxClientError, response ->
-                    response.bodyToMono(String.class)
-                        .flatMap(body -> {
-                            log.error("Client error response: {}", body);
-                            return Mono.error(new RuntimeException("Client error: " + body));
-                        })
-                )
-                .onStatus(HttpStatusCode::is5xxServerError, response ->
-                    response.bodyToMono(String.class)
-                        .flatMap(body -> {
-                            log.error("Server error response: {}", body);
-                            return Mono.error(new RuntimeException("Server error: " + body));
-                        })
-                )
-                .bodyToMono(JsonNode.class)
-                .map(this::extractOptionsFromResponse)
-                .doOnError(e -> log.error("API call failed: {}", e.getMessage()));
+    /**
+     * Races a hedged request against the primary once the primary has been running longer than
+     * the rolling p95. The first value wins and the loser is cancelled. Hedges are capped by
+     * {@link HedgeBudget} so they never add more than the configured share of remote load.
+     * A primary failure ends the race straight away with its own error (so overload statuses still
+     * reach the limiter); a failed or skipped hedge just leaves the primary running.
+     */
+    private <T> Mono<T> withHedge(Mono<T> primary, Supplier<Mono<T>> hedge) {
+        if (!hedgeEnabled) {
+            return primary;
+        }
+        hedgeBudget.recordRequest();
+        Optional<Duration> hedgeDelay = timeoutPolicy.hedgeDelay();
+        if (hedgeDelay.isEmpty()) {
+            return primary;
+        }
+
+        Mono<T> hedged = Mono.delay(hedgeDelay.get())
+                .filter(tick -> hedgeBudget.tryAcquire())
+                .flatMap(tick -> {
+                    hedgedRequestCounter.increment();
+                    log.info("Primary call exceeded p95 ({} ms), sending hedged request", hedgeDelay.get().toMillis());
+                    return hedge.get()
+                            .onErrorResume(e -> {
+                                log.warn("Hedged request failed, waiting for the primary: {}", e.getMessage());
+                                return Mono.never();
+                            });
+                })
+                .switchIfEmpty(Mono.never());
+        return Mono.firstWithSignal(primary, hedged);
+    }
+
+    private Mono<List<String>> callHuggingFaceForOptions(String text, String targetModel) {
+        log.debug("Calling {} for 3 options with model {}", aiProvider.getName(), targetModel);
+
+        return aiProvider.complete(AiCompletionRequest.builder()
+                        .model(targetModel)
+                        .prompt(buildOptionsPrompt(text))
+                        .maxTokens(OPTIONS_MAX_TOKENS)
+                        .temperature(0.8) // Slightly higher for variety
+                        .build())
+                .map(content -> OptionParser.parse(content, this::cleanGeneratedText));
+    }
+
+    private Flux<String> callHuggingFaceForOptionsStream(String text, String model) {
+        log.debug("Calling {} for 3 options with model {} (streaming)", aiProvider.getName(), model);
+
+        return aiProvider.streamCompletion(AiCompletionRequest.builder()
+                .model(model)
+                .prompt(buildOptionsPrompt(text))
+                .maxTokens(OPTIONS_MAX_TOKENS)
+                .temperature(0.8)
+                .build());
     }
 
     private String buildOptionsPrompt(String feedback) {
@@ -395,90 +607,6 @@ public class HuggingFaceService {
         );
     }
 
-    private List<String> extractOptionsFromResponse(JsonNode response) {
-        try {
-            log.debug("Parsing options response: {}", response);
-
-            if (response.has("choices")) {
-                JsonNode choices = response.get("choices");
-                if (choices.isArray() && choices.size() > 0) {
-                    JsonNode firstChoice = choices.get(0);
-                    if (firstChoice.has("message")) {
-                        JsonNode message = firstChoice.get("message");
-                        if (message.has("content")) {
-                            String content = message.get("content").asText();
-                            return parseOptions(content);
-                        }
-                    }
-                }
-            }
-
-            log.warn("Unexpected response format for options");
-            throw new RuntimeException("Unexpected response format");
-
-        } catch (Exception e) {
-            log.error("Error parsing options response: {}", e.getMessage());
-            throw new RuntimeException("Failed to parse API response", e);
-        }
-    }
-
-    private List<String> parseOptions(String content) {
-        // Try to extract the three options from the response
-        String[] lines = content.split("\n");
-        String option1 = "";
-        String option2 = "";
-        String option3 = "";
-
-        for (String line : lines) {
-            line = line.trim();
-            
-            // Skip empty lines and common introductory phrases
-            if (line.isEmpty() || 
-                line.toLowerCase().contains("here are") ||
-                line.toLowerCase().contains("professional versions") ||
-                line.toLowerCase().contains("below are") ||
-                line.toLowerCase().contains("i've generated")) {
-                continue;
-            }
-            
-            if (line.startsWith("OPTION 1:") || line.startsWith("Option 1:") || line.startsWith("1.") || line.startsWith("1:")) {
-                option1 = line.replaceFirst("^(OPTION 1:|Option 1:|1\\.|1:)", "").trim();
-            } else if (line.startsWith("OPTION 2:") || line.startsWith("Option 2:") || line.startsWith("2.") || line.startsWith("2:")) {
-                option2 = line.replaceFirst("^(OPTION 2:|Option 2:|2\\.|2:)", "").trim();
-            } else if (line.startsWith("OPTION 3:") || line.startsWith("Option 3:") || line.startsWith("3.") || line.startsWith("3:")) {
-                option3 = line.replaceFirst("^(OPTION 3:|Option 3:|3\\.|3:)", "").trim();
-            }
-        }
-
-        // If parsing failed, try splitting by newlines and take first 3 non-empty lines that look like feedback
-        if (option1.isEmpty() || option2.isEmpty() || option3.isEmpty()) {
-            List<String> nonEmptyLines = java.util.Arrays.stream(lines)
-                    .map(String::trim)
-                    .filter(l -> !l.isEmpty() && 
-                           !l.toLowerCase().startsWith("option") &&
-                           !l.toLowerCase().contains("here are") &&
-                           !l.toLowerCase().contains("professional versions") &&
-                           !l.toLowerCase().contains("below are") &&
-                           l.length() > 20) // Must be substantial feedback
-                    .limit(3)
-                    .collect(java.util.stream.Collectors.toList());
-
-            if (nonEmptyLines.size() >= 3) {
-                return List.of(
-                        cleanGeneratedText(nonEmptyLines.get(0)),
-                        cleanGeneratedText(nonEmptyLines.get(1)),
-                        cleanGeneratedText(nonEmptyLines.get(2))
-                );
-            }
-        }
-
-        return List.of(
-                cleanGeneratedText(option1),
-                cleanGeneratedText(option2),
-                cleanGeneratedText(option3)
-        );
-    }
-
     private List<String> generateFallbackOptions(String feedback) {
         // Generate 3 simple variations
         String base = improveWithPrompt(feedback);
@@ -0,0 +1,219 @@
+package com.newwork.backend.service;
+
+import com.newwork.backend.dto.PolishJobDto;
+import com.newwork.backend.entity.PolishJob;
+import com.newwork.backend.entity.PolishJobItem;
+import com.newwork.backend.entity.User;
+import com.newwork.backend.event.PolishJobSubmittedEvent;
+import com.newwork.backend.repository.PolishJobItemRepository;
+import com.newwork.backend.repository.PolishJobRepository;
+import com.newwork.backend.repository.UserRepository;
+import com.newwork.backend.service.batch.PolishJobProgress;
+import com.newwork.backend.service.batch.PolishJobRunner;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk AI polish of existing feedback for review cycles (manager only).
+ * Jobs are processed in the background by {@link PolishJobRunner}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PolishJobService {
+
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    private final PolishJobRepository jobRepository;
+    private final PolishJobItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final PolishJobRunner polishJobRunner;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${feedback.polish-job.max-items:50000}")
+    private int maxItems;
+
+    /**
+     * Creates a job for the given feedback ids (duplicates are ignored); it starts after commit
+     */
+    @Transactional
+    public PolishJobDto createJob(Collection<Long> feedbackIds) {
+        return createJob(requireManager(), feedbackIds);
+    }
+
+    /**
+     * Creates a job from an uploaded CSV/text file with a feedback id in the first column of each line.
+     * A non-numeric first line is treated as a header.
+     */
+    @Transactional
+    public PolishJobDto createJobFromFile(MultipartFile file) {
+        User currentUser = requireManager();
+        if (file == null || file.isEmpty()) {
+            throw new RuntimeException("File is empty");
+        }
+        return createJob(currentUser, parseFeedbackIds(file));
+    }
+
+    @Transactional(readOnly = true)
+    public PolishJobDto getJob(Long jobId) {
+        requireManager();
+        return jobRepository.findById(jobId)
+                .map(this::toDto)
+                .orElseThrow(() -> new RuntimeException("Polish job not found"));
+    }
+
+    @Transactional(readOnly = true)
+    public List<PolishJobDto> getJobs() {
+        requireManager();
+        return jobRepository.findAllByOrderByIdDesc().stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Stops dispatching new items; items already in flight still complete
+     */
+    @Transactional
+    public PolishJobDto cancelJob(Long jobId) {
+        requireManager();
+        PolishJob job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Polish job not found"));
+        if (job.getStatus().isFinished()) {
+            throw new RuntimeException("Polish job is already " + job.getStatus().name().toLowerCase(Locale.ROOT));
+        }
+
+        jobRepository.updateStatus(jobId, PolishJob.Status.CANCELLED, null, LocalDateTime.now());
+        return getJob(jobId);
+    }
+
+    private PolishJobDto createJob(User currentUser, Collection<Long> feedbackIds) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(feedbackIds);
+        uniqueIds.remove(null);
+        if (uniqueIds.isEmpty()) {
+            throw new RuntimeException("At least one feedback id is required");
+        }
+        if (uniqueIds.size() > maxItems) {
+            throw new RuntimeException("A polish job can contain at most " + maxItems + " feedback items");
+        }
+
+        PolishJob job = jobRepository.save(PolishJob.builder()
+                .createdBy(currentUser.getUsername())
+                .totalItems(uniqueIds.size())
+                .build());
+
+        List<PolishJobItem> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (Long feedbackId : uniqueIds) {
+            batch.add(PolishJobItem.builder().jobId(job.getId()).feedbackId(feedbackId).build());
+            if (batch.size() == INSERT_BATCH_SIZE) {
+                itemRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        itemRepository.saveAll(batch);
+
+        log.info("Polish job {} created by {} with {} items", job.getId(), currentUser.getUsername(), uniqueIds.size());
+        eventPublisher.publishEvent(new PolishJobSubmittedEvent(job.getId()));
+        return toDto(job);
+    }
+
+    private List<Long> parseFeedbackIds(MultipartFile file) {
+        List<Long> ids = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String value = firstColumn(line);
+                if (value.isEmpty()) {
+                    continue;
+                }
+                try {
+                    ids.add(Long.parseLong(value));
+                } catch (NumberFormatException e) {
+                    if (lineNumber > 1) {
+                        throw new RuntimeException("Invalid feedback id on line " + lineNumber + ": " + value);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read file", e);
+        }
+        return ids;
+    }
+
+    private static String firstColumn(String line) {
+        int end = line.length();
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == ',' || c == ';' || c == '\t') {
+                end = i;
+                break;
+            }
+        }
+        String value = line.substring(0, end).trim();
+        if (value.startsWith("\uFEFF")) {
+            value = value.substring(1); // UTF-8 BOM written by spreadsheet tools
+        }
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1).trim();
+        }
+        return value;
+    }
+
+    private PolishJobDto toDto(PolishJob job) {
+        Map<PolishJobItem.Status, Long> counts = new EnumMap<>(PolishJobItem.Status.class);
+        for (PolishJobItemRepository.StatusCount count : itemRepository.countByStatus(job.getId())) {
+            counts.put(count.getStatus(), count.getCount());
+        }
+        Optional<PolishJobProgress> progress = polishJobRunner.getProgress(job.getId());
+
+        return PolishJobDto.builder()
+                .id(job.getId())
+                .status(job.getStatus())
+                .createdBy(job.getCreatedBy())
+                .totalItems(job.getTotalItems())
+                .pendingItems(counts.getOrDefault(PolishJobItem.Status.PENDING, 0L))
+                .polishedItems(counts.getOrDefault(PolishJobItem.Status.POLISHED, 0L))
+                .skippedItems(counts.getOrDefault(PolishJobItem.Status.SKIPPED, 0L))
+                .failedItems(counts.getOrDefault(PolishJobItem.Status.FAILED, 0L))
+                .itemsPerSecond(progress.map(PolishJobProgress::getItemsPerSecond).orElse(null))
+                .etaSeconds(progress.map(PolishJobProgress::getEtaSeconds).orElse(null))
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+
+    private User requireManager() {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        User currentUser = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (currentUser.getRole() != User.Role.MANAGER) {
+            throw new RuntimeException("Only managers can run polish jobs");
+        }
+        return currentUser;
+    }
+}
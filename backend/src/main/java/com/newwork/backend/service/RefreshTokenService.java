@@ -0,0 +1,113 @@
+package com.newwork.backend.service;
+
+import com.newwork.backend.entity.RefreshToken;
+import com.newwork.backend.exception.InvalidTokenException;
+import com.newwork.backend.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issues and rotates opaque refresh tokens. Only a SHA-256 hash of each token is stored.
+ *
+ * Each refresh consumes the presented token and returns a new one from the same family.
+ * A consumed token presented again means it was copied (or raced), so the whole family
+ * is revoked and that login has to start over.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${jwt.refresh-expiration:604800000}") // 7 days
+    private long refreshExpiration;
+
+    public record Rotation(Long userId, String refreshToken) {
+    }
+
+    /**
+     * Starts a new token family, e.g. on login
+     */
+    public String issue(Long userId) {
+        return issue(userId, UUID.randomUUID().toString());
+    }
+
+    public Rotation rotate(String rawToken) {
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new InvalidTokenException("Invalid refresh token"));
+        LocalDateTime now = LocalDateTime.now();
+
+        if (token.getRevokedAt() != null) {
+            int revoked = refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+            if (revoked > 0) {
+                log.warn("Reuse of a consumed refresh token for user {}, revoked {} tokens", token.getUserId(), revoked);
+            }
+            throw new InvalidTokenException("Refresh token has been revoked");
+        }
+        if (token.getExpiresAt().isBefore(now)) {
+            throw new InvalidTokenException("Refresh token has expired");
+        }
+        if (refreshTokenRepository.markRevoked(token.getId(), now) == 0) {
+            // Consumed concurrently by another request with the same token
+            refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+            throw new InvalidTokenException("Refresh token has been revoked");
+        }
+        return new Rotation(token.getUserId(), issue(token.getUserId(), token.getFamilyId()));
+    }
+
+    /**
+     * Revokes the token's family (logout); unknown tokens are ignored
+     */
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+
+    @Scheduled(initialDelay = 1, fixedDelay = 1, timeUnit = TimeUnit.HOURS)
+    public void deleteExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+
+    private String issue(Long userId, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .userId(userId)
+                .tokenHash(hash(rawToken))
+                .familyId(familyId)
+                .expiresAt(LocalDateTime.now().plusNanos(refreshExpiration * 1_000_000))
+                .build());
+        return rawToken;
+    }
+
+    static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.newwork.backend.service;
+
+import com.newwork.backend.repository.UserIdentityView;
+import com.newwork.backend.repository.UserRepository;
+import com.newwork.backend.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Bloom filters of lower-cased usernames and emails, so registration can skip the exists
+ * queries when a name is definitely free. A possible match is still checked in the database,
+ * and the unique constraints on users remain the final arbiter (e.g. for users created on
+ * another node since the last rebuild).
+ *
+ * Rebuilt at startup and every auth.uniqueness.refresh-interval, sized from the current user count.
+ * Until the first rebuild every name is reported as possibly taken.
+ */
+@Component
+@Slf4j
+public class UserUniquenessFilter {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final Object rebuildLock = new Object();
+    private final Counter absentCounter;
+    private final Counter possiblyPresentCounter;
+
+    @Value("${auth.uniqueness.expected-insertions:100000}")
+    private long expectedInsertions;
+
+    @Value("${auth.uniqueness.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter<CharSequence> usernames;
+    private volatile BloomFilter<CharSequence> emails;
+
+    public UserUniquenessFilter(UserRepository userRepository, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.absentCounter = Counter.builder("auth.uniqueness.lookups")
+                .description("Registration uniqueness checks answered by the in-memory filter")
+                .tag("result", "absent")
+                .register(meterRegistry);
+        this.possiblyPresentCounter = Counter.builder("auth.uniqueness.lookups")
+                .description("Registration uniqueness checks answered by the in-memory filter")
+                .tag("result", "possibly_present")
+                .register(meterRegistry);
+    }
+
+    public boolean mightContainUsername(String username) {
+        return mightContain(usernames, username);
+    }
+
+    public boolean mightContainEmail(String email) {
+        return mightContain(emails, email);
+    }
+
+    /**
+     * Records a newly created user
+     */
+    public void add(String username, String email) {
+        // Under the rebuild lock so a rebuild that loaded before this insert cannot drop it
+        synchronized (rebuildLock) {
+            if (usernames != null) {
+                usernames.put(key(username));
+                emails.put(key(email));
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${auth.uniqueness.refresh-interval:1h}",
+            fixedDelayString = "${auth.uniqueness.refresh-interval:1h}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (rebuildLock) {
+            long capacity = Math.max(expectedInsertions, userRepository.count() * 2);
+            BloomFilter<CharSequence> rebuiltUsernames = BloomFilter.forStrings(capacity, falsePositiveRate);
+            BloomFilter<CharSequence> rebuiltEmails = BloomFilter.forStrings(capacity, falsePositiveRate);
+
+            long lastId = 0;
+            List<UserIdentityView> batch;
+            do {
+                batch = userRepository.findIdentityBatchAfter(lastId, Limit.of(REBUILD_BATCH_SIZE));
+                for (UserIdentityView user : batch) {
+                    rebuiltUsernames.put(key(user.getUsername()));
+                    rebuiltEmails.put(key(user.getEmail()));
+                    lastId = user.getId();
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+
+            usernames = rebuiltUsernames;
+            emails = rebuiltEmails;
+        }
+        log.debug("User uniqueness filter rebuilt in {} ms", System.currentTimeMillis() - start);
+    }
+
+    private boolean mightContain(BloomFilter<CharSequence> filter, String value) {
+        boolean possiblyPresent = filter == null || filter.mightContain(key(value));
+        (possiblyPresent ? possiblyPresentCounter : absentCounter).increment();
+        return possiblyPresent;
+    }
+
+    private static String key(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
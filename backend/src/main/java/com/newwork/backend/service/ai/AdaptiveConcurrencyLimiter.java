@@ -0,0 +1,193 @@
+package com.newwork.backend.service.ai;
+
+import com.newwork.backend.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bulkhead with an AIMD (additive increase, multiplicative decrease) concurrency limit
+ * for outbound calls to a slow remote service.
+ *
+ * - The limit grows by one after each fast, successful call made while the limit was actually in use
+ * - It shrinks by {@code backoffRatio} when a call is dropped (timeout/overload) or exceeds the latency threshold
+ * - Callers over the limit wait in a bounded queue for at most {@code maxWait};
+ *   anything beyond that is rejected immediately with {@link TooManyRequestsException}
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueueSize;
+    private final long maxWaitNanos;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitReleased = lock.newCondition();
+
+    // Guarded by lock; limit is volatile so gauges can read it without locking
+    private volatile double limit;
+    private volatile int inFlight;
+    private volatile int queued;
+
+    private final Counter rejectedCounter;
+
+    @Builder
+    private AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                       int maxQueueSize, Duration maxWait, Duration latencyThreshold,
+                                       double backoffRatio, MeterRegistry meterRegistry) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid limiter bounds: min=" + minLimit + ", max=" + maxLimit);
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueueSize = maxQueueSize;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+
+        Gauge.builder(name + ".limiter.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder(name + ".limiter.inflight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Calls currently in flight")
+                .register(meterRegistry);
+        Gauge.builder(name + ".limiter.queued", this, AdaptiveConcurrencyLimiter::getQueued)
+                .description("Calls waiting for a permit")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder(name + ".limiter.rejected")
+                .description("Calls rejected because the limit and wait queue were full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Acquire a permit, waiting in the bounded queue if necessary.
+     * The returned permit must be completed exactly once via one of its callbacks.
+     */
+    public Permit acquire() {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                return new Permit(System.nanoTime());
+            }
+
+            if (queued >= maxQueueSize) {
+                throw reject("wait queue full");
+            }
+
+            queued++;
+            try {
+                long remaining = maxWaitNanos;
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0L) {
+                        throw reject("timed out waiting for a permit");
+                    }
+                    remaining = permitReleased.awaitNanos(remaining);
+                }
+                inFlight++;
+                return new Permit(System.nanoTime());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw reject("interrupted while waiting for a permit");
+            } finally {
+                queued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public int getQueued() {
+        return queued;
+    }
+
+    private TooManyRequestsException reject(String reason) {
+        rejectedCounter.increment();
+        log.warn("Limiter '{}' rejected call ({}): limit={}, inFlight={}, queued={}",
+                name, reason, (int) limit, inFlight, queued);
+        return new TooManyRequestsException("AI service is busy. Please try again shortly.");
+    }
+
+    private void release(long latencyNanos, Outcome outcome) {
+        lock.lock();
+        try {
+            int inFlightAtCompletion = inFlight;
+            inFlight--;
+
+            if (outcome == Outcome.DROPPED || (outcome == Outcome.SUCCESS && latencyNanos > latencyThresholdNanos)) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                log.debug("Limiter '{}' decreased limit to {} ({} ms)", name, (int) limit,
+                        TimeUnit.NANOSECONDS.toMillis(latencyNanos));
+            } else if (outcome == Outcome.SUCCESS && inFlightAtCompletion * 2 >= limit) {
+                // Only grow when the current limit is actually being used
+                limit = Math.min(maxLimit, limit + 1);
+            }
+
+            permitReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private enum Outcome {
+        SUCCESS,
+        DROPPED,
+        IGNORED
+    }
+
+    /**
+     * A granted slot. Completing it more than once is a no-op.
+     */
+    public final class Permit {
+
+        private final long startNanos;
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        /** The call succeeded; its latency feeds the limit */
+        public void onSuccess() {
+            complete(Outcome.SUCCESS);
+        }
+
+        /** The call timed out or the remote signalled overload; back off */
+        public void onDropped() {
+            complete(Outcome.DROPPED);
+        }
+
+        /** The call failed for a reason unrelated to load (or was cancelled); release without adjusting */
+        public void onIgnore() {
+            complete(Outcome.IGNORED);
+        }
+
+        private void complete(Outcome outcome) {
+            if (completed.compareAndSet(false, true)) {
+                release(System.nanoTime() - startNanos, outcome);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.newwork.backend.service.ai;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.Builder;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Derives call timeouts from the rolling latency percentiles of a Micrometer timer.
+ * The timer must publish the 0.95 and 0.99 percentiles; Micrometer keeps those over a
+ * decaying time window, so the values follow recent behaviour of the remote service.
+ *
+ * - timeout = p99 * multiplier, clamped to [minTimeout, maxTimeout]
+ * - until {@code minSamples} calls were recorded, or when the window is empty after an idle
+ *   period (likely cold start), the static {@code coldTimeout} is used instead
+ * - hedge delay = p95, only once enough samples exist
+ */
+public class AdaptiveTimeoutPolicy {
+
+    private static final double P95 = 0.95;
+    private static final double P99 = 0.99;
+
+    private final Timer latencyTimer;
+    private final boolean enabled;
+    private final Duration coldTimeout;
+    private final Duration minTimeout;
+    private final Duration maxTimeout;
+    private final double multiplier;
+    private final long minSamples;
+
+    @Builder
+    private AdaptiveTimeoutPolicy(Timer latencyTimer, boolean enabled, Duration coldTimeout,
+                                  Duration minTimeout, Duration maxTimeout, double multiplier, long minSamples) {
+        this.latencyTimer = latencyTimer;
+        this.enabled = enabled;
+        this.coldTimeout = coldTimeout;
+        this.minTimeout = minTimeout;
+        this.maxTimeout = maxTimeout;
+        this.multiplier = multiplier;
+        this.minSamples = minSamples;
+    }
+
+    public Duration currentTimeout() {
+        if (!enabled) {
+            return coldTimeout;
+        }
+        return percentile(P99)
+                .map(p99 -> clamp(Duration.ofNanos((long) (p99.toNanos() * multiplier))))
+                .orElse(coldTimeout);
+    }
+
+    /**
+     * Delay after which a hedged request may be sent, empty while there is not enough data
+     */
+    public Optional<Duration> hedgeDelay() {
+        return percentile(P95).map(this::clamp);
+    }
+
+    private Optional<Duration> percentile(double percentile) {
+        if (latencyTimer.count() < minSamples) {
+            return Optional.empty();
+        }
+        HistogramSnapshot snapshot = latencyTimer.takeSnapshot();
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            if (value.percentile() == percentile) {
+                double nanos = value.value(TimeUnit.NANOSECONDS);
+                // An empty window reports 0 - nothing recent to base a timeout on
+                return nanos > 0 ? Optional.of(Duration.ofNanos((long) nanos)) : Optional.empty();
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Duration clamp(Duration timeout) {
+        if (timeout.compareTo(minTimeout) < 0) {
+            return minTimeout;
+        }
+        if (timeout.compareTo(maxTimeout) > 0) {
+            return maxTimeout;
+        }
+        return timeout;
+    }
+}
@@ -0,0 +1,48 @@
+package com.newwork.backend.service.ai;
+
+import com.newwork.backend.service.ai.provider.AiProvider;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+
+/**
+ * Optionally opens AI connections at startup (ai.http.preconnect > 0), so the first user request
+ * after a deploy does not pay for event loop start, DNS resolution and the TLS handshake.
+ * Runs in the background; startup never waits for it or fails because of it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AiConnectionPrewarmer {
+
+    private final HttpClient aiHttpClient;
+    private final AiProvider aiProvider;
+
+    @Value("${ai.http.preconnect:0}")
+    private int connections;
+
+    @Value("${ai.http.preconnect-timeout:10s}")
+    private Duration timeout;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preconnect() {
+        if (connections <= 0 || !aiProvider.isConfigured()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        aiHttpClient.warmup()
+                .then(aiProvider.preconnect(connections))
+                .timeout(timeout)
+                .subscribe(
+                        done -> { },
+                        e -> log.warn("Could not pre-open AI connections: {}", e.getMessage()),
+                        () -> log.info("Pre-opened {} connection(s) to {} in {} ms",
+                                connections, aiProvider.getName(), System.currentTimeMillis() - start));
+    }
+}
@@ -0,0 +1,45 @@
+package com.newwork.backend.service.ai;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token budget that caps hedged requests to a percentage of primary requests.
+ * Each primary request deposits {@code maxExtraLoadPercent} units, each hedge costs 100 units,
+ * so over time hedges can never add more than that percentage of extra remote load.
+ * A small burst allowance lets a few hedges through right after startup.
+ */
+public class HedgeBudget {
+
+    private static final long HEDGE_COST = 100;
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong balance;
+
+    public HedgeBudget(int maxExtraLoadPercent, int burstHedges) {
+        if (maxExtraLoadPercent < 0 || maxExtraLoadPercent > 100) {
+            throw new IllegalArgumentException("maxExtraLoadPercent must be between 0 and 100");
+        }
+        this.deposit = maxExtraLoadPercent;
+        this.capacity = Math.max(1, burstHedges) * HEDGE_COST;
+        this.balance = new AtomicLong(maxExtraLoadPercent > 0 ? HEDGE_COST : 0);
+    }
+
+    public void recordRequest() {
+        if (deposit == 0) {
+            return;
+        }
+        balance.accumulateAndGet(deposit, (current, add) -> Math.min(capacity, current + add));
+    }
+
+    public boolean tryAcquire() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < HEDGE_COST) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - HEDGE_COST));
+        return true;
+    }
+}
@@ -0,0 +1,111 @@
+package com.newwork.backend.service.ai;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks which configured models are ready to serve and when real traffic last reached them.
+ * Request routing picks the first model (primary, then fallbacks in order) that is not known
+ * to be loading, so user requests do not pay for a cold start the warm-up probes have seen.
+ */
+@Component
+@Slf4j
+public class ModelHealthRegistry {
+
+    public enum ModelStatus {
+        UNKNOWN,
+        READY,
+        LOADING
+    }
+
+    private final List<String> models;
+    private final Map<String, ModelStatus> statuses = new ConcurrentHashMap<>();
+    private final AtomicLong lastTrafficMillis = new AtomicLong();
+
+    public ModelHealthRegistry(
+            @Value("${huggingface.model:meta-llama/Meta-Llama-3-8B}") String primaryModel,
+            @Value("${huggingface.fallback-models:}") List<String> fallbackModels,
+            MeterRegistry meterRegistry
+    ) {
+        List<String> ordered = new ArrayList<>();
+        ordered.add(primaryModel);
+        fallbackModels.stream()
+                .map(String::trim)
+                .filter(m -> !m.isEmpty() && !ordered.contains(m))
+                .forEach(ordered::add);
+        this.models = List.copyOf(ordered);
+
+        for (String model : models) {
+            statuses.put(model, ModelStatus.UNKNOWN);
+            Gauge.builder("huggingface.model.available", this, r -> r.isAvailable(model) ? 1 : 0)
+                    .description("1 if the model is not known to be loading")
+                    .tag("model", model)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Primary model first, then fallbacks in configured order
+     */
+    public List<String> getModels() {
+        return models;
+    }
+
+    public String getPrimaryModel() {
+        return models.get(0);
+    }
+
+    /**
+     * First model that is not loading; the primary if every model is loading
+     */
+    public String selectModel() {
+        for (String model : models) {
+            if (isAvailable(model)) {
+                return model;
+            }
+        }
+        return getPrimaryModel();
+    }
+
+    public boolean isAvailable(String model) {
+        return statuses.getOrDefault(model, ModelStatus.UNKNOWN) != ModelStatus.LOADING;
+    }
+
+    public ModelStatus getStatus(String model) {
+        return statuses.getOrDefault(model, ModelStatus.UNKNOWN);
+    }
+
+    public void markReady(String model) {
+        if (statuses.put(model, ModelStatus.READY) == ModelStatus.LOADING) {
+            log.info("Model {} is ready again", model);
+        }
+    }
+
+    public void markLoading(String model) {
+        if (statuses.put(model, ModelStatus.LOADING) != ModelStatus.LOADING) {
+            log.warn("Model {} is loading (503), routing requests to the next available model", model);
+        }
+    }
+
+    public void recordTraffic() {
+        lastTrafficMillis.set(System.currentTimeMillis());
+    }
+
+    /**
+     * Time since a user request last reached the provider
+     */
+    public Duration idleFor() {
+        long last = lastTrafficMillis.get();
+        return last == 0 ? Duration.ofMillis(Long.MAX_VALUE) : Duration.ofMillis(System.currentTimeMillis() - last);
+    }
+}
@@ -0,0 +1,88 @@
+package com.newwork.backend.service.ai;
+
+import com.newwork.backend.service.ai.provider.AiCompletionRequest;
+import com.newwork.backend.service.ai.provider.AiProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+
+/**
+ * Keeps configured models warm so cold starts (HuggingFace answers 503 while a model loads,
+ * typically for 20-30 seconds) are paid by a background probe instead of a user request.
+ *
+ * - While real traffic keeps the models busy nothing is sent
+ * - After {@code idle-threshold} without traffic, every model gets a one-token probe completion
+ * - Models that answered 503 are re-probed on every run until they are ready again,
+ *   and request routing skips them in the meantime (see {@link ModelHealthRegistry})
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ModelWarmupScheduler {
+
+    private static final String PROBE_PROMPT = "Reply with OK.";
+
+    private final AiProvider aiProvider;
+    private final ModelHealthRegistry modelHealthRegistry;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${huggingface.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${huggingface.warmup.idle-threshold:3m}")
+    private Duration idleThreshold;
+
+    @Value("${huggingface.warmup.probe-timeout:60s}")
+    private Duration probeTimeout;
+
+    @Scheduled(initialDelayString = "${huggingface.warmup.initial-delay:10s}",
+               fixedDelayString = "${huggingface.warmup.interval:2m}")
+    public void keepModelsWarm() {
+        if (!enabled || !aiProvider.isConfigured()) {
+            return;
+        }
+
+        boolean idle = modelHealthRegistry.idleFor().compareTo(idleThreshold) >= 0;
+        for (String model : modelHealthRegistry.getModels()) {
+            if (idle || !modelHealthRegistry.isAvailable(model)) {
+                probe(model);
+            }
+        }
+    }
+
+    void probe(String model) {
+        String outcome;
+        try {
+            aiProvider.complete(AiCompletionRequest.builder()
+                            .model(model)
+                            .prompt(PROBE_PROMPT)
+                            .maxTokens(1)
+                            .temperature(0.0)
+                            .build())
+                    .timeout(probeTimeout)
+                    .block();
+            modelHealthRegistry.markReady(model);
+            outcome = "ready";
+        } catch (WebClientResponseException e) {
+            if (e.getStatusCode().value() == 503) {
+                modelHealthRegistry.markLoading(model);
+                outcome = "loading";
+            } else {
+                log.warn("Warm-up probe for {} failed with status {}", model, e.getStatusCode());
+                outcome = "error";
+            }
+        } catch (Exception e) {
+            log.warn("Warm-up probe for {} failed: {} - {}", model, e.getClass().getSimpleName(), e.getMessage());
+            outcome = "error";
+        }
+
+        log.debug("Warm-up probe for {}: {}", model, outcome);
+        meterRegistry.counter("huggingface.warmup.probes", "model", model, "outcome", outcome).increment();
+    }
+}
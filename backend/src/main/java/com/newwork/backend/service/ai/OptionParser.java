@@ -0,0 +1,132 @@
+package com.newwork.backend.service.ai;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Single-pass parser for a complete "OPTION n: ..." completion.
+ * Lines are scanned in place with one reusable matcher - no split, lower-casing or
+ * per-line regex compilation - and only the selected option texts are copied out.
+ * A later label overrides an earlier one. If any option is missing, the first three
+ * substantial lines are used instead, as the model sometimes ignores the format.
+ * See {@link OptionStreamParser} for the incremental variant used when streaming.
+ */
+public final class OptionParser {
+
+    public static final int OPTION_COUNT = 3;
+
+    static final Pattern OPTION_LABEL =
+            Pattern.compile("^(?:OPTION ([1-3]):|Option ([1-3]):|([1-3])[.:])");
+
+    /** Lines containing one of these are model chatter, not options; the last one is still a fallback candidate */
+    private static final String[] INTRO_PHRASES = {
+            "here are", "professional versions", "below are", "i've generated"
+    };
+    private static final int FALLBACK_EXCLUDED_PHRASES = 3;
+    private static final int MIN_FALLBACK_LENGTH = 21;
+
+    private OptionParser() {
+    }
+
+    public static List<String> parse(String content, UnaryOperator<String> cleaner) {
+        String[] options = {"", "", ""};
+        int[] fallbackBounds = new int[OPTION_COUNT * 2];
+        int fallbackCount = 0;
+
+        Matcher matcher = OPTION_LABEL.matcher(content);
+        int length = content.length();
+        int lineStart = 0;
+        while (lineStart < length) {
+            int lineEnd = content.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = length;
+            }
+            int start = lineStart;
+            int end = lineEnd;
+            lineStart = lineEnd + 1;
+
+            // Same bounds as String.trim()
+            while (start < end && content.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && content.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            if (start == end) {
+                continue;
+            }
+
+            int phrase = introPhrase(content, start, end);
+            if (fallbackCount < OPTION_COUNT
+                    && end - start >= MIN_FALLBACK_LENGTH
+                    && (phrase < 0 || phrase >= FALLBACK_EXCLUDED_PHRASES)
+                    && !content.regionMatches(true, start, "option", 0, 6)) {
+                fallbackBounds[fallbackCount * 2] = start;
+                fallbackBounds[fallbackCount * 2 + 1] = end;
+                fallbackCount++;
+            }
+            if (phrase >= 0) {
+                continue;
+            }
+
+            matcher.region(start, end);
+            if (matcher.lookingAt()) {
+                // start(n) rather than group(n) so no substring is created for the label
+                int number = matcher.start(1) >= 0 ? digit(content, matcher.start(1))
+                        : matcher.start(2) >= 0 ? digit(content, matcher.start(2))
+                        : digit(content, matcher.start(3));
+                options[number - 1] = content.substring(matcher.end(), end).trim();
+            }
+        }
+
+        if ((options[0].isEmpty() || options[1].isEmpty() || options[2].isEmpty())
+                && fallbackCount == OPTION_COUNT) {
+            for (int i = 0; i < OPTION_COUNT; i++) {
+                options[i] = content.substring(fallbackBounds[i * 2], fallbackBounds[i * 2 + 1]);
+            }
+        }
+        return List.of(cleaner.apply(options[0]), cleaner.apply(options[1]), cleaner.apply(options[2]));
+    }
+
+    /**
+     * Case-insensitive check for intro phrases without lower-casing the line
+     */
+    static boolean isIntroduction(String line) {
+        return introPhrase(line, 0, line.length()) >= 0;
+    }
+
+    /**
+     * Index of an intro phrase found in content[start, end), or -1. Fallback-excluded phrases
+     * win over the others so the result matches checking the phrases one by one in order.
+     */
+    private static int introPhrase(String content, int start, int end) {
+        int found = -1;
+        for (int i = start; i < end; i++) {
+            int p;
+            // First letters of INTRO_PHRASES, ASCII lower-cased; false hits are rejected by regionMatches
+            switch (content.charAt(i) | 0x20) {
+                case 'h' -> p = 0;
+                case 'p' -> p = 1;
+                case 'b' -> p = 2;
+                case 'i' -> p = 3;
+                default -> {
+                    continue;
+                }
+            }
+            String phrase = INTRO_PHRASES[p];
+            if (i + phrase.length() <= end && content.regionMatches(true, i, phrase, 0, phrase.length())) {
+                if (p < FALLBACK_EXCLUDED_PHRASES) {
+                    return p;
+                }
+                found = p;
+            }
+        }
+        return found;
+    }
+
+    private static int digit(String content, int index) {
+        return content.charAt(index) - '0';
+    }
+}
@@ -0,0 +1,105 @@
+package com.newwork.backend.service.ai;
+
+import com.newwork.backend.dto.FeedbackSuggestionChunk;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+
+/**
+ * Incremental parser for the "OPTION n: ..." completion format.
+ * Content deltas are fed in as they arrive from the model; an option is
+ * emitted as soon as the line carrying it is terminated, so the first
+ * suggestion can be shown long before the whole completion is generated.
+ * Not thread-safe - use one instance per stream.
+ */
+public class OptionStreamParser {
+
+    public static final int OPTION_COUNT = OptionParser.OPTION_COUNT;
+
+    private final UnaryOperator<String> cleaner;
+    private final StringBuilder pending = new StringBuilder();
+    private final boolean[] emitted = new boolean[OPTION_COUNT + 1];
+    private final List<String> unlabelledLines = new ArrayList<>();
+    private int emittedCount;
+
+    public OptionStreamParser(UnaryOperator<String> cleaner) {
+        this.cleaner = cleaner;
+    }
+
+    /**
+     * Feed the next content delta and return the options completed by it
+     */
+    public List<FeedbackSuggestionChunk> accept(String delta) {
+        if (delta == null || delta.isEmpty()) {
+            return List.of();
+        }
+        pending.append(delta);
+
+        List<FeedbackSuggestionChunk> completed = new ArrayList<>();
+        int newline;
+        while ((newline = pending.indexOf("\n")) >= 0) {
+            String line = pending.substring(0, newline);
+            pending.delete(0, newline + 1);
+            handleLine(line, completed);
+        }
+        return completed;
+    }
+
+    /**
+     * Flush the trailing line once the stream has ended. Falls back to the
+     * first substantial unlabelled lines if the model ignored the format.
+     */
+    public List<FeedbackSuggestionChunk> finish() {
+        List<FeedbackSuggestionChunk> completed = new ArrayList<>();
+        if (pending.length() > 0) {
+            handleLine(pending.toString(), completed);
+            pending.setLength(0);
+        }
+
+        if (emittedCount == 0 && unlabelledLines.size() >= OPTION_COUNT) {
+            for (int i = 0; i < OPTION_COUNT; i++) {
+                emit(i + 1, unlabelledLines.get(i), completed);
+            }
+        }
+        return completed;
+    }
+
+    public int getEmittedCount() {
+        return emittedCount;
+    }
+
+    private void handleLine(String rawLine, List<FeedbackSuggestionChunk> completed) {
+        String line = rawLine.trim();
+        if (line.isEmpty() || OptionParser.isIntroduction(line)) {
+            return;
+        }
+
+        Matcher matcher = OptionParser.OPTION_LABEL.matcher(line);
+        if (matcher.find()) {
+            String number = matcher.group(1) != null ? matcher.group(1)
+                    : matcher.group(2) != null ? matcher.group(2)
+                    : matcher.group(3);
+            emit(Integer.parseInt(number), line.substring(matcher.end()).trim(), completed);
+        } else if (!line.regionMatches(true, 0, "option", 0, 6) && line.length() > 20) {
+            unlabelledLines.add(line);
+        }
+    }
+
+    private void emit(int index, String text, List<FeedbackSuggestionChunk> completed) {
+        if (emitted[index]) {
+            return;
+        }
+        String cleaned = cleaner.apply(text);
+        if (cleaned == null || cleaned.isEmpty()) {
+            return;
+        }
+        emitted[index] = true;
+        emittedCount++;
+        completed.add(FeedbackSuggestionChunk.builder()
+                .index(index)
+                .text(cleaned)
+                .build());
+    }
+}
@@ -0,0 +1,122 @@
+package com.newwork.backend.service.ai;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free sum over a sliding time window, split into a ring of fixed-size buckets.
+ *
+ * Each bucket is a {@link LongAdder} (striped internally, so concurrent adds from many threads do
+ * not contend on one cache line) tagged with the bucket period it belongs to. A bucket from an
+ * older period is replaced with a CAS instead of being reset in place, so adds are never lost
+ * to a concurrent reset. The window advances one bucket at a time, so old values expire in steps.
+ */
+public class SlidingWindowCounter {
+
+    private record Bucket(long period, LongAdder sum) {
+    }
+
+    private final long bucketNanos;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    public SlidingWindowCounter(Duration window, int bucketCount) {
+        if (bucketCount < 1 || window.toNanos() < bucketCount) {
+            throw new IllegalArgumentException("Invalid sliding window: " + window + " / " + bucketCount);
+        }
+        this.bucketNanos = window.toNanos() / bucketCount;
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+    }
+
+    /**
+     * @param amount may be negative, to correct an earlier estimate
+     * @return the bucket period the amount was counted in, for {@link #addAt}
+     */
+    public long add(long amount, long nowNanos) {
+        long period = Math.floorDiv(nowNanos, bucketNanos);
+        int index = (int) Math.floorMod(period, (long) buckets.length());
+        while (true) {
+            Bucket bucket = buckets.get(index);
+            // A newer period means this thread was delayed past a bucket boundary: count it there
+            if (bucket != null && bucket.period() >= period) {
+                bucket.sum().add(amount);
+                return bucket.period();
+            }
+            Bucket fresh = new Bucket(period, new LongAdder());
+            fresh.sum().add(amount);
+            if (buckets.compareAndSet(index, bucket, fresh)) {
+                return period;
+            }
+        }
+    }
+
+    /**
+     * Adds to the bucket of an earlier {@link #add}, to correct the amount counted there. Dropped
+     * when that bucket has left the window or was reused, since the original amount expired with it.
+     * @param period as returned by {@link #add}
+     * @return false if the correction was dropped
+     */
+    public boolean addAt(long amount, long period, long nowNanos) {
+        long oldestPeriod = Math.floorDiv(nowNanos, bucketNanos) - buckets.length() + 1;
+        if (period < oldestPeriod) {
+            return false;
+        }
+        Bucket bucket = buckets.get((int) Math.floorMod(period, (long) buckets.length()));
+        if (bucket == null || bucket.period() != period) {
+            return false;
+        }
+        bucket.sum().add(amount);
+        return true;
+    }
+
+    public long sum(long nowNanos) {
+        long oldestPeriod = Math.floorDiv(nowNanos, bucketNanos) - buckets.length() + 1;
+        long total = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && bucket.period() >= oldestPeriod) {
+                total += bucket.sum().sum();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * How long until enough of the oldest buckets have left the window for the sum plus
+     * {@code amount} to be within {@code limit}
+     * @return 0 if it fits now, or -1 if it would not fit even in an empty window
+     */
+    public long nanosUntilFits(long amount, long limit, long nowNanos) {
+        if (amount > limit) {
+            return -1;
+        }
+        long currentPeriod = Math.floorDiv(nowNanos, bucketNanos);
+        long oldestPeriod = currentPeriod - buckets.length() + 1;
+        long remaining = sum(nowNanos);
+        for (long period = oldestPeriod; period <= currentPeriod && remaining + amount > limit; period++) {
+            Bucket bucket = buckets.get((int) Math.floorMod(period, (long) buckets.length()));
+            if (bucket != null && bucket.period() == period) {
+                remaining -= bucket.sum().sum();
+            }
+            if (remaining + amount <= limit) {
+                // This bucket leaves the window when the period one window length later begins
+                return (period + buckets.length()) * bucketNanos - nowNanos;
+            }
+        }
+        return remaining + amount <= limit ? 0 : -1;
+    }
+
+    /**
+     * True when no bucket falls in the current window, i.e. the counter can be discarded
+     */
+    public boolean isIdle(long nowNanos) {
+        long oldestPeriod = Math.floorDiv(nowNanos, bucketNanos) - buckets.length() + 1;
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && bucket.period() >= oldestPeriod) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
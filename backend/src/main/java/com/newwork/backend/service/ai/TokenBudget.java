@@ -0,0 +1,188 @@
+package com.newwork.backend.service.ai;
+
+import com.newwork.backend.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user and global AI token budget over a sliding window.
+ *
+ * - Before a remote call the estimated cost (prompt plus max completion tokens) is reserved;
+ *   if it would push the caller or the whole instance over its budget the call is rejected
+ *   with {@link TooManyRequestsException} and never reaches the provider; the rejection says
+ *   when enough of the oldest usage will have left the window for the call to fit
+ * - After the call the reservation is settled with the actual prompt + completion estimate,
+ *   which returns the unused part of the reservation to the bucket it was counted in; once that
+ *   bucket has left the window the reservation has expired with it and the correction is dropped
+ * - Tokens are estimated from text length (~4 characters per token); provider-side counts are not needed
+ *
+ * The check and the reservation are not atomic, so concurrent callers can overshoot a budget by
+ * at most one call each; in exchange the global counter takes no lock. Per-user reservations are
+ * added under the map entry's lock, so the sweep of idle users cannot discard a counter that is
+ * being added to.
+ * System callers (background jobs without a user) are only subject to the global budget.
+ */
+@Slf4j
+public class TokenBudget {
+
+    public static final String SYSTEM_ROLE = "system";
+
+    private static final int CHARS_PER_TOKEN = 4;
+    private static final int SWEEP_INTERVAL = 1024;
+
+    private final boolean enabled;
+    private final long userLimit;
+    private final long globalLimit;
+    private final Duration window;
+    private final int bucketCount;
+    private final MeterRegistry meterRegistry;
+
+    private final SlidingWindowCounter global;
+    private final Map<String, SlidingWindowCounter> perUser = new ConcurrentHashMap<>();
+    private final Map<String, Counter> usedByRole = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rejectedByRoleAndScope = new ConcurrentHashMap<>();
+    private final AtomicLong reservations = new AtomicLong();
+
+    @Builder
+    private TokenBudget(boolean enabled, long userLimit, long globalLimit, Duration window, int bucketCount,
+                        MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.userLimit = userLimit;
+        this.globalLimit = globalLimit;
+        this.window = window;
+        this.bucketCount = bucketCount;
+        this.meterRegistry = meterRegistry;
+        this.global = new SlidingWindowCounter(window, bucketCount);
+
+        Gauge.builder("ai.tokens.window.global", this, b -> b.global.sum(System.nanoTime()))
+                .description("Tokens used by all callers in the current budget window")
+                .register(meterRegistry);
+        Gauge.builder("ai.tokens.window.users", perUser, Map::size)
+                .description("Users with token usage in the current budget window")
+                .register(meterRegistry);
+    }
+
+    public static long estimateTokens(String text) {
+        return text == null ? 0 : estimateTokens(text.length());
+    }
+
+    public static long estimateTokens(long chars) {
+        return (chars + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    /**
+     * Reserves the estimated cost of a call
+     * @param principal username, or null for system callers
+     * @throws TooManyRequestsException if the user or global budget would be exceeded
+     */
+    public Reservation reserve(String principal, String role, long estimatedTokens) {
+        String roleTag = role == null ? SYSTEM_ROLE : role.toLowerCase(Locale.ROOT);
+        long now = System.nanoTime();
+
+        if (enabled) {
+            SlidingWindowCounter current = principal == null ? null : perUser.get(principal);
+            if (current != null && current.sum(now) + estimatedTokens > userLimit) {
+                throw reject(roleTag, "user", "Your AI usage limit has been reached. Please try again later.",
+                        current.nanosUntilFits(estimatedTokens, userLimit, now));
+            }
+            if (global.sum(now) + estimatedTokens > globalLimit) {
+                throw reject(roleTag, "global", "AI usage limit reached for now. Please try again later.",
+                        global.nanosUntilFits(estimatedTokens, globalLimit, now));
+            }
+        }
+
+        long globalPeriod = global.add(estimatedTokens, now);
+        long[] userPeriod = new long[1];
+        SlidingWindowCounter user = principal == null ? null : perUser.compute(principal, (p, counter) -> {
+            SlidingWindowCounter target = counter == null ? new SlidingWindowCounter(window, bucketCount) : counter;
+            userPeriod[0] = target.add(estimatedTokens, now);
+            return target;
+        });
+        if (reservations.incrementAndGet() % SWEEP_INTERVAL == 0) {
+            sweepIdleUsers(now);
+        }
+        return new Reservation(user, roleTag, estimatedTokens, globalPeriod, userPeriod[0]);
+    }
+
+    public long getUserUsage(String principal) {
+        SlidingWindowCounter user = perUser.get(principal);
+        return user == null ? 0 : user.sum(System.nanoTime());
+    }
+
+    public long getGlobalUsage() {
+        return global.sum(System.nanoTime());
+    }
+
+    /**
+     * @param retryAfterNanos when the oldest usage has expired enough for the call to fit, or -1 if it never will
+     */
+    private TooManyRequestsException reject(String role, String scope, String message, long retryAfterNanos) {
+        rejectedByRoleAndScope.computeIfAbsent(role + ":" + scope, key -> Counter.builder("ai.tokens.rejected")
+                        .description("AI calls rejected because a token budget was exhausted")
+                        .tag("role", role)
+                        .tag("scope", scope)
+                        .register(meterRegistry))
+                .increment();
+        log.warn("AI token budget exhausted ({} budget, role {})", scope, role);
+        return new TooManyRequestsException(message, retryAfterNanos < 0 ? null : Duration.ofNanos(retryAfterNanos));
+    }
+
+    private void sweepIdleUsers(long now) {
+        // Removed under the entry's lock, so a concurrent reserve() either adds first (not idle) or creates a new counter
+        for (String principal : perUser.keySet()) {
+            perUser.computeIfPresent(principal, (p, counter) -> counter.isIdle(now) ? null : counter);
+        }
+    }
+
+    /**
+     * Reserved tokens of one call; settle exactly once
+     */
+    public class Reservation {
+
+        private final SlidingWindowCounter user;
+        private final String role;
+        private final long reservedTokens;
+        private final long globalPeriod;
+        private final long userPeriod;
+
+        private Reservation(SlidingWindowCounter user, String role, long reservedTokens, long globalPeriod,
+                            long userPeriod) {
+            this.user = user;
+            this.role = role;
+            this.reservedTokens = reservedTokens;
+            this.globalPeriod = globalPeriod;
+            this.userPeriod = userPeriod;
+        }
+
+        /**
+         * @param actualTokens estimated tokens actually consumed (0 if the call never reached the provider)
+         */
+        public void settle(long actualTokens) {
+            long correction = actualTokens - reservedTokens;
+            long now = System.nanoTime();
+            if (correction != 0) {
+                global.addAt(correction, globalPeriod, now);
+                if (user != null) {
+                    user.addAt(correction, userPeriod, now);
+                }
+            }
+            if (actualTokens > 0) {
+                usedByRole.computeIfAbsent(role, r -> Counter.builder("ai.tokens.used")
+                                .description("Estimated AI tokens used (prompt + completion)")
+                                .baseUnit("tokens")
+                                .tag("role", r)
+                                .register(meterRegistry))
+                        .increment(actualTokens);
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.newwork.backend.service.ai.provider;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Single-turn chat completion request, independent of the provider's wire format
+ */
+@Value
+@Builder
+public class AiCompletionRequest {
+    String model;
+    String prompt;
+    int maxTokens;
+    double temperature;
+}
@@ -0,0 +1,42 @@
+package com.newwork.backend.service.ai.provider;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Transport to a text-generation backend. Implementations only move prompts and completions;
+ * prompt building, parsing, timeouts, metrics and resilience stay in the calling service.
+ *
+ * Failures should surface as {@link org.springframework.web.reactive.function.client.WebClientResponseException}
+ * carrying the HTTP status so callers can tell overload (429/503) apart from other errors.
+ */
+public interface AiProvider {
+
+    /**
+     * Short identifier used in logs, e.g. "huggingface" or "stub"
+     */
+    String getName();
+
+    /**
+     * Whether the provider has everything it needs (e.g. an API key) to serve requests
+     */
+    boolean isConfigured();
+
+    /**
+     * Complete the prompt and return the generated message content
+     */
+    Mono<String> complete(AiCompletionRequest request);
+
+    /**
+     * Complete the prompt, emitting content deltas as they are generated
+     */
+    Flux<String> streamCompletion(AiCompletionRequest request);
+
+    /**
+     * Open up to the given number of pooled connections ahead of the first real call,
+     * so it does not pay for DNS, TCP and TLS setup. No-op for providers without a network transport.
+     */
+    default Mono<Void> preconnect(int connections) {
+        return Mono.empty();
+    }
+}
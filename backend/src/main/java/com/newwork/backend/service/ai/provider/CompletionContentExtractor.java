@@ -0,0 +1,177 @@
+package com.newwork.backend.service.ai.provider;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Reads the completion text from a chat completions response token by token
+ * instead of decoding it into a {@code JsonNode} tree. Only
+ * {@code choices[0].message.content} (or {@code delta.content} for stream chunks)
+ * is materialised; usage, logprobs and further choices are skipped, and parsing
+ * stops as soon as the content has been read.
+ * The legacy inference API array format and top-level errors are still recognised.
+ */
+public class CompletionContentExtractor {
+
+    private final JsonFactory jsonFactory;
+
+    public CompletionContentExtractor(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * Content of a full (non-streaming) response
+     *
+     * @throws RuntimeException if the response carries an error or has no content
+     */
+    public String extractContent(byte[] body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                String text = readLegacyResult(parser);
+                if (text != null) {
+                    return text;
+                }
+            } else if (token == JsonToken.START_OBJECT) {
+                String error = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    if ("choices".equals(field) && value == JsonToken.START_ARRAY) {
+                        String content = readFirstChoice(parser, "message");
+                        if (content != null) {
+                            return content;
+                        }
+                    } else if ("error".equals(field)) {
+                        error = readError(parser, value);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                if (error != null) {
+                    throw new RuntimeException("API error: " + error);
+                }
+            }
+        }
+        throw new RuntimeException("Unexpected response format");
+    }
+
+    /**
+     * Content of one server-sent stream chunk, or an empty string for chunks
+     * without text (role announcement, finish reason)
+     */
+    public String extractDelta(String chunk) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(chunk)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return "";
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("choices".equals(field) && value == JsonToken.START_ARRAY) {
+                    String content = readFirstChoice(parser, "delta");
+                    return content != null ? content : "";
+                }
+                parser.skipChildren();
+            }
+            return "";
+        }
+    }
+
+    /**
+     * Expects the parser on the choices START_ARRAY; leaves it after the matching END_ARRAY
+     * unless the content was found
+     */
+    private String readFirstChoice(JsonParser parser, String messageField) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (messageField.equals(field) && value == JsonToken.START_OBJECT) {
+                    String content = readStringField(parser, "content");
+                    if (content != null) {
+                        return content;
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } else if (token != JsonToken.END_ARRAY) {
+            parser.skipChildren();
+        }
+
+        if (token != JsonToken.END_ARRAY) {
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                parser.skipChildren();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Old inference API: [{ "summary_text": "..." }] or [{ "generated_text": "..." }]
+     */
+    private String readLegacyResult(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return null;
+        }
+        String generatedText = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("summary_text".equals(field)) {
+                String summary = parser.getValueAsString();
+                if (summary != null) {
+                    return summary; // summarization models take precedence, as before
+                }
+            } else if ("generated_text".equals(field)) {
+                generatedText = parser.getValueAsString();
+            }
+            parser.skipChildren();
+        }
+        return generatedText;
+    }
+
+    /**
+     * Accepts both { "error": "..." } and { "error": { "message": "..." } }
+     */
+    private String readError(JsonParser parser, JsonToken value) throws IOException {
+        if (value == JsonToken.START_OBJECT) {
+            String message = readStringField(parser, "message");
+            if (message == null) {
+                return "";
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                parser.nextToken();
+                parser.skipChildren();
+            }
+            return message;
+        }
+        String error = parser.getValueAsString();
+        parser.skipChildren();
+        return error != null ? error : "";
+    }
+
+    /**
+     * Reads a string field of the object the parser is positioned on. Returns as soon as the
+     * field is found, otherwise consumes the object up to its END_OBJECT.
+     */
+    private String readStringField(JsonParser parser, String name) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if (name.equals(field)) {
+                String value = parser.getValueAsString();
+                if (value != null) {
+                    return value;
+                }
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,21 @@
+package com.newwork.backend.service.ai.provider;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * HuggingFace inference router (OpenAI-compatible). Requires an API key.
+ */
+public class HuggingFaceRouterProvider extends OpenAiCompatibleProvider {
+
+    public static final String BASE_URL = "https://router.huggingface.co/v1";
+
+    public HuggingFaceRouterProvider(WebClient.Builder webClientBuilder, ObjectMapper objectMapper, String apiKey) {
+        super("huggingface", webClientBuilder.baseUrl(BASE_URL).build(), objectMapper, apiKey);
+    }
+
+    @Override
+    public boolean isConfigured() {
+        return hasApiKey();
+    }
+}
@@ -0,0 +1,159 @@
+package com.newwork.backend.service.ai.provider;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Provider for any endpoint implementing the OpenAI chat completions API
+ * (vLLM, llama.cpp server, Ollama, LM Studio, ...). The API key is optional.
+ */
+@Slf4j
+public class OpenAiCompatibleProvider implements AiProvider {
+
+    private static final String STREAM_DONE_MARKER = "[DONE]";
+
+    private final String name;
+    private final WebClient webClient;
+    private final CompletionContentExtractor contentExtractor;
+    private final String apiKey;
+
+    public OpenAiCompatibleProvider(String name, WebClient webClient, ObjectMapper objectMapper, String apiKey) {
+        this.name = name;
+        this.webClient = webClient;
+        this.contentExtractor = new CompletionContentExtractor(objectMapper.getFactory());
+        this.apiKey = apiKey;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean isConfigured() {
+        return true;
+    }
+
+    protected boolean hasApiKey() {
+        return apiKey != null && !apiKey.isEmpty();
+    }
+
+    @Override
+    public Mono<String> complete(AiCompletionRequest request) {
+        log.debug("Calling {} (OpenAI format): /chat/completions with model {}", name, request.getModel());
+
+        return post(buildRequestBody(request, false), MediaType.APPLICATION_JSON)
+                .bodyToMono(byte[].class)
+                .map(this::extractContent)
+                .doOnError(e -> log.error("API call failed: {}", e.getMessage()));
+    }
+
+    @Override
+    public Flux<String> streamCompletion(AiCompletionRequest request) {
+        log.debug("Calling {} (OpenAI format, streaming): /chat/completions with model {}", name, request.getModel());
+
+        return post(buildRequestBody(request, true), MediaType.TEXT_EVENT_STREAM)
+                .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<String>>() {})
+                .map(ServerSentEvent::data)
+                .filter(Objects::nonNull)
+                .takeWhile(data -> !STREAM_DONE_MARKER.equals(data.trim()))
+                .map(this::extractStreamDelta);
+    }
+
+    /**
+     * Concurrent HEAD requests force separate connections; the response status does not matter
+     */
+    @Override
+    public Mono<Void> preconnect(int connections) {
+        return Flux.range(0, connections)
+                .flatMap(i -> webClient.head()
+                        .uri("/models")
+                        .exchangeToMono(response -> response.releaseBody())
+                        .onErrorResume(e -> {
+                            log.debug("Preconnect to {} failed: {}", name, e.getMessage());
+                            return Mono.empty();
+                        }), connections)
+                .then();
+    }
+
+    private Map<String, Object> buildRequestBody(AiCompletionRequest request, boolean stream) {
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("model", request.getModel());
+
+        // Messages array in OpenAI format
+        Map<String, String> userMessage = new HashMap<>();
+        userMessage.put("role", "user");
+        userMessage.put("content", request.getPrompt());
+        requestBody.put("messages", List.of(userMessage));
+
+        requestBody.put("max_tokens", request.getMaxTokens());
+        requestBody.put("temperature", request.getTemperature());
+        if (stream) {
+            requestBody.put("stream", true); // server-sent events
+        }
+        return requestBody;
+    }
+
+    private WebClient.ResponseSpec post(Map<String, Object> requestBody, MediaType accept) {
+        WebClient.RequestBodySpec spec = webClient
+                .post()
+                .uri("/chat/completions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(accept);
+        if (hasApiKey()) {
+            spec = spec.header("Authorization", "Bearer " + apiKey);
+        }
+
+        return spec
+                .bodyValue(requestBody)
+                .retrieve()
+                .onStatus(HttpStatusCode::isError, response ->
+                    // Keep the status so overload (429/503) can be told apart from other failures
+                    response.createException()
+                        .flatMap(e -> {
+                            log.error("{} error response ({}): {}", e.getStatusCode().is4xxClientError()
+                                    ? "Client" : "Server", e.getStatusCode(), e.getResponseBodyAsString());
+                            return Mono.error(e);
+                        })
+                );
+    }
+
+    private String extractContent(byte[] body) {
+        try {
+            if (log.isDebugEnabled()) {
+                log.debug("Parsing response: {}", new String(body, StandardCharsets.UTF_8));
+            }
+            return contentExtractor.extractContent(body);
+        } catch (Exception e) {
+            log.warn("Could not extract content from response: {}", new String(body, StandardCharsets.UTF_8));
+            log.error("Error parsing response: {}", e.getMessage());
+            throw new RuntimeException("Failed to parse API response", e);
+        }
+    }
+
+    /**
+     * Stream chunks look like { "choices": [{ "delta": { "content": "..." } }] }
+     */
+    private String extractStreamDelta(String data) {
+        try {
+            return contentExtractor.extractDelta(data);
+        } catch (IOException e) {
+            log.warn("Skipping malformed stream chunk: {}", e.getMessage());
+            return "";
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.newwork.backend.service.ai.provider;
+
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * In-process stand-in for load tests and CI - no network, no API key.
+ *
+ * - Text is deterministic: the same prompt always yields the same completion
+ * - Latency is drawn from a normal distribution (mean, std dev) plus an optional slow tail
+ * - A configurable share of calls fails with an HTTP error status (503 by default),
+ *   so the circuit breaker, limiter and timeouts behave as they would against a real provider
+ *
+ * Latency and error sampling use a seeded generator, so a single-threaded run is reproducible.
+ */
+@Slf4j
+public class StubAiProvider implements AiProvider {
+
+    private static final String[] POLISH_TEMPLATES = {
+            "I would like to recognise that %s. This is appreciated and has a positive impact on the team.",
+            "It is worth highlighting that %s. Please keep building on this.",
+            "I have observed that %s. Thank you for the consistent effort."
+    };
+
+    private static final String[] OPTION_TEMPLATES = {
+            "I want to acknowledge that %s, and I appreciate the effort behind it.",
+            "It has been great to see that %s. Keep up the strong work.",
+            "Thank you - %s, which makes a real difference to the team."
+    };
+
+    private final Duration meanLatency;
+    private final Duration latencyStdDev;
+    private final double slowCallRate;
+    private final Duration slowCallLatency;
+    private final double errorRate;
+    private final int errorStatus;
+    private final Random random;
+
+    @Builder
+    private StubAiProvider(Duration meanLatency, Duration latencyStdDev, double slowCallRate,
+                           Duration slowCallLatency, double errorRate, int errorStatus, long seed) {
+        this.meanLatency = meanLatency;
+        this.latencyStdDev = latencyStdDev;
+        this.slowCallRate = slowCallRate;
+        this.slowCallLatency = slowCallLatency;
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public String getName() {
+        return "stub";
+    }
+
+    @Override
+    public boolean isConfigured() {
+        return true;
+    }
+
+    @Override
+    public Mono<String> complete(AiCompletionRequest request) {
+        return Mono.defer(() -> {
+            Duration latency = sampleLatency();
+            if (sampleFailure()) {
+                return Mono.delay(latency).then(Mono.error(simulatedError()));
+            }
+            return Mono.delay(latency).thenReturn(generate(request.getPrompt()));
+        });
+    }
+
+    @Override
+    public Flux<String> streamCompletion(AiCompletionRequest request) {
+        return Flux.defer(() -> {
+            Duration latency = sampleLatency();
+            if (sampleFailure()) {
+                return Mono.delay(latency).then(Mono.<String>error(simulatedError())).flux();
+            }
+            List<String> tokens = tokenize(generate(request.getPrompt()));
+            // Spread the sampled latency over the tokens, like a model generating them one by one
+            Duration perToken = latency.dividedBy(Math.max(1, tokens.size()));
+            return Flux.fromIterable(tokens).delayElements(perToken);
+        });
+    }
+
+    /**
+     * Deterministic completion derived from the feedback embedded in the prompt
+     */
+    static String generate(String prompt) {
+        String subject = extractSubject(prompt);
+        int variant = Math.floorMod(prompt.hashCode(), POLISH_TEMPLATES.length);
+
+        if (prompt.contains("OPTION 1")) {
+            StringBuilder options = new StringBuilder();
+            for (int i = 0; i < OPTION_TEMPLATES.length; i++) {
+                String template = OPTION_TEMPLATES[(variant + i) % OPTION_TEMPLATES.length];
+                options.append("OPTION ").append(i + 1).append(": ")
+                        .append(String.format(template, subject))
+                        .append('\n');
+            }
+            return options.toString();
+        }
+        return String.format(POLISH_TEMPLATES[variant], subject);
+    }
+
+    private static String extractSubject(String prompt) {
+        String lower = prompt.toLowerCase(Locale.ROOT);
+        int marker = lower.lastIndexOf("feedback:");
+        String subject = marker >= 0 ? prompt.substring(marker + "feedback:".length()) : prompt;
+        int lineEnd = subject.indexOf("\n", 1);
+        subject = (lineEnd > 0 ? subject.substring(0, lineEnd) : subject).trim();
+        while (!subject.isEmpty() && ".!?".indexOf(subject.charAt(subject.length() - 1)) >= 0) {
+            subject = subject.substring(0, subject.length() - 1);
+        }
+        if (subject.isEmpty()) {
+            return "the work has been solid";
+        }
+        return Character.toLowerCase(subject.charAt(0)) + subject.substring(1);
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i <= text.length(); i++) {
+            if (i == text.length() || Character.isWhitespace(text.charAt(i - 1))) {
+                if (i > start) {
+                    tokens.add(text.substring(start, i));
+                }
+                start = i;
+            }
+        }
+        return tokens;
+    }
+
+    private Duration sampleLatency() {
+        if (slowCallRate > 0 && random.nextDouble() < slowCallRate) {
+            return slowCallLatency;
+        }
+        long nanos = meanLatency.toNanos() + (long) (random.nextGaussian() * latencyStdDev.toNanos());
+        return Duration.ofNanos(Math.max(0L, nanos));
+    }
+
+    private boolean sampleFailure() {
+        return errorRate > 0 && random.nextDouble() < errorRate;
+    }
+
+    private WebClientResponseException simulatedError() {
+        HttpStatus status = HttpStatus.valueOf(errorStatus);
+        log.debug("Stub provider simulating HTTP {}", errorStatus);
+        return WebClientResponseException.create(status.value(), status.getReasonPhrase(), HttpHeaders.EMPTY,
+                "Simulated failure".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,65 @@
+package com.newwork.backend.service.batch;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory progress of a running polish job, for throughput and ETA.
+ * Time spent paused (circuit breaker open) is not counted, so the rate reflects processing speed.
+ */
+public class PolishJobProgress {
+
+    private final long initialPending;
+    private final AtomicLong completed = new AtomicLong();
+    private long activeNanos;
+    private long activeSince;
+    private boolean paused;
+
+    public PolishJobProgress(long initialPending) {
+        this.initialPending = initialPending;
+        this.activeSince = System.nanoTime();
+    }
+
+    void recordCompleted() {
+        completed.incrementAndGet();
+    }
+
+    synchronized void pause() {
+        if (!paused) {
+            activeNanos += System.nanoTime() - activeSince;
+            paused = true;
+        }
+    }
+
+    synchronized void resume() {
+        if (paused) {
+            activeSince = System.nanoTime();
+            paused = false;
+        }
+    }
+
+    public long getCompleted() {
+        return completed.get();
+    }
+
+    public long getRemaining() {
+        return Math.max(0, initialPending - completed.get());
+    }
+
+    public synchronized double getActiveSeconds() {
+        long nanos = paused ? activeNanos : activeNanos + System.nanoTime() - activeSince;
+        return nanos / 1_000_000_000.0;
+    }
+
+    public double getItemsPerSecond() {
+        double seconds = getActiveSeconds();
+        return seconds > 0 ? completed.get() / seconds : 0;
+    }
+
+    /**
+     * @return estimated seconds until the job is finished, or null before the first item completes
+     */
+    public Long getEtaSeconds() {
+        double rate = getItemsPerSecond();
+        return rate > 0 ? Math.round(getRemaining() / rate) : null;
+    }
+}
@@ -0,0 +1,334 @@
+package com.newwork.backend.service.batch;
+
+import com.newwork.backend.entity.Feedback;
+import com.newwork.backend.entity.PolishJob;
+import com.newwork.backend.entity.PolishJobItem;
+import com.newwork.backend.event.PolishJobSubmittedEvent;
+import com.newwork.backend.exception.TooManyRequestsException;
+import com.newwork.backend.repository.FeedbackRepository;
+import com.newwork.backend.repository.PolishJobItemRepository;
+import com.newwork.backend.repository.PolishJobRepository;
+import com.newwork.backend.service.FeedbackService;
+import com.newwork.backend.service.HuggingFaceService;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Runs polish jobs: pending items are sent to HuggingFaceService with at most
+ * feedback.polish-job.parallelism calls in flight, one job at a time.
+ *
+ * - Each item's status is written as soon as it is processed, so after a restart a job
+ *   continues with the items still pending (already polished feedback is skipped, never re-polished)
+ * - While the huggingface circuit breaker is open the job is PAUSED and nothing is dispatched;
+ *   calls rejected by the breaker or shed by the limiter leave the item pending without using an attempt
+ * - An item whose text the model returned empty or unchanged is SKIPPED and the feedback stays unpolished
+ * - Throughput and ETA of running jobs are exported as gauges
+ */
+@Component
+@Slf4j
+public class PolishJobRunner {
+
+    private static final String CIRCUIT_BREAKER_NAME = "huggingface";
+    private static final int PAGE_SIZE = 100;
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final String NOT_REWRITTEN_ERROR = "AI returned an empty or unchanged text";
+
+    private final PolishJobRepository jobRepository;
+    private final PolishJobItemRepository itemRepository;
+    private final FeedbackRepository feedbackRepository;
+    private final FeedbackService feedbackService;
+    private final HuggingFaceService huggingFaceService;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final Executor dispatcher;
+    private final Executor workers;
+
+    private final Map<Long, PolishJobProgress> runningJobs = new ConcurrentHashMap<>();
+    private final Map<PolishJobItem.Status, Counter> itemCounters = new ConcurrentHashMap<>();
+    private final Counter deferredCounter;
+
+    @Value("${feedback.polish-job.parallelism:4}")
+    private int parallelism;
+
+    @Value("${feedback.polish-job.max-attempts:3}")
+    private int maxAttempts;
+
+    // Pause between passes that made no progress (everything deferred), and between circuit breaker checks
+    @Value("${feedback.polish-job.retry-delay:5s}")
+    private Duration retryDelay;
+
+    public PolishJobRunner(PolishJobRepository jobRepository, PolishJobItemRepository itemRepository,
+                           FeedbackRepository feedbackRepository, FeedbackService feedbackService,
+                           HuggingFaceService huggingFaceService, CircuitBreakerRegistry circuitBreakerRegistry,
+                           @Qualifier("polishJobDispatcher") Executor dispatcher,
+                           @Qualifier("polishJobWorkers") Executor workers,
+                           MeterRegistry meterRegistry) {
+        this.jobRepository = jobRepository;
+        this.itemRepository = itemRepository;
+        this.feedbackRepository = feedbackRepository;
+        this.feedbackService = feedbackService;
+        this.huggingFaceService = huggingFaceService;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.dispatcher = dispatcher;
+        this.workers = workers;
+
+        for (PolishJobItem.Status status : EnumSet.complementOf(EnumSet.of(PolishJobItem.Status.PENDING))) {
+            itemCounters.put(status, Counter.builder("feedback.polish.job.items")
+                    .description("Polish job items processed")
+                    .tag("outcome", status.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        this.deferredCounter = Counter.builder("feedback.polish.job.items")
+                .description("Polish job items processed")
+                .tag("outcome", "deferred")
+                .register(meterRegistry);
+
+        Gauge.builder("feedback.polish.job.running", runningJobs, Map::size)
+                .description("Polish jobs currently running")
+                .register(meterRegistry);
+        Gauge.builder("feedback.polish.job.remaining", this, r -> r.sum(PolishJobProgress::getRemaining))
+                .description("Items left in running polish jobs")
+                .register(meterRegistry);
+        Gauge.builder("feedback.polish.job.throughput", this, r -> r.sum(PolishJobProgress::getItemsPerSecond))
+                .description("Items processed per second by running polish jobs")
+                .register(meterRegistry);
+        Gauge.builder("feedback.polish.job.eta", this, PolishJobRunner::etaSeconds)
+                .description("Estimated time until running polish jobs are finished")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Live progress of a running job, empty if it is not running on this instance
+     */
+    public Optional<PolishJobProgress> getProgress(Long jobId) {
+        return Optional.ofNullable(runningJobs.get(jobId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobSubmitted(PolishJobSubmittedEvent event) {
+        submit(event.jobId());
+    }
+
+    /**
+     * Resumes jobs that were queued or running when the application stopped
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        List<PolishJob> unfinished = jobRepository.findByStatusInOrderByIdAsc(
+                EnumSet.of(PolishJob.Status.QUEUED, PolishJob.Status.RUNNING, PolishJob.Status.PAUSED));
+        for (PolishJob job : unfinished) {
+            log.info("Resuming polish job {} ({})", job.getId(), job.getStatus());
+            submit(job.getId());
+        }
+    }
+
+    void submit(Long jobId) {
+        dispatcher.execute(() -> {
+            try {
+                run(jobId);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Polish job {} interrupted, it will resume on the next start", jobId);
+            } catch (Exception e) {
+                log.error("Polish job {} stopped unexpectedly: {}", jobId, e.getMessage(), e);
+            } finally {
+                runningJobs.remove(jobId);
+            }
+        });
+    }
+
+    void run(Long jobId) throws InterruptedException {
+        PolishJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus().isFinished()) {
+            return;
+        }
+
+        long pending = itemRepository.countByJobIdAndStatus(jobId, PolishJobItem.Status.PENDING);
+        PolishJobProgress progress = new PolishJobProgress(pending);
+        runningJobs.put(jobId, progress);
+        log.info("Polish job {} started: {} of {} items pending", jobId, pending, job.getTotalItems());
+
+        while (pending > 0) {
+            if (!awaitClosedCircuit(jobId, progress)) {
+                return; // cancelled while paused
+            }
+            if (jobRepository.updateStatus(jobId, PolishJob.Status.RUNNING, LocalDateTime.now(), null) == 0) {
+                return;
+            }
+
+            long completedBefore = progress.getCompleted();
+            if (!runPass(jobId, progress)) {
+                return;
+            }
+            pending = itemRepository.countByJobIdAndStatus(jobId, PolishJobItem.Status.PENDING);
+            if (pending > 0 && progress.getCompleted() == completedBefore) {
+                Thread.sleep(retryDelay.toMillis());
+            }
+        }
+
+        jobRepository.updateStatus(jobId, PolishJob.Status.COMPLETED, LocalDateTime.now(), LocalDateTime.now());
+        log.info("Polish job {} completed in {} s", jobId, progress.getActiveSeconds());
+    }
+
+    /**
+     * One scan over the pending items; items deferred on the way are picked up by the next pass
+     * @return false if the job was cancelled
+     */
+    private boolean runPass(Long jobId, PolishJobProgress progress) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(parallelism);
+        long lastId = 0;
+        try {
+            List<PolishJobItem> page;
+            do {
+                if (jobRepository.findStatusById(jobId) == PolishJob.Status.CANCELLED) {
+                    log.info("Polish job {} cancelled", jobId);
+                    return false;
+                }
+                page = itemRepository.findPendingAfter(jobId, lastId, Limit.of(PAGE_SIZE));
+                for (PolishJobItem item : page) {
+                    if (isCircuitOpen()) {
+                        return true; // stop dispatching, the next pass waits for the breaker
+                    }
+                    inFlight.acquire();
+                    try {
+                        workers.execute(() -> {
+                            try {
+                                process(item, progress);
+                            } finally {
+                                inFlight.release();
+                            }
+                        });
+                    } catch (RuntimeException e) {
+                        inFlight.release();
+                        throw e;
+                    }
+                    lastId = item.getId();
+                }
+            } while (page.size() == PAGE_SIZE);
+            return true;
+        } finally {
+            // Let in-flight items finish before the pending count is read again
+            inFlight.acquire(parallelism);
+        }
+    }
+
+    void process(PolishJobItem item, PolishJobProgress progress) {
+        Optional<Feedback> feedback = feedbackRepository.findById(item.getFeedbackId());
+        if (feedback.isEmpty() || Boolean.TRUE.equals(feedback.get().getIsPolished())) {
+            complete(item, PolishJobItem.Status.SKIPPED, 0, null, progress);
+            return;
+        }
+
+        try {
+            HuggingFaceService.PolishResult polished = huggingFaceService.polishFeedback(feedback.get().getOriginalContent());
+            if (!polished.rewritten()) {
+                // The rule-based stand-in is not worth storing as a polished version
+                complete(item, PolishJobItem.Status.SKIPPED, 1, NOT_REWRITTEN_ERROR, progress);
+                return;
+            }
+            boolean applied = feedbackService.applyPolish(item.getFeedbackId(), polished.text());
+            complete(item, applied ? PolishJobItem.Status.POLISHED : PolishJobItem.Status.SKIPPED, 1, null, progress);
+        } catch (RuntimeException e) {
+            if (e instanceof TooManyRequestsException || isCircuitOpen()) {
+                // Not the item's fault: retry it later without using an attempt
+                deferredCounter.increment();
+                return;
+            }
+            String error = truncate(e.getMessage());
+            if (item.getAttempts() + 1 >= maxAttempts) {
+                log.warn("Polish job {} item {} (feedback {}) failed: {}",
+                        item.getJobId(), item.getId(), item.getFeedbackId(), error);
+                complete(item, PolishJobItem.Status.FAILED, 1, error, progress);
+            } else {
+                itemRepository.updateItem(item.getId(), PolishJobItem.Status.PENDING, 1, error);
+            }
+        }
+    }
+
+    private void complete(PolishJobItem item, PolishJobItem.Status status, int attemptsDelta, String error,
+                          PolishJobProgress progress) {
+        itemRepository.updateItem(item.getId(), status, attemptsDelta, error);
+        itemCounters.get(status).increment();
+        progress.recordCompleted();
+    }
+
+    /**
+     * Blocks while the circuit breaker is open, with the job marked PAUSED
+     * @return false if the job was cancelled in the meantime
+     */
+    private boolean awaitClosedCircuit(Long jobId, PolishJobProgress progress) throws InterruptedException {
+        if (!isCircuitOpen()) {
+            return true;
+        }
+        if (jobRepository.updateStatus(jobId, PolishJob.Status.PAUSED, null, null) == 0) {
+            return false;
+        }
+        log.info("Polish job {} paused: AI circuit breaker is open", jobId);
+        progress.pause();
+        try {
+            while (isCircuitOpen()) {
+                Thread.sleep(retryDelay.toMillis());
+                if (jobRepository.findStatusById(jobId) == PolishJob.Status.CANCELLED) {
+                    return false;
+                }
+            }
+        } finally {
+            progress.resume();
+        }
+        log.info("Polish job {} resumed", jobId);
+        return true;
+    }
+
+    private boolean isCircuitOpen() {
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER_NAME);
+        CircuitBreaker.State state = circuitBreaker.getState();
+        if (state != CircuitBreaker.State.OPEN && state != CircuitBreaker.State.FORCED_OPEN) {
+            return false;
+        }
+        // The breaker only moves to HALF_OPEN when a call asks for permission after the open wait duration
+        if (circuitBreaker.tryAcquirePermission()) {
+            circuitBreaker.releasePermission();
+            return false;
+        }
+        return true;
+    }
+
+    private double sum(ToDoubleFunction<PolishJobProgress> metric) {
+        return runningJobs.values().stream().mapToDouble(metric).sum();
+    }
+
+    private double etaSeconds() {
+        double throughput = sum(PolishJobProgress::getItemsPerSecond);
+        return throughput > 0 ? sum(PolishJobProgress::getRemaining) / throughput : Double.NaN;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
@@ -0,0 +1,128 @@
+package com.newwork.backend.service.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming RFC 4180 reader: one record at a time from a {@link Reader}, so an
+ * upload is never held in memory as a whole. Supports quoted fields with embedded
+ * separators, line breaks and doubled quotes, CRLF or LF line endings and a leading BOM.
+ * Not thread-safe.
+ */
+public class CsvReader {
+
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private final char separator;
+    private final StringBuilder field = new StringBuilder();
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private int lineNumber = 1;
+    private int recordLineNumber;
+    private boolean started;
+
+    public CsvReader(Reader reader, char separator) {
+        this.reader = reader;
+        this.separator = separator;
+    }
+
+    /**
+     * Next record, or null at end of input. Blank lines are skipped.
+     */
+    public List<String> readRecord() throws IOException {
+        if (!started) {
+            started = true;
+            if (peek() == '\uFEFF') {
+                position++; // UTF-8 BOM written by spreadsheet tools
+            }
+        }
+
+        int c;
+        while ((c = peek()) == '\r' || c == '\n') {
+            consumeLineBreak(next());
+        }
+        if (c == EOF) {
+            return null;
+        }
+
+        recordLineNumber = lineNumber;
+        List<String> record = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean afterQuote = false;
+        while (true) {
+            c = next();
+            if (quoted) {
+                if (c == EOF) {
+                    throw new IOException("Unterminated quoted field starting on line " + recordLineNumber);
+                }
+                if (c == '"') {
+                    if (peek() == '"') {
+                        position++;
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        afterQuote = true;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == separator) {
+                record.add(field.toString());
+                field.setLength(0);
+                afterQuote = false;
+            } else if (c == '\r' || c == '\n' || c == EOF) {
+                record.add(field.toString());
+                if (c != EOF) {
+                    consumeLineBreak(c);
+                }
+                return record;
+            } else if (c == '"' && field.isEmpty() && !afterQuote) {
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    /**
+     * Line on which the record last returned by {@link #readRecord()} starts (1-based)
+     */
+    public int getRecordLineNumber() {
+        return recordLineNumber;
+    }
+
+    private void consumeLineBreak(int c) throws IOException {
+        if (c == '\r' && peek() == '\n') {
+            position++;
+        }
+        lineNumber++;
+    }
+
+    private int next() throws IOException {
+        int c = peek();
+        if (c != EOF) {
+            position++;
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return EOF;
+            }
+        }
+        return buffer[position];
+    }
+}
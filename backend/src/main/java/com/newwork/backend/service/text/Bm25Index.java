@@ -0,0 +1,256 @@
+package com.newwork.backend.service.text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index with Okapi BM25 ranking (k1 = 1.2, b = 0.75).
+ *
+ * - Postings are primitive (doc slot, term frequency) arrays per term
+ * - Documents are added and removed incrementally; removal takes the document's terms,
+ *   so no forward index is kept
+ * - Reads share a read lock; writes are serialized
+ *
+ * Slots of removed documents go on a free list and are reused by the next add, so the
+ * per-document arrays grow with the peak number of live documents, not with the number of writes.
+ */
+public class Bm25Index {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    public record Hit(long feedbackId, long employeeId, double score) {
+    }
+
+    private static final class Postings {
+        int[] slots = new int[4];
+        int[] frequencies = new int[4];
+        int size;
+
+        void add(int slot, int frequency) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            slots[size] = slot;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        void remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    size--;
+                    slots[i] = slots[size];
+                    frequencies[i] = frequencies[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> slotsByFeedbackId = new HashMap<>();
+    private long[] feedbackIds = new long[1024];
+    private long[] employeeIds = new long[1024];
+    private int[] documentLengths = new int[1024];
+    private int[] freeSlots = new int[16];
+    private int freeSlotCount;
+    private int slotCount;
+    private int documentCount;
+    private long totalLength;
+    private long postingCount;
+    private long termCharacters;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Indexes a document; a feedback id already present is ignored, so replays are harmless
+     */
+    public void add(long feedbackId, long employeeId, List<String> terms) {
+        Map<String, Integer> frequencies = termFrequencies(terms);
+        lock.writeLock().lock();
+        try {
+            if (slotsByFeedbackId.containsKey(feedbackId)) {
+                return;
+            }
+            int slot;
+            if (freeSlotCount > 0) {
+                slot = freeSlots[--freeSlotCount];
+            } else {
+                if (slotCount == feedbackIds.length) {
+                    int capacity = slotCount + (slotCount >> 1);
+                    feedbackIds = Arrays.copyOf(feedbackIds, capacity);
+                    employeeIds = Arrays.copyOf(employeeIds, capacity);
+                    documentLengths = Arrays.copyOf(documentLengths, capacity);
+                }
+                slot = slotCount++;
+            }
+            feedbackIds[slot] = feedbackId;
+            employeeIds[slot] = employeeId;
+            documentLengths[slot] = terms.size();
+            slotsByFeedbackId.put(feedbackId, slot);
+
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> {
+                    termCharacters += term.length();
+                    return new Postings();
+                }).add(slot, entry.getValue());
+                postingCount++;
+            }
+            documentCount++;
+            totalLength += terms.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param terms the terms the document was indexed with
+     */
+    public boolean remove(long feedbackId, List<String> terms) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsByFeedbackId.remove(feedbackId);
+            if (slot == null) {
+                return false;
+            }
+            for (String term : termFrequencies(terms).keySet()) {
+                Postings list = postings.get(term);
+                if (list != null) {
+                    list.remove(slot);
+                    postingCount--;
+                    if (list.size == 0) {
+                        postings.remove(term);
+                        termCharacters -= term.length();
+                    }
+                }
+            }
+            if (freeSlotCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeSlotCount * 2);
+            }
+            freeSlots[freeSlotCount++] = slot;
+            documentCount--;
+            totalLength -= documentLengths[slot];
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Top hits by BM25 score
+     *
+     * @param employeeFilter restrict to these employees, or null for all
+     */
+    public List<Hit> search(List<String> queryTerms, Set<Long> employeeFilter, int limit) {
+        lock.readLock().lock();
+        try {
+            if (documentCount == 0 || queryTerms.isEmpty()) {
+                return List.of();
+            }
+            double averageLength = (double) totalLength / documentCount;
+            Map<Integer, Double> scores = new HashMap<>();
+
+            for (String term : termFrequencies(queryTerms).keySet()) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documentCount - list.size + 0.5) / (list.size + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    int slot = list.slots[i];
+                    if (employeeFilter != null && !employeeFilter.contains(employeeIds[slot])) {
+                        continue;
+                    }
+                    int tf = list.frequencies[i];
+                    double norm = K1 * (1 - B + B * documentLengths[slot] / averageLength);
+                    scores.merge(slot, idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+                }
+            }
+
+            PriorityQueue<Map.Entry<Integer, Double>> top =
+                    new PriorityQueue<>(Map.Entry.comparingByValue());
+            for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+                top.offer(entry);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<Hit> hits = new ArrayList<>(top.size());
+            for (Map.Entry<Integer, Double> entry : top) {
+                int slot = entry.getKey();
+                hits.add(new Hit(feedbackIds[slot], employeeIds[slot], entry.getValue()));
+            }
+            hits.sort(Comparator.comparingDouble(Hit::score).reversed());
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        return documentCount;
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Approximate heap footprint: posting arrays, term strings and map entries, per-document arrays
+     */
+    public long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            long postingBytes = postingCount * 8L * 3 / 2;               // two int arrays, ~50% slack
+            long termBytes = postings.size() * 120L + termCharacters;   // map node + String + Postings object
+            long documentBytes = feedbackIds.length * 20L + freeSlots.length * 4L + slotsByFeedbackId.size() * 64L;
+            return postingBytes + termBytes + documentBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            slotsByFeedbackId.clear();
+            feedbackIds = new long[1024];
+            employeeIds = new long[1024];
+            documentLengths = new int[1024];
+            freeSlots = new int[16];
+            freeSlotCount = 0;
+            slotCount = 0;
+            documentCount = 0;
+            totalLength = 0;
+            postingCount = 0;
+            termCharacters = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Map<String, Integer> termFrequencies(Collection<String> terms) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : terms) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+}
@@ -0,0 +1,46 @@
+package com.newwork.backend.service.text;
+
+/**
+ * Count-Min sketch over terms: fixed memory, estimates never undercount.
+ * Supports decrements (turnstile model) so deleted feedback can be subtracted again.
+ */
+public class CountMinSketch {
+
+    private final int depth;
+    private final int widthMask;
+    private final int[] counters;
+
+    /**
+     * @param widthBits log2 of the counters per row
+     */
+    public CountMinSketch(int depth, int widthBits) {
+        this.depth = depth;
+        this.widthMask = (1 << widthBits) - 1;
+        this.counters = new int[depth << widthBits];
+    }
+
+    public void add(String term, int delta) {
+        int hash = term.hashCode();
+        for (int row = 0; row < depth; row++) {
+            counters[index(row, hash)] += delta;
+        }
+    }
+
+    public int estimate(String term) {
+        int hash = term.hashCode();
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters[index(row, hash)]);
+        }
+        return Math.max(0, min);
+    }
+
+    public long memoryBytes() {
+        return counters.length * 4L;
+    }
+
+    private int index(int row, int hash) {
+        int h = MinHasher.mix32(hash + row * 0x9e3779b9);
+        return (row * (widthMask + 1)) + (h & widthMask);
+    }
+}
@@ -0,0 +1,139 @@
+package com.newwork.backend.service.text;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incremental keyword and sentiment summary of one employee's feedback.
+ *
+ * Term counts start in an exact map, which stays small for the handful of short feedbacks most
+ * employees have. Past EXACT_TERM_LIMIT distinct terms they move into a Count-Min sketch no larger
+ * than that map, and a bounded candidate set tracks the terms with the highest estimates, so
+ * reading the top keywords costs O(candidates) no matter how much feedback has been written.
+ */
+public class EmployeeInsights {
+
+    public record Keyword(String term, int count) {
+    }
+
+    static final int EXACT_TERM_LIMIT = 256;
+    private static final int SKETCH_DEPTH = 4;
+    // 512 counters per row, two per term at the switch: 8 KB, half the map it replaces
+    private static final int SKETCH_WIDTH_BITS = 9;
+    private static final int MAX_CANDIDATES = 32;
+    // Rough per-entry cost of a HashMap<String, Integer> holding a short term
+    private static final long MAP_ENTRY_BYTES = 64;
+
+    private Map<String, Integer> exactCounts = new HashMap<>();
+    private CountMinSketch sketch;
+    private final Map<String, Integer> candidates = new HashMap<>();
+    private long positiveTerms;
+    private long negativeTerms;
+    private int feedbackCount;
+
+    public synchronized void add(List<String> terms) {
+        apply(terms, 1);
+        feedbackCount++;
+    }
+
+    public synchronized void remove(List<String> terms) {
+        apply(terms, -1);
+        feedbackCount--;
+    }
+
+    public synchronized List<Keyword> topKeywords(int limit) {
+        List<Keyword> keywords = new ArrayList<>();
+        (sketch == null ? exactCounts : candidates).forEach((term, count) -> {
+            if (count > 0) {
+                keywords.add(new Keyword(term, count));
+            }
+        });
+        keywords.sort(Comparator.comparingInt(Keyword::count).reversed().thenComparing(Keyword::term));
+        return keywords.size() > limit ? keywords.subList(0, limit) : keywords;
+    }
+
+    /**
+     * Whether term counts have outgrown the exact map and moved into the sketch
+     */
+    public synchronized boolean isSketched() {
+        return sketch != null;
+    }
+
+    public synchronized long getPositiveTerms() {
+        return positiveTerms;
+    }
+
+    public synchronized long getNegativeTerms() {
+        return negativeTerms;
+    }
+
+    public synchronized int getFeedbackCount() {
+        return feedbackCount;
+    }
+
+    public synchronized long memoryBytes() {
+        return sketch == null
+                ? exactCounts.size() * MAP_ENTRY_BYTES
+                : sketch.memoryBytes() + candidates.size() * MAP_ENTRY_BYTES;
+    }
+
+    private void apply(List<String> terms, int delta) {
+        Map<String, Integer> touched = new HashMap<>();
+        for (int i = 0; i < terms.size(); i++) {
+            String term = terms.get(i);
+            if (SentimentLexicon.NEGATORS.contains(term)) {
+                continue;
+            }
+            boolean negated = i > 0 && SentimentLexicon.NEGATORS.contains(terms.get(i - 1));
+            int polarity = SentimentLexicon.polarity(term) * (negated ? -1 : 1);
+            if (polarity > 0) {
+                positiveTerms += delta;
+            } else if (polarity < 0) {
+                negativeTerms += delta;
+            }
+            if (sketch == null) {
+                exactCounts.merge(term, delta, (old, d) -> old + d > 0 ? old + d : null);
+            } else {
+                sketch.add(term, delta);
+                touched.put(term, 0);
+            }
+        }
+
+        if (sketch == null) {
+            if (exactCounts.size() > EXACT_TERM_LIMIT) {
+                switchToSketch();
+            }
+            return;
+        }
+        for (String term : touched.keySet()) {
+            updateCandidate(term, sketch.estimate(term), delta < 0);
+        }
+    }
+
+    private void switchToSketch() {
+        sketch = new CountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH_BITS);
+        exactCounts.forEach((term, count) -> sketch.add(term, count));
+        exactCounts.forEach((term, count) -> updateCandidate(term, sketch.estimate(term), false));
+        exactCounts = null;
+    }
+
+    private void updateCandidate(String term, int estimate, boolean removal) {
+        if (candidates.containsKey(term) || removal) {
+            candidates.computeIfPresent(term, (t, old) -> estimate);
+        } else if (candidates.size() < MAX_CANDIDATES) {
+            candidates.put(term, estimate);
+        } else {
+            // Replace the weakest candidate if this term now beats it
+            Map.Entry<String, Integer> weakest = candidates.entrySet().stream()
+                    .min(Map.Entry.comparingByValue())
+                    .orElseThrow();
+            if (estimate > weakest.getValue()) {
+                candidates.remove(weakest.getKey());
+                candidates.put(term, estimate);
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.newwork.backend.service.text;
+
+import com.newwork.backend.dto.FeedbackInsightsDto;
+import com.newwork.backend.event.FeedbackCreatedEvent;
+import com.newwork.backend.event.FeedbackDeletedEvent;
+import com.newwork.backend.repository.FeedbackTextView;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Per-employee feedback insights (top recurring keywords, positive/negative ratio).
+ *
+ * Summaries are updated as feedback is created or deleted, so a profile view reads a
+ * precomputed summary instead of scanning the employee's feedback. Only the original wording
+ * is analysed: AI polishing shifts the tone. Rebuilt from the database at startup by
+ * {@link FeedbackTextIndexRebuilder}.
+ */
+@Component
+@Slf4j
+public class FeedbackInsightsIndex implements FeedbackTextIndex {
+
+    private static final int TOP_KEYWORDS = 10;
+
+    private final Map<Long, EmployeeInsights> insightsByEmployee = new ConcurrentHashMap<>();
+
+    public FeedbackInsightsIndex(MeterRegistry meterRegistry) {
+        Gauge.builder("feedback.insights.employees", insightsByEmployee, Map::size)
+                .description("Employees with a feedback insights summary")
+                .register(meterRegistry);
+        Gauge.builder("feedback.insights.memory", this, FeedbackInsightsIndex::memoryBytes)
+                .description("Approximate heap used by feedback insights sketches")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public Optional<FeedbackInsightsDto> getInsights(Long employeeId) {
+        EmployeeInsights insights = insightsByEmployee.get(employeeId);
+        if (insights == null || insights.getFeedbackCount() <= 0) {
+            return Optional.empty();
+        }
+
+        long positive = insights.getPositiveTerms();
+        long negative = insights.getNegativeTerms();
+        return Optional.of(FeedbackInsightsDto.builder()
+                .topKeywords(insights.topKeywords(TOP_KEYWORDS).stream()
+                        .map(k -> new FeedbackInsightsDto.Keyword(k.term(), k.count()))
+                        .collect(Collectors.toList()))
+                .positiveTerms(positive)
+                .negativeTerms(negative)
+                .positiveRatio(positive + negative > 0 ? (double) positive / (positive + negative) : null)
+                .build());
+    }
+
+    @Override
+    public void beginRebuild() {
+        insightsByEmployee.clear();
+    }
+
+    @Override
+    public void addFromRebuild(FeedbackTextView feedback) {
+        add(feedback.getEmployeeId(), feedback.getOriginalContent());
+    }
+
+    @Override
+    public void endRebuild(long elapsedMillis) {
+        log.info("Feedback insights rebuilt for {} employees in {} ms", insightsByEmployee.size(), elapsedMillis);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeedbackCreated(FeedbackCreatedEvent event) {
+        add(event.employeeId(), event.content());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeedbackDeleted(FeedbackDeletedEvent event) {
+        EmployeeInsights insights = insightsByEmployee.get(event.employeeId());
+        if (insights != null) {
+            insights.remove(Tokenizer.tokenize(event.content()));
+        }
+    }
+
+    private void add(Long employeeId, String content) {
+        insightsByEmployee.computeIfAbsent(employeeId, id -> new EmployeeInsights())
+                .add(Tokenizer.tokenize(content));
+    }
+
+    private long memoryBytes() {
+        return insightsByEmployee.values().stream().mapToLong(EmployeeInsights::memoryBytes).sum();
+    }
+}
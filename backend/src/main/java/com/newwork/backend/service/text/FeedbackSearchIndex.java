@@ -0,0 +1,90 @@
+package com.newwork.backend.service.text;
+
+import com.newwork.backend.event.FeedbackCreatedEvent;
+import com.newwork.backend.event.FeedbackDeletedEvent;
+import com.newwork.backend.event.FeedbackPolishedEvent;
+import com.newwork.backend.repository.FeedbackTextView;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Full-text index over feedback (original and polished content) for BM25-ranked search.
+ *
+ * Rebuilt from the database when the application starts (see {@link FeedbackTextIndexRebuilder})
+ * and kept current from feedback events after each commit, so searches never touch the feedbacks table.
+ */
+@Component
+@Slf4j
+public class FeedbackSearchIndex implements FeedbackTextIndex {
+
+    private final Bm25Index index = new Bm25Index();
+
+    public FeedbackSearchIndex(MeterRegistry meterRegistry) {
+        Gauge.builder("feedback.search.index.size", index, Bm25Index::size)
+                .description("Feedback items in the search index")
+                .register(meterRegistry);
+        Gauge.builder("feedback.search.index.terms", index, Bm25Index::termCount)
+                .description("Distinct terms in the search index")
+                .register(meterRegistry);
+        Gauge.builder("feedback.search.index.memory", index, Bm25Index::memoryBytes)
+                .description("Approximate heap used by the search index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param employeeFilter restrict to these employees, or null for all
+     */
+    public List<Bm25Index.Hit> search(String query, Set<Long> employeeFilter, int limit) {
+        return index.search(Tokenizer.tokenize(query), employeeFilter, limit);
+    }
+
+    @Override
+    public void beginRebuild() {
+        index.clear();
+    }
+
+    @Override
+    public void addFromRebuild(FeedbackTextView feedback) {
+        index.add(feedback.getId(), feedback.getEmployeeId(),
+                terms(feedback.getOriginalContent(), feedback.getPolishedContent()));
+    }
+
+    @Override
+    public void endRebuild(long elapsedMillis) {
+        log.info("Feedback search index rebuilt with {} items and {} terms in {} ms",
+                index.size(), index.termCount(), elapsedMillis);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeedbackCreated(FeedbackCreatedEvent event) {
+        index.add(event.feedbackId(), event.employeeId(), terms(event.content(), event.polishedContent()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeedbackDeleted(FeedbackDeletedEvent event) {
+        index.remove(event.feedbackId(), terms(event.content(), event.polishedContent()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeedbackPolished(FeedbackPolishedEvent event) {
+        index.remove(event.feedbackId(), terms(event.content(), null));
+        index.add(event.feedbackId(), event.employeeId(), terms(event.content(), event.polishedContent()));
+    }
+
+    /**
+     * Both versions are searchable; the polished text often uses the vocabulary people search for
+     */
+    private static List<String> terms(String originalContent, String polishedContent) {
+        List<String> terms = new ArrayList<>(Tokenizer.tokenize(originalContent));
+        terms.addAll(Tokenizer.tokenize(polishedContent));
+        return terms;
+    }
+}
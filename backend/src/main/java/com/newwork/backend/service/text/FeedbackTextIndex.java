@@ -0,0 +1,25 @@
+package com.newwork.backend.service.text;
+
+import com.newwork.backend.repository.FeedbackTextView;
+
+/**
+ * An in-memory index over feedback text. {@link FeedbackTextIndexRebuilder} refills every index
+ * in one pass over the feedbacks table at startup; events keep it current afterwards.
+ */
+public interface FeedbackTextIndex {
+
+    /**
+     * Drops the current contents before the rebuild pass
+     */
+    void beginRebuild();
+
+    /**
+     * Adds one feedback read by the rebuild pass, in id order
+     */
+    void addFromRebuild(FeedbackTextView feedback);
+
+    /**
+     * Called once all feedback up to the rebuild's high-water mark has been added
+     */
+    void endRebuild(long elapsedMillis);
+}
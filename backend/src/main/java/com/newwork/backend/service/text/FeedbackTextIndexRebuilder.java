@@ -0,0 +1,57 @@
+package com.newwork.backend.service.text;
+
+import com.newwork.backend.repository.FeedbackRepository;
+import com.newwork.backend.repository.FeedbackTextView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Rebuilds every {@link FeedbackTextIndex} at startup from a single scan of the feedbacks table.
+ *
+ * The scan stops at the highest id present when it starts: feedback created while it runs is
+ * added by the events, and not all indexes are idempotent.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FeedbackTextIndexRebuilder {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final FeedbackRepository feedbackRepository;
+    private final List<FeedbackTextIndex> indexes;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        long highWaterMark = feedbackRepository.findMaxId();
+        indexes.forEach(FeedbackTextIndex::beginRebuild);
+
+        long lastId = 0;
+        long count = 0;
+        List<FeedbackTextView> batch;
+        do {
+            batch = feedbackRepository.findTextBatchAfter(lastId, Limit.of(BATCH_SIZE));
+            for (FeedbackTextView feedback : batch) {
+                if (feedback.getId() > highWaterMark) {
+                    break;
+                }
+                for (FeedbackTextIndex index : indexes) {
+                    index.addFromRebuild(feedback);
+                }
+                lastId = feedback.getId();
+                count++;
+            }
+        } while (batch.size() == BATCH_SIZE && lastId == batch.get(batch.size() - 1).getId());
+
+        long elapsed = System.currentTimeMillis() - start;
+        indexes.forEach(index -> index.endRebuild(elapsed));
+        log.info("Rebuilt {} feedback text indexes from {} feedback items in {} ms", indexes.size(), count, elapsed);
+    }
+}
@@ -0,0 +1,94 @@
+package com.newwork.backend.service.text;
+
+/**
+ * MinHash signatures over character 5-shingles of normalized text.
+ *
+ * The fraction of equal positions in two signatures estimates the Jaccard similarity of the
+ * shingle sets, so copy-pasted text with small edits (names, punctuation, a sentence added)
+ * still scores high while unrelated text scores close to 0.
+ */
+public final class MinHasher {
+
+    public static final int NUM_HASHES = 64;
+    private static final int SHINGLE_LENGTH = 5;
+
+    private MinHasher() {
+    }
+
+    /**
+     * @return {@link #NUM_HASHES} 32-bit minimums, or null if the text has no letters or digits
+     */
+    public static int[] signature(String text) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return null;
+        }
+
+        int[] mins = new int[NUM_HASHES];
+        java.util.Arrays.fill(mins, Integer.MAX_VALUE);
+        int shingles = Math.max(1, normalized.length() - SHINGLE_LENGTH + 1);
+        for (int start = 0; start < shingles; start++) {
+            long hash = hash(normalized, start, Math.min(normalized.length(), start + SHINGLE_LENGTH));
+            // Derive the 64 hash functions from two halves of one 64-bit hash (double hashing)
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32) | 1;
+            for (int i = 0; i < NUM_HASHES; i++) {
+                int value = mix32(h1 + i * h2);
+                if (value < mins[i]) {
+                    mins[i] = value;
+                }
+            }
+        }
+        return mins;
+    }
+
+    /**
+     * Lower case, letters and digits only, single spaces between words
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && sb.length() > 0) {
+                    sb.append(' ');
+                }
+                sb.append(Character.toLowerCase(c));
+                pendingSpace = false;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * FNV-1a over the chars followed by a 64-bit finalizer for better bit dispersion
+     */
+    private static long hash(String s, int from, int to) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = from; i < to; i++) {
+            h ^= s.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    static int mix32(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,114 @@
+package com.newwork.backend.service.text;
+
+import com.newwork.backend.event.FeedbackCreatedEvent;
+import com.newwork.backend.event.FeedbackDeletedEvent;
+import com.newwork.backend.repository.FeedbackTextView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+
+/**
+ * Flags feedback that is a near-copy of feedback already written for the same employee
+ * or by the same author.
+ *
+ * The index lives in memory: it is rebuilt from the database when the application starts
+ * (see {@link FeedbackTextIndexRebuilder}) and kept current from feedback events after each commit.
+ */
+@Component
+@Slf4j
+public class NearDuplicateDetector implements FeedbackTextIndex {
+
+    private final NearDuplicateIndex index;
+    private final Counter duplicateCounter;
+    private final boolean enabled;
+    private final double similarityThreshold;
+
+    public NearDuplicateDetector(
+            MeterRegistry meterRegistry,
+            @Value("${feedback.dedup.enabled:true}") boolean enabled,
+            @Value("${feedback.dedup.similarity-threshold:0.8}") double similarityThreshold,
+            @Value("${feedback.dedup.table-bits:16}") int tableBits,
+            @Value("${feedback.dedup.max-tombstone-fraction:0.25}") double maxTombstoneFraction
+    ) {
+        this.enabled = enabled;
+        this.similarityThreshold = similarityThreshold;
+        this.index = new NearDuplicateIndex(tableBits, maxTombstoneFraction);
+
+        Gauge.builder("feedback.dedup.index.size", index, NearDuplicateIndex::size)
+                .description("Feedback items in the near-duplicate index")
+                .register(meterRegistry);
+        Gauge.builder("feedback.dedup.index.memory", index, NearDuplicateIndex::memoryBytes)
+                .description("Approximate heap used by the near-duplicate index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.duplicateCounter = Counter.builder("feedback.dedup.duplicates")
+                .description("Feedback flagged as a near-duplicate on write")
+                .register(meterRegistry);
+    }
+
+    public Optional<NearDuplicateIndex.Match> findNearDuplicate(Long employeeId, String authorName, String content) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        int[] signature = MinHasher.signature(content);
+        if (signature == null) {
+            return Optional.empty();
+        }
+
+        Optional<NearDuplicateIndex.Match> match =
+                index.findNearDuplicate(signature, employeeId, authorName, similarityThreshold);
+        match.ifPresent(m -> {
+            duplicateCounter.increment();
+            log.info("Feedback for employee {} by {} is a near-duplicate of feedback {} (similarity {})",
+                    employeeId, authorName, m.feedbackId(), String.format("%.2f", m.similarity()));
+        });
+        return match;
+    }
+
+    @Override
+    public void beginRebuild() {
+        index.clear();
+    }
+
+    @Override
+    public void addFromRebuild(FeedbackTextView feedback) {
+        if (enabled) {
+            add(feedback.getId(), feedback.getEmployeeId(), feedback.getAuthorName(), feedback.getOriginalContent());
+        }
+    }
+
+    @Override
+    public void endRebuild(long elapsedMillis) {
+        if (enabled) {
+            log.info("Near-duplicate index rebuilt with {} feedback items in {} ms", index.size(), elapsedMillis);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeedbackCreated(FeedbackCreatedEvent event) {
+        if (enabled) {
+            add(event.feedbackId(), event.employeeId(), event.authorName(), event.content());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeedbackDeleted(FeedbackDeletedEvent event) {
+        int[] signature = MinHasher.signature(event.content());
+        if (enabled && signature != null) {
+            index.remove(event.feedbackId(), signature);
+        }
+    }
+
+    private void add(Long feedbackId, Long employeeId, String authorName, String content) {
+        int[] signature = MinHasher.signature(content);
+        if (signature != null) {
+            index.add(feedbackId, employeeId, authorName, signature);
+        }
+    }
+}
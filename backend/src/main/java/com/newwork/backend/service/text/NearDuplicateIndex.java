@@ -0,0 +1,284 @@
+package com.newwork.backend.service.text;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory locality-sensitive hashing index over MinHash signatures.
+ *
+ * - The 64 minimums are split into 16 bands of 4 rows; two texts become candidates when any band
+ *   matches exactly (probability 1-(1-s^4)^16: ~99.9% at similarity 0.8, ~12% at 0.3)
+ * - Each band is a fixed-size bucket table with chains threaded through per-item int arrays,
+ *   so a lookup touches O(1) expected items and an entry costs ~100 bytes instead of a boxed map node
+ * - Only the low 8 bits of each minimum are kept for scoring (b-bit MinHash), with the
+ *   estimate corrected for accidental 8-bit collisions
+ *
+ * Removed entries are tombstoned and skipped by lookups; once tombstones exceed the configured
+ * fraction of the stored slots the arrays are compacted in place, keeping each chain's order.
+ */
+public class NearDuplicateIndex {
+
+    public static final int BANDS = 16;
+    public static final int ROWS = MinHasher.NUM_HASHES / BANDS;
+    private static final double COLLISION_RATE = 1.0 / 256;
+    private static final long REMOVED = -1L;
+    private static final double DEFAULT_MAX_TOMBSTONE_FRACTION = 0.25;
+    private static final int MIN_COMPACTION_SLOTS = 1024;
+
+    public record Match(long feedbackId, double similarity) {
+    }
+
+    private final int tableMask;
+    private final int[][] heads;
+    private int[][] next;
+    private byte[] signatures;
+    private long[] feedbackIds;
+    private long[] employeeIds;
+    private String[] authorNames;
+    private int size;
+    private int liveCount;
+    private final double maxTombstoneFraction;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * @param tableBits log2 of the bucket count per band; keep it close to log2 of the expected item count
+     */
+    public NearDuplicateIndex(int tableBits) {
+        this(tableBits, DEFAULT_MAX_TOMBSTONE_FRACTION);
+    }
+
+    /**
+     * @param maxTombstoneFraction share of removed slots that triggers a compaction on the next remove
+     */
+    public NearDuplicateIndex(int tableBits, double maxTombstoneFraction) {
+        if (maxTombstoneFraction <= 0 || maxTombstoneFraction >= 1) {
+            throw new IllegalArgumentException("maxTombstoneFraction must be in (0, 1): " + maxTombstoneFraction);
+        }
+        this.maxTombstoneFraction = maxTombstoneFraction;
+        this.tableMask = (1 << tableBits) - 1;
+        this.heads = new int[BANDS][1 << tableBits];
+        allocateFresh(1024);
+        clearHeads();
+    }
+
+    /**
+     * Adds a feedback; a feedback id already present is ignored, so replays are harmless
+     */
+    public void add(long feedbackId, long employeeId, String authorName, int[] signature) {
+        lock.writeLock().lock();
+        try {
+            int bucket0 = bucket(0, signature);
+            for (int slot = heads[0][bucket0]; slot >= 0; slot = next[0][slot]) {
+                if (feedbackIds[slot] == feedbackId) {
+                    return;
+                }
+            }
+
+            if (size == feedbackIds.length) {
+                resize(size + (size >> 1));
+            }
+            int slot = size++;
+            feedbackIds[slot] = feedbackId;
+            employeeIds[slot] = employeeId;
+            // Interned so the entries of one author share a single string
+            authorNames[slot] = authorName.intern();
+            for (int i = 0; i < MinHasher.NUM_HASHES; i++) {
+                signatures[slot * MinHasher.NUM_HASHES + i] = (byte) signature[i];
+            }
+            for (int band = 0; band < BANDS; band++) {
+                int bucket = bucket(band, signature);
+                next[band][slot] = heads[band][bucket];
+                heads[band][bucket] = slot;
+            }
+            liveCount++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param signature signature of the stored content, used to find the entry without a reverse map
+     */
+    public boolean remove(long feedbackId, int[] signature) {
+        lock.writeLock().lock();
+        try {
+            for (int slot = heads[0][bucket(0, signature)]; slot >= 0; slot = next[0][slot]) {
+                if (feedbackIds[slot] == feedbackId) {
+                    feedbackIds[slot] = REMOVED;
+                    liveCount--;
+                    int tombstones = size - liveCount;
+                    if (size >= MIN_COMPACTION_SLOTS && tombstones > size * maxTombstoneFraction) {
+                        compact();
+                    }
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Most similar stored feedback at or above the threshold that was written for the same
+     * employee or by the same author
+     */
+    public Optional<Match> findNearDuplicate(int[] signature, long employeeId, String authorName, double threshold) {
+        byte[] probe = new byte[MinHasher.NUM_HASHES];
+        for (int i = 0; i < probe.length; i++) {
+            probe[i] = (byte) signature[i];
+        }
+
+        lock.readLock().lock();
+        try {
+            long bestId = REMOVED;
+            double bestSimilarity = threshold;
+            for (int band = 0; band < BANDS; band++) {
+                for (int slot = heads[band][bucket(band, signature)]; slot >= 0; slot = next[band][slot]) {
+                    long candidateId = feedbackIds[slot];
+                    if (candidateId == REMOVED || candidateId == bestId
+                            || (employeeIds[slot] != employeeId && !authorName.equals(authorNames[slot]))) {
+                        continue;
+                    }
+                    double similarity = similarity(probe, slot);
+                    if (similarity >= bestSimilarity) {
+                        bestSimilarity = similarity;
+                        bestId = candidateId;
+                    }
+                }
+            }
+            return bestId == REMOVED ? Optional.empty() : Optional.of(new Match(bestId, bestSimilarity));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        return liveCount;
+    }
+
+    /**
+     * Approximate heap footprint of the index arrays
+     */
+    public long memoryBytes() {
+        long perItem = MinHasher.NUM_HASHES + 8L + 8L + 4L * BANDS + 4L;
+        return (long) feedbackIds.length * perItem + (long) BANDS * heads[0].length * 4L;
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            allocateFresh(1024);
+            clearHeads();
+            size = 0;
+            liveCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Slides live slots down over the tombstones, relinks every chain through the new slot numbers
+     * and trims the arrays; the stored 8-bit signatures cannot recompute buckets, so chains are walked instead
+     */
+    private void compact() {
+        int[] newSlot = new int[size];
+        int live = 0;
+        for (int slot = 0; slot < size; slot++) {
+            if (feedbackIds[slot] == REMOVED) {
+                newSlot[slot] = -1;
+                continue;
+            }
+            newSlot[slot] = live;
+            if (live != slot) {
+                feedbackIds[live] = feedbackIds[slot];
+                employeeIds[live] = employeeIds[slot];
+                authorNames[live] = authorNames[slot];
+                System.arraycopy(signatures, slot * MinHasher.NUM_HASHES,
+                        signatures, live * MinHasher.NUM_HASHES, MinHasher.NUM_HASHES);
+            }
+            live++;
+        }
+
+        for (int band = 0; band < BANDS; band++) {
+            int[] oldNext = next[band];
+            int[] newNext = new int[oldNext.length];
+            int[] bandHeads = heads[band];
+            for (int bucket = 0; bucket < bandHeads.length; bucket++) {
+                int tail = -1;
+                for (int slot = bandHeads[bucket]; slot >= 0; slot = oldNext[slot]) {
+                    int moved = newSlot[slot];
+                    if (moved < 0) {
+                        continue;
+                    }
+                    if (tail < 0) {
+                        bandHeads[bucket] = moved;
+                    } else {
+                        newNext[tail] = moved;
+                    }
+                    tail = moved;
+                }
+                if (tail < 0) {
+                    bandHeads[bucket] = -1;
+                } else {
+                    newNext[tail] = -1;
+                }
+            }
+            next[band] = newNext;
+        }
+
+        Arrays.fill(authorNames, live, size, null);
+        size = live;
+        int capacity = Math.max(1024, live + (live >> 1));
+        if (capacity < feedbackIds.length) {
+            resize(capacity);
+        }
+    }
+
+    private double similarity(byte[] probe, int slot) {
+        int offset = slot * MinHasher.NUM_HASHES;
+        int equal = 0;
+        for (int i = 0; i < MinHasher.NUM_HASHES; i++) {
+            if (signatures[offset + i] == probe[i]) {
+                equal++;
+            }
+        }
+        double raw = (double) equal / MinHasher.NUM_HASHES;
+        return Math.max(0.0, (raw - COLLISION_RATE) / (1 - COLLISION_RATE));
+    }
+
+    private int bucket(int band, int[] signature) {
+        int h = band * 0x9e3779b9;
+        for (int row = 0; row < ROWS; row++) {
+            h = MinHasher.mix32(h ^ signature[band * ROWS + row]);
+        }
+        return h & tableMask;
+    }
+
+    private void allocateFresh(int capacity) {
+        feedbackIds = new long[capacity];
+        employeeIds = new long[capacity];
+        authorNames = new String[capacity];
+        signatures = new byte[capacity * MinHasher.NUM_HASHES];
+        next = new int[BANDS][capacity];
+    }
+
+    private void resize(int capacity) {
+        feedbackIds = Arrays.copyOf(feedbackIds, capacity);
+        employeeIds = Arrays.copyOf(employeeIds, capacity);
+        authorNames = Arrays.copyOf(authorNames, capacity);
+        signatures = Arrays.copyOf(signatures, capacity * MinHasher.NUM_HASHES);
+        for (int band = 0; band < BANDS; band++) {
+            next[band] = Arrays.copyOf(next[band], capacity);
+        }
+    }
+
+    private void clearHeads() {
+        for (int[] table : heads) {
+            Arrays.fill(table, -1);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.newwork.backend.service.text;
+
+import java.util.Set;
+
+/**
+ * Small workplace-feedback sentiment lexicon; a negator directly before a word flips its polarity
+ */
+public final class SentimentLexicon {
+
+    public static final Set<String> NEGATORS = Set.of("not", "no", "never", "hardly", "without", "lack", "lacks");
+
+    private static final Set<String> POSITIVE = Set.of(
+            "great", "excellent", "outstanding", "helpful", "reliable", "proactive", "clear", "strong",
+            "good", "supportive", "thorough", "creative", "dependable", "impressive", "effective", "efficient",
+            "collaborative", "positive", "appreciate", "appreciated", "thanks", "thank", "amazing", "fantastic",
+            "consistent", "dedicated", "skilled", "insightful", "responsive", "organized", "ownership",
+            "initiative", "mentoring", "leadership", "improved", "exceeded", "kind", "patient", "quality"
+    );
+
+    private static final Set<String> NEGATIVE = Set.of(
+            "late", "missed", "poor", "slow", "unclear", "unreliable", "careless", "rude", "difficult",
+            "sloppy", "inconsistent", "disorganized", "unresponsive", "confusing", "mistakes", "mistake",
+            "errors", "bad", "weak", "delayed", "delays", "struggles", "struggled", "frustrating", "negative",
+            "dismissive", "defensive", "blocked", "problem", "problems", "concern", "concerns", "lacking",
+            "incomplete", "ignored", "overdue", "failed", "fails", "worse"
+    );
+
+    private SentimentLexicon() {
+    }
+
+    /**
+     * @return 1 for positive, -1 for negative, 0 for neutral
+     */
+    public static int polarity(String term) {
+        if (POSITIVE.contains(term)) {
+            return 1;
+        }
+        if (NEGATIVE.contains(term)) {
+            return -1;
+        }
+        return 0;
+    }
+}
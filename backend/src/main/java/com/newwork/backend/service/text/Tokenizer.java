@@ -0,0 +1,46 @@
+package com.newwork.backend.service.text;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits feedback text into lower-case word terms for the in-memory text indexes.
+ * Stop words and single characters are dropped; no stemming.
+ */
+public final class Tokenizer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "been", "but", "by", "for", "from", "has", "have",
+            "he", "her", "his", "i", "in", "is", "it", "its", "me", "my", "of", "on", "or", "our", "she",
+            "so", "that", "the", "their", "them", "they", "this", "to", "was", "we", "were", "which",
+            "will", "with", "you", "your", "very", "also", "just", "all", "more", "would", "there"
+    );
+
+    private Tokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (i - start > 1) {
+                    String term = text.substring(start, i).toLowerCase(Locale.ROOT);
+                    if (!STOP_WORDS.contains(term)) {
+                        terms.add(term);
+                    }
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+}
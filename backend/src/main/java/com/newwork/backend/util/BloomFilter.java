@@ -0,0 +1,92 @@
+package com.newwork.backend.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.ToLongFunction;
+
+/**
+ * Thread-safe Bloom filter over a caller-supplied 64-bit hash. The k probe positions are
+ * derived from the two 32-bit halves of that hash (Kirsch-Mitzenmacher), so a lookup does
+ * one hash computation and allocates nothing. "false" is exact; "true" means "possibly",
+ * with roughly the configured false positive rate while the filter holds at most
+ * expectedInsertions elements.
+ */
+public class BloomFilter<T> {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final ToLongFunction<T> hasher;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate, ToLongFunction<T> hasher) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("expectedInsertions must be > 0 and falsePositiveRate in (0, 1)");
+        }
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray(Math.toIntExact(Math.max(1, (optimalBits + 63) / 64)));
+        this.bitCount = bits.length() * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        this.hasher = hasher;
+    }
+
+    /**
+     * Filter over strings hashed from their chars, without encoding them to bytes
+     */
+    public static BloomFilter<CharSequence> forStrings(long expectedInsertions, double falsePositiveRate) {
+        return new BloomFilter<>(expectedInsertions, falsePositiveRate, BloomFilter::hash64);
+    }
+
+    public void put(T element) {
+        long hash = hasher.applyAsLong(element);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = Math.floorMod(h1 + (long) i * h2, bitCount);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current;
+            while (((current = bits.get(word)) & mask) == 0
+                    && !bits.compareAndSet(word, current, current | mask)) {
+                // Lost a race with another writer on the same word; retry
+            }
+        }
+    }
+
+    public boolean mightContain(T element) {
+        long hash = hasher.applyAsLong(element);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = Math.floorMod(h1 + (long) i * h2, bitCount);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long bitSize() {
+        return bitCount;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    /**
+     * FNV-1a over the UTF-16 chars followed by the MurmurHash3 finalizer, so both
+     * 32-bit halves are well mixed
+     */
+    public static long hash64(CharSequence value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
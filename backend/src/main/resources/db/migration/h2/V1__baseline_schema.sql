@@ -0,0 +1,106 @@
+-- Baseline: the schema Hibernate created from the entities (ddl-auto=update) before migrations
+-- took over: IDENTITY ids, four tables, generated constraint names. Databases created that way are
+-- baselined at version 1 (spring.flyway.baseline-on-migrate) and brought up to date by later versions.
+
+create table absences (
+    id bigint generated by default as identity,
+    approved_at timestamp(6),
+    approved_by varchar(255),
+    created_at timestamp(6) not null,
+    end_date date not null,
+    reason varchar(1000),
+    start_date date not null,
+    status enum ('APPROVED','CANCELLED','PENDING','REJECTED') not null,
+    type enum ('MATERNITY_PATERNITY','OTHER','PERSONAL_LEAVE','SICK_LEAVE','VACATION') not null,
+    updated_at timestamp(6),
+    employee_id bigint not null,
+    primary key (id)
+);
+
+create table employees (
+    id bigint generated by default as identity,
+    address varchar(255),
+    bank_account varchar(255),
+    contract_type varchar(255),
+    created_at timestamp(6) not null,
+    date_of_birth date,
+    department varchar(255),
+    emergency_contact varchar(255),
+    first_name varchar(255) not null,
+    hire_date date,
+    last_name varchar(255) not null,
+    office_location varchar(255),
+    phone varchar(255),
+    photo_url varchar(255),
+    position varchar(255),
+    salary float(53),
+    social_security_number varchar(255),
+    updated_at timestamp(6),
+    user_id bigint not null,
+    primary key (id)
+);
+
+create table feedbacks (
+    id bigint generated by default as identity,
+    author_name varchar(255) not null,
+    created_at timestamp(6) not null,
+    is_polished boolean not null,
+    original_content varchar(2000),
+    polished_content varchar(2000),
+    updated_at timestamp(6),
+    employee_id bigint not null,
+    primary key (id)
+);
+
+create table users (
+    id bigint generated by default as identity,
+    created_at timestamp(6) not null,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    role enum ('COWORKER','EMPLOYEE','MANAGER') not null,
+    updated_at timestamp(6),
+    username varchar(255) not null,
+    primary key (id)
+);
+
+create index idx_absence_employee_id
+    on absences (employee_id);
+
+create index idx_absence_status
+    on absences (status);
+
+create index idx_employee_user_id
+    on employees (user_id);
+
+create index idx_employee_department
+    on employees (department);
+
+create index idx_feedback_employee_id
+    on feedbacks (employee_id);
+
+create index idx_feedback_author
+    on feedbacks (author_name);
+
+alter table if exists employees
+    add constraint UKj2dmgsma6pont6kf7nic9elpd unique (user_id);
+
+alter table if exists users
+    add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+alter table if exists users
+    add constraint UKr43af9ap4edm43mmtq01oddj6 unique (username);
+
+alter table if exists absences
+    add constraint FKlklcclr8g2uoy15595kww1uo8
+    foreign key (employee_id)
+    references employees;
+
+alter table if exists employees
+    add constraint FK69x3vjuy1t5p18a5llb8h2fjx
+    foreign key (user_id)
+    references users;
+
+alter table if exists feedbacks
+    add constraint FK1yfhxnnsf77bqye4rt6dspq21
+    foreign key (employee_id)
+    references employees;
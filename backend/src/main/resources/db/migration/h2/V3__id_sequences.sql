@@ -0,0 +1,32 @@
+-- Ids come from pooled sequences (allocationSize = 50) instead of IDENTITY columns, so inserts
+-- are batched. Hibernate's pooled optimizer uses the block of 50 ids ending at the value it fetches,
+-- so each sequence starts one allocation above the highest id already in its table.
+
+alter table absences alter column id drop identity;
+
+alter table employees alter column id drop identity;
+
+alter table feedbacks alter column id drop identity;
+
+alter table users alter column id drop identity;
+
+create sequence absences_seq start with 1 increment by 50;
+alter sequence absences_seq restart with (select coalesce(max(id), 0) + 50 from absences);
+
+create sequence employees_seq start with 1 increment by 50;
+alter sequence employees_seq restart with (select coalesce(max(id), 0) + 50 from employees);
+
+create sequence feedbacks_seq start with 1 increment by 50;
+alter sequence feedbacks_seq restart with (select coalesce(max(id), 0) + 50 from feedbacks);
+
+create sequence polish_job_items_seq start with 1 increment by 50;
+alter sequence polish_job_items_seq restart with (select coalesce(max(id), 0) + 50 from polish_job_items);
+
+create sequence polish_jobs_seq start with 1 increment by 50;
+alter sequence polish_jobs_seq restart with (select coalesce(max(id), 0) + 50 from polish_jobs);
+
+create sequence refresh_tokens_seq start with 1 increment by 50;
+alter sequence refresh_tokens_seq restart with (select coalesce(max(id), 0) + 50 from refresh_tokens);
+
+create sequence users_seq start with 1 increment by 50;
+alter sequence users_seq restart with (select coalesce(max(id), 0) + 50 from users);
@@ -0,0 +1,13 @@
+-- Indexes for the repository queries (the postgresql migration also has partial, trigram and
+-- employee/created_at indexes). Queries by employee_id are left to the index H2 keeps for the
+-- foreign key: H2 prefers it over any wider non-covering index, so a composite would go unused.
+
+-- AbsenceRepository.countByStatus, and status filters narrowed by date
+create index idx_absence_status_start
+    on absences (status, start_date);
+
+drop index idx_absence_status;
+
+-- RefreshTokenRepository.deleteExpired
+create index idx_refresh_token_expires
+    on refresh_tokens (expires_at);
@@ -0,0 +1,8 @@
+-- Every employee gets its feedback stats row when it is created, so counter changes are a plain
+-- atomic UPDATE. Backfill the rows of employees created before that from the feedbacks table.
+insert into employee_feedback_stats (employee_id, feedback_count, polished_count)
+select e.id,
+       (select count(*) from feedbacks f where f.employee_id = e.id),
+       (select count(*) from feedbacks f where f.employee_id = e.id and f.is_polished = true)
+from employees e
+where not exists (select 1 from employee_feedback_stats s where s.employee_id = e.id);
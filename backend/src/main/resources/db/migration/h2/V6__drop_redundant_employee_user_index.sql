@@ -0,0 +1,10 @@
+-- employees.user_id is unique, and the unique constraint's index already serves lookups by user.
+-- H2 picked the dropped index for the foreign key, so the key is re-added to move it over.
+alter table employees drop constraint FK69x3vjuy1t5p18a5llb8h2fjx;
+
+drop index idx_employee_user_id;
+
+alter table if exists employees
+    add constraint FK69x3vjuy1t5p18a5llb8h2fjx
+    foreign key (user_id)
+    references users;
@@ -0,0 +1,81 @@
+-- Tables and columns added since the baseline: the near-duplicate link on feedbacks, per-employee
+-- feedback counters, refresh and revoked tokens, and batch polish jobs
+
+alter table feedbacks add column duplicate_of_id bigint;
+
+create table employee_feedback_stats (
+    employee_id bigint not null,
+    feedback_count bigint not null,
+    polished_count bigint not null,
+    primary key (employee_id)
+);
+
+create table polish_job_items (
+    id bigint not null,
+    attempts integer not null,
+    feedback_id bigint not null,
+    job_id bigint not null,
+    last_error varchar(500),
+    status varchar(255) not null check (status in ('PENDING','POLISHED','SKIPPED','FAILED')),
+    primary key (id)
+);
+
+create table polish_jobs (
+    id bigint not null,
+    created_at timestamp(6) not null,
+    created_by varchar(255) not null,
+    finished_at timestamp(6),
+    started_at timestamp(6),
+    status varchar(255) not null check (status in ('QUEUED','RUNNING','PAUSED','COMPLETED','CANCELLED')),
+    total_items integer not null,
+    primary key (id)
+);
+
+create table refresh_tokens (
+    id bigint not null,
+    created_at timestamp(6) not null,
+    expires_at timestamp(6) not null,
+    family_id varchar(36) not null,
+    revoked_at timestamp(6),
+    token_hash varchar(64) not null,
+    user_id bigint not null,
+    primary key (id),
+    constraint idx_refresh_token_hash unique (token_hash)
+);
+
+create table revoked_tokens (
+    jti varchar(36) not null,
+    expires_at timestamp(6) not null,
+    primary key (jti)
+);
+
+-- Composite keys match the keyset pagination order (created_at DESC, id DESC)
+create index idx_feedback_employee_created
+    on feedbacks (employee_id, created_at, id);
+
+drop index idx_feedback_employee_id;
+
+drop index idx_feedback_author;
+
+create index idx_feedback_author
+    on feedbacks (author_name, created_at, id);
+
+create index idx_polish_item_job_status
+    on polish_job_items (job_id, status, id);
+
+create index idx_polish_job_status
+    on polish_jobs (status);
+
+create index idx_refresh_token_family
+    on refresh_tokens (family_id);
+
+create index idx_revoked_token_expires
+    on revoked_tokens (expires_at);
+
+-- Readable names for the generated unique constraints; AuthService tells a username clash from an
+-- email clash by the violated constraint
+alter table users rename constraint UKr43af9ap4edm43mmtq01oddj6 to uk_users_username;
+
+alter table users rename constraint UK6dotkott2kjsp8vw4d0m25fb7 to uk_users_email;
+
+alter table employees rename constraint UKj2dmgsma6pont6kf7nic9elpd to uk_employees_user_id;
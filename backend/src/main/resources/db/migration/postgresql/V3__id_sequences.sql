@@ -0,0 +1,32 @@
+-- Ids come from pooled sequences (allocationSize = 50) instead of IDENTITY columns, so inserts
+-- are batched. Hibernate's pooled optimizer uses the block of 50 ids ending at the value it fetches,
+-- so each sequence starts one allocation above the highest id already in its table.
+
+alter table absences alter column id drop identity if exists;
+
+alter table employees alter column id drop identity if exists;
+
+alter table feedbacks alter column id drop identity if exists;
+
+alter table users alter column id drop identity if exists;
+
+create sequence absences_seq start with 1 increment by 50;
+select setval('absences_seq', (select coalesce(max(id), 0) + 50 from absences), false);
+
+create sequence employees_seq start with 1 increment by 50;
+select setval('employees_seq', (select coalesce(max(id), 0) + 50 from employees), false);
+
+create sequence feedbacks_seq start with 1 increment by 50;
+select setval('feedbacks_seq', (select coalesce(max(id), 0) + 50 from feedbacks), false);
+
+create sequence polish_job_items_seq start with 1 increment by 50;
+select setval('polish_job_items_seq', (select coalesce(max(id), 0) + 50 from polish_job_items), false);
+
+create sequence polish_jobs_seq start with 1 increment by 50;
+select setval('polish_jobs_seq', (select coalesce(max(id), 0) + 50 from polish_jobs), false);
+
+create sequence refresh_tokens_seq start with 1 increment by 50;
+select setval('refresh_tokens_seq', (select coalesce(max(id), 0) + 50 from refresh_tokens), false);
+
+create sequence users_seq start with 1 increment by 50;
+select setval('users_seq', (select coalesce(max(id), 0) + 50 from users), false);
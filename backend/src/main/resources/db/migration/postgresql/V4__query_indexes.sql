@@ -0,0 +1,36 @@
+-- Indexes for the repository queries
+
+-- AbsenceRepository.findByEmployeeIdOrderByCreatedAtDesc (and findByEmployeeId through the prefix)
+create index idx_absence_employee_created
+    on absences (employee_id, created_at);
+
+drop index idx_absence_employee_id;
+
+-- AbsenceRepository.countByStatus is only ever asked for PENDING, and approved/rejected history
+-- keeps growing: a partial index stays the size of the pending queue
+create index idx_absence_pending_start
+    on absences (start_date)
+    where status = 'PENDING';
+
+drop index idx_absence_status;
+
+-- RefreshTokenRepository.deleteExpired
+create index idx_refresh_token_expires
+    on refresh_tokens (expires_at);
+
+-- EmployeeRepository.searchEmployees matches LOWER(column) LIKE '%term%'. A leading wildcard
+-- cannot use a B-tree, so each column gets a trigram index on the same expression, and the OR
+-- becomes a bitmap OR of the four. Requires the pg_trgm extension (part of contrib).
+create extension if not exists pg_trgm;
+
+create index idx_employee_first_name_trgm
+    on employees using gin (lower(first_name) gin_trgm_ops);
+
+create index idx_employee_last_name_trgm
+    on employees using gin (lower(last_name) gin_trgm_ops);
+
+create index idx_employee_position_trgm
+    on employees using gin (lower(position) gin_trgm_ops);
+
+create index idx_employee_department_trgm
+    on employees using gin (lower(department) gin_trgm_ops);
@@ -0,0 +1,2 @@
+-- employees.user_id is unique, and the unique constraint's index already serves lookups by user
+drop index idx_employee_user_id;
@@ -0,0 +1,170 @@
+package com.newwork.backend.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.newwork.backend.service.ai.OptionParser;
+import com.newwork.backend.service.ai.provider.CompletionContentExtractor;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Extracting and parsing a suggestions completion: the previous JsonNode tree walk and
+ * split/lower-case/replaceFirst option parsing (kept verbatim below as the baseline)
+ * against the streaming extractor and single-pass {@link OptionParser}.
+ *
+ * Responses carry usage and per-token logprobs as some servers return them, so the tree
+ * decode has to materialise much more than the one string that is used.
+ *
+ * Run: mvn -Pbenchmark test -DskipTests -Dbenchmark.include=CompletionParsingBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx1g"})
+public class CompletionParsingBenchmark {
+
+    private static final UnaryOperator<String> CLEANER = String::trim;
+
+    /** Words per option; 400 max tokens allows roughly 100 words each */
+    @Param({"25", "100"})
+    public int words;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private CompletionContentExtractor extractor;
+    private byte[] response;
+    private String content;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        extractor = new CompletionContentExtractor(objectMapper.getFactory());
+        Random random = new Random(42);
+
+        StringBuilder text = new StringBuilder("Here are three professional versions of the feedback:\n\n");
+        for (int option = 1; option <= 3; option++) {
+            text.append("OPTION ").append(option).append(": ").append(sentence(random, words)).append("\n\n");
+        }
+        content = text.toString();
+
+        StringBuilder logprobs = new StringBuilder();
+        for (String token : content.split(" ")) {
+            if (logprobs.length() > 0) {
+                logprobs.append(',');
+            }
+            logprobs.append("{\"token\":").append(objectMapper.writeValueAsString(token))
+                    .append(",\"logprob\":-").append(random.nextDouble()).append(",\"top_logprobs\":[]}");
+        }
+        response = ("{\"id\":\"chatcmpl-42\",\"object\":\"chat.completion\",\"created\":1700000000,"
+                + "\"model\":\"meta-llama/Llama-3.1-8B-Instruct\",\"choices\":[{\"index\":0,"
+                + "\"message\":{\"role\":\"assistant\",\"content\":" + objectMapper.writeValueAsString(content) + "},"
+                + "\"logprobs\":{\"content\":[" + logprobs + "]},\"finish_reason\":\"stop\"}],"
+                + "\"usage\":{\"prompt_tokens\":120,\"completion_tokens\":" + words * 4 + ",\"total_tokens\":" + (120 + words * 4) + "}}")
+                .getBytes(StandardCharsets.UTF_8);
+
+        // Guard against benchmarking two implementations that disagree
+        if (!legacyOptions().equals(singlePassOptions()) || !legacyExtract().equals(streamingExtract())) {
+            throw new IllegalStateException("Legacy and new parsing disagree");
+        }
+    }
+
+    @Benchmark
+    public String legacyExtract() throws IOException {
+        JsonNode tree = objectMapper.readTree(response);
+        return tree.get("choices").get(0).get("message").get("content").asText();
+    }
+
+    @Benchmark
+    public String streamingExtract() throws IOException {
+        return extractor.extractContent(response);
+    }
+
+    @Benchmark
+    public List<String> legacyOptions() {
+        return legacyParseOptions(content);
+    }
+
+    @Benchmark
+    public List<String> singlePassOptions() {
+        return OptionParser.parse(content, CLEANER);
+    }
+
+    @Benchmark
+    public List<String> legacyEndToEnd() throws IOException {
+        return legacyParseOptions(legacyExtract());
+    }
+
+    @Benchmark
+    public List<String> streamingEndToEnd() throws IOException {
+        return OptionParser.parse(extractor.extractContent(response), CLEANER);
+    }
+
+    private static String sentence(Random random, int words) {
+        String[] vocabulary = {"consistently", "delivers", "quality", "work", "team", "the", "and", "release",
+                "communication", "ownership", "mentoring", "on", "time", "with", "clear", "impact", "project"};
+        StringBuilder sb = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            if (w > 0) {
+                sb.append(' ');
+            }
+            sb.append(vocabulary[random.nextInt(vocabulary.length)]);
+        }
+        return sb.append('.').toString();
+    }
+
+    // Previous HuggingFaceService.parseOptions, unchanged apart from the cleaner
+    private static List<String> legacyParseOptions(String content) {
+        String[] lines = content.split("\n");
+        String option1 = "";
+        String option2 = "";
+        String option3 = "";
+
+        for (String line : lines) {
+            line = line.trim();
+
+            if (line.isEmpty() ||
+                line.toLowerCase().contains("here are") ||
+                line.toLowerCase().contains("professional versions") ||
+                line.toLowerCase().contains("below are") ||
+                line.toLowerCase().contains("i've generated")) {
+                continue;
+            }
+
+            if (line.startsWith("OPTION 1:") || line.startsWith("Option 1:") || line.startsWith("1.") || line.startsWith("1:")) {
+                option1 = line.replaceFirst("^(OPTION 1:|Option 1:|1\\.|1:)", "").trim();
+            } else if (line.startsWith("OPTION 2:") || line.startsWith("Option 2:") || line.startsWith("2.") || line.startsWith("2:")) {
+                option2 = line.replaceFirst("^(OPTION 2:|Option 2:|2\\.|2:)", "").trim();
+            } else if (line.startsWith("OPTION 3:") || line.startsWith("Option 3:") || line.startsWith("3.") || line.startsWith("3:")) {
+                option3 = line.replaceFirst("^(OPTION 3:|Option 3:|3\\.|3:)", "").trim();
+            }
+        }
+
+        if (option1.isEmpty() || option2.isEmpty() || option3.isEmpty()) {
+            List<String> nonEmptyLines = Arrays.stream(lines)
+                    .map(String::trim)
+                    .filter(l -> !l.isEmpty() &&
+                           !l.toLowerCase().startsWith("option") &&
+                           !l.toLowerCase().contains("here are") &&
+                           !l.toLowerCase().contains("professional versions") &&
+                           !l.toLowerCase().contains("below are") &&
+                           l.length() > 20)
+                    .limit(3)
+                    .collect(Collectors.toList());
+
+            if (nonEmptyLines.size() >= 3) {
+                return List.of(CLEANER.apply(nonEmptyLines.get(0)), CLEANER.apply(nonEmptyLines.get(1)),
+                        CLEANER.apply(nonEmptyLines.get(2)));
+            }
+        }
+
+        return List.of(CLEANER.apply(option1), CLEANER.apply(option2), CLEANER.apply(option3));
+    }
+}
@@ -0,0 +1,156 @@
+package com.newwork.backend.benchmark;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.h2.tools.Server;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk insert of 100k rows through Hibernate, as saveAll does: IDENTITY ids (one INSERT
+ * round-trip per row, batching disabled) against pooled sequences with allocationSize 50
+ * (one sequence call and one JDBC batch per 50 rows). Both use the application's batch_size
+ * and order_inserts settings.
+ *
+ * "mem" is in-process H2 and only shows the per-statement overhead; "tcp" goes through an
+ * H2 server on loopback, so every round-trip pays a real network hop as with PostgreSQL.
+ *
+ * Run: mvn -Pbenchmark test -DskipTests -Dbenchmark.include=IdGenerationBenchmark
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = {"-Xmx1g"})
+public class IdGenerationBenchmark {
+
+    // Persistence context is flushed and cleared this often, like a chunked saveAll
+    private static final int FLUSH_EVERY = 1000;
+
+    @Param({"IDENTITY", "SEQUENCE"})
+    public String strategy;
+
+    @Param({"mem", "tcp"})
+    public String database;
+
+    @Param({"100000"})
+    public int rows;
+
+    private Server server;
+    private SessionFactory sessionFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String url;
+        if ("tcp".equals(database)) {
+            server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+            url = "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:idbench;DB_CLOSE_DELAY=-1";
+        } else {
+            url = "jdbc:h2:mem:idbench;DB_CLOSE_DELAY=-1";
+        }
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(IdentityRow.class)
+                .addAnnotatedClass(SequenceRow.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, url)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .buildSessionFactory();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void clearTable() {
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            session.createMutationQuery("delete from IdentityRow").executeUpdate();
+            session.createMutationQuery("delete from SequenceRow").executeUpdate();
+            transaction.commit();
+        }
+    }
+
+    @Benchmark
+    public void bulkInsert() {
+        boolean identity = "IDENTITY".equals(strategy);
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            for (int i = 0; i < rows; i++) {
+                String name = "employee" + i;
+                session.persist(identity
+                        ? new IdentityRow(name, name + "@newwork.com", "Engineering")
+                        : new SequenceRow(name, name + "@newwork.com", "Engineering"));
+                if ((i + 1) % FLUSH_EVERY == 0) {
+                    session.flush();
+                    session.clear();
+                }
+            }
+            transaction.commit();
+        }
+    }
+
+    @Entity(name = "IdentityRow")
+    @Table(name = "identity_rows")
+    public static class IdentityRow {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+        @Column(nullable = false)
+        private String username;
+        @Column(nullable = false)
+        private String email;
+        private String department;
+
+        protected IdentityRow() {
+        }
+
+        IdentityRow(String username, String email, String department) {
+            this.username = username;
+            this.email = email;
+            this.department = department;
+        }
+    }
+
+    @Entity(name = "SequenceRow")
+    @Table(name = "sequence_rows")
+    public static class SequenceRow {
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequence_rows_seq")
+        @SequenceGenerator(name = "sequence_rows_seq", sequenceName = "sequence_rows_seq", allocationSize = 50)
+        private Long id;
+        @Column(nullable = false)
+        private String username;
+        @Column(nullable = false)
+        private String email;
+        private String department;
+
+        protected SequenceRow() {
+        }
+
+        SequenceRow(String username, String email, String department) {
+            this.username = username;
+            this.email = email;
+            this.department = department;
+        }
+    }
+}
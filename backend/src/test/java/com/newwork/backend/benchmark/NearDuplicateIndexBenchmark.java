@@ -0,0 +1,102 @@
+package com.newwork.backend.benchmark;
+
+import com.newwork.backend.service.text.MinHasher;
+import com.newwork.backend.service.text.NearDuplicateIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Near-duplicate lookups against 1M stored feedback signatures.
+ *
+ * Feedback is generated from a 5000-word vocabulary with a skewed (Zipf-like) word frequency,
+ * so unrelated texts still share common words as real peer feedback does. Probes are lightly
+ * edited copies of stored items (hit) or fresh texts (miss).
+ *
+ * Run: mvn -Pbenchmark test -DskipTests -Dbenchmark.include=NearDuplicateIndexBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx3g"})
+public class NearDuplicateIndexBenchmark {
+
+    private static final int VOCABULARY_SIZE = 5000;
+    private static final int PROBES = 1024;
+
+    @Param({"1000000"})
+    public int items;
+
+    private NearDuplicateIndex index;
+    private String[] vocabulary;
+    private String[] hitProbes;
+    private int[][] hitSignatures;
+    private int[][] missSignatures;
+    private long[] probeEmployees;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        vocabulary = new String[VOCABULARY_SIZE];
+        for (int w = 0; w < VOCABULARY_SIZE; w++) {
+            StringBuilder word = new StringBuilder();
+            for (int c = 3 + random.nextInt(7); c > 0; c--) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            vocabulary[w] = word.toString();
+        }
+        index = new NearDuplicateIndex(20);
+        hitProbes = new String[PROBES];
+        hitSignatures = new int[PROBES][];
+        missSignatures = new int[PROBES][];
+        probeEmployees = new long[PROBES];
+
+        for (int i = 0; i < items; i++) {
+            String text = sentence(random, 20 + random.nextInt(20));
+            long employeeId = random.nextInt(50_000);
+            index.add(i, employeeId, "author" + random.nextInt(5_000), MinHasher.signature(text));
+            if (i % (items / PROBES) == 0 && i / (items / PROBES) < PROBES) {
+                int p = i / (items / PROBES);
+                hitProbes[p] = text + " thanks";
+                probeEmployees[p] = employeeId;
+            }
+        }
+        for (int p = 0; p < PROBES; p++) {
+            hitSignatures[p] = MinHasher.signature(hitProbes[p]);
+            missSignatures[p] = MinHasher.signature(sentence(random, 30));
+        }
+    }
+
+    @Benchmark
+    public Object lookupHit() {
+        int p = cursor++ & (PROBES - 1);
+        return index.findNearDuplicate(hitSignatures[p], probeEmployees[p], "someone", 0.8);
+    }
+
+    @Benchmark
+    public Object lookupMiss() {
+        int p = cursor++ & (PROBES - 1);
+        return index.findNearDuplicate(missSignatures[p], probeEmployees[p], "someone", 0.8);
+    }
+
+    @Benchmark
+    public int[] signature() {
+        return MinHasher.signature(hitProbes[cursor++ & (PROBES - 1)]);
+    }
+
+    private String sentence(Random random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            if (w > 0) {
+                sb.append(' ');
+            }
+            // Low indexes are picked far more often, like common words in real text
+            sb.append(vocabulary[random.nextInt(random.nextInt(VOCABULARY_SIZE) + 1)]);
+        }
+        return sb.append('.').toString();
+    }
+}
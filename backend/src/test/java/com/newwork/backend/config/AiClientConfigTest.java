@@ -0,0 +1,125 @@
+package com.newwork.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The AI connection pool as bound from ai.http.*, exercised against a local server that
+ * records which client connection (remote port) served each request
+ */
+class AiClientConfigTest {
+
+    // The shared conversion service reads "5s" as a Duration, as SpringApplication sets it up
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withUserConfiguration(AiClientConfig.class)
+            .withBean(WebClient.Builder.class, WebClient::builder)
+            .withBean(ObjectMapper.class)
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+            .withPropertyValues("ai.provider=stub");
+
+    private final Map<String, Integer> portsByPath = new ConcurrentHashMap<>();
+    private DisposableServer server;
+
+    @BeforeEach
+    void startServer() {
+        server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/slow/{millis}", (request, response) -> {
+                    portsByPath.put(request.uri(), ((InetSocketAddress) request.remoteAddress()).getPort());
+                    return Mono.delay(Duration.ofMillis(Long.parseLong(request.param("millis"))))
+                            .then(response.sendString(Mono.just("ok")).then());
+                }))
+                .bindNow();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.disposeNow();
+    }
+
+    @Test
+    void pool_ShouldBindMaxConnectionsAndPendingAcquireLimit() {
+        contextRunner.withPropertyValues("ai.http.max-connections=1", "ai.http.pending-acquire-max-count=1",
+                "ai.http.pending-acquire-timeout=10s").run(context -> {
+            // Arrange
+            HttpClient httpClient = context.getBean("aiHttpClient", HttpClient.class);
+
+            // Act: one call holds the only connection, one waits for it, the third has no room to wait
+            List<String> results = Flux.range(0, 3)
+                    .flatMap(i -> get(httpClient, "/slow/500?call=" + i)
+                            .onErrorResume(e -> Mono.just("rejected")), 3)
+                    .collectList()
+                    .block(Duration.ofSeconds(10));
+
+            // Assert
+            assertEquals(1, context.getBean(ConnectionProvider.class).maxConnections());
+            assertEquals(2, results.stream().filter("ok"::equals).count(), results.toString());
+            assertEquals(1, results.stream().filter("rejected"::equals).count(), results.toString());
+            assertEquals(1, portsByPath.values().stream().distinct().count());
+        });
+    }
+
+    @Test
+    void pool_ShouldCloseConnectionsIdleLongerThanMaxIdleTime() {
+        contextRunner.withPropertyValues("ai.http.max-idle-time=200ms", "ai.http.evict-interval=50ms").run(context -> {
+            // Arrange
+            HttpClient httpClient = context.getBean("aiHttpClient", HttpClient.class);
+            get(httpClient, "/slow/0?call=first").block(Duration.ofSeconds(5));
+
+            // Act
+            Thread.sleep(600);
+            get(httpClient, "/slow/0?call=second").block(Duration.ofSeconds(5));
+
+            // Assert
+            assertNotEquals(portsByPath.get("/slow/0?call=first"), portsByPath.get("/slow/0?call=second"));
+        });
+    }
+
+    @Test
+    void pool_ShouldReuseMostRecentlyReleasedConnectionFirst() {
+        contextRunner.withPropertyValues("ai.http.max-connections=2").run(context -> {
+            // Arrange: two connections, the one serving the slower call is released last
+            HttpClient httpClient = context.getBean("aiHttpClient", HttpClient.class);
+            Flux.merge(get(httpClient, "/slow/100"), get(httpClient, "/slow/400")).blockLast(Duration.ofSeconds(5));
+            Thread.sleep(100);
+
+            // Act
+            get(httpClient, "/slow/0").block(Duration.ofSeconds(5));
+
+            // Assert
+            assertNotEquals(portsByPath.get("/slow/100"), portsByPath.get("/slow/400"));
+            assertEquals(portsByPath.get("/slow/400"), portsByPath.get("/slow/0"));
+        });
+    }
+
+    private Mono<String> get(HttpClient httpClient, String path) {
+        return httpClient.get()
+                .uri("http://localhost:" + server.port() + path)
+                .responseContent()
+                .aggregate()
+                .asString();
+    }
+}
@@ -0,0 +1,195 @@
+package com.newwork.backend.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routing over separate in-memory H2 databases, each holding a marker row naming itself
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactions_ShouldRoundRobinOverReplicas_AndWritesShouldUsePrimary() {
+        // Arrange
+        Routing routing = routing(Duration.ofSeconds(5), database("primary"), database("replica-1"), database("replica-2"));
+
+        // Act
+        List<String> reads = List.of(routing.readMarker(), routing.readMarker(), routing.readMarker());
+        String written = routing.writeAndReadMarker();
+
+        // Assert
+        assertEquals(List.of("replica-1", "replica-2", "replica-1"), reads);
+        assertEquals("primary", written);
+        assertEquals(3, meterRegistry.get("datasource.read_only.connections").tag("target", "replica").counter().count());
+    }
+
+    @Test
+    void readOnlyTransactions_ShouldUsePrimary_WithinOwnReadYourWritesWindow() {
+        // Arrange
+        Routing routing = routing(Duration.ofSeconds(30), database("primary"), database("replica-1"));
+        authenticate("alice");
+        routing.writeAndReadMarker();
+
+        // Act
+        String aliceRead = routing.readMarker();
+        authenticate("bob");
+        String bobRead = routing.readMarker();
+
+        // Assert
+        assertEquals("primary", aliceRead);
+        assertEquals("replica-1", bobRead);
+    }
+
+    @Test
+    void readOnlyTransactions_ShouldReturnToReplica_AfterWindowExpires() throws InterruptedException {
+        // Arrange
+        Routing routing = routing(Duration.ofMillis(50), database("primary"), database("replica-1"));
+        authenticate("alice");
+        routing.writeAndReadMarker();
+
+        // Act
+        Thread.sleep(100);
+        String read = routing.readMarker();
+
+        // Assert
+        assertEquals("replica-1", read);
+    }
+
+    @Test
+    void readOnlyTransactions_ShouldFailOver_WhenReplicaIsDown() {
+        // Arrange
+        DataSource unreachable = new DriverManagerDataSource("jdbc:h2:mem:missing;IFEXISTS=TRUE", "sa", "");
+        Routing routing = routing(Duration.ofSeconds(5), database("primary"), unreachable, database("replica-2"));
+
+        // Act
+        List<String> reads = List.of(routing.readMarker(), routing.readMarker(), routing.readMarker());
+        routing.routingDataSource.checkHealth();
+
+        // Assert
+        assertEquals(List.of("replica-2", "replica-2", "replica-2"), reads);
+        Map<String, ReplicaRoutingDataSource.ReplicaHealth> health = routing.routingDataSource.replicaHealth();
+        assertFalse(health.get("replica-1").healthy());
+        assertNotNull(health.get("replica-1").error());
+        assertNotNull(health.get("replica-1").unhealthySince());
+        assertEquals(new ReplicaRoutingDataSource.ReplicaHealth(true, null, null), health.get("replica-2"));
+    }
+
+    @Test
+    void readOnlyTransactions_ShouldUsePrimary_WhenNoReplicaIsHealthy() {
+        // Arrange
+        DataSource unreachable = new DriverManagerDataSource("jdbc:h2:mem:missing;IFEXISTS=TRUE", "sa", "");
+        Routing routing = routing(Duration.ofSeconds(5), database("primary"), unreachable);
+
+        // Act
+        String read = routing.readMarker();
+
+        // Assert
+        assertEquals("primary", read);
+        assertEquals(1, meterRegistry.get("datasource.read_only.connections").tag("target", "primary_failover").counter().count());
+    }
+
+    @Test
+    void getConnectionWithCredentials_ShouldRouteToReplica() throws SQLException {
+        // Arrange
+        Routing routing = routing(Duration.ofSeconds(5), database("primary"), database("replica-1"));
+
+        // Act
+        String read;
+        try (Connection connection = routing.routingDataSource.getConnection("sa", "");
+             ResultSet marker = connection.createStatement().executeQuery("SELECT name FROM marker")) {
+            marker.next();
+            read = marker.getString(1);
+        }
+
+        // Assert
+        assertEquals("replica-1", read);
+    }
+
+    @Test
+    void getConnectionWithCredentials_ShouldNotMarkReplicaUnhealthy_WhenPoolDoesNotSupportThem() {
+        // Arrange
+        DataSource pool = new DriverManagerDataSource() {
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                throw new SQLFeatureNotSupportedException();
+            }
+        };
+        Routing routing = routing(Duration.ofSeconds(5), database("primary"), pool);
+
+        // Act & Assert
+        assertThrows(SQLFeatureNotSupportedException.class, () -> routing.routingDataSource.getConnection("sa", ""));
+        assertTrue(routing.routingDataSource.replicaHealth().get("replica-1").healthy());
+    }
+
+    private Routing routing(Duration window, DataSource primary, DataSource... replicas) {
+        Map<String, DataSource> replicaMap = new LinkedHashMap<>();
+        for (DataSource replica : replicas) {
+            replicaMap.put("replica-" + (replicaMap.size() + 1), replica);
+        }
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(window);
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primary, replicaMap, tracker, meterRegistry);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(routingDataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionManager.setTransactionExecutionListeners(List.of(tracker));
+        return new Routing(routingDataSource, new JdbcTemplate(dataSource), transactionManager);
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:routing_" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS marker (name VARCHAR(32))");
+        jdbcTemplate.update("DELETE FROM marker");
+        jdbcTemplate.update("INSERT INTO marker (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(username, null, List.of()));
+    }
+
+    private record Routing(ReplicaRoutingDataSource routingDataSource, JdbcTemplate jdbcTemplate,
+                           DataSourceTransactionManager transactionManager) {
+
+        String readMarker() {
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            return readOnly.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM marker", String.class));
+        }
+
+        String writeAndReadMarker() {
+            return new TransactionTemplate(transactionManager).execute(status -> {
+                jdbcTemplate.update("UPDATE marker SET name = name");
+                return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+            });
+        }
+    }
+}
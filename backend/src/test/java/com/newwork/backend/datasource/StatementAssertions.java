@@ -0,0 +1,57 @@
+package com.newwork.backend.datasource;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Statement budgets for tests running against the proxied datasource:
+ * <pre>
+ * StatementAssertions.assertMaxStatements(3, () -&gt; mockMvc.perform(get("/api/employees/1")));
+ * </pre>
+ * Failures list the executed SQL with its execution count, so an N+1 is visible in the report.
+ */
+public final class StatementAssertions {
+
+    private StatementAssertions() {
+    }
+
+    public static StatementStats assertMaxStatements(int max, ThrowingRunnable action) {
+        StatementStats stats = capture(action);
+        if (stats.statements() > max) {
+            fail("Expected at most " + max + " statements but " + stats.statements() + " were executed:\n"
+                    + describe(stats.executionsBySql()));
+        }
+        return stats;
+    }
+
+    public static StatementStats assertNoRepeatedStatements(int threshold, ThrowingRunnable action) {
+        StatementStats stats = capture(action);
+        Map<String, Integer> repeated = stats.repeatedStatements(threshold);
+        if (!repeated.isEmpty()) {
+            fail("Statements executed " + threshold + " times or more (possible N+1):\n" + describe(repeated));
+        }
+        return stats;
+    }
+
+    private static StatementStats capture(ThrowingRunnable action) {
+        try (StatementCounter.Scope scope = StatementCounter.open()) {
+            action.run();
+            return scope.stats();
+        } catch (Exception e) {
+            throw new IllegalStateException("Action under test failed", e);
+        }
+    }
+
+    private static String describe(Map<String, Integer> executionsBySql) {
+        return executionsBySql.entrySet().stream()
+                .map(entry -> "  " + entry.getValue() + "x " + entry.getKey())
+                .collect(Collectors.joining("\n"));
+    }
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
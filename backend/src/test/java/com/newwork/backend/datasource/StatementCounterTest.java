@@ -0,0 +1,104 @@
+package com.newwork.backend.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The counting proxy over an in-memory H2 database, wrapped the way the application wraps its datasource
+ */
+class StatementCounterTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        DataSource h2 = new DriverManagerDataSource("jdbc:h2:mem:statement_counter;DB_CLOSE_DELAY=-1", "sa", "");
+        DataSource dataSource = (DataSource) new StatementCountingDataSourcePostProcessor()
+                .postProcessAfterInitialization(h2, StatementCountingDataSourcePostProcessor.DATA_SOURCE_BEAN);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS item (id BIGINT PRIMARY KEY, name VARCHAR(32))");
+        jdbcTemplate.update("DELETE FROM item");
+    }
+
+    @Test
+    void capture_ShouldCountStatements_AndCountBatchAsOne() {
+        // Act
+        StatementStats stats = StatementCounter.capture(() -> {
+            jdbcTemplate.batchUpdate("INSERT INTO item (id, name) VALUES (?, ?)",
+                    List.of(new Object[]{1, "a"}, new Object[]{2, "b"}, new Object[]{3, "c"}));
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM item", Integer.class);
+        });
+
+        // Assert
+        assertEquals(2, stats.statements());
+        assertFalse(stats.jdbcTime().isZero());
+    }
+
+    @Test
+    void statementsOutsideScope_ShouldNotBeCounted() {
+        // Arrange
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM item", Integer.class);
+
+        // Act
+        StatementStats stats = StatementCounter.capture(() -> {
+        });
+
+        // Assert
+        assertEquals(0, stats.statements());
+    }
+
+    @Test
+    void nestedScope_ShouldAddToEnclosingScope() {
+        // Act
+        StatementStats inner;
+        StatementStats outer;
+        try (StatementCounter.Scope scope = StatementCounter.open()) {
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM item", Integer.class);
+            inner = StatementCounter.capture(() -> jdbcTemplate.queryForList("SELECT name FROM item"));
+            outer = scope.stats();
+        }
+
+        // Assert
+        assertEquals(1, inner.statements());
+        assertEquals(2, outer.statements());
+    }
+
+    @Test
+    void repeatedStatements_ShouldReportSqlRunOncePerRow() {
+        // Arrange
+        jdbcTemplate.batchUpdate("INSERT INTO item (id, name) VALUES (?, ?)",
+                List.of(new Object[]{1, "a"}, new Object[]{2, "b"}, new Object[]{3, "c"}));
+
+        // Act
+        StatementStats stats = StatementCounter.capture(() -> {
+            for (Long id : jdbcTemplate.queryForList("SELECT id FROM item", Long.class)) {
+                jdbcTemplate.queryForObject("SELECT name FROM item WHERE id = ?", String.class, id);
+            }
+        });
+
+        // Assert
+        assertEquals(4, stats.statements());
+        assertEquals(Map.of("SELECT name FROM item WHERE id = ?", 3), stats.repeatedStatements(3));
+    }
+
+    @Test
+    void assertMaxStatements_ShouldFail_WhenBudgetIsExceeded() {
+        // Act & Assert
+        StatementAssertions.assertMaxStatements(1, () -> jdbcTemplate.queryForList("SELECT * FROM item"));
+        AssertionFailedError error = assertThrows(AssertionFailedError.class,
+                () -> StatementAssertions.assertMaxStatements(1, () -> {
+                    jdbcTemplate.queryForList("SELECT * FROM item");
+                    jdbcTemplate.queryForList("SELECT * FROM item");
+                }));
+        assertTrue(error.getMessage().contains("2x SELECT * FROM item"), error.getMessage());
+    }
+}
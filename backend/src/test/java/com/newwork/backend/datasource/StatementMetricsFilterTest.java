@@ -0,0 +1,108 @@
+package com.newwork.backend.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementMetricsFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        DataSource h2 = new DriverManagerDataSource("jdbc:h2:mem:statement_metrics;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate((DataSource) new StatementCountingDataSourcePostProcessor()
+                .postProcessAfterInitialization(h2, StatementCountingDataSourcePostProcessor.DATA_SOURCE_BEAN));
+    }
+
+    @Test
+    void doFilter_ShouldRecordStatementsPerEndpoint() throws Exception {
+        // Act
+        request(new StatementMetricsFilter(meterRegistry, false, 5), 3, true);
+
+        // Assert
+        assertEquals(3.0, meterRegistry.get("jdbc.request.statements")
+                .tags("method", "GET", "uri", "/api/employees/{id}").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("jdbc.request.time")
+                .tags("method", "GET", "uri", "/api/employees/{id}").timer().count());
+        assertTrue(meterRegistry.find("jdbc.request.n_plus_one").counters().isEmpty());
+    }
+
+    @Test
+    void doFilter_ShouldAddServerTimingHeader_BeforeBodyIsWritten() throws Exception {
+        // Act
+        MockHttpServletResponse response = request(new StatementMetricsFilter(meterRegistry, true, 5), 2, true);
+
+        // Assert
+        assertTrue(response.isCommitted());
+        assertTrue(response.getHeader(StatementMetricsFilter.SERVER_TIMING).matches("db;dur=[0-9.]+;desc=\"2 statements\""),
+                response.getHeader(StatementMetricsFilter.SERVER_TIMING));
+    }
+
+    @Test
+    void doFilter_ShouldAddServerTimingHeader_WhenNothingIsWritten() throws Exception {
+        // Act
+        MockHttpServletResponse response = request(new StatementMetricsFilter(meterRegistry, true, 5), 1, false);
+
+        // Assert
+        assertTrue(response.getHeader(StatementMetricsFilter.SERVER_TIMING).endsWith("desc=\"1 statements\""));
+    }
+
+    @Test
+    void doFilter_ShouldOmitServerTimingHeader_WhenDisabled() throws Exception {
+        // Act
+        MockHttpServletResponse response = request(new StatementMetricsFilter(meterRegistry, false, 5), 1, true);
+
+        // Assert
+        assertNull(response.getHeader(StatementMetricsFilter.SERVER_TIMING));
+    }
+
+    @Test
+    void doFilter_ShouldCountPossibleNPlusOne_WhenSameStatementRepeats() throws Exception {
+        // Act
+        request(new StatementMetricsFilter(meterRegistry, false, 5), 6, true);
+
+        // Assert
+        assertEquals(1, meterRegistry.get("jdbc.request.n_plus_one")
+                .tags("method", "GET", "uri", "/api/employees/{id}").counter().count());
+    }
+
+    /**
+     * A handler for /api/employees/{id} that runs the same query {@code statements} times
+     */
+    private MockHttpServletResponse request(StatementMetricsFilter filter, int statements, boolean writeBody)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServlet handler = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) throws IOException {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/employees/{id}");
+                for (int i = 0; i < statements; i++) {
+                    jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+                }
+                if (writeBody) {
+                    res.getWriter().write("{}");
+                    res.flushBuffer();
+                }
+            }
+        };
+        filter.doFilter(request, response, new MockFilterChain(handler));
+        return response;
+    }
+}
@@ -0,0 +1,37 @@
+package com.newwork.backend.exception;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    void tooManyRequests_ShouldSendRetryAfterInWholeSeconds() {
+        // Act
+        ResponseEntity<GlobalExceptionHandler.ErrorResponse> response = handler.handleTooManyRequestsException(
+                new TooManyRequestsException("limit", Duration.ofMillis(90_200)));
+
+        // Assert
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("91", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void tooManyRequests_ShouldOmitRetryAfter_WhenWaitIsUnknown() {
+        // Act
+        ResponseEntity<GlobalExceptionHandler.ErrorResponse> response = handler.handleTooManyRequestsException(
+                new TooManyRequestsException("busy"));
+
+        // Assert
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.RETRY_AFTER));
+    }
+}
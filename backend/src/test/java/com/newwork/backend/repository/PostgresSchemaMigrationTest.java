@@ -0,0 +1,316 @@
+package com.newwork.backend.repository;
+
+import com.newwork.backend.entity.Absence;
+import com.newwork.backend.entity.Employee;
+import com.newwork.backend.entity.Feedback;
+import com.newwork.backend.entity.User;
+import jakarta.persistence.EntityManager;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.hibernate5.SpringBeanContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Applies the PostgreSQL migrations to a PostgreSQL container, validates the entities against
+ * the result and explains the SQL that Hibernate generates for the repository methods, with the
+ * parameters they bound. Sequential scans are disabled while explaining, so a failure means the
+ * index cannot serve the generated statement at all; which plan wins on production data depends
+ * on its statistics. Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresSchemaMigrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final List<QueryInfo> QUERIES = new CopyOnWriteArrayList<>();
+
+    private static DataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+    private static StandardServiceRegistry registry;
+    private static SessionFactory sessionFactory;
+
+    private EntityManager entityManager;
+    private JpaRepositoryFactory repositoryFactory;
+
+    @BeforeAll
+    static void migrate() {
+        dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // The later versions run over existing rows, as on a database that predates them
+        migrate("1");
+        seed();
+        migrate("latest");
+        seedRefreshTokens();
+        jdbcTemplate.execute("ANALYZE");
+
+        // UserChangeListener takes the event publisher by constructor, as in the application
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerResolvableDependency(ApplicationEventPublisher.class, (ApplicationEventPublisher) event -> {
+        });
+        registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE, ProxyDataSourceBuilder.create(dataSource)
+                        .afterQuery((execution, queries) -> QUERIES.addAll(queries))
+                        .build())
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "validate")
+                .applySetting(AvailableSettings.BEAN_CONTAINER, new SpringBeanContainer(beanFactory))
+                .applySetting(AvailableSettings.PHYSICAL_NAMING_STRATEGY,
+                        "org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy")
+                .applySetting(AvailableSettings.IMPLICIT_NAMING_STRATEGY,
+                        "org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy")
+                .build();
+        MetadataSources sources = new MetadataSources(registry);
+        for (String entity : new String[]{"Absence", "Employee", "EmployeeFeedbackStats", "Feedback", "PolishJob",
+                "PolishJobItem", "RefreshToken", "RevokedToken", "User"}) {
+            sources.addAnnotatedClassName("com.newwork.backend.entity." + entity);
+        }
+        // hbm2ddl=validate: throws SchemaManagementException on any mismatch with the migrated schema
+        sessionFactory = sources.buildMetadata().buildSessionFactory();
+    }
+
+    private static void migrate(String target) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/postgresql")
+                .target(target)
+                .load()
+                .migrate();
+    }
+
+    /**
+     * Enough rows per baseline table, with realistic selectivity, that the statistics mean something
+     */
+    private static void seed() {
+        jdbcTemplate.execute("INSERT INTO users (id, created_at, email, password, role, username) " +
+                "SELECT i, now(), 'user' || i || '@newwork.com', 'x', 'EMPLOYEE', 'user' || i " +
+                "FROM generate_series(1, 50000) i");
+        jdbcTemplate.execute("INSERT INTO employees (id, created_at, first_name, last_name, position, department, user_id) " +
+                "SELECT i, now(), 'First' || i, 'Last' || i, 'Engineer', 'Department' || (i % 20), i " +
+                "FROM generate_series(1, 50000) i");
+        jdbcTemplate.execute("INSERT INTO absences (id, created_at, start_date, end_date, status, type, employee_id) " +
+                "SELECT i, TIMESTAMP '2025-01-01' + i * INTERVAL '1 minute', DATE '2025-01-01' + i % 700, " +
+                "DATE '2025-01-02' + i % 700, (ARRAY['APPROVED', 'APPROVED', 'APPROVED', 'REJECTED', 'PENDING'])[i % 5 + 1], " +
+                "'VACATION', i % 50000 + 1 FROM generate_series(1, 50000) i");
+        jdbcTemplate.execute("INSERT INTO feedbacks (id, author_name, created_at, is_polished, original_content, employee_id) " +
+                "SELECT i, 'user' || (i % 500 + 1), TIMESTAMP '2025-01-01' + i * INTERVAL '1 minute', false, 'Great work', " +
+                "i % 50000 + 1 FROM generate_series(1, 50000) i");
+    }
+
+    private static void seedRefreshTokens() {
+        jdbcTemplate.execute("INSERT INTO refresh_tokens (id, created_at, expires_at, family_id, token_hash, user_id) " +
+                "SELECT i, now(), TIMESTAMP '2025-12-01' + i * INTERVAL '10 minutes', 'family' || i, 'hash' || i, i % 50000 + 1 " +
+                "FROM generate_series(1, 20000) i");
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (sessionFactory != null) {
+            sessionFactory.close();
+        }
+        StandardServiceRegistryBuilder.destroy(registry);
+    }
+
+    @BeforeEach
+    void openEntityManager() {
+        entityManager = sessionFactory.createEntityManager();
+        repositoryFactory = new JpaRepositoryFactory(entityManager);
+        QUERIES.clear();
+    }
+
+    @AfterEach
+    void closeEntityManager() {
+        entityManager.close();
+    }
+
+    @Test
+    void pendingAbsenceCount_ShouldUsePartialIndex() {
+        // Arrange
+        AbsenceRepository repository = repositoryFactory.getRepository(AbsenceRepository.class);
+
+        // Act
+        repository.countByStatus(Absence.AbsenceStatus.PENDING);
+
+        // Assert
+        assertUsesIndex(explain(sql -> sql.contains("count(")), "idx_absence_pending_start");
+    }
+
+    @Test
+    void employeeAbsences_ShouldUseEmployeeCreatedIndex() {
+        // Arrange
+        AbsenceRepository repository = repositoryFactory.getRepository(AbsenceRepository.class);
+
+        // Act
+        repository.findByEmployeeIdOrderByCreatedAtDesc(1L);
+
+        // Assert
+        assertUsesIndex(explain(sql -> sql.contains("from absences")), "idx_absence_employee_created");
+    }
+
+    @Test
+    void feedPages_ShouldUseEmployeeCreatedIndex() {
+        // Arrange
+        FeedbackRepository repository = repositoryFactory.getRepository(FeedbackRepository.class);
+
+        // Act
+        repository.findFeedPage(1L, Limit.of(20));
+        String firstPagePlan = explain(sql -> sql.contains("from feedbacks"));
+        QUERIES.clear();
+        repository.findFeedPageAfter(1L, LocalDateTime.of(2025, 6, 1, 0, 0), 100_000L, Limit.of(20));
+        String nextPagePlan = explain(sql -> sql.contains("from feedbacks"));
+
+        // Assert
+        assertUsesIndex(firstPagePlan, "idx_feedback_employee_created");
+        assertUsesIndex(nextPagePlan, "idx_feedback_employee_created");
+    }
+
+    @Test
+    void authoredPage_ShouldUseAuthorIndex() {
+        // Arrange
+        FeedbackRepository repository = repositoryFactory.getRepository(FeedbackRepository.class);
+
+        // Act
+        repository.findAuthoredPage("user1", Limit.of(20));
+
+        // Assert
+        assertUsesIndex(explain(sql -> sql.contains("from feedbacks")), "idx_feedback_author");
+    }
+
+    @Test
+    void employeeSearch_ShouldUseTrigramIndexes() {
+        // Arrange
+        EmployeeRepository repository = repositoryFactory.getRepository(EmployeeRepository.class);
+
+        // Act
+        repository.searchEmployees("first1234", PageRequest.of(0, 20));
+
+        // Assert
+        String plan = explain(sql -> sql.contains("like") && !sql.contains("count("));
+        for (String index : new String[]{"idx_employee_first_name_trgm", "idx_employee_last_name_trgm",
+                "idx_employee_position_trgm", "idx_employee_department_trgm"}) {
+            assertUsesIndex(plan, index);
+        }
+    }
+
+    @Test
+    void employeeByUser_ShouldUseUniqueConstraintIndex() {
+        // Arrange
+        EmployeeRepository repository = repositoryFactory.getRepository(EmployeeRepository.class);
+
+        // Act
+        repository.findByUserId(1L);
+
+        // Assert
+        assertUsesIndex(explain(sql -> sql.contains("from employees")), "uk_employees_user_id");
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_indexes WHERE indexname = 'idx_employee_user_id'", Integer.class));
+    }
+
+    @Test
+    void expiredRefreshTokenCleanup_ShouldUseExpiresIndex() {
+        // Arrange
+        RefreshTokenRepository repository = repositoryFactory.getRepository(RefreshTokenRepository.class);
+
+        // Act: bulk deletes need a transaction; rolled back so other tests keep the rows
+        entityManager.getTransaction().begin();
+        try {
+            repository.deleteExpired(LocalDateTime.of(2025, 12, 2, 0, 0));
+        } finally {
+            entityManager.getTransaction().rollback();
+        }
+
+        // Assert
+        assertUsesIndex(explain(sql -> sql.startsWith("delete")), "idx_refresh_token_expires");
+    }
+
+    @Test
+    void persist_ShouldAssignIdsAboveExistingRows() {
+        // Arrange
+        Employee employee = entityManager.getReference(Employee.class, 1L);
+        User user = User.builder().username("newcomer").email("newcomer@newwork.com").password("x")
+                .role(User.Role.EMPLOYEE).build();
+        Feedback feedback = Feedback.builder().employee(employee).authorName("user1").originalContent("Great work").build();
+
+        // Act: rolled back so other tests keep the seeded rows
+        entityManager.getTransaction().begin();
+        try {
+            entityManager.persist(user);
+            entityManager.persist(feedback);
+            entityManager.flush();
+        } finally {
+            entityManager.getTransaction().rollback();
+        }
+
+        // Assert
+        assertTrue(user.getId() > 50_000, "user id " + user.getId());
+        assertTrue(feedback.getId() > 50_000, "feedback id " + feedback.getId());
+    }
+
+    /**
+     * Explains the last captured statement matching the filter, with the parameters it was run with
+     */
+    private static String explain(Predicate<String> filter) {
+        QueryInfo query = QUERIES.stream()
+                .filter(info -> filter.test(info.getQuery().toLowerCase()))
+                .reduce((first, second) -> second)
+                .orElseThrow(() -> new AssertionError("No matching statement in " +
+                        QUERIES.stream().map(QueryInfo::getQuery).toList()));
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET enable_seqscan = off");
+            }
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + query.getQuery())) {
+                if (!query.getParametersList().isEmpty()) {
+                    for (ParameterSetOperation parameter : query.getParametersList().get(0)) {
+                        parameter.getMethod().invoke(statement, parameter.getArgs());
+                    }
+                }
+                StringBuilder plan = new StringBuilder(query.getQuery()).append('\n');
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        plan.append(rows.getString(1)).append('\n');
+                    }
+                }
+                return plan.toString();
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not explain " + query.getQuery(), e);
+        }
+    }
+
+    private static void assertUsesIndex(String plan, String index) {
+        assertTrue(plan.toLowerCase().contains(index), "expected " + index + " in plan:\n" + plan);
+    }
+}
@@ -0,0 +1,108 @@
+package com.newwork.backend.repository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.Modifying;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RepositoryCallInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    interface ItemRepository {
+        List<String> findAll();
+
+        Page<String> findPage();
+
+        Optional<String> findFirst();
+
+        long countAll();
+
+        @Modifying
+        int deleteAll();
+
+        void touch();
+    }
+
+    static class InMemoryItemRepository implements ItemRepository {
+        public List<String> findAll() {
+            return List.of("a", "b", "c");
+        }
+
+        public Page<String> findPage() {
+            return new PageImpl<>(List.of("a", "b"), PageRequest.of(0, 2), 10);
+        }
+
+        public Optional<String> findFirst() {
+            return Optional.empty();
+        }
+
+        public long countAll() {
+            return 42;
+        }
+
+        public int deleteAll() {
+            return 7;
+        }
+
+        public void touch() {
+        }
+    }
+
+    @Test
+    void invoke_ShouldRecordRowsPerMethod() {
+        // Arrange
+        ItemRepository repository = proxy(Duration.ofSeconds(10));
+
+        // Act
+        repository.findAll();
+        repository.findPage();
+        repository.findFirst();
+        repository.countAll();
+        repository.deleteAll();
+        repository.touch();
+
+        // Assert
+        assertEquals(3, rows("findAll"));
+        assertEquals(2, rows("findPage"));
+        assertEquals(0, rows("findFirst"));
+        assertEquals(1, rows("countAll"));
+        assertEquals(7, rows("deleteAll"));
+        assertNull(meterRegistry.find("repository.rows").tag("method", "touch").summary());
+        assertTrue(meterRegistry.find("repository.slow_calls").counters().isEmpty());
+    }
+
+    @Test
+    void invoke_ShouldCountSlowCalls_AboveThreshold() {
+        // Arrange
+        ItemRepository repository = proxy(Duration.ZERO);
+
+        // Act
+        repository.findAll();
+
+        // Assert
+        assertEquals(1, meterRegistry.get("repository.slow_calls")
+                .tags("repository", "ItemRepository", "method", "findAll").counter().count());
+    }
+
+    private ItemRepository proxy(Duration slowThreshold) {
+        ProxyFactory proxyFactory = new ProxyFactory(new InMemoryItemRepository());
+        proxyFactory.addInterface(ItemRepository.class);
+        proxyFactory.addAdvice(new RepositoryCallInterceptor(ItemRepository.class, meterRegistry, slowThreshold));
+        return (ItemRepository) proxyFactory.getProxy();
+    }
+
+    private double rows(String method) {
+        return meterRegistry.get("repository.rows").tags("repository", "ItemRepository", "method", method)
+                .summary().totalAmount();
+    }
+}
@@ -0,0 +1,258 @@
+package com.newwork.backend.repository;
+
+import com.newwork.backend.entity.Absence;
+import com.newwork.backend.entity.Employee;
+import com.newwork.backend.entity.Feedback;
+import com.newwork.backend.entity.User;
+import jakarta.persistence.EntityManager;
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.hibernate5.SpringBeanContainer;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Applies the H2 migrations over a populated baseline, checks the entities against the result (as
+ * ddl-auto=validate does at startup) and asserts that the query shapes of the repositories are
+ * served by their indexes
+ */
+class SchemaMigrationTest {
+
+    private static final String URL = "jdbc:h2:mem:migrations;DB_CLOSE_DELAY=-1";
+
+    private static DriverManagerDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void migrate() {
+        dataSource = new DriverManagerDataSource(URL, "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // The later versions run over existing rows, as on a database that predates them
+        migrate("1");
+        seed();
+        migrate("latest");
+        seedRefreshTokens();
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private static void migrate(String target) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/h2")
+                .target(target)
+                .load()
+                .migrate();
+    }
+
+    /**
+     * Enough rows per baseline table, with realistic selectivity, that the cost-based optimizer has a choice
+     */
+    private static void seed() {
+        int employees = 200;
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, created_at, email, password, role, username) " +
+                "VALUES (?, CURRENT_TIMESTAMP, ?, 'x', 'EMPLOYEE', ?)", IntStream.rangeClosed(1, employees)
+                .mapToObj(i -> new Object[]{i, "user" + i + "@newwork.com", "user" + i}).toList());
+        jdbcTemplate.batchUpdate("INSERT INTO employees (id, created_at, first_name, last_name, department, user_id) " +
+                "VALUES (?, CURRENT_TIMESTAMP, 'First', 'Last', 'Engineering', ?)", IntStream.rangeClosed(1, employees)
+                .mapToObj(i -> new Object[]{i, i}).toList());
+        String[] statuses = {"APPROVED", "APPROVED", "APPROVED", "REJECTED", "PENDING"};
+        jdbcTemplate.batchUpdate("INSERT INTO absences (id, created_at, start_date, end_date, status, type, employee_id) " +
+                "VALUES (?, DATEADD(MINUTE, ?, TIMESTAMP '2025-01-01 00:00:00'), DATEADD(DAY, ?, DATE '2025-01-01'), " +
+                "DATEADD(DAY, ?, DATE '2025-01-02'), ?, 'VACATION', ?)", IntStream.rangeClosed(1, 20_000)
+                .mapToObj(i -> new Object[]{i, i, i % 700, i % 700, statuses[i % statuses.length], i % employees + 1}).toList());
+        jdbcTemplate.batchUpdate("INSERT INTO feedbacks (id, author_name, created_at, is_polished, original_content, employee_id) " +
+                "VALUES (?, ?, DATEADD(MINUTE, ?, TIMESTAMP '2025-01-01 00:00:00'), FALSE, 'Great work', ?)",
+                IntStream.rangeClosed(1, 20_000)
+                .mapToObj(i -> new Object[]{i, "user" + (i % 50 + 1), i, i % employees + 1}).toList());
+    }
+
+    private static void seedRefreshTokens() {
+        jdbcTemplate.batchUpdate("INSERT INTO refresh_tokens (id, created_at, expires_at, family_id, token_hash, user_id) " +
+                "VALUES (?, CURRENT_TIMESTAMP, DATEADD(MINUTE, ?, TIMESTAMP '2025-12-01 00:00:00'), ?, ?, 1)",
+                IntStream.rangeClosed(1, 5_000)
+                .mapToObj(i -> new Object[]{i, i * 10, "family" + i, "hash" + i}).toList());
+    }
+
+    @AfterAll
+    static void dropDatabase() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void migrations_ShouldMatchEntityMappings() {
+        // Arrange
+        StandardServiceRegistry registry = registryBuilder()
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "validate")
+                .build();
+        try {
+            Metadata metadata = metadata(registry);
+            Map<String, Object> settings = new HashMap<>(registry.requireService(ConfigurationService.class).getSettings());
+
+            // Act & Assert: throws SchemaManagementException on any missing table, column, sequence or type mismatch
+            assertDoesNotThrow(() -> SchemaManagementToolCoordinator.process(metadata, registry, settings, action -> {
+            }));
+        } finally {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+    }
+
+    @Test
+    void idSequences_ShouldStartAboveExistingIds() {
+        // Act
+        long nextUserBlock = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR users_seq", Long.class);
+        long nextFeedbackBlock = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR feedbacks_seq", Long.class);
+
+        // Assert: the pooled optimizer hands out the 50 ids up to the fetched value
+        assertTrue(nextUserBlock - 50 >= maxId("users"), "users_seq at " + nextUserBlock);
+        assertTrue(nextFeedbackBlock - 50 >= maxId("feedbacks"), "feedbacks_seq at " + nextFeedbackBlock);
+    }
+
+    @Test
+    void persist_ShouldAssignIdsAboveExistingRows() {
+        // Arrange
+        long maxUserId = maxId("users");
+        long maxAbsenceId = maxId("absences");
+        long maxFeedbackId = maxId("feedbacks");
+        // UserChangeListener takes the event publisher by constructor, as in the application
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerResolvableDependency(ApplicationEventPublisher.class, (ApplicationEventPublisher) event -> {
+        });
+        StandardServiceRegistry registry = registryBuilder()
+                .applySetting(AvailableSettings.BEAN_CONTAINER, new SpringBeanContainer(beanFactory))
+                .build();
+        try (SessionFactory sessionFactory = metadata(registry).buildSessionFactory()) {
+            EntityManager entityManager = sessionFactory.createEntityManager();
+            Employee employee = entityManager.getReference(Employee.class, 1L);
+            User user = User.builder().username("newcomer").email("newcomer@newwork.com").password("x")
+                    .role(User.Role.EMPLOYEE).build();
+            Absence absence = Absence.builder().employee(employee).startDate(LocalDate.of(2026, 3, 2))
+                    .endDate(LocalDate.of(2026, 3, 3)).type(Absence.AbsenceType.VACATION).build();
+            Feedback feedback = Feedback.builder().employee(employee).authorName("user1").originalContent("Great work").build();
+
+            // Act
+            entityManager.getTransaction().begin();
+            entityManager.persist(user);
+            entityManager.persist(absence);
+            entityManager.persist(feedback);
+            entityManager.flush();
+            entityManager.getTransaction().rollback();
+            entityManager.close();
+
+            // Assert
+            assertTrue(user.getId() > maxUserId, "user id " + user.getId());
+            assertTrue(absence.getId() > maxAbsenceId, "absence id " + absence.getId());
+            assertTrue(feedback.getId() > maxFeedbackId, "feedback id " + feedback.getId());
+        } finally {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+    }
+
+    @Test
+    void feedbackStats_ShouldBeBackfilledFromExistingRows() {
+        // Act
+        Long feedbacks = jdbcTemplate.queryForObject("SELECT SUM(feedback_count) FROM employee_feedback_stats", Long.class);
+
+        // Assert
+        assertEquals(20_000L, feedbacks);
+    }
+
+    @Test
+    void pendingAbsenceCount_ShouldUseStatusIndex() {
+        // Act
+        String plan = explain("SELECT COUNT(*) FROM absences WHERE status = 'PENDING'");
+        String upcomingPlan = explain("SELECT COUNT(*) FROM absences WHERE status = 'PENDING' AND start_date >= DATE '2026-01-01'");
+
+        // Assert
+        assertUsesIndex(plan, "idx_absence_status_start");
+        assertUsesIndex(upcomingPlan, "idx_absence_status_start");
+    }
+
+    @Test
+    void authoredFeedbackPage_ShouldUseAuthorIndex() {
+        // Act
+        String plan = explain("SELECT * FROM feedbacks WHERE author_name = 'user1' AND (created_at < TIMESTAMP '2026-01-01 00:00:00' " +
+                "OR (created_at = TIMESTAMP '2026-01-01 00:00:00' AND id < 10)) ORDER BY created_at DESC, id DESC LIMIT 20");
+
+        // Assert
+        assertUsesIndex(plan, "idx_feedback_author");
+    }
+
+    @Test
+    void employeeScopedQueries_ShouldNotScanTables() {
+        // Act
+        String absencesPlan = explain("SELECT * FROM absences WHERE employee_id = 1 ORDER BY created_at DESC");
+        String feedPlan = explain("SELECT * FROM feedbacks WHERE employee_id = 1 ORDER BY created_at DESC, id DESC LIMIT 20");
+
+        // Assert
+        assertFalse(absencesPlan.contains("tableScan"), absencesPlan);
+        assertFalse(feedPlan.contains("tableScan"), feedPlan);
+    }
+
+    @Test
+    void pendingPolishItems_ShouldUseJobStatusIndex() {
+        // Act
+        String plan = explain("SELECT * FROM polish_job_items WHERE job_id = 1 AND status = 'PENDING' AND id > 0 ORDER BY id LIMIT 100");
+
+        // Assert
+        assertUsesIndex(plan, "idx_polish_item_job_status");
+    }
+
+    @Test
+    void expiredRefreshTokenCleanup_ShouldUseExpiresIndex() {
+        // Act
+        String plan = explain("DELETE FROM refresh_tokens WHERE expires_at < TIMESTAMP '2026-01-01 00:00:00'");
+
+        // Assert
+        assertUsesIndex(plan, "idx_refresh_token_expires");
+    }
+
+    private static StandardServiceRegistryBuilder registryBuilder() {
+        return new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, URL)
+                .applySetting(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .applySetting(AvailableSettings.PHYSICAL_NAMING_STRATEGY,
+                        "org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy")
+                .applySetting(AvailableSettings.IMPLICIT_NAMING_STRATEGY,
+                        "org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy");
+    }
+
+    private static Metadata metadata(StandardServiceRegistry registry) {
+        MetadataSources sources = new MetadataSources(registry);
+        for (String entity : new String[]{"Absence", "Employee", "EmployeeFeedbackStats", "Feedback", "PolishJob",
+                "PolishJobItem", "RefreshToken", "RevokedToken", "User"}) {
+            sources.addAnnotatedClassName("com.newwork.backend.entity." + entity);
+        }
+        return sources.buildMetadata();
+    }
+
+    private static long maxId(String table) {
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+    }
+
+    private static String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+
+    private static void assertUsesIndex(String plan, String index) {
+        assertTrue(plan.toLowerCase().contains(index), "expected " + index + " in plan:\n" + plan);
+    }
+}
@@ -0,0 +1,235 @@
+package com.newwork.backend.repository;
+
+import com.newwork.backend.entity.Employee;
+import com.newwork.backend.entity.User;
+import com.newwork.backend.event.UserChangedEvent;
+import com.newwork.backend.security.RedisUserCacheInvalidation;
+import com.newwork.backend.security.UserDetailsCache;
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.hibernate5.SpringBeanContainer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs Hibernate with the second-level cache settings of application.properties over the H2
+ * migrations, counting JDBC statements through the Hibernate statistics
+ */
+class SecondLevelCacheTest {
+
+    private static final String URL = "jdbc:h2:mem:second_level_cache;DB_CLOSE_DELAY=-1";
+    private static final String PREFIX = "spring.jpa.properties.";
+
+    private static StandardServiceRegistry registry;
+    private static SessionFactory sessionFactory;
+    private static Statistics statistics;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(URL, "sa", "");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration/h2").load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO users (id, created_at, email, password, role, username) " +
+                "VALUES (1000, CURRENT_TIMESTAMP, 'jane@newwork.com', 'x', 'EMPLOYEE', 'jane')");
+        jdbcTemplate.update("INSERT INTO employees (id, created_at, first_name, last_name, department, user_id) " +
+                "VALUES (1000, CURRENT_TIMESTAMP, 'Jane', 'Doe', 'Engineering', 1000)");
+        jdbcTemplate.update("INSERT INTO users (id, created_at, email, password, role, username) " +
+                "VALUES (1001, CURRENT_TIMESTAMP, 'joe@newwork.com', 'x', 'EMPLOYEE', 'joe')");
+
+        // UserChangeListener takes the event publisher by constructor, as in the application
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerResolvableDependency(ApplicationEventPublisher.class,
+                (ApplicationEventPublisher) event -> assertInstanceOf(UserChangedEvent.class, event));
+
+        StandardServiceRegistryBuilder builder = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, URL)
+                .applySetting(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "validate")
+                .applySetting(AvailableSettings.BEAN_CONTAINER, new SpringBeanContainer(beanFactory))
+                .applySetting(AvailableSettings.PHYSICAL_NAMING_STRATEGY,
+                        "org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy")
+                .applySetting(AvailableSettings.IMPLICIT_NAMING_STRATEGY,
+                        "org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy");
+        Properties properties = PropertiesLoaderUtils.loadAllProperties("application.properties");
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(PREFIX + "hibernate.cache.") || name.startsWith(PREFIX + "hibernate.javax.cache.")
+                    || name.equals(PREFIX + "hibernate.generate_statistics")) {
+                builder.applySetting(name.substring(PREFIX.length()), properties.getProperty(name));
+            }
+        }
+        registry = builder.build();
+
+        MetadataSources sources = new MetadataSources(registry);
+        for (String entity : new String[]{"Absence", "Employee", "EmployeeFeedbackStats", "Feedback", "PolishJob",
+                "PolishJobItem", "RefreshToken", "RevokedToken", "User"}) {
+            sources.addAnnotatedClassName("com.newwork.backend.entity." + entity);
+        }
+        sessionFactory = sources.buildMetadata().buildSessionFactory();
+        statistics = sessionFactory.getStatistics();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        sessionFactory.close();
+        StandardServiceRegistryBuilder.destroy(registry);
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @BeforeEach
+    void clearCaches() {
+        sessionFactory.getCache().evictAllRegions();
+        statistics.clear();
+    }
+
+    @Test
+    void findByUsername_ShouldBeServedFromCache_AfterFirstLoad() {
+        // Arrange
+        findByUsername("jane");
+        long statements = statistics.getPrepareStatementCount();
+
+        // Act
+        User user = findByUsername("jane");
+
+        // Assert
+        assertEquals("jane@newwork.com", user.getEmail());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getNaturalIdStatistics(User.class.getName()).getCacheHitCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("users").getHitCount());
+    }
+
+    @Test
+    void findByUsername_ShouldSeeCommittedUpdate_WithoutQuerying() {
+        // Arrange
+        findByUsername("jane");
+        sessionFactory.inTransaction(session -> session.bySimpleNaturalId(User.class).load("jane")
+                .setRole(User.Role.MANAGER));
+        long statements = statistics.getPrepareStatementCount();
+
+        // Act
+        User user = findByUsername("jane");
+
+        // Assert
+        assertEquals(User.Role.MANAGER, user.getRole());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        sessionFactory.inTransaction(session -> session.bySimpleNaturalId(User.class).load("jane")
+                .setRole(User.Role.EMPLOYEE));
+    }
+
+    @Test
+    void bulkUpdate_ShouldEvictCachedUsers() {
+        // Arrange
+        findByUsername("jane");
+
+        // Act
+        sessionFactory.inTransaction(session -> session
+                .createMutationQuery("UPDATE User u SET u.email = :email WHERE u.username = :username")
+                .setParameter("email", "jane.doe@newwork.com")
+                .setParameter("username", "jane")
+                .executeUpdate());
+        User user = findByUsername("jane");
+
+        // Assert
+        assertEquals("jane.doe@newwork.com", user.getEmail());
+        sessionFactory.inTransaction(session -> session
+                .createMutationQuery("UPDATE User u SET u.email = 'jane@newwork.com' WHERE u.username = 'jane'")
+                .executeUpdate());
+    }
+
+    @Test
+    void evictUser_ShouldDropOnlyThatUser() {
+        // Arrange
+        findByUsername("jane");
+        findByUsername("joe");
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        when(redisTemplate.getRequiredConnectionFactory()).thenReturn(mock(RedisConnectionFactory.class));
+        RedisUserCacheInvalidation invalidation = new RedisUserCacheInvalidation(redisTemplate,
+                mock(UserDetailsCache.class), sessionFactory);
+
+        // Act
+        invalidation.evictUser(1000L, "jane");
+
+        // Assert
+        assertFalse(sessionFactory.getCache().containsEntity(User.class, 1000L));
+        assertTrue(sessionFactory.getCache().containsEntity(User.class, 1001L));
+        statistics.clear();
+        findByUsername("joe");
+        assertEquals(1, statistics.getNaturalIdStatistics(User.class.getName()).getCacheHitCount());
+        findByUsername("jane");
+        assertEquals(1, statistics.getNaturalIdStatistics(User.class.getName()).getCacheHitCount());
+    }
+
+    @Test
+    void employeeById_ShouldBeServedFromCache_AfterFirstLoad() {
+        // Arrange
+        sessionFactory.inSession(session -> session.find(Employee.class, 1000L));
+        long statements = statistics.getPrepareStatementCount();
+
+        // Act
+        Employee employee = sessionFactory.fromSession(session -> session.find(Employee.class, 1000L));
+
+        // Assert
+        assertEquals("Jane", employee.getFirstName());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void cachedQuery_ShouldBeInvalidated_WhenEmployeesChange() {
+        // Arrange
+        List<Long> before = findIdsByDepartment("Engineering");
+        findIdsByDepartment("Engineering");
+        long hits = statistics.getQueryCacheHitCount();
+
+        // Act
+        sessionFactory.inTransaction(session -> {
+            User user = User.builder().username("john").email("john@newwork.com").password("x")
+                    .role(User.Role.EMPLOYEE).build();
+            session.persist(user);
+            session.persist(Employee.builder().user(user).firstName("John").lastName("Doe")
+                    .department("Engineering").createdAt(LocalDateTime.now()).build());
+        });
+        List<Long> after = findIdsByDepartment("Engineering");
+
+        // Assert
+        assertEquals(1, hits);
+        assertEquals(1, before.size());
+        assertEquals(2, after.size());
+        assertEquals(hits, statistics.getQueryCacheHitCount());
+    }
+
+    private static User findByUsername(String username) {
+        return sessionFactory.fromSession(session -> session.bySimpleNaturalId(User.class).load(username));
+    }
+
+    /** Same query and hint as {@link EmployeeRepository#findIdsByDepartment} */
+    private static List<Long> findIdsByDepartment(String department) {
+        return sessionFactory.fromSession(session -> session
+                .createSelectionQuery("SELECT e.id FROM Employee e WHERE e.department = :department", Long.class)
+                .setParameter("department", department)
+                .setCacheable(true)
+                .getResultList());
+    }
+}
@@ -0,0 +1,99 @@
+package com.newwork.backend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.newwork.backend.security.ratelimit.InMemoryRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthRateLimitFilterTest {
+
+    private AuthRateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        filter = new AuthRateLimitFilter(new InMemoryRateLimiter(meterRegistry), new ObjectMapper(), meterRegistry,
+                3, Duration.ofMinutes(1), 2, Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(filter, "enabled", true);
+    }
+
+    @Test
+    void doFilter_ShouldLimitPerUsername_AcrossIps() throws Exception {
+        // Act
+        MockHttpServletResponse first = login("10.0.0.1", "Manager");
+        MockHttpServletResponse second = login("10.0.0.2", "manager");
+        MockHttpServletResponse third = login("10.0.0.3", " MANAGER ");
+
+        // Assert
+        assertEquals(200, first.getStatus());
+        assertEquals(200, second.getStatus());
+        assertEquals(429, third.getStatus());
+        assertNotNull(third.getHeader("Retry-After"));
+        assertTrue(third.getContentAsString().contains("Too many attempts"));
+    }
+
+    @Test
+    void doFilter_ShouldLimitPerIp_AcrossUsernames() throws Exception {
+        // Act
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, login("10.0.0.1", "user" + i).getStatus());
+        }
+        MockHttpServletResponse rejected = login("10.0.0.1", "user9");
+
+        // Assert
+        assertEquals(429, rejected.getStatus());
+    }
+
+    @Test
+    void doFilter_ShouldPassBodyThrough_ToController() throws Exception {
+        // Arrange
+        MockFilterChain chain = new MockFilterChain();
+
+        // Act
+        filter.doFilter(loginRequest("10.0.0.1", "manager"), new MockHttpServletResponse(), chain);
+
+        // Assert
+        HttpServletRequest forwarded = (HttpServletRequest) chain.getRequest();
+        assertEquals("{\"username\":\"manager\",\"password\":\"secret\"}",
+                new String(forwarded.getInputStream().readAllBytes()));
+    }
+
+    @Test
+    void doFilter_ShouldIgnoreOtherEndpoints() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employees");
+        request.setServletPath("/api/employees");
+
+        // Act & Assert
+        for (int i = 0; i < 10; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+    }
+
+    private MockHttpServletResponse login(String ip, String username) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(loginRequest(ip, username), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest loginRequest(String ip, String username) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setServletPath("/api/auth/login");
+        request.setRemoteAddr(ip);
+        request.setContentType("application/json");
+        request.setContent(("{\"username\":\"" + username + "\",\"password\":\"secret\"}").getBytes());
+        return request;
+    }
+}
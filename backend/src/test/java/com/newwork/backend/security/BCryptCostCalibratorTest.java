@@ -0,0 +1,21 @@
+package com.newwork.backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BCryptCostCalibratorTest {
+
+    @Test
+    void costFor_ShouldPickHighestCostWithinTarget() {
+        // Arrange
+        long tenMillis = Duration.ofMillis(10).toNanos();
+
+        // Act & Assert
+        assertEquals(13, BCryptCostCalibrator.costFor(tenMillis, Duration.ofMillis(100), 10, 14)); // 80 ms
+        assertEquals(14, BCryptCostCalibrator.costFor(tenMillis, Duration.ofSeconds(5), 10, 14));
+        assertEquals(10, BCryptCostCalibrator.costFor(Duration.ofMillis(300).toNanos(), Duration.ofMillis(100), 10, 14));
+    }
+}
@@ -0,0 +1,44 @@
+package com.newwork.backend.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginVerificationCacheTest {
+
+    private LoginVerificationCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new LoginVerificationCache(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+    }
+
+    @Test
+    void matches_ShouldOnlyAcceptSamePasswordAndStoredHash() {
+        // Arrange
+        cache.put("testuser", "hash-v1", "password123");
+
+        // Act & Assert
+        assertTrue(cache.matches("testuser", "hash-v1", "password123"));
+        assertFalse(cache.matches("testuser", "hash-v1", "password124"));
+        assertFalse(cache.matches("testuser", "hash-v2", "password123"));
+        assertFalse(cache.matches("otheruser", "hash-v1", "password123"));
+    }
+
+    @Test
+    void matches_ShouldMiss_AfterTtl() {
+        // Arrange
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ofNanos(1));
+        cache.put("testuser", "hash-v1", "password123");
+
+        // Act & Assert
+        assertFalse(cache.matches("testuser", "hash-v1", "password123"));
+    }
+}
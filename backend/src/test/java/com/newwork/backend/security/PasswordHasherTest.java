@@ -0,0 +1,67 @@
+package com.newwork.backend.security;
+
+import com.newwork.backend.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+
+    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+
+    @Test
+    void matches_ShouldVerifyOnExecutor() {
+        // Arrange
+        PasswordHasher hasher = hasher(Runnable::run, Duration.ofSeconds(1));
+        String hash = encoder.encode("password123");
+
+        // Act & Assert
+        assertTrue(hasher.matches("password123", hash));
+        assertFalse(hasher.matches("wrong", hash));
+    }
+
+    @Test
+    void matches_ShouldShed_WhenQueueIsFull() {
+        // Arrange
+        PasswordHasher hasher = hasher(task -> {
+            throw new RejectedExecutionException("full");
+        }, Duration.ofSeconds(1));
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, () -> hasher.matches("password123", "hash"));
+    }
+
+    @Test
+    void matches_ShouldShed_WhenHashIsNotDoneInTime() {
+        // Arrange
+        PasswordHasher hasher = hasher(task -> {
+            // Queued, never run
+        }, Duration.ofMillis(20));
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, () -> hasher.matches("password123", "hash"));
+    }
+
+    @Test
+    void needsRehash_ShouldDetectLowerCost() {
+        // Arrange
+        PasswordHasher hasher = new PasswordHasher(new BCryptPasswordEncoder(5), Runnable::run, new SimpleMeterRegistry());
+
+        // Act & Assert
+        assertTrue(hasher.needsRehash(encoder.encode("password123")));
+        assertFalse(hasher.needsRehash(new BCryptPasswordEncoder(5).encode("password123")));
+    }
+
+    private PasswordHasher hasher(Executor executor, Duration maxWait) {
+        PasswordHasher hasher = new PasswordHasher(encoder, executor, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(hasher, "maxWait", maxWait);
+        return hasher;
+    }
+}
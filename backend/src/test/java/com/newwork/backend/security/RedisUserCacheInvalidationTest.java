@@ -0,0 +1,106 @@
+package com.newwork.backend.security;
+
+import com.newwork.backend.entity.Employee;
+import com.newwork.backend.entity.User;
+import com.newwork.backend.event.EmployeeChangedEvent;
+import com.newwork.backend.event.UserChangedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.metamodel.spi.MappingMetamodelImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RedisUserCacheInvalidationTest {
+
+    private StringRedisTemplate redisTemplate;
+    private UserDetailsCache userDetailsCache;
+    private CacheImplementor secondLevelCache;
+    private NaturalIdDataAccess naturalIds;
+    private RedisUserCacheInvalidation invalidation;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        when(redisTemplate.getRequiredConnectionFactory()).thenReturn(mock(RedisConnectionFactory.class));
+        userDetailsCache = mock(UserDetailsCache.class);
+        secondLevelCache = mock(CacheImplementor.class);
+        naturalIds = mock(NaturalIdDataAccess.class);
+        EntityPersister persister = mock(EntityPersister.class);
+        when(persister.getNaturalIdCacheAccessStrategy()).thenReturn(naturalIds);
+        MappingMetamodelImplementor metamodel = mock(MappingMetamodelImplementor.class);
+        when(metamodel.getEntityDescriptor(User.class)).thenReturn(persister);
+        SessionFactoryImplementor sessionFactory = mock(SessionFactoryImplementor.class);
+        when(sessionFactory.getCache()).thenReturn(secondLevelCache);
+        when(sessionFactory.getMappingMetamodel()).thenReturn(metamodel);
+        when(sessionFactory.openSession()).thenReturn(mock(SessionImplementor.class));
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(sessionFactory);
+        invalidation = new RedisUserCacheInvalidation(redisTemplate, userDetailsCache, entityManagerFactory);
+    }
+
+    @Test
+    void onEmployeeChanged_ShouldPublishIds_OnEmployeeChannel() {
+        // Act
+        invalidation.onEmployeeChanged(new EmployeeChangedEvent(List.of(3L, 7L)));
+
+        // Assert
+        verify(redisTemplate).convertAndSend(RedisUserCacheInvalidation.EMPLOYEE_CHANNEL, "3,7");
+    }
+
+    @Test
+    void onMessage_ShouldEvictEmployeesAndQueryCache_ForEmployeeChannel() {
+        // Act
+        invalidation.onMessage(message(RedisUserCacheInvalidation.EMPLOYEE_CHANNEL, "3,7"), null);
+
+        // Assert
+        verify(secondLevelCache).evictEntityData(Employee.class, 3L);
+        verify(secondLevelCache).evictEntityData(Employee.class, 7L);
+        verify(secondLevelCache).evictQueryRegions();
+        verify(secondLevelCache, never()).evictEntityData(User.class);
+        verify(userDetailsCache, never()).invalidate(any());
+    }
+
+    @Test
+    void onUserChanged_ShouldPublishIdAndUsername_OnUserChannel() {
+        // Act
+        invalidation.onUserChanged(new UserChangedEvent(42L, "test:user"));
+
+        // Assert
+        verify(redisTemplate).convertAndSend(RedisUserCacheInvalidation.CHANNEL, "42:test:user");
+    }
+
+    @Test
+    void onMessage_ShouldEvictOnlyThatUser_ForUserChannel() {
+        // Arrange
+        when(naturalIds.generateCacheKey(eq("test:user"), any(), any())).thenReturn("natural-id-key");
+
+        // Act
+        invalidation.onMessage(message(RedisUserCacheInvalidation.CHANNEL, "42:test:user"), null);
+
+        // Assert
+        verify(secondLevelCache).evictEntityData(User.class, 42L);
+        verify(naturalIds).evict("natural-id-key");
+        verify(userDetailsCache).invalidate("test:user");
+        verify(secondLevelCache, never()).evictEntityData(User.class);
+        verify(secondLevelCache, never()).evictNaturalIdData(User.class);
+        verify(secondLevelCache, never()).evictQueryRegions();
+    }
+
+    private static DefaultMessage message(String channel, String body) {
+        return new DefaultMessage(channel.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,93 @@
+package com.newwork.backend.security;
+
+import com.newwork.backend.entity.User;
+import com.newwork.backend.event.UserChangedEvent;
+import com.newwork.backend.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDetailsServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserDetailsCache cache;
+    private UserDetailsServiceImpl userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new UserDetailsCache(meterRegistry);
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+        userDetailsService = new UserDetailsServiceImpl(userRepository, cache);
+    }
+
+    @Test
+    void loadUserByUsername_ShouldQueryOnce_AndShareRoleAuthorities() {
+        // Arrange
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user("alice", User.Role.MANAGER)));
+        when(userRepository.findByUsername("bob")).thenReturn(Optional.of(user("bob", User.Role.MANAGER)));
+
+        // Act
+        UserDetails first = userDetailsService.loadUserByUsername("alice");
+        UserDetails second = userDetailsService.loadUserByUsername("alice");
+        UserDetails other = userDetailsService.loadUserByUsername("bob");
+
+        // Assert
+        assertSame(first, second);
+        assertSame(first.getAuthorities(), other.getAuthorities());
+        assertEquals("ROLE_MANAGER", first.getAuthorities().iterator().next().getAuthority());
+        verify(userRepository, times(1)).findByUsername("alice");
+        assertEquals(1.0, meterRegistry.get("auth.user_details.cache").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void loadUserByUsername_ShouldReload_AfterUserChanged() {
+        // Arrange
+        when(userRepository.findByUsername("alice"))
+                .thenReturn(Optional.of(user("alice", User.Role.EMPLOYEE)))
+                .thenReturn(Optional.of(user("alice", User.Role.MANAGER)));
+        userDetailsService.loadUserByUsername("alice");
+
+        // Act
+        cache.onUserChanged(new UserChangedEvent(1L, "alice"));
+        UserDetails reloaded = userDetailsService.loadUserByUsername("alice");
+
+        // Assert
+        assertEquals("ROLE_MANAGER", reloaded.getAuthorities().iterator().next().getAuthority());
+        verify(userRepository, times(2)).findByUsername("alice");
+    }
+
+    @Test
+    void put_ShouldBeSkipped_WhenInvalidatedDuringLoad() {
+        // Arrange
+        long version = cache.version();
+        AuthenticatedUser loaded = UserDetailsServiceImpl.toUserDetails(user("alice", User.Role.EMPLOYEE));
+
+        // Act: the row changes while the stale copy is being loaded
+        cache.invalidate("alice");
+        cache.put(loaded, version);
+
+        // Assert
+        assertNull(cache.get("alice"));
+    }
+
+    private static User user(String username, User.Role role) {
+        return User.builder().id(1L).username(username).password("hash").email(username + "@example.com").role(role).build();
+    }
+}
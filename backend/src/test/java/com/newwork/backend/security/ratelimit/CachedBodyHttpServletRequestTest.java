@@ -0,0 +1,85 @@
+package com.newwork.backend.security.ratelimit;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachedBodyHttpServletRequestTest {
+
+    @Test
+    void getInputStream_ShouldReplayBody_ToReadListener() throws IOException {
+        // Arrange
+        MockHttpServletRequest original = new MockHttpServletRequest();
+        original.setContent("{\"username\":\"jane\"}".getBytes(StandardCharsets.UTF_8));
+        CachedBodyHttpServletRequest request = new CachedBodyHttpServletRequest(original, 1024);
+        ServletInputStream input = request.getInputStream();
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        List<String> calls = new ArrayList<>();
+
+        // Act
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                calls.add("data");
+                byte[] buffer = new byte[8];
+                while (input.isReady() && !input.isFinished()) {
+                    received.write(buffer, 0, input.read(buffer));
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                calls.add("done");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                calls.add("error");
+            }
+        });
+
+        // Assert
+        assertEquals(List.of("data", "done"), calls);
+        assertEquals("{\"username\":\"jane\"}", received.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void getInputStream_ShouldReportListenerFailure_ToOnError() throws IOException {
+        // Arrange
+        MockHttpServletRequest original = new MockHttpServletRequest();
+        original.setContent("body".getBytes(StandardCharsets.UTF_8));
+        ServletInputStream input = new CachedBodyHttpServletRequest(original, 1024).getInputStream();
+        List<Throwable> errors = new ArrayList<>();
+
+        // Act
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                throw new IOException("broken");
+            }
+
+            @Override
+            public void onAllDataRead() {
+                fail("body was not read");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                errors.add(t);
+            }
+        });
+
+        // Assert
+        assertEquals(1, errors.size());
+        assertEquals("broken", errors.get(0).getMessage());
+    }
+}
@@ -0,0 +1,47 @@
+package com.newwork.backend.security.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryRateLimiterTest {
+
+    private final InMemoryRateLimiter limiter = new InMemoryRateLimiter(new SimpleMeterRegistry());
+    private final RateLimit limit = new RateLimit(2, Duration.ofSeconds(2));
+
+    @Test
+    void tryAcquire_ShouldRejectWhenEmpty_AndRefillOverTime() {
+        // Arrange
+        long start = 1_000_000_000L;
+
+        // Act & Assert
+        assertTrue(limiter.tryAcquire("ip:1", limit, start).allowed());
+        assertTrue(limiter.tryAcquire("ip:1", limit, start).allowed());
+
+        RateLimiter.Decision rejected = limiter.tryAcquire("ip:1", limit, start);
+        assertFalse(rejected.allowed());
+        assertEquals(1000, rejected.retryAfterMillis());
+        assertTrue(limiter.tryAcquire("ip:2", limit, start).allowed(), "keys have separate buckets");
+
+        assertTrue(limiter.tryAcquire("ip:1", limit, start + Duration.ofSeconds(1).toNanos()).allowed());
+    }
+
+    @Test
+    void evictIdleBuckets_ShouldDropOnlyRefilledBuckets() {
+        // Arrange
+        long now = System.nanoTime();
+        limiter.tryAcquire("idle", limit, now - Duration.ofSeconds(3).toNanos());
+        limiter.tryAcquire("active", limit, now);
+
+        // Act
+        limiter.evictIdleBuckets();
+
+        // Assert
+        assertEquals(1, limiter.size());
+        assertTrue(limiter.tryAcquire("active", limit, now).allowed());
+        assertFalse(limiter.tryAcquire("active", limit, now).allowed(), "active bucket kept its state");
+    }
+}
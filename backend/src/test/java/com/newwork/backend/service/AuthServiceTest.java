@@ -0,0 +1,264 @@
+package com.newwork.backend.service;
+
+import com.newwork.backend.dto.AuthResponse;
+import com.newwork.backend.dto.LoginRequest;
+import com.newwork.backend.dto.RegisterRequest;
+import com.newwork.backend.entity.Employee;
+import com.newwork.backend.entity.User;
+import com.newwork.backend.event.EmployeeChangedEvent;
+import com.newwork.backend.repository.EmployeeFeedbackStatsRepository;
+import com.newwork.backend.repository.EmployeeRepository;
+import com.newwork.backend.repository.UserRepository;
+import com.newwork.backend.security.JwtService;
+import com.newwork.backend.security.LoginVerificationCache;
+import com.newwork.backend.security.PasswordHasher;
+import com.newwork.backend.security.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private EmployeeFeedbackStatsRepository feedbackStatsRepository;
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private UserUniquenessFilter userUniquenessFilter;
+
+    @Mock
+    private PasswordHasher passwordHasher;
+
+    @Mock
+    private LoginVerificationCache loginVerificationCache;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private AuthService authService;
+
+    private User testUser;
+    private LoginRequest loginRequest;
+
+    @BeforeEach
+    void setUp() {
+        testUser = User.builder()
+                .id(1L)
+                .username("testuser")
+                .password("stored-hash")
+                .email("test@example.com")
+                .role(User.Role.EMPLOYEE)
+                .build();
+        testUser.setEmployee(Employee.builder().id(7L).user(testUser).build());
+
+        loginRequest = new LoginRequest();
+        loginRequest.setUsername("testuser");
+        loginRequest.setPassword("password123");
+    }
+
+    @Test
+    void login_ShouldVerifyHashAndRememberLogin_WithSingleLookup() {
+        // Arrange
+        when(userRepository.findByUsernameWithEmployee("testuser")).thenReturn(Optional.of(testUser));
+        when(passwordHasher.matches("password123", "stored-hash")).thenReturn(true);
+        when(jwtService.generateToken(any())).thenReturn("jwt");
+        when(refreshTokenService.issue(1L)).thenReturn("refresh");
+
+        // Act
+        AuthResponse response = authService.login(loginRequest);
+
+        // Assert
+        assertEquals("jwt", response.getToken());
+        assertEquals("refresh", response.getRefreshToken());
+        assertEquals(7L, response.getEmployeeId());
+        verify(loginVerificationCache).put("testuser", "stored-hash", "password123");
+        verify(userRepository, never()).findByUsername(anyString());
+        verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    void login_ShouldSkipHashing_WhenLoginWasRecentlyVerified() {
+        // Arrange
+        when(userRepository.findByUsernameWithEmployee("testuser")).thenReturn(Optional.of(testUser));
+        when(loginVerificationCache.matches("testuser", "stored-hash", "password123")).thenReturn(true);
+        when(jwtService.generateToken(any())).thenReturn("jwt");
+
+        // Act
+        authService.login(loginRequest);
+
+        // Assert
+        verifyNoInteractions(passwordHasher);
+    }
+
+    @Test
+    void login_ShouldRejectWrongPassword_WithoutCaching() {
+        // Arrange
+        when(userRepository.findByUsernameWithEmployee("testuser")).thenReturn(Optional.of(testUser));
+        when(passwordHasher.matches("password123", "stored-hash")).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(BadCredentialsException.class, () -> authService.login(loginRequest));
+        verify(loginVerificationCache, never()).put(any(), any(), any());
+        verifyNoInteractions(jwtService);
+    }
+
+    @Test
+    void login_ShouldStillHash_WhenUserDoesNotExist() {
+        // Arrange
+        when(userRepository.findByUsernameWithEmployee("testuser")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(BadCredentialsException.class, () -> authService.login(loginRequest));
+        verify(passwordHasher).matchesUnknownUser("password123");
+    }
+
+    @Test
+    void login_ShouldUpgradeHash_WhenCostIsOutdated() {
+        // Arrange
+        when(userRepository.findByUsernameWithEmployee("testuser")).thenReturn(Optional.of(testUser));
+        when(passwordHasher.matches("password123", "stored-hash")).thenReturn(true);
+        when(passwordHasher.needsRehash("stored-hash")).thenReturn(true);
+        when(passwordHasher.encodeAsync("password123")).thenReturn(CompletableFuture.completedFuture("new-hash"));
+        when(jwtService.generateToken(any())).thenReturn("jwt");
+
+        // Act
+        authService.login(loginRequest);
+
+        // Assert
+        verify(userRepository).updatePasswordHash(1L, "stored-hash", "new-hash");
+    }
+
+    @Test
+    void refresh_ShouldIssueNewTokenPair() {
+        // Arrange
+        when(refreshTokenService.rotate("old-refresh")).thenReturn(new RefreshTokenService.Rotation(1L, "new-refresh"));
+        when(userRepository.findByIdWithEmployee(1L)).thenReturn(Optional.of(testUser));
+        when(jwtService.generateToken(any())).thenReturn("jwt");
+        when(jwtService.getExpirationMillis()).thenReturn(900_000L);
+
+        // Act
+        AuthResponse response = authService.refresh("old-refresh");
+
+        // Assert
+        assertEquals("jwt", response.getToken());
+        assertEquals("new-refresh", response.getRefreshToken());
+        assertEquals(900L, response.getExpiresIn());
+        assertEquals(7L, response.getEmployeeId());
+    }
+
+    @Test
+    void logout_ShouldRevokeRefreshFamilyAndAccessToken() {
+        // Arrange
+        Date expiresAt = new Date((System.currentTimeMillis() / 1000 + 60) * 1000);
+        Claims claims = Jwts.claims().id("jti-1").expiration(expiresAt).build();
+        when(jwtService.parseClaims("access")).thenReturn(claims);
+
+        // Act
+        authService.logout("refresh", "access");
+
+        // Assert
+        verify(refreshTokenService).revoke("refresh");
+        verify(tokenRevocationService).revoke("jti-1", expiresAt);
+    }
+
+    @Test
+    void register_ShouldSkipExistsQueries_WhenFilterRulesOutClash() {
+        // Arrange
+        when(userUniquenessFilter.mightContainUsername("newuser")).thenReturn(false);
+        when(userUniquenessFilter.mightContainEmail("new@example.com")).thenReturn(false);
+        when(passwordHasher.encode("password123")).thenReturn("hash");
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            user.setId(2L);
+            return user;
+        });
+        when(employeeRepository.saveAndFlush(any(Employee.class))).thenAnswer(invocation -> {
+            Employee employee = invocation.getArgument(0);
+            employee.setId(5L);
+            return employee;
+        });
+        when(jwtService.generateToken(any())).thenReturn("jwt");
+
+        // Act
+        AuthResponse response = authService.register(registerRequest());
+
+        // Assert
+        assertEquals("jwt", response.getToken());
+        verify(userRepository, never()).existsByUsername(anyString());
+        verify(userRepository, never()).existsByEmail(anyString());
+        verify(userUniquenessFilter).add("newuser", "new@example.com");
+        verify(feedbackStatsRepository).createForEmployees(List.of(5L));
+        verify(eventPublisher).publishEvent(new EmployeeChangedEvent(List.of(5L)));
+    }
+
+    @Test
+    void register_ShouldConfirmInDatabase_WhenFilterReportsPossibleClash() {
+        // Arrange
+        when(userUniquenessFilter.mightContainUsername("newuser")).thenReturn(true);
+        when(userRepository.existsByUsername("newuser")).thenReturn(true);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> authService.register(registerRequest()));
+        assertEquals("Username already exists", exception.getMessage());
+        verifyNoInteractions(passwordHasher);
+    }
+
+    @Test
+    void register_ShouldMapUniqueViolation_ToExistingMessage() {
+        // Arrange
+        when(passwordHasher.encode("password123")).thenReturn("hash");
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException("insert failed",
+                new RuntimeException("Unique index or primary key violation: \"PUBLIC.UK_USERS_EMAIL_INDEX_4 ON PUBLIC.USERS(EMAIL)\"")));
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> authService.register(registerRequest()));
+        assertEquals("Email already exists", exception.getMessage());
+        verify(userUniquenessFilter, never()).add(anyString(), anyString());
+        verifyNoInteractions(employeeRepository);
+    }
+
+    private static RegisterRequest registerRequest() {
+        return RegisterRequest.builder()
+                .username("newuser")
+                .password("password123")
+                .email("new@example.com")
+                .role(User.Role.EMPLOYEE)
+                .firstName("New")
+                .lastName("User")
+                .build();
+    }
+}
@@ -0,0 +1,217 @@
+package com.newwork.backend.service;
+
+import com.newwork.backend.config.CacheConfig;
+import com.newwork.backend.dto.EmployeeImportJobDto;
+import com.newwork.backend.dto.EmployeeImportReport;
+import com.newwork.backend.entity.Employee;
+import com.newwork.backend.entity.User;
+import com.newwork.backend.event.EmployeeChangedEvent;
+import com.newwork.backend.exception.TooManyRequestsException;
+import com.newwork.backend.repository.EmployeeFeedbackStatsRepository;
+import com.newwork.backend.repository.EmployeeRepository;
+import com.newwork.backend.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeImportServiceTest {
+
+    private static final String HEADER = "username,email,password,first_name,last_name,role,department,hire_date\n";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private EmployeeFeedbackStatsRepository feedbackStatsRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private UserUniquenessFilter userUniquenessFilter;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final List<Runnable> dispatched = new ArrayList<>();
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.EMPLOYEES_CACHE);
+    private EmployeeImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new EmployeeImportService(userRepository, employeeRepository, feedbackStatsRepository,
+                passwordEncoder, userUniquenessFilter, Validation.buildDefaultValidatorFactory().getValidator(), transactionManager,
+                Runnable::run, dispatched::add, cacheManager, eventPublisher, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(importService, "chunkSize", 2);
+        ReflectionTestUtils.setField(importService, "maxRows", 100);
+        ReflectionTestUtils.setField(importService, "maxErrors", 100);
+        lenient().when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hash:" + invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void importCsv_ShouldSaveValidRowsPerChunk_AndReportInvalidOnes() {
+        // Arrange
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(List.of("taken"));
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        String csv = HEADER
+                + "ann,ann@example.com,pw1,Ann,Lee,MANAGER,Sales,2024-01-15\n"
+                + "taken,taken@example.com,pw2,Tom,Ken,,,\n"
+                + "bob,not-an-email,pw3,Bob,Ray,,,\n"
+                + "ann,ann2@example.com,pw4,Ann,Two,,,\n"
+                + "cid,cid@example.com,pw5,Cid,Moe,,,2024-13-01\n"
+                + "dee,dee@example.com,pw6,Dee,Fox,,,\n";
+
+        // Act
+        EmployeeImportReport report = importService.importCsv(new StringReader(csv));
+
+        // Assert
+        assertEquals(6, report.getTotalRows());
+        assertEquals(2, report.getImportedRows());
+        assertEquals(4, report.getFailedRows());
+        assertEquals(List.of(
+                        new EmployeeImportReport.RowError(3, "taken", "Username already exists"),
+                        new EmployeeImportReport.RowError(4, "bob", "Invalid email format"),
+                        new EmployeeImportReport.RowError(5, "ann", "Duplicate username in file"),
+                        new EmployeeImportReport.RowError(6, "cid", "Invalid date '2024-13-01', expected YYYY-MM-DD")),
+                report.getErrors());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<User>> users = ArgumentCaptor.forClass(List.class);
+        verify(userRepository, times(2)).saveAll(users.capture());
+        User ann = users.getAllValues().get(0).get(0);
+        assertEquals("ann", ann.getUsername());
+        assertEquals("hash:pw1", ann.getPassword());
+        assertEquals(User.Role.MANAGER, ann.getRole());
+        assertEquals(User.Role.EMPLOYEE, users.getAllValues().get(1).get(0).getRole());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Employee>> employees = ArgumentCaptor.forClass(List.class);
+        verify(employeeRepository, times(2)).saveAllAndFlush(employees.capture());
+        Employee annProfile = employees.getAllValues().get(0).get(0);
+        assertSame(ann, annProfile.getUser());
+        assertEquals("Sales", annProfile.getDepartment());
+        assertEquals(LocalDate.of(2024, 1, 15), annProfile.getHireDate());
+        verify(userUniquenessFilter).add("ann", "ann@example.com");
+        verify(userUniquenessFilter).add("dee", "dee@example.com");
+        verify(eventPublisher, times(2)).publishEvent(any(EmployeeChangedEvent.class));
+    }
+
+    @Test
+    void importCsv_ShouldReject_FileWithoutRequiredColumns() {
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> importService.importCsv(new StringReader("username;email\nann;ann@example.com\n")));
+        assertEquals("Missing required columns: password, firstname, lastname", exception.getMessage());
+        verify(userRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void importCsv_ShouldReportTooLongValues_AndNameViolatedConstraint() {
+        // Arrange
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(List.of());
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        when(userRepository.saveAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("chunk", new RuntimeException("uk_users_email")))
+                .thenThrow(new DataIntegrityViolationException("row", new RuntimeException(
+                        "Unique index or primary key violation: \"PUBLIC.UK_USERS_EMAIL_INDEX_4\"")))
+                .thenReturn(List.of());
+        String csv = HEADER
+                + "ann,ann@example.com,pw1,Ann,Lee,," + "x".repeat(256) + ",\n"
+                + "bob,bob@example.com,pw2,Bob,Ray,,,\n"
+                + "cid,cid@example.com,pw3,Cid,Moe,,,\n";
+
+        // Act
+        EmployeeImportReport report = importService.importCsv(new StringReader(csv));
+
+        // Assert
+        assertEquals(1, report.getImportedRows());
+        assertEquals(List.of(
+                        new EmployeeImportReport.RowError(2, "ann", "department is longer than 255 characters"),
+                        new EmployeeImportReport.RowError(3, "bob", "Email already exists")),
+                report.getErrors());
+    }
+
+    @Test
+    void startImport_ShouldRunInBackground_AndClearEmployeesCache() {
+        // Arrange
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("manager", null, List.of()));
+        when(userRepository.findByUsername("manager"))
+                .thenReturn(Optional.of(User.builder().username("manager").role(User.Role.MANAGER).build()));
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(List.of());
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE).put("all", List.of());
+        MockMultipartFile file = new MockMultipartFile("file", "staff.csv", "text/csv",
+                (HEADER + "ann,ann@example.com,pw1,Ann,Lee,,,\n").getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        EmployeeImportJobDto started = importService.startImport(file);
+        dispatched.forEach(Runnable::run);
+        EmployeeImportJobDto finished = importService.getJob(started.getId());
+
+        // Assert
+        assertEquals(EmployeeImportJobDto.Status.RUNNING, started.getStatus());
+        assertEquals("staff.csv", started.getFileName());
+        assertEquals(EmployeeImportJobDto.Status.COMPLETED, finished.getStatus());
+        assertEquals(1, finished.getImportedRows());
+        assertEquals(1, finished.getReport().getImportedRows());
+        assertNull(cacheManager.getCache(CacheConfig.EMPLOYEES_CACHE).get("all"));
+        assertEquals(List.of(finished), importService.getJobs());
+    }
+
+    @Test
+    void startImport_ShouldReject_WhileAnotherImportIsRunning() {
+        // Arrange
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("manager", null, List.of()));
+        when(userRepository.findByUsername("manager"))
+                .thenReturn(Optional.of(User.builder().username("manager").role(User.Role.MANAGER).build()));
+        MockMultipartFile file = new MockMultipartFile("file", "staff.csv", "text/csv",
+                (HEADER + "ann,ann@example.com,pw1,Ann,Lee,,,\n").getBytes(StandardCharsets.UTF_8));
+        importService.startImport(file);
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, () -> importService.startImport(file));
+    }
+}
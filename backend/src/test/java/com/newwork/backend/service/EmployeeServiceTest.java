@@ -2,8 +2,11 @@ package com.newwork.backend.service;
 
 import com.newwork.backend.dto.EmployeeDto;
 import com.newwork.backend.dto.EmployeeUpdateRequest;
+import com.newwork.backend.dto.FeedbackPageResponse;
 import com.newwork.backend.entity.Employee;
+import com.newwork.backend.entity.EmployeeFeedbackStats;
 import com.newwork.backend.entity.User;
+import com.newwork.backend.event.EmployeeChangedEvent;
 import com.newwork.backend.mapper.EmployeeMapper;
 import com.newwork.backend.repository.EmployeeRepository;
 import com.newwork.backend.repository.UserRepository;
@@ -13,6 +16,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -42,6 +46,12 @@ class EmployeeServiceTest {
     @Mock
     private EmployeeMapper employeeMapper;
 
+    @Mock
+    private FeedbackService feedbackService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -98,7 +108,10 @@ class EmployeeServiceTest {
     void getEmployeeById_ShouldReturnEmployee_WhenEmployeeExists() {
         // Arrange
         when(employeeRepository.findByIdWithAbsences(1L)).thenReturn(Optional.of(testEmployee));
-        when(employeeRepository.findByIdWithFeedbacks(1L)).thenReturn(Optional.of(testEmployee));
+        when(feedbackService.getEmployeeFeed(1L, null, FeedbackService.DEFAULT_PAGE_SIZE))
+                .thenReturn(FeedbackPageResponse.builder().feedbacks(List.of()).hasMore(false).build());
+        when(feedbackService.getFeedbackStats(1L))
+                .thenReturn(EmployeeFeedbackStats.builder().employeeId(1L).feedbackCount(3L).polishedCount(1L).build());
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
         when(employeeMapper.toDtoWithRelations(testEmployee)).thenReturn(testEmployeeDto);
 
@@ -109,6 +122,8 @@ class EmployeeServiceTest {
         assertNotNull(result);
         assertEquals("John", result.getFirstName());
         assertEquals("Doe", result.getLastName());
+        assertEquals(3L, result.getFeedbackCount());
+        assertEquals(1L, result.getPolishedFeedbackCount());
         verify(employeeRepository, times(1)).findByIdWithAbsences(1L);
         verify(employeeMapper, times(1)).toDtoWithRelations(testEmployee);
     }
@@ -185,6 +200,7 @@ class EmployeeServiceTest {
         // Assert
         assertNotNull(result);
         verify(employeeRepository, times(1)).save(any(Employee.class));
+        verify(eventPublisher).publishEvent(new EmployeeChangedEvent(List.of(1L)));
     }
 
     @Test
@@ -1,33 +1,50 @@
 package com.newwork.backend.service;
 
 import com.newwork.backend.dto.FeedbackDto;
+import com.newwork.backend.dto.FeedbackPageResponse;
 import com.newwork.backend.dto.FeedbackRequest;
+import com.newwork.backend.dto.FeedbackSearchHit;
 import com.newwork.backend.dto.FeedbackSuggestionsRequest;
 import com.newwork.backend.dto.FeedbackSuggestionsResponse;
 import com.newwork.backend.entity.Employee;
 import com.newwork.backend.entity.Feedback;
 import com.newwork.backend.entity.User;
+import com.newwork.backend.event.FeedbackPolishedEvent;
 import com.newwork.backend.mapper.FeedbackMapper;
+import com.newwork.backend.repository.EmployeeFeedbackStatsRepository;
 import com.newwork.backend.repository.EmployeeRepository;
 import com.newwork.backend.repository.FeedbackRepository;
 import com.newwork.backend.repository.UserRepository;
+import com.newwork.backend.service.text.Bm25Index;
+import com.newwork.backend.service.text.FeedbackInsightsIndex;
+import com.newwork.backend.service.text.FeedbackSearchIndex;
+import com.newwork.backend.service.text.NearDuplicateDetector;
+import com.newwork.backend.service.text.NearDuplicateIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +56,9 @@ class FeedbackServiceTest {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private EmployeeFeedbackStatsRepository feedbackStatsRepository;
+
     @Mock
     private UserRepository userRepository;
 
@@ -48,6 +68,18 @@ class FeedbackServiceTest {
     @Mock
     private FeedbackMapper feedbackMapper;
 
+    @Mock
+    private NearDuplicateDetector nearDuplicateDetector;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private FeedbackSearchIndex feedbackSearchIndex;
+
+    @Mock
+    private FeedbackInsightsIndex feedbackInsightsIndex;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -137,6 +169,8 @@ class FeedbackServiceTest {
         assertFalse(result.getIsPolished());
         verify(feedbackRepository, times(1)).save(any(Feedback.class));
         verify(huggingFaceService, never()).polishFeedback(anyString());
+        verify(feedbackStatsRepository, times(1)).adjustCounts(1L, 1, 0);
+        verify(feedbackStatsRepository, never()).save(any());
     }
 
     @Test
@@ -151,7 +185,8 @@ class FeedbackServiceTest {
         
         when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
         when(userRepository.findByUsername("manager")).thenReturn(Optional.of(testUser));
-        when(huggingFaceService.polishFeedback("Good job")).thenReturn(polishedContent);
+        when(huggingFaceService.polishFeedback("Good job"))
+                .thenReturn(new HuggingFaceService.PolishResult(polishedContent, true));
         when(feedbackRepository.save(any(Feedback.class))).thenReturn(testFeedback);
         when(feedbackMapper.toDto(any(Feedback.class))).thenReturn(testFeedbackDto);
 
@@ -164,6 +199,38 @@ class FeedbackServiceTest {
         verify(feedbackRepository, times(1)).save(any(Feedback.class));
     }
 
+    @Test
+    void createFeedback_WithAI_ShouldReusePolish_WhenSameTextWasAlreadyPolished() {
+        // Arrange
+        testFeedbackRequest = FeedbackRequest.builder()
+                .content("great work on the project")
+                .useAiPolish(true)
+                .build();
+        Feedback earlier = Feedback.builder()
+                .id(7L)
+                .employee(testEmployee)
+                .originalContent("Great work on the project!")
+                .polishedContent("Excellent work on the project.")
+                .isPolished(true)
+                .build();
+
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(testEmployee));
+        when(nearDuplicateDetector.findNearDuplicate(1L, "manager", "great work on the project"))
+                .thenReturn(Optional.of(new NearDuplicateIndex.Match(7L, 0.97)));
+        when(feedbackRepository.findById(7L)).thenReturn(Optional.of(earlier));
+        when(feedbackRepository.save(any(Feedback.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(feedbackMapper.toDto(any(Feedback.class))).thenReturn(testFeedbackDto);
+
+        // Act
+        feedbackService.createFeedback(1L, testFeedbackRequest);
+
+        // Assert
+        verify(huggingFaceService, never()).polishFeedback(anyString());
+        verify(feedbackRepository).save(argThat(saved ->
+                "Excellent work on the project.".equals(saved.getPolishedContent())
+                        && Long.valueOf(7L).equals(saved.getDuplicateOfId())));
+    }
+
     @Test
     void createFeedback_ShouldThrowException_WhenEmployeeNotFound() {
         // Arrange
@@ -193,6 +260,63 @@ class FeedbackServiceTest {
         verify(feedbackRepository, times(1)).findByEmployeeIdOrderByCreatedAtDesc(1L);
     }
 
+    @Test
+    void getEmployeeFeed_ShouldReturnCursorToNextPage_WhenMoreRowsExist() {
+        // Arrange
+        Feedback newer = Feedback.builder().id(3L).employee(testEmployee)
+                .createdAt(LocalDateTime.of(2024, 5, 2, 10, 0)).build();
+        Feedback older = Feedback.builder().id(2L).employee(testEmployee)
+                .createdAt(LocalDateTime.of(2024, 5, 1, 10, 0)).build();
+        when(feedbackRepository.findFeedPage(1L, Limit.of(2))).thenReturn(List.of(newer, older));
+        when(feedbackMapper.toDto(any(Feedback.class))).thenReturn(testFeedbackDto);
+
+        // Act
+        FeedbackPageResponse firstPage = feedbackService.getEmployeeFeed(1L, null, 1);
+        feedbackService.getEmployeeFeed(1L, firstPage.getNextCursor(), 1);
+
+        // Assert - the second request continues strictly after the last row of the first page
+        assertTrue(firstPage.isHasMore());
+        assertEquals(1, firstPage.getFeedbacks().size());
+        verify(feedbackRepository).findFeedPageAfter(
+                eq(1L), eq(newer.getCreatedAt()), eq(3L), eq(Limit.of(2)));
+    }
+
+    @Test
+    void getEmployeeFeed_ShouldRejectMalformedCursor() {
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> feedbackService.getEmployeeFeed(1L, "not-a-cursor", 20));
+    }
+
+    @Test
+    void searchFeedback_ShouldRestrictToDepartment_AndKeepRankOrder() {
+        // Arrange
+        Feedback second = Feedback.builder().id(2L).employee(testEmployee).authorName("manager").build();
+        when(employeeRepository.findIdsByDepartment("Engineering")).thenReturn(List.of(1L, 5L));
+        when(feedbackSearchIndex.search("deadline", Set.of(1L, 5L), 20)).thenReturn(List.of(
+                new Bm25Index.Hit(2L, 1L, 3.5),
+                new Bm25Index.Hit(1L, 1L, 1.2)));
+        when(feedbackRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(testFeedback, second));
+        when(feedbackMapper.toDto(any(Feedback.class))).thenReturn(testFeedbackDto);
+
+        // Act
+        List<FeedbackSearchHit> hits = feedbackService.searchFeedback("deadline", null, "Engineering", 20);
+
+        // Assert
+        assertEquals(2, hits.size());
+        assertEquals(3.5, hits.get(0).getScore());
+        assertEquals(1.2, hits.get(1).getScore());
+    }
+
+    @Test
+    void searchFeedback_ShouldThrowException_WhenNotManager() {
+        // Arrange
+        testUser.setRole(User.Role.COWORKER);
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> feedbackService.searchFeedback("deadline", null, null, 20));
+        verify(feedbackSearchIndex, never()).search(anyString(), any(), anyInt());
+    }
+
     @Test
     void deleteFeedback_ShouldDeleteFeedback_WhenAuthorized() {
         // Arrange
@@ -207,6 +331,7 @@ class FeedbackServiceTest {
 
         // Assert
         verify(feedbackRepository, times(1)).delete(testFeedback);
+        verify(feedbackStatsRepository, times(1)).adjustCounts(1L, -1, 0);
     }
 
     @Test
@@ -226,6 +351,36 @@ class FeedbackServiceTest {
         verify(feedbackRepository, never()).delete(any(Feedback.class));
     }
 
+    @Test
+    void applyPolish_ShouldStorePolishAndCountIt() {
+        // Arrange
+        when(feedbackRepository.findById(1L)).thenReturn(Optional.of(testFeedback));
+        when(feedbackRepository.markPolished(eq(1L), eq("Polished"), any(LocalDateTime.class))).thenReturn(1);
+        when(feedbackStatsRepository.adjustCounts(1L, 0, 1)).thenReturn(1);
+
+        // Act
+        boolean applied = feedbackService.applyPolish(1L, "Polished");
+
+        // Assert
+        assertTrue(applied);
+        verify(eventPublisher).publishEvent(any(FeedbackPolishedEvent.class));
+    }
+
+    @Test
+    void applyPolish_ShouldDoNothing_WhenAlreadyPolished() {
+        // Arrange
+        when(feedbackRepository.findById(1L)).thenReturn(Optional.of(testFeedback));
+        when(feedbackRepository.markPolished(eq(1L), eq("Polished"), any(LocalDateTime.class))).thenReturn(0);
+
+        // Act
+        boolean applied = feedbackService.applyPolish(1L, "Polished");
+
+        // Assert
+        assertFalse(applied);
+        verify(feedbackStatsRepository, never()).adjustCounts(anyLong(), anyLong(), anyLong());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
     @Test
     void generateFeedbackSuggestions_ShouldReturnSuggestions() {
         // Arrange
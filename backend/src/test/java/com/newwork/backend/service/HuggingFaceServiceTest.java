@@ -0,0 +1,349 @@
+package com.newwork.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.newwork.backend.dto.FeedbackSuggestionChunk;
+import com.newwork.backend.exception.TooManyRequestsException;
+import com.newwork.backend.service.ai.AdaptiveConcurrencyLimiter;
+import com.newwork.backend.service.ai.ModelHealthRegistry;
+import com.newwork.backend.service.ai.TokenBudget;
+import com.newwork.backend.service.ai.provider.AiProvider;
+import com.newwork.backend.service.ai.provider.OpenAiCompatibleProvider;
+import com.newwork.backend.service.ai.provider.StubAiProvider;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class HuggingFaceServiceTest {
+
+    private static final String OPTIONS = "OPTION 1: One.\nOPTION 2: Two.\nOPTION 3: Three.";
+
+    private SimpleMeterRegistry meterRegistry;
+    private AiProvider aiProvider;
+    private AdaptiveConcurrencyLimiter limiter;
+    private ModelHealthRegistry modelHealthRegistry;
+    private TokenBudget tokenBudget;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private HuggingFaceService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        aiProvider = mock(AiProvider.class);
+        when(aiProvider.isConfigured()).thenReturn(true);
+        when(aiProvider.getName()).thenReturn("mock");
+        limiter = AdaptiveConcurrencyLimiter.builder()
+                .name("test")
+                .initialLimit(8)
+                .minLimit(1)
+                .maxLimit(16)
+                .maxQueueSize(0)
+                .maxWait(Duration.ZERO)
+                .latencyThreshold(Duration.ofSeconds(10))
+                .backoffRatio(0.5)
+                .meterRegistry(meterRegistry)
+                .build();
+        modelHealthRegistry = new ModelHealthRegistry("primary", List.of(), meterRegistry);
+        tokenBudget = TokenBudget.builder()
+                .enabled(false)
+                .window(Duration.ofMinutes(1))
+                .bucketCount(6)
+                .meterRegistry(meterRegistry)
+                .build();
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        service = service(aiProvider);
+        // p95 of 300 ms, so the hedge is sent 300 ms into a call
+        responseTimer().record(Duration.ofMillis(300));
+    }
+
+    private HuggingFaceService service(AiProvider provider) {
+        HuggingFaceService service = new HuggingFaceService(provider, meterRegistry,
+                circuitBreakerRegistry, limiter, modelHealthRegistry, tokenBudget);
+        ReflectionTestUtils.setField(service, "timeoutSeconds", 5);
+        ReflectionTestUtils.setField(service, "adaptiveTimeoutEnabled", false);
+        ReflectionTestUtils.setField(service, "adaptiveTimeoutMin", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(service, "adaptiveTimeoutMax", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(service, "adaptiveTimeoutMultiplier", 1.5);
+        ReflectionTestUtils.setField(service, "adaptiveTimeoutMinSamples", 1L);
+        ReflectionTestUtils.setField(service, "hedgeEnabled", true);
+        ReflectionTestUtils.setField(service, "hedgeModel", "hedge");
+        ReflectionTestUtils.setField(service, "hedgeMaxExtraLoadPercent", 100);
+        service.initLatencyPolicies();
+        return service;
+    }
+
+    @Test
+    void generateFeedbackOptions_ShouldFailFast_WhenPrimaryFailsBeforeHedgeDelay() {
+        // Arrange
+        when(aiProvider.complete(argThat(r -> r != null && "primary".equals(r.getModel()))))
+                .thenReturn(Mono.error(WebClientResponseException.create(503, "Service Unavailable",
+                        HttpHeaders.EMPTY, new byte[0], null)));
+        when(aiProvider.complete(argThat(r -> r != null && "hedge".equals(r.getModel()))))
+                .thenReturn(Mono.just(OPTIONS));
+
+        // Act
+        long start = System.nanoTime();
+        assertThrows(RuntimeException.class, () -> service.generateFeedbackOptions("good work"));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Assert
+        assertTrue(elapsed.compareTo(Duration.ofMillis(250)) < 0, "failed after " + elapsed.toMillis() + " ms");
+        verify(aiProvider, never()).complete(argThat(r -> r != null && "hedge".equals(r.getModel())));
+        assertEquals(4.0, limiter.getLimit());
+        assertEquals(ModelHealthRegistry.ModelStatus.LOADING, modelHealthRegistry.getStatus("primary"));
+        assertEquals(2, responseTimer().count());
+    }
+
+    @Test
+    void generateFeedbackOptions_ShouldReturnHedgedResult_WhenPrimaryIsSlow() {
+        // Arrange
+        when(aiProvider.complete(argThat(r -> r != null && "primary".equals(r.getModel()))))
+                .thenReturn(Mono.never());
+        when(aiProvider.complete(argThat(r -> r != null && "hedge".equals(r.getModel()))))
+                .thenReturn(Mono.just(OPTIONS));
+
+        // Act
+        List<String> options = service.generateFeedbackOptions("good work");
+
+        // Assert
+        assertEquals(List.of("One.", "Two.", "Three."), options);
+        assertEquals(1.0, meterRegistry.get("huggingface.api.hedged").counter().count());
+    }
+
+    @Test
+    void generateFeedbackOptions_ShouldKeepWaitingForPrimary_WhenHedgeFails() {
+        // Arrange
+        when(aiProvider.complete(argThat(r -> r != null && "primary".equals(r.getModel()))))
+                .thenReturn(Mono.delay(Duration.ofMillis(600)).thenReturn(OPTIONS));
+        when(aiProvider.complete(argThat(r -> r != null && "hedge".equals(r.getModel()))))
+                .thenReturn(Mono.error(WebClientResponseException.create(500, "Internal Server Error",
+                        HttpHeaders.EMPTY, new byte[0], null)));
+
+        // Act
+        List<String> options = service.generateFeedbackOptions("good work");
+
+        // Assert
+        assertEquals(3, options.size());
+        assertEquals(1.0, meterRegistry.get("huggingface.api.hedged").counter().count());
+    }
+
+    @Test
+    void generateFeedbackOptions_ShouldRecordTimeout_InResponseTimer() {
+        // Arrange
+        ReflectionTestUtils.setField(service, "hedgeEnabled", false);
+        ReflectionTestUtils.setField(service, "timeoutSeconds", 1);
+        service.initLatencyPolicies();
+        when(aiProvider.complete(argThat(r -> r != null && "primary".equals(r.getModel()))))
+                .thenReturn(Mono.never());
+
+        // Act
+        assertThrows(RuntimeException.class, () -> service.generateFeedbackOptions("good work"));
+
+        // Assert
+        assertEquals(2, responseTimer().count());
+        assertTrue(responseTimer().max(TimeUnit.MILLISECONDS) >= 1000);
+        assertEquals(4.0, limiter.getLimit());
+    }
+
+    @Test
+    void polishFeedback_ShouldShrinkLimit_WhenProviderIsRateLimited() {
+        // Arrange
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body("{\"error\":\"rate limited\"}")
+                        .build()))
+                .build();
+        HuggingFaceService openAiService = service(new OpenAiCompatibleProvider("test", webClient, new ObjectMapper(), null));
+
+        // Act
+        assertThrows(RuntimeException.class, () -> openAiService.polishFeedback("good work"));
+
+        // Assert
+        assertEquals(4.0, limiter.getLimit());
+        assertEquals(1.0, meterRegistry.get("huggingface.api.failure").counter().count());
+    }
+
+    @Test
+    void polishFeedback_ShouldReportNotRewritten_WhenModelEchoesInput() {
+        // Arrange
+        when(aiProvider.complete(any())).thenReturn(Mono.just("good work"));
+
+        // Act
+        HuggingFaceService.PolishResult result = service.polishFeedback("good work");
+
+        // Assert
+        assertFalse(result.rewritten());
+        assertEquals("Professional feedback: Good work.", result.text());
+        assertEquals(0.0, meterRegistry.get("huggingface.api.success").counter().count());
+    }
+
+    @Test
+    void streamFeedbackOptions_ShouldRejectBeforeStreaming_WhenBudgetIsExhausted() {
+        // Arrange
+        TokenBudget exhausted = TokenBudget.builder()
+                .enabled(true)
+                .userLimit(10)
+                .globalLimit(10)
+                .window(Duration.ofMinutes(1))
+                .bucketCount(6)
+                .meterRegistry(meterRegistry)
+                .build();
+        HuggingFaceService budgeted = new HuggingFaceService(aiProvider, meterRegistry,
+                CircuitBreakerRegistry.ofDefaults(), limiter, modelHealthRegistry, exhausted);
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, () -> budgeted.streamFeedbackOptions("good work"));
+        verify(aiProvider, never()).streamCompletion(any());
+    }
+
+    @Test
+    void polishFeedback_ShouldReturnStubCompletion_WhenStubSucceeds() {
+        // Arrange
+        HuggingFaceService stubService = service(stub(0.0, 503));
+
+        // Act
+        HuggingFaceService.PolishResult result = stubService.polishFeedback("the release notes were clear and on time");
+
+        // Assert
+        String polished = result.text();
+        assertTrue(result.rewritten());
+        assertTrue(polished.contains("the release notes were clear and on time"), polished);
+        assertNotEquals("the release notes were clear and on time", polished);
+        assertEquals(1.0, meterRegistry.get("huggingface.api.success").counter().count());
+        assertEquals(8.0, limiter.getLimit());
+    }
+
+    @Test
+    void generateFeedbackOptions_ShouldReturnThreeStubOptions_WhenStubSucceeds() {
+        // Arrange
+        HuggingFaceService stubService = service(stub(0.0, 503));
+
+        // Act
+        List<String> options = stubService.generateFeedbackOptions("the release notes were clear");
+
+        // Assert
+        assertEquals(3, options.size());
+        assertEquals(3, options.stream().distinct().count());
+        assertTrue(options.stream().allMatch(option -> option.contains("the release notes were clear")), options.toString());
+    }
+
+    @Test
+    void streamFeedbackOptions_ShouldEmitThreeStubOptions_WhenStubSucceeds() {
+        // Arrange
+        HuggingFaceService stubService = service(stub(0.0, 503));
+
+        // Act
+        List<FeedbackSuggestionChunk> chunks = stubService.streamFeedbackOptions("the release notes were clear")
+                .collectList()
+                .block();
+
+        // Assert
+        assertEquals(List.of(1, 2, 3), chunks.stream().map(FeedbackSuggestionChunk::getIndex).toList());
+        assertEquals(1.0, meterRegistry.get("huggingface.api.success").counter().count());
+    }
+
+    @Test
+    void polishFeedback_ShouldShrinkLimit_AndMarkModelLoading_WhenStubReturns503() {
+        // Arrange
+        HuggingFaceService stubService = service(stub(1.0, 503));
+
+        // Act
+        RuntimeException error = assertThrows(RuntimeException.class, () -> stubService.polishFeedback("good work"));
+
+        // Assert
+        assertEquals(503, ((WebClientResponseException) error.getCause()).getStatusCode().value());
+        assertEquals(4.0, limiter.getLimit());
+        assertEquals(ModelHealthRegistry.ModelStatus.LOADING, modelHealthRegistry.getStatus("primary"));
+        assertEquals(1.0, meterRegistry.get("huggingface.api.failure").counter().count());
+    }
+
+    @Test
+    void polishFeedback_ShouldShrinkLimit_ButKeepModelReady_WhenStubReturns429() {
+        // Arrange
+        HuggingFaceService stubService = service(stub(1.0, 429));
+
+        // Act
+        assertThrows(RuntimeException.class, () -> stubService.polishFeedback("good work"));
+
+        // Assert
+        assertEquals(4.0, limiter.getLimit());
+        assertNotEquals(ModelHealthRegistry.ModelStatus.LOADING, modelHealthRegistry.getStatus("primary"));
+        assertEquals(1.0, meterRegistry.get("huggingface.api.failure").counter().count());
+    }
+
+    @Test
+    void generateFeedbackOptions_ShouldKeepLimit_WhenStubReturnsNonOverloadStatus() {
+        // Arrange
+        HuggingFaceService stubService = service(stub(1.0, 500));
+
+        // Act
+        assertThrows(RuntimeException.class, () -> stubService.generateFeedbackOptions("good work"));
+
+        // Assert
+        assertEquals(8.0, limiter.getLimit());
+        assertEquals(1.0, meterRegistry.get("huggingface.api.failure").counter().count());
+    }
+
+    @Test
+    void streamFeedbackOptions_ShouldRejectWithoutCallingStub_OnceBreakerOpens() {
+        // Arrange
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+        HuggingFaceService stubService = service(stub(1.0, 503));
+        for (int i = 0; i < 4; i++) {
+            assertThrows(WebClientResponseException.class,
+                    () -> stubService.streamFeedbackOptions("good work").collectList().block());
+        }
+
+        // Act
+        RuntimeException rejected = assertThrows(RuntimeException.class,
+                () -> stubService.streamFeedbackOptions("good work"));
+
+        // Assert
+        assertEquals("AI service is currently unavailable. Please try again later.", rejected.getMessage());
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreakerRegistry.circuitBreaker("huggingface").getState());
+        assertEquals(4.0, meterRegistry.get("huggingface.api.calls").counter().count());
+    }
+
+    /**
+     * Zero-latency stub, so only the failure path under test decides the outcome
+     */
+    private static StubAiProvider stub(double errorRate, int errorStatus) {
+        return StubAiProvider.builder()
+                .meanLatency(Duration.ZERO)
+                .latencyStdDev(Duration.ZERO)
+                .errorRate(errorRate)
+                .errorStatus(errorStatus)
+                .seed(42)
+                .build();
+    }
+
+    private Timer responseTimer() {
+        return meterRegistry.get("huggingface.api.response.time").timer();
+    }
+}
@@ -0,0 +1,133 @@
+package com.newwork.backend.service;
+
+import com.newwork.backend.dto.PolishJobDto;
+import com.newwork.backend.entity.PolishJob;
+import com.newwork.backend.entity.PolishJobItem;
+import com.newwork.backend.entity.User;
+import com.newwork.backend.event.PolishJobSubmittedEvent;
+import com.newwork.backend.repository.PolishJobItemRepository;
+import com.newwork.backend.repository.PolishJobRepository;
+import com.newwork.backend.repository.UserRepository;
+import com.newwork.backend.service.batch.PolishJobRunner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PolishJobServiceTest {
+
+    @Mock
+    private PolishJobRepository jobRepository;
+
+    @Mock
+    private PolishJobItemRepository itemRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PolishJobRunner polishJobRunner;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SecurityContext securityContext;
+
+    @Mock
+    private Authentication authentication;
+
+    @InjectMocks
+    private PolishJobService polishJobService;
+
+    private User manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = User.builder()
+                .id(1L)
+                .username("manager")
+                .role(User.Role.MANAGER)
+                .build();
+        ReflectionTestUtils.setField(polishJobService, "maxItems", 100);
+
+        SecurityContextHolder.setContext(securityContext);
+        lenient().when(securityContext.getAuthentication()).thenReturn(authentication);
+        lenient().when(authentication.getName()).thenReturn("manager");
+        lenient().when(userRepository.findByUsername("manager")).thenReturn(Optional.of(manager));
+    }
+
+    @Test
+    void createJobFromFile_ShouldParseIdsSkipHeaderAndDeduplicate() {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("file", "review.csv", "text/csv",
+                "feedback_id,note\n5,first\n7\n\n5,again\n".getBytes(StandardCharsets.UTF_8));
+        when(jobRepository.save(any(PolishJob.class))).thenAnswer(invocation -> {
+            PolishJob job = invocation.getArgument(0);
+            job.setId(3L);
+            return job;
+        });
+        List<Long> savedFeedbackIds = new ArrayList<>();
+        when(itemRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<PolishJobItem> items = invocation.getArgument(0);
+            items.forEach(item -> savedFeedbackIds.add(item.getFeedbackId()));
+            return items;
+        });
+
+        // Act
+        PolishJobDto result = polishJobService.createJobFromFile(file);
+
+        // Assert
+        assertEquals(3L, result.getId());
+        assertEquals(2, result.getTotalItems());
+        assertEquals(PolishJob.Status.QUEUED, result.getStatus());
+        assertEquals(List.of(5L, 7L), savedFeedbackIds);
+        ArgumentCaptor<PolishJobSubmittedEvent> event = ArgumentCaptor.forClass(PolishJobSubmittedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(3L, event.getValue().jobId());
+    }
+
+    @Test
+    void createJobFromFile_ShouldRejectInvalidLine() {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("file", "review.csv", "text/csv",
+                "5\nabc\n".getBytes(StandardCharsets.UTF_8));
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> polishJobService.createJobFromFile(file));
+        assertEquals("Invalid feedback id on line 2: abc", exception.getMessage());
+        verify(jobRepository, never()).save(any());
+    }
+
+    @Test
+    void createJob_ShouldThrowException_WhenNotManager() {
+        // Arrange
+        manager.setRole(User.Role.EMPLOYEE);
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> polishJobService.createJob(List.of(1L)));
+        assertEquals("Only managers can run polish jobs", exception.getMessage());
+    }
+}
@@ -0,0 +1,101 @@
+package com.newwork.backend.service;
+
+import com.newwork.backend.entity.RefreshToken;
+import com.newwork.backend.exception.InvalidTokenException;
+import com.newwork.backend.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(refreshTokenService, "refreshExpiration", 60_000L);
+    }
+
+    @Test
+    void issue_ShouldStoreOnlyTheHash() {
+        // Act
+        String rawToken = refreshTokenService.issue(1L);
+
+        // Assert
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertNotEquals(rawToken, saved.getValue().getTokenHash());
+        assertEquals(RefreshTokenService.hash(rawToken), saved.getValue().getTokenHash());
+        assertEquals(1L, saved.getValue().getUserId());
+    }
+
+    @Test
+    void rotate_ShouldConsumeTokenAndIssueOneInSameFamily() {
+        // Arrange
+        RefreshToken token = token(null, LocalDateTime.now().plusMinutes(5));
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("raw"))).thenReturn(Optional.of(token));
+        when(refreshTokenRepository.markRevoked(eq(10L), any())).thenReturn(1);
+
+        // Act
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("raw");
+
+        // Assert
+        assertEquals(1L, rotation.userId());
+        assertNotEquals("raw", rotation.refreshToken());
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertEquals("family-1", saved.getValue().getFamilyId());
+    }
+
+    @Test
+    void rotate_ShouldRevokeFamily_WhenConsumedTokenIsReused() {
+        // Arrange
+        RefreshToken token = token(LocalDateTime.now().minusMinutes(1), LocalDateTime.now().plusMinutes(5));
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("raw"))).thenReturn(Optional.of(token));
+
+        // Act & Assert
+        assertThrows(InvalidTokenException.class, () -> refreshTokenService.rotate("raw"));
+        verify(refreshTokenRepository).revokeFamily(eq("family-1"), any());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_ShouldReject_ExpiredToken() {
+        // Arrange
+        RefreshToken token = token(null, LocalDateTime.now().minusSeconds(1));
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("raw"))).thenReturn(Optional.of(token));
+
+        // Act & Assert
+        InvalidTokenException exception = assertThrows(InvalidTokenException.class, () -> refreshTokenService.rotate("raw"));
+        assertEquals("Refresh token has expired", exception.getMessage());
+    }
+
+    private static RefreshToken token(LocalDateTime revokedAt, LocalDateTime expiresAt) {
+        return RefreshToken.builder()
+                .id(10L)
+                .userId(1L)
+                .familyId("family-1")
+                .tokenHash(RefreshTokenService.hash("raw"))
+                .revokedAt(revokedAt)
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,113 @@
+package com.newwork.backend.service.ai;
+
+import com.newwork.backend.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, int queueSize, Duration latencyThreshold) {
+        return AdaptiveConcurrencyLimiter.builder()
+                .name("test")
+                .initialLimit(initialLimit)
+                .minLimit(1)
+                .maxLimit(10)
+                .maxQueueSize(queueSize)
+                .maxWait(Duration.ofMillis(50))
+                .latencyThreshold(latencyThreshold)
+                .backoffRatio(0.5)
+                .meterRegistry(meterRegistry)
+                .build();
+    }
+
+    @Test
+    void acquire_ShouldRejectWithTooManyRequests_WhenLimitAndQueueAreFull() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 0, Duration.ofSeconds(10));
+        limiter.acquire();
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, limiter::acquire);
+        assertEquals(1.0, meterRegistry.get("test.limiter.rejected").counter().count());
+    }
+
+    @Test
+    void acquire_ShouldTimeOutInQueue_WhenNoPermitIsReleased() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 5, Duration.ofSeconds(10));
+        limiter.acquire();
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, limiter::acquire);
+        assertEquals(0, limiter.getQueued());
+    }
+
+    @Test
+    void onSuccess_ShouldIncreaseLimit_WhenLimitIsUtilized() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 0, Duration.ofSeconds(10));
+        AdaptiveConcurrencyLimiter.Permit first = limiter.acquire();
+        limiter.acquire();
+
+        // Act
+        first.onSuccess();
+
+        // Assert
+        assertEquals(3.0, limiter.getLimit());
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    void onDropped_ShouldDecreaseLimitMultiplicatively() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter(8, 0, Duration.ofSeconds(10));
+
+        // Act
+        limiter.acquire().onDropped();
+
+        // Assert
+        assertEquals(4.0, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void onSuccess_ShouldDecreaseLimit_WhenLatencyExceedsThreshold() throws InterruptedException {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 0, Duration.ofMillis(1));
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire();
+        Thread.sleep(5);
+
+        // Act
+        permit.onSuccess();
+
+        // Assert
+        assertEquals(2.0, limiter.getLimit());
+    }
+
+    @Test
+    void permit_ShouldOnlyBeReleasedOnce() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 0, Duration.ofSeconds(10));
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire();
+
+        // Act
+        permit.onIgnore();
+        permit.onDropped();
+
+        // Assert
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(2.0, limiter.getLimit());
+    }
+}
@@ -0,0 +1,88 @@
+package com.newwork.backend.service.ai;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveTimeoutPolicyTest {
+
+    private Timer timer;
+    private AdaptiveTimeoutPolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        timer = Timer.builder("test.response.time")
+                .publishPercentiles(0.95, 0.99)
+                .register(new SimpleMeterRegistry());
+        policy = AdaptiveTimeoutPolicy.builder()
+                .latencyTimer(timer)
+                .enabled(true)
+                .coldTimeout(Duration.ofSeconds(50))
+                .minTimeout(Duration.ofSeconds(3))
+                .maxTimeout(Duration.ofSeconds(90))
+                .multiplier(1.5)
+                .minSamples(10)
+                .build();
+    }
+
+    @Test
+    void currentTimeout_ShouldUseColdTimeout_UntilEnoughSamples() {
+        // Arrange
+        timer.record(Duration.ofSeconds(4));
+
+        // Act & Assert
+        assertEquals(Duration.ofSeconds(50), policy.currentTimeout());
+        assertTrue(policy.hedgeDelay().isEmpty());
+    }
+
+    @Test
+    void currentTimeout_ShouldFollowRollingP99() {
+        // Arrange
+        for (int i = 0; i < 20; i++) {
+            timer.record(Duration.ofSeconds(4));
+        }
+
+        // Act
+        Duration timeout = policy.currentTimeout();
+
+        // Assert - p99 of ~4s (histogram precision) x 1.5
+        assertTrue(timeout.compareTo(Duration.ofSeconds(5)) > 0, "timeout was " + timeout);
+        assertTrue(timeout.compareTo(Duration.ofSeconds(7)) < 0, "timeout was " + timeout);
+        assertTrue(policy.hedgeDelay().isPresent());
+    }
+
+    @Test
+    void currentTimeout_ShouldBeClampedToMinimum() {
+        // Arrange
+        for (int i = 0; i < 20; i++) {
+            timer.record(Duration.ofMillis(100));
+        }
+
+        // Act & Assert
+        assertEquals(Duration.ofSeconds(3), policy.currentTimeout());
+    }
+
+    @Test
+    void hedgeBudget_ShouldCapHedgesToConfiguredShare() {
+        // Arrange
+        HedgeBudget budget = new HedgeBudget(10, 1);
+        assertTrue(budget.tryAcquire()); // initial allowance
+        int hedges = 0;
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            budget.recordRequest();
+            if (budget.tryAcquire()) {
+                hedges++;
+            }
+        }
+
+        // Assert
+        assertEquals(10, hedges);
+    }
+}
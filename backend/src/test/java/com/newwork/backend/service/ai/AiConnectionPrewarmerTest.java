@@ -0,0 +1,85 @@
+package com.newwork.backend.service.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.newwork.backend.service.ai.provider.OpenAiCompatibleProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Preconnect against a local server standing in for an OpenAI-compatible endpoint
+ */
+class AiConnectionPrewarmerTest {
+
+    private final AtomicInteger headRequests = new AtomicInteger();
+    private DisposableServer server;
+    private ConnectionProvider connectionProvider;
+    private AiConnectionPrewarmer prewarmer;
+
+    @BeforeEach
+    void setUp() {
+        server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.head("/v1/models", (request, response) -> {
+                    headRequests.incrementAndGet();
+                    return response.send();
+                }))
+                .bindNow();
+        connectionProvider = ConnectionProvider.create("ai-test", 10);
+        HttpClient httpClient = HttpClient.create(connectionProvider);
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://localhost:" + server.port() + "/v1")
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+        prewarmer = new AiConnectionPrewarmer(httpClient,
+                new OpenAiCompatibleProvider("local", webClient, new ObjectMapper(), ""));
+        ReflectionTestUtils.setField(prewarmer, "timeout", Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionProvider.disposeLater().block(Duration.ofSeconds(5));
+        server.disposeNow();
+    }
+
+    @Test
+    void preconnect_ShouldSendOneHeadRequestPerConnection() throws InterruptedException {
+        // Arrange
+        ReflectionTestUtils.setField(prewarmer, "connections", 3);
+
+        // Act: runs in the background
+        prewarmer.preconnect();
+
+        // Assert
+        for (int i = 0; i < 50 && headRequests.get() < 3; i++) {
+            Thread.sleep(100);
+        }
+        Thread.sleep(200);
+        assertEquals(3, headRequests.get());
+    }
+
+    @Test
+    void preconnect_ShouldDoNothing_WhenDisabled() throws InterruptedException {
+        // Arrange
+        ReflectionTestUtils.setField(prewarmer, "connections", 0);
+
+        // Act
+        prewarmer.preconnect();
+
+        // Assert
+        Thread.sleep(500);
+        assertEquals(0, headRequests.get());
+    }
+}
@@ -0,0 +1,80 @@
+package com.newwork.backend.service.ai;
+
+import com.newwork.backend.service.ai.provider.AiProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class ModelWarmupSchedulerTest {
+
+    private AiProvider aiProvider;
+    private ModelHealthRegistry registry;
+    private ModelWarmupScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        aiProvider = mock(AiProvider.class);
+        when(aiProvider.isConfigured()).thenReturn(true);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        registry = new ModelHealthRegistry("primary", List.of("fallback"), meterRegistry);
+        scheduler = new ModelWarmupScheduler(aiProvider, registry, meterRegistry);
+        ReflectionTestUtils.setField(scheduler, "enabled", true);
+        ReflectionTestUtils.setField(scheduler, "idleThreshold", Duration.ofMinutes(3));
+        ReflectionTestUtils.setField(scheduler, "probeTimeout", Duration.ofSeconds(1));
+    }
+
+    @Test
+    void keepModelsWarm_ShouldRouteAroundModelThatReturned503() {
+        // Arrange
+        when(aiProvider.complete(argThat(r -> r != null && "primary".equals(r.getModel()))))
+                .thenReturn(Mono.error(WebClientResponseException.create(503, "Service Unavailable",
+                        HttpHeaders.EMPTY, new byte[0], null)));
+        when(aiProvider.complete(argThat(r -> r != null && "fallback".equals(r.getModel()))))
+                .thenReturn(Mono.just("OK"));
+
+        // Act
+        scheduler.keepModelsWarm();
+
+        // Assert
+        assertEquals(ModelHealthRegistry.ModelStatus.LOADING, registry.getStatus("primary"));
+        assertEquals(ModelHealthRegistry.ModelStatus.READY, registry.getStatus("fallback"));
+        assertEquals("fallback", registry.selectModel());
+    }
+
+    @Test
+    void keepModelsWarm_ShouldOnlyReprobeLoadingModels_WhileTrafficIsFlowing() {
+        // Arrange
+        when(aiProvider.complete(any())).thenReturn(Mono.just("OK"));
+        registry.markLoading("primary");
+        registry.recordTraffic();
+
+        // Act
+        scheduler.keepModelsWarm();
+
+        // Assert
+        verify(aiProvider, times(1)).complete(any());
+        assertEquals("primary", registry.selectModel());
+    }
+
+    @Test
+    void selectModel_ShouldFallBackToPrimary_WhenEveryModelIsLoading() {
+        // Arrange
+        registry.markLoading("primary");
+        registry.markLoading("fallback");
+
+        // Act & Assert
+        assertEquals("primary", registry.selectModel());
+    }
+}
@@ -0,0 +1,62 @@
+package com.newwork.backend.service.ai;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptionParserTest {
+
+    @Test
+    void parse_ShouldExtractLabelledOptions_AndSkipIntroduction() {
+        // Arrange
+        String content = "Here are three professional versions:\n\n"
+                + "OPTION 1: First version.\r\n"
+                + "  Option 2: Second version.  \n"
+                + "3. Third version.";
+
+        // Act
+        List<String> options = OptionParser.parse(content, String::trim);
+
+        // Assert
+        assertEquals(List.of("First version.", "Second version.", "Third version."), options);
+    }
+
+    @Test
+    void parse_ShouldKeepLastOccurrence_OfRepeatedLabel() {
+        // Act
+        List<String> options = OptionParser.parse("1: Draft.\n1: Final.\n2: Two.\n3: Three.", String::trim);
+
+        // Assert
+        assertEquals("Final.", options.get(0));
+    }
+
+    @Test
+    void parse_ShouldFallBackToSubstantialLines_WhenAnOptionIsMissing() {
+        // Arrange
+        String content = "Below are the rewritten versions:\n"
+                + "OPTION 1: short\n"
+                + "You consistently deliver high quality work on time.\n"
+                + "Your work is reliably excellent and always on schedule.\n"
+                + "The quality of your deliverables stands out.";
+
+        // Act
+        List<String> options = OptionParser.parse(content, String::trim);
+
+        // Assert
+        assertEquals(List.of(
+                "You consistently deliver high quality work on time.",
+                "Your work is reliably excellent and always on schedule.",
+                "The quality of your deliverables stands out."), options);
+    }
+
+    @Test
+    void parse_ShouldReturnEmptyOptions_WhenNothingMatches() {
+        // Act
+        List<String> options = OptionParser.parse("ok", String::trim);
+
+        // Assert
+        assertEquals(List.of("", "", ""), options);
+    }
+}
@@ -0,0 +1,75 @@
+package com.newwork.backend.service.ai;
+
+import com.newwork.backend.dto.FeedbackSuggestionChunk;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptionStreamParserTest {
+
+    private OptionStreamParser parser;
+
+    @BeforeEach
+    void setUp() {
+        parser = new OptionStreamParser(String::trim);
+    }
+
+    @Test
+    void accept_ShouldEmitOption_OnlyOnceLineIsComplete() {
+        // Act & Assert
+        assertTrue(parser.accept("OPTION 1: Great coll").isEmpty());
+        assertTrue(parser.accept("aboration on the").isEmpty());
+
+        List<FeedbackSuggestionChunk> completed = parser.accept(" release.\nOPTION 2: Str");
+
+        assertEquals(1, completed.size());
+        assertEquals(1, completed.get(0).getIndex());
+        assertEquals("Great collaboration on the release.", completed.get(0).getText());
+    }
+
+    @Test
+    void finish_ShouldFlushTrailingOption() {
+        // Arrange
+        parser.accept("Here are three professional versions:\n");
+        parser.accept("OPTION 1: First.\nOption 2: Second.\n3. Third.");
+
+        // Act
+        List<FeedbackSuggestionChunk> completed = parser.finish();
+
+        // Assert
+        assertEquals(1, completed.size());
+        assertEquals(3, completed.get(0).getIndex());
+        assertEquals("Third.", completed.get(0).getText());
+        assertEquals(3, parser.getEmittedCount());
+    }
+
+    @Test
+    void finish_ShouldFallBackToUnlabelledLines_WhenFormatIgnored() {
+        // Arrange
+        parser.accept("You consistently deliver high quality work on time.\n");
+        parser.accept("Your work is reliably excellent and always delivered on schedule.\n");
+        parser.accept("The quality and timeliness of your deliverables stand out.\n");
+
+        // Act
+        List<FeedbackSuggestionChunk> completed = new ArrayList<>(parser.finish());
+
+        // Assert
+        assertEquals(3, completed.size());
+        assertEquals(1, completed.get(0).getIndex());
+        assertEquals("You consistently deliver high quality work on time.", completed.get(0).getText());
+    }
+
+    @Test
+    void accept_ShouldIgnoreDuplicateLabels() {
+        // Act
+        List<FeedbackSuggestionChunk> completed = parser.accept("OPTION 1: First.\nOPTION 1: Again.\n");
+
+        // Assert
+        assertEquals(1, completed.size());
+        assertEquals("First.", completed.get(0).getText());
+    }
+}
@@ -0,0 +1,30 @@
+package com.newwork.backend.service.ai;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingWindowCounterTest {
+
+    private static final long MINUTE = Duration.ofMinutes(1).toNanos();
+
+    @Test
+    void nanosUntilFits_ShouldWaitForTheOldestBucketsToExpire() {
+        // Arrange: a 10-minute window in 1-minute buckets
+        SlidingWindowCounter counter = new SlidingWindowCounter(Duration.ofMinutes(10), 10);
+        counter.add(300, 0);
+        counter.add(300, 4 * MINUTE);
+        counter.add(300, 7 * MINUTE);
+        long now = 8 * MINUTE + MINUTE / 2;
+
+        // Act & Assert
+        assertEquals(0, counter.nanosUntilFits(100, 1000, now));
+        // The first 300 leave the window when minute 10 begins
+        assertEquals(10 * MINUTE - now, counter.nanosUntilFits(200, 1000, now));
+        // Then the next 300 at minute 14
+        assertEquals(14 * MINUTE - now, counter.nanosUntilFits(500, 1000, now));
+        assertEquals(-1, counter.nanosUntilFits(1001, 1000, now));
+    }
+}
@@ -0,0 +1,153 @@
+package com.newwork.backend.service.ai;
+
+import com.newwork.backend.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBudgetTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TokenBudget budget;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        budget = TokenBudget.builder()
+                .enabled(true)
+                .userLimit(1000)
+                .globalLimit(1500)
+                .window(Duration.ofHours(1))
+                .bucketCount(12)
+                .meterRegistry(meterRegistry)
+                .build();
+    }
+
+    @Test
+    void reserve_ShouldRejectUserOverBudget_AndLeaveOthersUnaffected() {
+        // Arrange
+        budget.reserve("alice", "EMPLOYEE", 600).settle(600);
+
+        // Act & Assert
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> budget.reserve("alice", "EMPLOYEE", 500));
+        assertEquals("Your AI usage limit has been reached. Please try again later.", exception.getMessage());
+        // The 600 tokens leave the one-hour window with their five-minute bucket
+        Duration retryAfter = exception.getRetryAfter().orElseThrow();
+        assertTrue(retryAfter.compareTo(Duration.ofMinutes(55)) > 0, retryAfter.toString());
+        assertTrue(retryAfter.compareTo(Duration.ofHours(1)) <= 0, retryAfter.toString());
+        assertDoesNotThrow(() -> budget.reserve("bob", "EMPLOYEE", 500));
+        assertEquals(1.0, meterRegistry.get("ai.tokens.rejected").tag("role", "employee").tag("scope", "user")
+                .counter().count());
+    }
+
+    @Test
+    void reserve_ShouldApplyOnlyGlobalBudget_ToSystemCallers() {
+        // Arrange
+        budget.reserve(null, TokenBudget.SYSTEM_ROLE, 1200).settle(1200);
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, () -> budget.reserve(null, TokenBudget.SYSTEM_ROLE, 400));
+        assertThrows(TooManyRequestsException.class, () -> budget.reserve("alice", "MANAGER", 400));
+        assertEquals(0, budget.getUserUsage("alice"));
+    }
+
+    @Test
+    void settle_ShouldReturnUnusedReservation() {
+        // Arrange
+        TokenBudget.Reservation reservation = budget.reserve("alice", "MANAGER", 550);
+
+        // Act
+        reservation.settle(120);
+
+        // Assert
+        assertEquals(120, budget.getUserUsage("alice"));
+        assertEquals(120, budget.getGlobalUsage());
+        assertEquals(120.0, meterRegistry.get("ai.tokens.used").tag("role", "manager").counter().count());
+    }
+
+    @Test
+    void settle_ShouldDropCorrection_WhenReservationHasExpired() throws InterruptedException {
+        // Arrange
+        TokenBudget shortWindow = TokenBudget.builder()
+                .enabled(true)
+                .userLimit(1000)
+                .globalLimit(1500)
+                .window(Duration.ofMillis(50))
+                .bucketCount(1)
+                .meterRegistry(new SimpleMeterRegistry())
+                .build();
+        TokenBudget.Reservation reservation = shortWindow.reserve("alice", "EMPLOYEE", 550);
+        Thread.sleep(120);
+        shortWindow.reserve("alice", "EMPLOYEE", 100);
+
+        // Act
+        reservation.settle(0);
+
+        // Assert
+        assertEquals(100, shortWindow.getUserUsage("alice"));
+        assertEquals(100, shortWindow.getGlobalUsage());
+    }
+
+    @Test
+    void slidingWindowCounter_ShouldCorrectOnlyTheBucketOfTheOriginalAdd() {
+        // Arrange
+        SlidingWindowCounter counter = new SlidingWindowCounter(Duration.ofSeconds(10), 10);
+        long second = Duration.ofSeconds(1).toNanos();
+        long period = counter.add(500, 2 * second);
+        counter.add(50, 5 * second);
+
+        // Act & Assert
+        assertTrue(counter.addAt(-400, period, 5 * second));
+        assertEquals(150, counter.sum(5 * second));
+        assertFalse(counter.addAt(-100, period, 12 * second));
+        assertEquals(50, counter.sum(12 * second));
+        counter.add(30, 12 * second);
+        assertFalse(counter.addAt(-100, period, 12 * second));
+        assertEquals(80, counter.sum(12 * second));
+    }
+
+    @Test
+    void slidingWindowCounter_ShouldExpireBucketsOutsideWindow() {
+        // Arrange
+        SlidingWindowCounter counter = new SlidingWindowCounter(Duration.ofSeconds(10), 10);
+        long second = Duration.ofSeconds(1).toNanos();
+        counter.add(5, 0);
+        counter.add(7, 4 * second);
+
+        // Act & Assert
+        assertEquals(12, counter.sum(9 * second));
+        assertEquals(7, counter.sum(10 * second));
+        assertEquals(0, counter.sum(14 * second));
+        assertTrue(counter.isIdle(14 * second));
+    }
+
+    @Test
+    void slidingWindowCounter_ShouldNotLoseConcurrentAdds() throws InterruptedException {
+        // Arrange
+        SlidingWindowCounter counter = new SlidingWindowCounter(Duration.ofMinutes(1), 6);
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    counter.add(1, 0);
+                }
+            });
+        }
+
+        // Act
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Assert
+        assertEquals(80_000, counter.sum(0));
+    }
+}
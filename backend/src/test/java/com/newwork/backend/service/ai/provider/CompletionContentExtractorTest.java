@@ -0,0 +1,74 @@
+package com.newwork.backend.service.ai.provider;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompletionContentExtractorTest {
+
+    private final CompletionContentExtractor extractor = new CompletionContentExtractor(new JsonFactory());
+
+    @Test
+    void extractContent_ShouldReadFirstChoice_AndSkipOtherFields() throws IOException {
+        // Arrange
+        String body = """
+                {"id":"cmpl-1","object":"chat.completion",
+                 "choices":[{"index":0,"logprobs":{"content":[{"token":"x"}]},
+                             "message":{"role":"assistant","tool_calls":[],"content":"Great work \\"on\\" the release."}},
+                            {"index":1,"message":{"content":"Second choice"}}],
+                 "usage":{"prompt_tokens":10,"completion_tokens":5}}
+                """;
+
+        // Act
+        String content = extractor.extractContent(bytes(body));
+
+        // Assert
+        assertEquals("Great work \"on\" the release.", content);
+    }
+
+    @Test
+    void extractContent_ShouldSupportLegacyArrayFormat() throws IOException {
+        // Act & Assert
+        assertEquals("Summary", extractor.extractContent(bytes("[{\"generated_text\":\"Generated\",\"summary_text\":\"Summary\"}]")));
+        assertEquals("Generated", extractor.extractContent(bytes("[{\"generated_text\":\"Generated\"}]")));
+    }
+
+    @Test
+    void extractContent_ShouldThrow_WhenResponseCarriesError() {
+        // Act
+        RuntimeException plain = assertThrows(RuntimeException.class,
+                () -> extractor.extractContent(bytes("{\"error\":\"Model is loading\"}")));
+        RuntimeException nested = assertThrows(RuntimeException.class,
+                () -> extractor.extractContent(bytes("{\"error\":{\"message\":\"Rate limited\",\"code\":429},\"choices\":[]}")));
+
+        // Assert
+        assertEquals("API error: Model is loading", plain.getMessage());
+        assertEquals("API error: Rate limited", nested.getMessage());
+    }
+
+    @Test
+    void extractContent_ShouldThrow_WhenContentIsMissing() {
+        // Act
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> extractor.extractContent(bytes("{\"choices\":[{\"message\":{\"role\":\"assistant\"}}]}")));
+
+        // Assert
+        assertEquals("Unexpected response format", exception.getMessage());
+    }
+
+    @Test
+    void extractDelta_ShouldReturnEmptyString_ForChunksWithoutText() throws IOException {
+        // Act & Assert
+        assertEquals("Hel", extractor.extractDelta("{\"choices\":[{\"index\":0,\"delta\":{\"content\":\"Hel\"}}]}"));
+        assertEquals("", extractor.extractDelta("{\"choices\":[{\"delta\":{\"role\":\"assistant\"}}]}"));
+        assertEquals("", extractor.extractDelta("{\"choices\":[{\"delta\":{},\"finish_reason\":\"stop\"}]}"));
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
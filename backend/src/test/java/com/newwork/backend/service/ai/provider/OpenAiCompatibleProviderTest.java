@@ -0,0 +1,89 @@
+package com.newwork.backend.service.ai.provider;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The provider over a canned HTTP exchange instead of a server
+ */
+class OpenAiCompatibleProviderTest {
+
+    private final List<ClientRequest> requests = new ArrayList<>();
+
+    private OpenAiCompatibleProvider provider(HttpStatus status, MediaType contentType, String body) {
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://llm.test/v1")
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return Mono.just(ClientResponse.create(status)
+                            .header(HttpHeaders.CONTENT_TYPE, contentType.toString())
+                            .body(body)
+                            .build());
+                })
+                .build();
+        return new OpenAiCompatibleProvider("test", webClient, new ObjectMapper(), "secret");
+    }
+
+    private static AiCompletionRequest request() {
+        return AiCompletionRequest.builder()
+                .model("model")
+                .prompt("Feedback: good work")
+                .maxTokens(100)
+                .temperature(0.7)
+                .build();
+    }
+
+    @Test
+    void complete_ShouldReturnMessageContent_AndSendApiKey() {
+        // Arrange
+        OpenAiCompatibleProvider provider = provider(HttpStatus.OK, MediaType.APPLICATION_JSON,
+                "{\"choices\":[{\"message\":{\"content\":\"Great work.\"}}]}");
+
+        // Act
+        String content = provider.complete(request()).block();
+
+        // Assert
+        assertEquals("Great work.", content);
+        assertEquals("http://llm.test/v1/chat/completions", requests.get(0).url().toString());
+        assertEquals("Bearer secret", requests.get(0).headers().getFirst(HttpHeaders.AUTHORIZATION));
+    }
+
+    @Test
+    void complete_ShouldKeepStatus_WhenUpstreamRateLimits() {
+        // Arrange
+        OpenAiCompatibleProvider provider = provider(HttpStatus.TOO_MANY_REQUESTS, MediaType.APPLICATION_JSON,
+                "{\"error\":\"rate limited\"}");
+
+        // Act
+        WebClientResponseException error = assertThrows(WebClientResponseException.class,
+                () -> provider.complete(request()).block());
+
+        // Assert
+        assertEquals(429, error.getStatusCode().value());
+        assertEquals("{\"error\":\"rate limited\"}", error.getResponseBodyAsString());
+    }
+
+    @Test
+    void complete_ShouldKeepStatus_OnServerError() {
+        // Arrange
+        OpenAiCompatibleProvider provider = provider(HttpStatus.SERVICE_UNAVAILABLE, MediaType.TEXT_PLAIN, "loading");
+
+        // Act & Assert
+        WebClientResponseException error = assertThrows(WebClientResponseException.class,
+                () -> provider.complete(request()).block());
+        assertEquals(503, error.getStatusCode().value());
+    }
+}
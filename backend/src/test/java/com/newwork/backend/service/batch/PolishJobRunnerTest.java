@@ -0,0 +1,175 @@
+package com.newwork.backend.service.batch;
+
+import com.newwork.backend.entity.Feedback;
+import com.newwork.backend.entity.PolishJob;
+import com.newwork.backend.entity.PolishJobItem;
+import com.newwork.backend.repository.FeedbackRepository;
+import com.newwork.backend.repository.PolishJobItemRepository;
+import com.newwork.backend.repository.PolishJobRepository;
+import com.newwork.backend.service.FeedbackService;
+import com.newwork.backend.service.HuggingFaceService;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class PolishJobRunnerTest {
+
+    private PolishJobRepository jobRepository;
+    private PolishJobItemRepository itemRepository;
+    private FeedbackRepository feedbackRepository;
+    private FeedbackService feedbackService;
+    private HuggingFaceService huggingFaceService;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private PolishJobRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository = mock(PolishJobRepository.class);
+        itemRepository = mock(PolishJobItemRepository.class);
+        feedbackRepository = mock(FeedbackRepository.class);
+        feedbackService = mock(FeedbackService.class);
+        huggingFaceService = mock(HuggingFaceService.class);
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        // Run dispatcher and workers on the calling thread
+        runner = new PolishJobRunner(jobRepository, itemRepository, feedbackRepository, feedbackService,
+                huggingFaceService, circuitBreakerRegistry, Runnable::run, Runnable::run, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(runner, "parallelism", 2);
+        ReflectionTestUtils.setField(runner, "maxAttempts", 3);
+        ReflectionTestUtils.setField(runner, "retryDelay", Duration.ofMillis(1));
+    }
+
+    @Test
+    void run_ShouldPolishPendingItemsAndCompleteJob() throws InterruptedException {
+        // Arrange
+        PolishJob job = PolishJob.builder().id(1L).status(PolishJob.Status.QUEUED).totalItems(2).build();
+        PolishJobItem unpolished = item(10L, 100L, 0);
+        PolishJobItem alreadyPolished = item(11L, 101L, 0);
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(job));
+        when(jobRepository.findStatusById(1L)).thenReturn(PolishJob.Status.RUNNING);
+        when(jobRepository.updateStatus(eq(1L), any(), any(), any())).thenReturn(1);
+        when(itemRepository.countByJobIdAndStatus(1L, PolishJobItem.Status.PENDING)).thenReturn(2L, 0L);
+        when(itemRepository.findPendingAfter(eq(1L), eq(0L), any(Limit.class)))
+                .thenReturn(List.of(unpolished, alreadyPolished));
+        when(feedbackRepository.findById(100L)).thenReturn(Optional.of(feedback(100L, false)));
+        when(feedbackRepository.findById(101L)).thenReturn(Optional.of(feedback(101L, true)));
+        when(huggingFaceService.polishFeedback("Raw feedback"))
+                .thenReturn(new HuggingFaceService.PolishResult("Polished feedback", true));
+        when(feedbackService.applyPolish(100L, "Polished feedback")).thenReturn(true);
+
+        // Act
+        runner.run(1L);
+
+        // Assert
+        verify(itemRepository).updateItem(10L, PolishJobItem.Status.POLISHED, 1, null);
+        verify(itemRepository).updateItem(11L, PolishJobItem.Status.SKIPPED, 0, null);
+        verify(huggingFaceService, times(1)).polishFeedback(any());
+        verify(jobRepository).updateStatus(eq(1L), eq(PolishJob.Status.COMPLETED), any(), any());
+    }
+
+    @Test
+    void run_ShouldPauseWithoutDispatching_WhileCircuitIsOpen() throws InterruptedException {
+        // Arrange
+        PolishJob job = PolishJob.builder().id(1L).status(PolishJob.Status.RUNNING).totalItems(1).build();
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(job));
+        when(jobRepository.updateStatus(eq(1L), any(), any(), any())).thenReturn(1);
+        when(jobRepository.findStatusById(1L)).thenReturn(PolishJob.Status.CANCELLED);
+        when(itemRepository.countByJobIdAndStatus(1L, PolishJobItem.Status.PENDING)).thenReturn(1L);
+        circuitBreakerRegistry.circuitBreaker("huggingface").transitionToOpenState();
+
+        // Act
+        runner.run(1L);
+
+        // Assert
+        verify(jobRepository).updateStatus(1L, PolishJob.Status.PAUSED, null, null);
+        verify(itemRepository, never()).findPendingAfter(anyLong(), anyLong(), any());
+        verifyNoInteractions(huggingFaceService);
+    }
+
+    @Test
+    void process_ShouldDeferItem_WhenCircuitOpensDuringCall() {
+        // Arrange
+        PolishJobItem item = item(10L, 100L, 0);
+        when(feedbackRepository.findById(100L)).thenReturn(Optional.of(feedback(100L, false)));
+        when(huggingFaceService.polishFeedback(any())).thenAnswer(invocation -> {
+            circuitBreakerRegistry.circuitBreaker("huggingface").transitionToOpenState();
+            throw new RuntimeException("AI service is currently unavailable. Please try again later.");
+        });
+
+        // Act
+        runner.process(item, new PolishJobProgress(1));
+
+        // Assert
+        verify(itemRepository, never()).updateItem(anyLong(), any(), anyInt(), any());
+    }
+
+    @Test
+    void process_ShouldMarkItemFailed_AfterMaxAttempts() {
+        // Arrange
+        PolishJobItem firstTry = item(10L, 100L, 0);
+        PolishJobItem lastTry = item(11L, 100L, 2);
+        when(feedbackRepository.findById(100L)).thenReturn(Optional.of(feedback(100L, false)));
+        when(huggingFaceService.polishFeedback(any())).thenThrow(new RuntimeException("HuggingFace API error"));
+        PolishJobProgress progress = new PolishJobProgress(2);
+
+        // Act
+        runner.process(firstTry, progress);
+        runner.process(lastTry, progress);
+
+        // Assert
+        verify(itemRepository).updateItem(10L, PolishJobItem.Status.PENDING, 1, "HuggingFace API error");
+        verify(itemRepository).updateItem(11L, PolishJobItem.Status.FAILED, 1, "HuggingFace API error");
+        verify(feedbackService, never()).applyPolish(anyLong(), isNull());
+        assertEquals(1, progress.getCompleted());
+    }
+
+    @Test
+    void process_ShouldSkipItem_WhenModelReturnsTextUnchanged() {
+        // Arrange
+        PolishJobItem item = item(10L, 100L, 0);
+        PolishJobProgress progress = new PolishJobProgress(1);
+        when(feedbackRepository.findById(100L)).thenReturn(Optional.of(feedback(100L, false)));
+        when(huggingFaceService.polishFeedback("Raw feedback"))
+                .thenReturn(new HuggingFaceService.PolishResult("Raw feedback.", false));
+
+        // Act
+        runner.process(item, progress);
+
+        // Assert
+        verify(itemRepository).updateItem(10L, PolishJobItem.Status.SKIPPED, 1, "AI returned an empty or unchanged text");
+        verify(feedbackService, never()).applyPolish(anyLong(), any());
+        assertEquals(1, progress.getCompleted());
+    }
+
+    private static PolishJobItem item(Long id, Long feedbackId, int attempts) {
+        return PolishJobItem.builder()
+                .id(id)
+                .jobId(1L)
+                .feedbackId(feedbackId)
+                .attempts(attempts)
+                .build();
+    }
+
+    private static Feedback feedback(Long id, boolean polished) {
+        return Feedback.builder()
+                .id(id)
+                .originalContent("Raw feedback")
+                .authorName("manager")
+                .isPolished(polished)
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.newwork.backend.service.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+
+    @Test
+    void readRecord_ShouldHandleQuotesSeparatorsAndLineBreaksInFields() throws IOException {
+        // Arrange
+        String csv = "\uFEFFname,note\r\n"
+                + "\"Doe, John\",\"said \"\"hi\"\"\"\r\n"
+                + "\r\n"
+                + "jane,\"two\nlines\"\n"
+                + "last,";
+        CsvReader reader = new CsvReader(new StringReader(csv), ',');
+
+        // Act & Assert
+        assertEquals(List.of("name", "note"), reader.readRecord());
+        assertEquals(List.of("Doe, John", "said \"hi\""), reader.readRecord());
+        assertEquals(2, reader.getRecordLineNumber());
+        assertEquals(List.of("jane", "two\nlines"), reader.readRecord());
+        assertEquals(4, reader.getRecordLineNumber());
+        assertEquals(List.of("last", ""), reader.readRecord());
+        assertEquals(6, reader.getRecordLineNumber());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    void readRecord_ShouldReject_UnterminatedQuote() throws IOException {
+        // Arrange
+        CsvReader reader = new CsvReader(new StringReader("a;b\n\"open;x\n"), ';');
+        reader.readRecord();
+
+        // Act & Assert
+        IOException exception = assertThrows(IOException.class, reader::readRecord);
+        assertTrue(exception.getMessage().contains("line 2"));
+    }
+}
@@ -0,0 +1,94 @@
+package com.newwork.backend.service.text;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Bm25IndexTest {
+
+    private Bm25Index index;
+
+    @BeforeEach
+    void setUp() {
+        index = new Bm25Index();
+        index.add(1L, 10L, Tokenizer.tokenize("Missed the deadline twice, deadline planning needs work"));
+        index.add(2L, 10L, Tokenizer.tokenize("Great mentoring of the new joiners and met every deadline"));
+        index.add(3L, 20L, Tokenizer.tokenize("Excellent mentoring and code reviews"));
+    }
+
+    @Test
+    void search_ShouldRankHigherTermFrequencyFirst() {
+        // Act
+        List<Bm25Index.Hit> hits = index.search(Tokenizer.tokenize("deadline"), null, 10);
+
+        // Assert
+        assertEquals(List.of(1L, 2L), hits.stream().map(Bm25Index.Hit::feedbackId).toList());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+    }
+
+    @Test
+    void search_ShouldApplyEmployeeFilter() {
+        // Act
+        List<Bm25Index.Hit> hits = index.search(Tokenizer.tokenize("Mentoring"), Set.of(20L), 10);
+
+        // Assert
+        assertEquals(1, hits.size());
+        assertEquals(3L, hits.get(0).feedbackId());
+    }
+
+    @Test
+    void remove_ShouldDropDocumentFromResults() {
+        // Act
+        index.remove(1L, Tokenizer.tokenize("Missed the deadline twice, deadline planning needs work"));
+
+        // Assert
+        List<Bm25Index.Hit> hits = index.search(Tokenizer.tokenize("deadline planning"), null, 10);
+        assertEquals(List.of(2L), hits.stream().map(Bm25Index.Hit::feedbackId).toList());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void removeAndAdd_ShouldReuseFreedSlots() {
+        // Arrange: polishing re-indexes a feedback as remove plus add
+        List<String> original = Tokenizer.tokenize("Excellent mentoring and code reviews");
+        List<String> polished = Tokenizer.tokenize("Excellent mentoring and thorough code reviews");
+        long memoryBefore = index.memoryBytes();
+
+        // Act
+        for (int i = 0; i < 2000; i++) {
+            index.remove(3L, original);
+            index.add(3L, 20L, polished);
+            index.remove(3L, polished);
+            index.add(3L, 20L, original);
+        }
+
+        // Assert
+        assertEquals(memoryBefore, index.memoryBytes());
+        assertEquals(3, index.size());
+        List<Bm25Index.Hit> hits = index.search(Tokenizer.tokenize("deadline mentoring"), null, 10);
+        assertEquals(Set.of(1L, 2L, 3L), Set.copyOf(hits.stream().map(Bm25Index.Hit::feedbackId).toList()));
+    }
+
+    @Test
+    void tokenize_ShouldLowercaseTheSame_UnderTurkishDefaultLocale() {
+        // Arrange
+        Locale original = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+
+        // Act
+        List<String> terms;
+        try {
+            terms = Tokenizer.tokenize("IMPROVED INITIATIVE");
+        } finally {
+            Locale.setDefault(original);
+        }
+
+        // Assert
+        assertEquals(List.of("improved", "initiative"), terms);
+    }
+}
@@ -0,0 +1,80 @@
+package com.newwork.backend.service.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeInsightsTest {
+
+    @Test
+    void add_ShouldTrackTopKeywordsAndSentiment() {
+        // Arrange
+        EmployeeInsights insights = new EmployeeInsights();
+
+        // Act
+        insights.add(Tokenizer.tokenize("Great mentoring, code reviews are thorough"));
+        insights.add(Tokenizer.tokenize("Mentoring the juniors was great"));
+        insights.add(Tokenizer.tokenize("Not reliable with deadlines"));
+
+        // Assert
+        List<EmployeeInsights.Keyword> top = insights.topKeywords(2);
+        assertEquals("great", top.get(0).term());
+        assertEquals(2, top.get(0).count());
+        assertEquals("mentoring", top.get(1).term());
+        assertEquals(5, insights.getPositiveTerms());
+        assertEquals(1, insights.getNegativeTerms()); // "not reliable" is negated
+        assertEquals(3, insights.getFeedbackCount());
+    }
+
+    @Test
+    void remove_ShouldUndoAdd() {
+        // Arrange
+        EmployeeInsights insights = new EmployeeInsights();
+        insights.add(Tokenizer.tokenize("Great mentoring"));
+        List<String> deleted = Tokenizer.tokenize("Missed deadlines, poor planning");
+        insights.add(deleted);
+
+        // Act
+        insights.remove(deleted);
+
+        // Assert
+        assertEquals(List.of("great", "mentoring"),
+                insights.topKeywords(10).stream().map(EmployeeInsights.Keyword::term).toList());
+        assertEquals(0, insights.getNegativeTerms());
+        assertEquals(1, insights.getFeedbackCount());
+    }
+
+    @Test
+    void add_ShouldKeepFewTermsExact() {
+        // Arrange
+        EmployeeInsights insights = new EmployeeInsights();
+
+        // Act
+        insights.add(Tokenizer.tokenize("Great mentoring, code reviews are thorough"));
+
+        // Assert
+        assertFalse(insights.isSketched());
+        assertTrue(insights.memoryBytes() < 1024, "memory " + insights.memoryBytes());
+    }
+
+    @Test
+    void add_ShouldSwitchToSketchPastTermLimit() {
+        // Arrange
+        EmployeeInsights insights = new EmployeeInsights();
+        insights.add(Tokenizer.tokenize("Great mentoring and great reviews"));
+
+        // Act
+        for (int i = 0; i < EmployeeInsights.EXACT_TERM_LIMIT; i++) {
+            insights.add(Tokenizer.tokenize("topic" + i + " great"));
+        }
+
+        // Assert
+        assertTrue(insights.isSketched());
+        EmployeeInsights.Keyword top = insights.topKeywords(1).get(0);
+        assertEquals("great", top.term());
+        assertTrue(top.count() >= EmployeeInsights.EXACT_TERM_LIMIT + 2);
+        assertEquals(EmployeeInsights.EXACT_TERM_LIMIT + 1, insights.getFeedbackCount());
+    }
+}
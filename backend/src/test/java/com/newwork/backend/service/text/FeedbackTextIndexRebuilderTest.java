@@ -0,0 +1,79 @@
+package com.newwork.backend.service.text;
+
+import com.newwork.backend.event.FeedbackCreatedEvent;
+import com.newwork.backend.repository.FeedbackRepository;
+import com.newwork.backend.repository.FeedbackTextView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FeedbackTextIndexRebuilderTest {
+
+    @Mock
+    private FeedbackRepository feedbackRepository;
+
+    private FeedbackInsightsIndex insightsIndex;
+    private FeedbackSearchIndex searchIndex;
+    private FeedbackTextIndexRebuilder rebuilder;
+
+    @BeforeEach
+    void setUp() {
+        insightsIndex = new FeedbackInsightsIndex(new SimpleMeterRegistry());
+        searchIndex = new FeedbackSearchIndex(new SimpleMeterRegistry());
+        rebuilder = new FeedbackTextIndexRebuilder(feedbackRepository, List.of(insightsIndex, searchIndex));
+    }
+
+    @Test
+    void rebuild_ShouldFillEveryIndexFromOneScan() {
+        // Arrange
+        List<FeedbackTextView> batch = List.of(view(1L, "Great mentoring"), view(2L, "Great reviews"));
+        when(feedbackRepository.findMaxId()).thenReturn(2L);
+        when(feedbackRepository.findTextBatchAfter(eq(0L), any(Limit.class))).thenReturn(batch);
+
+        // Act
+        rebuilder.rebuild();
+
+        // Assert
+        assertEquals(2, insightsIndex.getInsights(7L).orElseThrow().getTopKeywords().get(0).getCount());
+        assertEquals(2, searchIndex.search("great", null, 10).size());
+        verify(feedbackRepository, times(1)).findTextBatchAfter(any(), any(Limit.class));
+    }
+
+    @Test
+    void rebuild_ShouldSkipFeedbackCreatedAfterItStarted() {
+        // Arrange
+        List<FeedbackTextView> batch = List.of(view(1L, "Great mentoring"), view(2L, "Great reviews"));
+        when(feedbackRepository.findMaxId()).thenReturn(1L);
+        // Feedback 2 is created, and its event applied, while the rebuild is reading
+        when(feedbackRepository.findTextBatchAfter(eq(0L), any(Limit.class))).thenAnswer(invocation -> {
+            insightsIndex.onFeedbackCreated(new FeedbackCreatedEvent(2L, 7L, "author", "Great reviews", null));
+            return batch;
+        });
+
+        // Act
+        rebuilder.rebuild();
+
+        // Assert
+        assertEquals(2, insightsIndex.getInsights(7L).orElseThrow().getTopKeywords().get(0).getCount());
+        verify(feedbackRepository, times(1)).findTextBatchAfter(any(), any(Limit.class));
+    }
+
+    private static FeedbackTextView view(Long id, String content) {
+        FeedbackTextView view = mock(FeedbackTextView.class);
+        lenient().when(view.getId()).thenReturn(id);
+        lenient().when(view.getEmployeeId()).thenReturn(7L);
+        lenient().when(view.getOriginalContent()).thenReturn(content);
+        return view;
+    }
+}
@@ -0,0 +1,120 @@
+package com.newwork.backend.service.text;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NearDuplicateIndexTest {
+
+    private static final String ORIGINAL =
+            "John consistently delivers high quality work and is always willing to help teammates with difficult problems.";
+
+    private NearDuplicateIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new NearDuplicateIndex(10);
+        index.add(1L, 10L, "alice", MinHasher.signature(ORIGINAL));
+        index.add(2L, 10L, "bob", MinHasher.signature(
+                "The quarterly report was late and missed several of the agreed metrics."));
+    }
+
+    @Test
+    void findNearDuplicate_ShouldMatchLightlyEditedCopy() {
+        // Arrange
+        int[] edited = MinHasher.signature(
+                "John consistently delivers high-quality work, and is always willing to help teammates with hard problems!");
+
+        // Act
+        Optional<NearDuplicateIndex.Match> match = index.findNearDuplicate(edited, 10L, "carol", 0.6);
+
+        // Assert
+        assertTrue(match.isPresent());
+        assertEquals(1L, match.get().feedbackId());
+    }
+
+    @Test
+    void findNearDuplicate_ShouldIgnoreUnrelatedText() {
+        // Arrange
+        int[] unrelated = MinHasher.signature("Great presentation at the all-hands meeting last Friday.");
+
+        // Act & Assert
+        assertTrue(index.findNearDuplicate(unrelated, 10L, "alice", 0.6).isEmpty());
+    }
+
+    @Test
+    void findNearDuplicate_ShouldOnlyMatchSameEmployeeOrSameAuthor() {
+        // Arrange
+        int[] copy = MinHasher.signature(ORIGINAL);
+
+        // Act & Assert
+        assertTrue(index.findNearDuplicate(copy, 99L, "carol", 0.8).isEmpty());
+        assertTrue(index.findNearDuplicate(copy, 99L, "alice", 0.8).isPresent());
+    }
+
+    @Test
+    void remove_ShouldDropEntry_AndAddShouldIgnoreReplays() {
+        // Arrange
+        int[] signature = MinHasher.signature(ORIGINAL);
+        index.add(1L, 10L, "alice", signature);
+        assertEquals(2, index.size());
+
+        // Act
+        boolean removed = index.remove(1L, signature);
+
+        // Assert
+        assertTrue(removed);
+        assertEquals(1, index.size());
+        assertTrue(index.findNearDuplicate(signature, 10L, "alice", 0.8).isEmpty());
+    }
+
+    @Test
+    void findNearDuplicate_ShouldNotMatchDifferentAuthor_WithSameHashCode() {
+        // Arrange
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        int[] copy = MinHasher.signature(ORIGINAL);
+        index.add(3L, 20L, "Aa", copy);
+
+        // Act & Assert
+        assertTrue(index.findNearDuplicate(copy, 99L, "BB", 0.8).stream().noneMatch(m -> m.feedbackId() == 3L));
+        assertEquals(3L, index.findNearDuplicate(copy, 20L, "BB", 0.8).orElseThrow().feedbackId());
+    }
+
+    @Test
+    void remove_ShouldCompact_WhenTombstonesExceedFraction() {
+        // Arrange
+        NearDuplicateIndex small = new NearDuplicateIndex(6, 0.5);
+        int count = 2000;
+        int[][] signatures = new int[count][];
+        for (int i = 0; i < count; i++) {
+            signatures[i] = MinHasher.signature("feedback number " + i + " about sprint " + (i * 7919) + " and release " + (i % 13));
+            small.add(i, i % 50, "author" + (i % 20), signatures[i]);
+        }
+        long memoryBefore = small.memoryBytes();
+
+        // Act
+        for (int i = 0; i < count; i += 4) {
+            assertTrue(small.remove(i, signatures[i]));
+            assertTrue(small.remove(i + 1, signatures[i + 1]));
+            assertTrue(small.remove(i + 2, signatures[i + 2]));
+        }
+
+        // Assert
+        assertEquals(count / 4, small.size());
+        assertTrue(small.memoryBytes() < memoryBefore);
+        for (int i = 0; i < count; i++) {
+            Optional<NearDuplicateIndex.Match> match = small.findNearDuplicate(signatures[i], i % 50, "nobody", 0.99);
+            if (i % 4 == 3) {
+                assertEquals(i, match.orElseThrow().feedbackId());
+                assertFalse(small.remove(i - 1, signatures[i - 1]));
+            } else {
+                assertTrue(match.isEmpty() || match.get().feedbackId() % 4 == 3);
+            }
+        }
+        small.add(3L, 3L, "author3", signatures[3]);
+        assertEquals(count / 4, small.size());
+    }
+}
@@ -0,0 +1,45 @@
+package com.newwork.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_ShouldNeverMissInsertedElements_AndStayNearTargetRate() {
+        // Arrange
+        BloomFilter<CharSequence> filter = BloomFilter.forStrings(10_000, 0.01);
+        String[] inserted = new String[10_000];
+        for (int i = 0; i < inserted.length; i++) {
+            inserted[i] = UUID.randomUUID().toString();
+            filter.put(inserted[i]);
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        for (String element : inserted) {
+            assertTrue(filter.mightContain(element));
+        }
+        assertTrue(falsePositives < 2_000, "false positive rate " + falsePositives / 100_000.0);
+    }
+
+    @Test
+    void constructor_ShouldSizeFromExpectedInsertions() {
+        // Act
+        BloomFilter<CharSequence> filter = BloomFilter.forStrings(1_000, 0.01);
+
+        // Assert: ~9.6 bits and 7 hashes per element for 1%
+        assertEquals(9600, filter.bitSize(), 64);
+        assertEquals(7, filter.hashCount());
+    }
+}
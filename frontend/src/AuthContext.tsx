@@ -1,5 +1,6 @@
 import React, { createContext, useContext, useState, useEffect } from 'react';
 import type { AuthResponse } from './types';
+import { authApi } from './api';
 
 interface AuthContextType {
   user: AuthResponse | null;
@@ -26,6 +27,7 @@ export const AuthProvider: React.FC<{ children: React.ReactNode }> = ({ children
     } catch (error) {
       console.error('Failed to load user from localStorage:', error);
       localStorage.removeItem('token');
+      localStorage.removeItem('refreshToken');
       localStorage.removeItem('user');
     } finally {
       setLoading(false);
@@ -34,12 +36,16 @@ export const AuthProvider: React.FC<{ children: React.ReactNode }> = ({ children
 
   const login = (userData: AuthResponse) => {
     localStorage.setItem('token', userData.token);
+    localStorage.setItem('refreshToken', userData.refreshToken);
     localStorage.setItem('user', JSON.stringify(userData));
     setUser(userData);
   };
 
   const logout = () => {
+    // Best effort: revoke server-side, but never block signing out on it
+    authApi.logout(localStorage.getItem('refreshToken'), localStorage.getItem('token')).catch(() => {});
     localStorage.removeItem('token');
+    localStorage.removeItem('refreshToken');
     localStorage.removeItem('user');
     setUser(null);
   };
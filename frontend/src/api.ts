@@ -1,4 +1,4 @@
-import axios from 'axios';
+import axios, { type AxiosError, type InternalAxiosRequestConfig } from 'axios';
 import type {
   AuthResponse,
   LoginRequest,
@@ -10,6 +10,7 @@ import type {
   FeedbackRequest,
   FeedbackSuggestionsRequest,
   FeedbackSuggestionsResponse,
+  FeedbackPage,
   PageResponse,
 } from './types';
 
@@ -23,12 +24,62 @@ const api = axios.create({
 // Add token to requests
 api.interceptors.request.use((config) => {
   const token = localStorage.getItem('token');
-  if (token) {
+  if (token && !config.headers.Authorization) {
     config.headers.Authorization = `Bearer ${token}`;
   }
   return config;
 });
 
+// Access tokens are short-lived: on 401, rotate the refresh token once and replay the request.
+// Concurrent 401s share one refresh call, since a refresh token can only be used once.
+let refreshInFlight: Promise<string> | null = null;
+
+const refreshAccessToken = (): Promise<string> => {
+  if (!refreshInFlight) {
+    const refreshToken = localStorage.getItem('refreshToken');
+    refreshInFlight = (refreshToken
+      ? axios.post<AuthResponse>(`${api.defaults.baseURL}/auth/refresh`, { refreshToken })
+          .then(({ data }) => {
+            localStorage.setItem('token', data.token);
+            localStorage.setItem('refreshToken', data.refreshToken);
+            localStorage.setItem('user', JSON.stringify(data));
+            return data.token;
+          })
+      : Promise.reject(new Error('No refresh token')))
+      .finally(() => {
+        refreshInFlight = null;
+      });
+  }
+  return refreshInFlight;
+};
+
+api.interceptors.response.use(
+  (response) => response,
+  async (error: AxiosError) => {
+    const original = error.config as (InternalAxiosRequestConfig & { _retried?: boolean }) | undefined;
+    if (error.response?.status !== 401 || !original || original._retried || original.url?.startsWith('/auth/')) {
+      return Promise.reject(error);
+    }
+    original._retried = true;
+    try {
+      const sentToken = original.headers.Authorization;
+      const currentToken = localStorage.getItem('token');
+      // Another request may already have refreshed while this one was in flight
+      const token = currentToken && sentToken !== `Bearer ${currentToken}`
+        ? currentToken
+        : await refreshAccessToken();
+      original.headers.Authorization = `Bearer ${token}`;
+      return api(original);
+    } catch {
+      localStorage.removeItem('token');
+      localStorage.removeItem('refreshToken');
+      localStorage.removeItem('user');
+      window.location.href = '/login';
+      return Promise.reject(error);
+    }
+  }
+);
+
 // Auth APIs
 export const authApi = {
   login: (data: LoginRequest) =>
@@ -36,6 +87,11 @@ export const authApi = {
   
   register: (data: RegisterRequest) =>
     api.post<AuthResponse>('/auth/register', data),
+
+  logout: (refreshToken: string | null, accessToken: string | null) =>
+    api.post('/auth/logout', refreshToken ? { refreshToken } : {}, {
+      headers: accessToken ? { Authorization: `Bearer ${accessToken}` } : {},
+    }),
 };
 
 // Employee APIs
@@ -127,6 +183,12 @@ export const feedbackApi = {
   getByEmployee: (employeeId: number) =>
     api.get<Feedback[]>(`/feedbacks/employee/${employeeId}`),
   
+  getFeed: (employeeId: number, cursor?: string, size = 20) =>
+    api.get<FeedbackPage>(`/feedbacks/employee/${employeeId}/feed`, { params: { cursor, size } }),
+  
+  getAuthored: (cursor?: string, size = 20) =>
+    api.get<FeedbackPage>('/feedbacks/authored', { params: { cursor, size } }),
+  
   delete: (feedbackId: number) =>
     api.delete(`/feedbacks/${feedbackId}`),
   
@@ -135,18 +197,26 @@ export const feedbackApi = {
 };
 
 // Metrics & Monitoring API
+// Health status is public; details, metrics and breakers need a manager's token
+const actuatorHeaders = () => {
+  const token = localStorage.getItem('token');
+  return token
+    ? { 'Cache-Control': 'no-cache', Authorization: `Bearer ${token}` }
+    : { 'Cache-Control': 'no-cache' };
+};
+
 export const metricsApi = {
   getHealth: () => 
     axios.get('/actuator/health', {
-      headers: { 'Cache-Control': 'no-cache' }
+      headers: actuatorHeaders()
     }),
   getCircuitBreakers: () =>
     axios.get('/actuator/circuitbreakers', {
-      headers: { 'Cache-Control': 'no-cache' }
+      headers: actuatorHeaders()
     }),
   getMetric: (metricName: string) =>
     axios.get(`/actuator/metrics/${metricName}`, {
-      headers: { 'Cache-Control': 'no-cache' },
+      headers: actuatorHeaders(),
       params: { _t: Date.now() } // Cache busting
     }),
 };
@@ -1,7 +1,11 @@
-import type { Feedback, FeedbackRequest } from '../types';
+import type { Feedback, FeedbackInsights, FeedbackRequest } from '../types';
 
 interface FeedbackSectionProps {
   feedbacks?: Feedback[];
+  feedbackCount?: number;
+  insights?: FeedbackInsights;
+  hasMore: boolean;
+  loadingMore: boolean;
   showForm: boolean;
   formData: FeedbackRequest;
   submitting: boolean;
@@ -17,10 +21,15 @@ interface FeedbackSectionProps {
   onGetSuggestions: () => void;
   onSelectSuggestion: (index: number) => void;
   onClearSuggestions: () => void;
+  onLoadMore: () => void;
 }
 
 export const FeedbackSection = ({
   feedbacks,
+  feedbackCount,
+  insights,
+  hasMore,
+  loadingMore,
   showForm,
   formData,
   submitting,
@@ -36,11 +45,14 @@ export const FeedbackSection = ({
   onGetSuggestions,
   onSelectSuggestion,
   onClearSuggestions,
+  onLoadMore,
 }: FeedbackSectionProps) => {
   return (
     <div className="card">
       <div className="flex justify-between items-center mb-4">
-        <h2 className="text-xl font-bold">Feedback</h2>
+        <h2 className="text-xl font-bold">
+          Feedback{feedbackCount !== undefined && ` (${feedbackCount})`}
+        </h2>
         <button
           onClick={onToggleForm}
           className="btn btn-primary"
@@ -49,6 +61,21 @@ export const FeedbackSection = ({
         </button>
       </div>
 
+      {insights && insights.topKeywords.length > 0 && (
+        <div className="mb-4 flex flex-wrap items-center gap-2 text-sm">
+          {insights.positiveRatio != null && (
+            <span className="text-gray-600 mr-2">
+              {Math.round(insights.positiveRatio * 100)}% positive
+            </span>
+          )}
+          {insights.topKeywords.map((keyword) => (
+            <span key={keyword.term} className="px-2 py-1 bg-gray-100 text-gray-700 rounded">
+              {keyword.term} · {keyword.count}
+            </span>
+          ))}
+        </div>
+      )}
+
       {showForm && (
         <form onSubmit={onSubmit} className="space-y-4">
           <div>
@@ -161,6 +188,15 @@ export const FeedbackSection = ({
               </p>
             </div>
           ))}
+          {hasMore && (
+            <button
+              onClick={onLoadMore}
+              disabled={loadingMore}
+              className="w-full text-sm text-purple-600 hover:text-purple-800 font-medium disabled:opacity-50"
+            >
+              {loadingMore ? 'Loading...' : 'Load more'}
+            </button>
+          )}
         </div>
       )}
     </div>
@@ -1,6 +1,6 @@
 import { useState, useCallback } from 'react';
 import { feedbackApi } from '../api';
-import type { FeedbackRequest } from '../types';
+import type { Feedback, FeedbackRequest } from '../types';
 
 export const useFeedback = (employeeId: number, onSuccess: () => void) => {
   const [showForm, setShowForm] = useState(false);
@@ -13,6 +13,31 @@ export const useFeedback = (employeeId: number, onSuccess: () => void) => {
     content: '',
     useAiPolish: false,
   });
+  // Pages loaded after the first one (which comes with the employee profile)
+  const [olderFeedbacks, setOlderFeedbacks] = useState<Feedback[]>([]);
+  const [olderCursor, setOlderCursor] = useState<string | null | undefined>(undefined);
+  const [loadingMore, setLoadingMore] = useState(false);
+
+  const resetOlderFeedbacks = useCallback(() => {
+    setOlderFeedbacks([]);
+    setOlderCursor(undefined);
+  }, []);
+
+  const handleLoadMore = useCallback(async (cursor?: string) => {
+    if (!cursor) {
+      return;
+    }
+    setLoadingMore(true);
+    try {
+      const response = await feedbackApi.getFeed(employeeId, cursor);
+      setOlderFeedbacks((prev) => [...prev, ...response.data.feedbacks]);
+      setOlderCursor(response.data.nextCursor ?? null);
+    } catch (err: any) {
+      alert(err.response?.data?.message || 'Failed to load more feedback');
+    } finally {
+      setLoadingMore(false);
+    }
+  }, [employeeId]);
 
   const handleGetSuggestions = useCallback(async () => {
     if (!formData.content.trim()) {
@@ -51,6 +76,7 @@ export const useFeedback = (employeeId: number, onSuccess: () => void) => {
       setFormData({ content: '', useAiPolish: false });
       setSuggestions([]);
       setSelectedSuggestion(null);
+      resetOlderFeedbacks();
       onSuccess();
       console.log('✅ Feedback submitted successfully!');
     } catch (err: any) {
@@ -58,7 +84,7 @@ export const useFeedback = (employeeId: number, onSuccess: () => void) => {
     } finally {
       setSubmitting(false);
     }
-  }, [employeeId, formData.content, suggestions, selectedSuggestion, onSuccess]);
+  }, [employeeId, formData.content, suggestions, selectedSuggestion, onSuccess, resetOlderFeedbacks]);
 
   const handleDelete = useCallback(async (feedbackId: number) => {
     if (!confirm('Are you sure you want to delete this feedback?')) {
@@ -68,6 +94,7 @@ export const useFeedback = (employeeId: number, onSuccess: () => void) => {
     setDeletingId(feedbackId);
     try {
       await feedbackApi.delete(feedbackId);
+      resetOlderFeedbacks();
       onSuccess();
       console.log('✅ Feedback deleted successfully!');
     } catch (err: any) {
@@ -75,7 +102,7 @@ export const useFeedback = (employeeId: number, onSuccess: () => void) => {
     } finally {
       setDeletingId(null);
     }
-  }, [onSuccess]);
+  }, [onSuccess, resetOlderFeedbacks]);
 
   const handleClearSuggestions = useCallback(() => {
     setSuggestions([]);
@@ -97,6 +124,10 @@ export const useFeedback = (employeeId: number, onSuccess: () => void) => {
     handleDelete,
     handleGetSuggestions,
     handleClearSuggestions,
+    olderFeedbacks,
+    olderCursor,
+    loadingMore,
+    handleLoadMore,
   };
 };
 
@@ -127,7 +127,12 @@ const EmployeeProfile = () => {
 
       {canLeaveFeedback && (
         <FeedbackSection
-          feedbacks={employee.feedbacks}
+          feedbacks={[...(employee.feedbacks ?? []), ...feedback.olderFeedbacks]}
+          feedbackCount={employee.feedbackCount}
+          insights={employee.feedbackInsights}
+          hasMore={feedback.olderCursor === undefined ? !!employee.feedbacksNextCursor : !!feedback.olderCursor}
+          loadingMore={feedback.loadingMore}
+          onLoadMore={() => feedback.handleLoadMore(feedback.olderCursor ?? employee.feedbacksNextCursor)}
           showForm={feedback.showForm}
           formData={feedback.formData}
           submitting={feedback.submitting}
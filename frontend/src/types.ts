@@ -6,6 +6,8 @@ export interface User {
 
 export interface AuthResponse {
   token: string;
+  refreshToken: string;
+  expiresIn: number;
   username: string;
   email: string;
   role: 'MANAGER' | 'EMPLOYEE' | 'COWORKER';
@@ -31,10 +33,21 @@ export interface Employee {
   contractType?: string;
   absences?: Absence[];
   feedbacks?: Feedback[];
+  feedbacksNextCursor?: string;
+  feedbackCount?: number;
+  polishedFeedbackCount?: number;
+  feedbackInsights?: FeedbackInsights;
   createdAt?: string;
   updatedAt?: string;
 }
 
+export interface FeedbackInsights {
+  topKeywords: { term: string; count: number }[];
+  positiveTerms: number;
+  negativeTerms: number;
+  positiveRatio?: number;
+}
+
 export interface Absence {
   id: number;
   employeeId: number;
@@ -60,6 +73,12 @@ export interface Feedback {
   updatedAt?: string;
 }
 
+export interface FeedbackPage {
+  feedbacks: Feedback[];
+  nextCursor?: string;
+  hasMore: boolean;
+}
+
 export interface LoginRequest {
   username: string;
   password: string;